@@ -0,0 +1,36 @@
+package com.mastercard.enrichment.reactive;
+
+import com.mastercard.enrichment.api.actuator.CacheWarmupEndpoint;
+import com.mastercard.enrichment.api.actuator.CacheWarmupHealthIndicator;
+import com.mastercard.enrichment.api.exception.GlobalExceptionHandler;
+import com.mastercard.enrichment.api.mapper.TransactionMapper;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Entry point of the WebFlux variant of the API. Serves the same contract as EnrichmentServiceApplication
+ * on Netty, with the same infrastructure beans; the servlet controllers are not scanned.
+ * <p>
+ * Configuration is enrichment-api's application.yml plus application-reactive.yml from this module.
+ */
+@SpringBootApplication(scanBasePackages = {
+        "com.mastercard.enrichment.infrastructure",
+        "com.mastercard.enrichment.reactive"
+})
+@Import({TransactionMapper.class, GlobalExceptionHandler.class, CacheWarmupHealthIndicator.class,
+        CacheWarmupEndpoint.class})
+@EnableAsync
+@EnableScheduling
+public class ReactiveEnrichmentApplication {
+    
+    public static void main(String[] args) {
+        SpringApplication application = new SpringApplication(ReactiveEnrichmentApplication.class);
+        application.setWebApplicationType(WebApplicationType.REACTIVE);
+        application.setAdditionalProfiles("reactive");
+        application.run(args);
+    }
+}
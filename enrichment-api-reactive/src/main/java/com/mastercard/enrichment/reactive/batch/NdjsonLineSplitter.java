@@ -0,0 +1,78 @@
+package com.mastercard.enrichment.reactive.batch;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a stream of request body buffers on '\n', numbering the lines. At most maxLineLength bytes
+ * of one line are kept; a longer line comes out as {@link #TOO_LONG}. One instance per request.
+ */
+final class NdjsonLineSplitter {
+    
+    static final byte[] TOO_LONG = new byte[0];
+    
+    record Line(long number, byte[] bytes) {
+    }
+    
+    private final int maxLineLength;
+    private final ByteArrayOutputStream current = new ByteArrayOutputStream();
+    private boolean tooLong;
+    private long lineNumber;
+    
+    NdjsonLineSplitter(int maxLineLength) {
+        this.maxLineLength = maxLineLength;
+    }
+    
+    /**
+     * Complete lines in this buffer, which is released; a trailing partial line is kept for the next one
+     */
+    List<Line> split(DataBuffer buffer) {
+        List<Line> lines = new ArrayList<>();
+        try {
+            while (buffer.readableByteCount() > 0) {
+                int newline = buffer.indexOf(b -> b == '\n', buffer.readPosition());
+                int end = newline >= 0 ? newline : buffer.writePosition();
+                append(buffer, end - buffer.readPosition());
+                if (newline < 0) {
+                    break;
+                }
+                buffer.readPosition(newline + 1);
+                lines.add(finish());
+            }
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+        return lines;
+    }
+    
+    /**
+     * The last line when the body does not end with '\n'
+     */
+    List<Line> rest() {
+        return current.size() > 0 || tooLong ? List.of(finish()) : List.of();
+    }
+    
+    private void append(DataBuffer buffer, int length) {
+        int copied = Math.min(length, maxLineLength - current.size());
+        if (copied > 0) {
+            byte[] chunk = new byte[copied];
+            buffer.read(chunk);
+            current.writeBytes(chunk);
+        }
+        if (length > copied) {
+            tooLong = true;
+            buffer.readPosition(buffer.readPosition() + length - copied);
+        }
+    }
+    
+    private Line finish() {
+        Line line = new Line(++lineNumber, tooLong ? TOO_LONG : current.toByteArray());
+        current.reset();
+        tooLong = false;
+        return line;
+    }
+}
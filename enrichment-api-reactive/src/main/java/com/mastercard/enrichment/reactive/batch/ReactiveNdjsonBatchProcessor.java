@@ -0,0 +1,136 @@
+package com.mastercard.enrichment.reactive.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mastercard.enrichment.api.dto.BatchItemResult;
+import com.mastercard.enrichment.api.dto.TransactionRequest;
+import com.mastercard.enrichment.api.mapper.TransactionMapper;
+import com.mastercard.enrichment.core.domain.Transaction;
+import com.mastercard.enrichment.core.service.EnrichmentService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Reactive counterpart of NdjsonBatchProcessor, with the same record format and per-line failures.
+ * At most maxInFlight lines are being enriched at once; beyond that no more of the body is requested,
+ * so backpressure reaches the client through Netty instead of a blocked thread.
+ * Results are emitted as they complete (not in input order) and carry their input line number.
+ */
+@Slf4j
+@Component
+public class ReactiveNdjsonBatchProcessor {
+    
+    private final EnrichmentService enrichmentService;
+    private final TransactionMapper transactionMapper;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int maxInFlight;
+    private final int maxLineLength;
+    
+    public ReactiveNdjsonBatchProcessor(EnrichmentService enrichmentService,
+                                        TransactionMapper transactionMapper,
+                                        ObjectMapper objectMapper,
+                                        Validator validator,
+                                        @Value("${enrichment.batch.max-in-flight:64}") int maxInFlight,
+                                        @Value("${enrichment.batch.max-line-length:65536}") int maxLineLength) {
+        this.enrichmentService = enrichmentService;
+        this.transactionMapper = transactionMapper;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.maxInFlight = maxInFlight;
+        this.maxLineLength = maxLineLength;
+    }
+    
+    public Flux<BatchItemResult> process(Flux<DataBuffer> body) {
+        return Flux.defer(() -> {
+            NdjsonLineSplitter splitter = new NdjsonLineSplitter(maxLineLength);
+            return body.concatMapIterable(splitter::split)
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(splitter.rest())))
+                    .filter(line -> !isBlank(line.bytes()))
+                    .flatMap(this::enrich, maxInFlight);
+        });
+    }
+    
+    private Mono<BatchItemResult> enrich(NdjsonLineSplitter.Line line) {
+        try {
+            return enrichLine(line);
+        } catch (RuntimeException e) {
+            // A throw here would cancel the whole stream; like any other failure it only fails this line
+            log.warn("Enrichment failed for line {}: {}", line.number(), e.getMessage());
+            return Mono.just(failed(line.number(), null, e.getMessage()));
+        }
+    }
+    
+    private Mono<BatchItemResult> enrichLine(NdjsonLineSplitter.Line line) {
+        if (line.bytes() == NdjsonLineSplitter.TOO_LONG) {
+            return Mono.just(failed(line.number(), null, "Line exceeds " + maxLineLength + " bytes"));
+        }
+        
+        TransactionRequest request;
+        try {
+            request = objectMapper.readValue(line.bytes(), TransactionRequest.class);
+        } catch (IOException e) {
+            String message = e instanceof JsonProcessingException jsonException
+                    ? jsonException.getOriginalMessage() : e.getMessage();
+            return Mono.just(failed(line.number(), null, "Malformed JSON: " + message));
+        }
+        if (request == null) {
+            return Mono.just(failed(line.number(), null, "Malformed JSON: expected an object, got null"));
+        }
+        
+        Set<ConstraintViolation<TransactionRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return Mono.just(failed(line.number(), request.getTransactionId(), violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "))));
+        }
+        
+        Transaction transaction = transactionMapper.toTransaction(request);
+        transaction.setTimestamp(Instant.now());
+        return Mono.fromFuture(() -> enrichmentService.enrichTransactionAsync(transaction))
+                .map(enriched -> BatchItemResult.builder()
+                        .line(line.number())
+                        .transactionId(request.getTransactionId())
+                        .status(BatchItemResult.Status.ENRICHED)
+                        .result(transactionMapper.toResponse(enriched))
+                        .build())
+                .onErrorResume(e -> {
+                    log.warn("Enrichment failed for line {} (transaction {}): {}",
+                            line.number(), request.getTransactionId(), e.getMessage());
+                    return Mono.just(failed(line.number(), request.getTransactionId(), e.getMessage()));
+                });
+    }
+    
+    private static BatchItemResult failed(long lineNumber, String transactionId, String error) {
+        return BatchItemResult.builder()
+                .line(lineNumber)
+                .transactionId(transactionId)
+                .status(BatchItemResult.Status.FAILED)
+                .error(error)
+                .build();
+    }
+    
+    private static boolean isBlank(byte[] line) {
+        if (line == NdjsonLineSplitter.TOO_LONG) {
+            return false;
+        }
+        for (byte b : line) {
+            if (b != ' ' && b != '\t' && b != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
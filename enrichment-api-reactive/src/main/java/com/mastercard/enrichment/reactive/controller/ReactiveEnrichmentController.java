@@ -0,0 +1,161 @@
+package com.mastercard.enrichment.reactive.controller;
+
+import com.mastercard.enrichment.api.dto.BatchItemResult;
+import com.mastercard.enrichment.api.dto.EnrichedTransactionResponse;
+import com.mastercard.enrichment.api.dto.JobResponse;
+import com.mastercard.enrichment.api.dto.TransactionRequest;
+import com.mastercard.enrichment.api.mapper.TransactionMapper;
+import com.mastercard.enrichment.core.domain.Transaction;
+import com.mastercard.enrichment.core.repository.AsyncTransactionRepository;
+import com.mastercard.enrichment.core.service.EnrichmentJobService;
+import com.mastercard.enrichment.core.service.EnrichmentService;
+import com.mastercard.enrichment.infrastructure.metrics.EnrichmentMetrics;
+import com.mastercard.enrichment.reactive.batch.ReactiveNdjsonBatchProcessor;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * WebFlux version of EnrichmentController. Enrichment goes through enrichTransactionAsync, so no
+ * request holds an event-loop or worker thread while its stages or the DynamoDB save are in flight.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/enrichment")
+@Tag(name = "Transaction Enrichment", description = "APIs for enriching transaction data")
+public class ReactiveEnrichmentController {
+    
+    private final EnrichmentService enrichmentService;
+    private final EnrichmentJobService enrichmentJobService;
+    private final AsyncTransactionRepository transactionRepository;
+    private final TransactionMapper transactionMapper;
+    private final ReactiveNdjsonBatchProcessor batchProcessor;
+    private final EnrichmentMetrics metrics;
+    private final int maxInFlight;
+    
+    public ReactiveEnrichmentController(EnrichmentService enrichmentService,
+                                        EnrichmentJobService enrichmentJobService,
+                                        AsyncTransactionRepository transactionRepository,
+                                        TransactionMapper transactionMapper,
+                                        ReactiveNdjsonBatchProcessor batchProcessor,
+                                        EnrichmentMetrics metrics,
+                                        @Value("${enrichment.batch.max-in-flight:64}") int maxInFlight) {
+        this.enrichmentService = enrichmentService;
+        this.enrichmentJobService = enrichmentJobService;
+        this.transactionRepository = transactionRepository;
+        this.transactionMapper = transactionMapper;
+        this.batchProcessor = batchProcessor;
+        this.metrics = metrics;
+        this.maxInFlight = maxInFlight;
+    }
+    
+    @PostMapping("/transactions")
+    @Operation(summary = "Enrich a single transaction", 
+               description = "Enriches transaction with merchant category, geolocation, and normalized data")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Transaction enriched successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid request"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public Mono<EnrichedTransactionResponse> enrichTransaction(@Valid @RequestBody TransactionRequest request) {
+        log.info("Enriching transaction: {}", request.getTransactionId());
+        return enrich(request);
+    }
+    
+    @PostMapping("/transactions/async")
+    @Operation(summary = "Enrich a transaction asynchronously",
+               description = "Queues the transaction for enrichment and returns a job; "
+                       + "fetch the result from the Location header")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Enrichment job queued"),
+        @ApiResponse(responseCode = "400", description = "Invalid request"),
+        @ApiResponse(responseCode = "503", description = "Job queue is full, retry later")
+    })
+    public Mono<ResponseEntity<JobResponse>> enrichTransactionAsync(@Valid @RequestBody TransactionRequest request) {
+        log.info("Starting async enrichment for transaction: {}", request.getTransactionId());
+        
+        // The job store may write to Redis, so submit off the event loop
+        return Mono.fromCallable(() -> enrichmentJobService.submit(toTransaction(request)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(job -> ResponseEntity.accepted()
+                        .location(URI.create(ReactiveJobController.JOBS_PATH + "/" + job.getJobId()))
+                        .body(transactionMapper.toJobResponse(job)));
+    }
+    
+    @PostMapping(value = "/transactions/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Batch enrich multiple transactions",
+               description = "Enriches multiple transactions in a single request")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Batch enrichment completed"),
+        @ApiResponse(responseCode = "400", description = "Invalid request")
+    })
+    public Mono<List<EnrichedTransactionResponse>> enrichTransactionsBatch(
+            @Valid @RequestBody List<TransactionRequest> requests) {
+        
+        log.info("Batch enriching {} transactions", requests.size());
+        metrics.recordBatchSize(requests.size());
+        
+        // Enriched concurrently, answered in request order; any failure fails the batch as before
+        return Flux.fromIterable(requests)
+                .flatMapSequential(this::enrich, maxInFlight)
+                .collectList();
+    }
+    
+    @PostMapping(value = "/transactions/batch",
+                 consumes = MediaType.APPLICATION_NDJSON_VALUE,
+                 produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream-enrich transactions as NDJSON",
+               description = "Reads one transaction per line and writes one result record per line as soon as "
+                       + "it is enriched, in completion order. Failed lines produce a FAILED record with the "
+                       + "line number; the stream continues. Memory use does not depend on batch size.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Streaming results")
+    })
+    public Flux<BatchItemResult> enrichTransactionsStream(@RequestBody Flux<DataBuffer> body) {
+        log.info("Starting streamed batch enrichment");
+        return batchProcessor.process(body);
+    }
+    
+    @GetMapping("/transactions/{transactionId}/status")
+    @Operation(summary = "Get enrichment status",
+               description = "Returns the current enrichment status of a transaction")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Status retrieved successfully"),
+        @ApiResponse(responseCode = "404", description = "Transaction not found")
+    })
+    public Mono<String> getEnrichmentStatus(@PathVariable String transactionId) {
+        log.info("Getting enrichment status for transaction: {}", transactionId);
+        return Mono.fromFuture(() -> transactionRepository.findById(transactionId))
+                .map(found -> found
+                        .map(txn -> txn.getEnrichmentStatus() != null ?
+                                txn.getEnrichmentStatus().name() : "UNKNOWN")
+                        .orElse("NOT_FOUND"));
+    }
+    
+    private Mono<EnrichedTransactionResponse> enrich(TransactionRequest request) {
+        Transaction transaction = toTransaction(request);
+        return Mono.fromFuture(() -> enrichmentService.enrichTransactionAsync(transaction))
+                .map(transactionMapper::toResponse);
+    }
+    
+    private Transaction toTransaction(TransactionRequest request) {
+        Transaction transaction = transactionMapper.toTransaction(request);
+        transaction.setTimestamp(Instant.now());
+        return transaction;
+    }
+}
@@ -0,0 +1,76 @@
+package com.mastercard.enrichment.reactive.controller;
+
+import com.mastercard.enrichment.api.dto.FileEnrichmentRequest;
+import com.mastercard.enrichment.api.dto.FileEnrichmentRunResponse;
+import com.mastercard.enrichment.api.mapper.TransactionMapper;
+import com.mastercard.enrichment.core.domain.FileEnrichmentRun;
+import com.mastercard.enrichment.core.exception.FileEnrichmentRunNotFoundException;
+import com.mastercard.enrichment.core.service.FileEnrichmentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+/**
+ * WebFlux version of FileEnrichmentController. Runs execute on their own executor, and starting or
+ * looking one up only touches memory, so both answer straight from the event loop.
+ */
+@Slf4j
+@RestController
+@RequestMapping(ReactiveFileEnrichmentController.FILES_PATH)
+@RequiredArgsConstructor
+@Tag(name = "File Enrichment", description = "APIs for enriching CSV and JSON-lines files in S3")
+public class ReactiveFileEnrichmentController {
+    
+    static final String FILES_PATH = "/api/v1/enrichment/files";
+    
+    private final FileEnrichmentService fileEnrichmentService;
+    private final TransactionMapper transactionMapper;
+    
+    @PostMapping
+    @Operation(summary = "Enrich a file in S3",
+               description = "Starts enriching a .csv, .jsonl or .ndjson object into a JSON-lines output object; "
+                       + "follow progress at the Location header. Starting again after a failure resumes "
+                       + "from the last checkpoint.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Run accepted"),
+        @ApiResponse(responseCode = "400", description = "Invalid request or unsupported file format")
+    })
+    public Mono<ResponseEntity<FileEnrichmentRunResponse>> enrichFile(
+            @Valid @RequestBody FileEnrichmentRequest request) {
+        log.info("Received file enrichment request for s3://{}/{}", request.getBucket(), request.getInputKey());
+        return Mono.fromCallable(() -> {
+            FileEnrichmentRun run = fileEnrichmentService.start(request.getBucket(), request.getInputKey(),
+                    request.getOutputBucket(), request.getOutputKey());
+            return ResponseEntity.accepted()
+                    .location(URI.create(FILES_PATH + "/" + run.getRunId()))
+                    .body(transactionMapper.toFileEnrichmentRunResponse(run));
+        });
+    }
+    
+    @GetMapping("/{runId}")
+    @Operation(summary = "Get a file enrichment run",
+               description = "Returns the run status and how far it has got")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Run retrieved successfully"),
+        @ApiResponse(responseCode = "404", description = "Run unknown or expired")
+    })
+    public Mono<FileEnrichmentRunResponse> getRun(@PathVariable String runId) {
+        return Mono.fromCallable(() -> fileEnrichmentService.getRun(runId)
+                .map(transactionMapper::toFileEnrichmentRunResponse)
+                .orElseThrow(() -> new FileEnrichmentRunNotFoundException(runId)));
+    }
+}
@@ -0,0 +1,61 @@
+package com.mastercard.enrichment.reactive.controller;
+
+import com.mastercard.enrichment.api.dto.TransactionPageResponse;
+import com.mastercard.enrichment.api.mapper.TransactionMapper;
+import com.mastercard.enrichment.core.repository.AsyncTransactionRepository;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+/**
+ * WebFlux version of MerchantTransactionController, paging through the async repository
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/merchants")
+@RequiredArgsConstructor
+@Tag(name = "Merchant Transactions", description = "APIs for querying stored transactions by merchant")
+public class ReactiveMerchantTransactionController {
+    
+    static final int MAX_PAGE_SIZE = 100;
+    
+    private final AsyncTransactionRepository transactionRepository;
+    private final TransactionMapper transactionMapper;
+    
+    @GetMapping("/{merchantId}/transactions")
+    @Operation(summary = "List a merchant's transactions",
+               description = "Returns transactions newest first within an optional time range. "
+                       + "Pass nextPageToken back as pageToken to fetch the following page.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Page retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid page token")
+    })
+    public Mono<TransactionPageResponse> getMerchantTransactions(
+            @PathVariable String merchantId,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(defaultValue = "20") int pageSize,
+            @RequestParam(required = false) String pageToken) {
+        
+        log.info("Listing transactions for merchant: {}", merchantId);
+        
+        return Mono.fromFuture(() -> transactionRepository.findByMerchantId(
+                        merchantId,
+                        from != null ? from : Instant.EPOCH,
+                        to != null ? to : Instant.now(),
+                        Math.max(1, Math.min(pageSize, MAX_PAGE_SIZE)),
+                        pageToken))
+                .map(transactionMapper::toPageResponse);
+    }
+}
@@ -0,0 +1,206 @@
+package com.mastercard.enrichment.reactive.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mastercard.enrichment.api.dto.BatchItemResult;
+import com.mastercard.enrichment.api.dto.TransactionRequest;
+import com.mastercard.enrichment.api.mapper.TransactionMapper;
+import com.mastercard.enrichment.core.domain.EnrichedTransaction;
+import com.mastercard.enrichment.core.domain.Transaction;
+import com.mastercard.enrichment.core.exception.EnrichmentException;
+import com.mastercard.enrichment.core.service.EnrichmentService;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveNdjsonBatchProcessorTest {
+    
+    private static final String VALID = "{\"transactionId\":\"%s\",\"merchantId\":\"merch-1\","
+            + "\"merchantName\":\"Cafe\",\"amount\":10.00,\"currency\":\"USD\"}";
+    
+    @Mock
+    private EnrichmentService enrichmentService;
+    
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private ValidatorFactory validatorFactory;
+    private ScheduledExecutorService scheduler;
+    
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        scheduler = Executors.newScheduledThreadPool(4);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+        validatorFactory.close();
+    }
+    
+    @Test
+    void process_ShouldEmitOneRecordPerLineWithPerItemErrors() {
+        // Given
+        when(enrichmentService.enrichTransactionAsync(any(Transaction.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(enriched(invocation.getArgument(0))));
+        when(enrichmentService.enrichTransactionAsync(argThat(txn -> txn != null
+                && "txn-boom".equals(txn.getTransactionId()))))
+                .thenReturn(CompletableFuture.failedFuture(
+                        new EnrichmentException("Geolocation timed out for transaction: txn-boom")));
+        String input = String.join("\n",
+                VALID.formatted("txn-1"),
+                "{not json",
+                "",
+                VALID.formatted("txn-boom"),
+                "{\"transactionId\":\"txn-3\",\"currency\":\"USD\"}",
+                VALID.formatted("txn-4"));
+        
+        // When
+        List<BatchItemResult> records = process(processor(4, 1024), input, 7);
+        
+        // Then
+        assertThat(records).extracting(BatchItemResult::getLine).containsExactly(1L, 2L, 4L, 5L, 6L);
+        assertThat(records.get(0).getStatus()).isEqualTo(BatchItemResult.Status.ENRICHED);
+        assertThat(records.get(0).getResult().getTransactionId()).isEqualTo("txn-1");
+        assertThat(records.get(1).getStatus()).isEqualTo(BatchItemResult.Status.FAILED);
+        assertThat(records.get(1).getError()).startsWith("Malformed JSON");
+        assertThat(records.get(2).getError()).contains("timed out");
+        assertThat(records.get(3).getTransactionId()).isEqualTo("txn-3");
+        assertThat(records.get(3).getError()).contains("merchantId").contains("amount");
+        assertThat(records.get(4).getStatus()).isEqualTo(BatchItemResult.Status.ENRICHED);
+    }
+    
+    @Test
+    void process_ShouldRejectOverlongLineAndContinue() {
+        // Given
+        when(enrichmentService.enrichTransactionAsync(any(Transaction.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(enriched(invocation.getArgument(0))));
+        String input = "{\"merchantName\":\"" + "x".repeat(500) + "\"}\n" + VALID.formatted("txn-2") + "\n";
+        
+        // When
+        List<BatchItemResult> records = process(processor(4, 256), input, 64);
+        
+        // Then
+        assertThat(records).hasSize(2);
+        assertThat(records.get(0).getError()).contains("exceeds 256 bytes");
+        assertThat(records.get(1).getStatus()).isEqualTo(BatchItemResult.Status.ENRICHED);
+    }
+    
+    @Test
+    void process_WithNullLineOrSynchronousFailure_ShouldFailOnlyThoseLines() {
+        // Given
+        when(enrichmentService.enrichTransactionAsync(any(Transaction.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(enriched(invocation.getArgument(0))));
+        TransactionMapper throwingMapper = new TransactionMapper() {
+            @Override
+            public Transaction toTransaction(TransactionRequest request) {
+                if ("txn-boom".equals(request.getTransactionId())) {
+                    throw new IllegalStateException("Mapping failed for txn-boom");
+                }
+                return super.toTransaction(request);
+            }
+        };
+        ReactiveNdjsonBatchProcessor processor = new ReactiveNdjsonBatchProcessor(enrichmentService, throwingMapper,
+                objectMapper, validatorFactory.getValidator(), 4, 1024);
+        String input = String.join("\n", "null", VALID.formatted("txn-boom"), VALID.formatted("txn-3"));
+        
+        // When
+        List<BatchItemResult> records = process(processor, input, 64);
+        
+        // Then
+        assertThat(records).extracting(BatchItemResult::getLine).containsExactly(1L, 2L, 3L);
+        assertThat(records.get(0).getStatus()).isEqualTo(BatchItemResult.Status.FAILED);
+        assertThat(records.get(0).getError()).startsWith("Malformed JSON");
+        assertThat(records.get(1).getStatus()).isEqualTo(BatchItemResult.Status.FAILED);
+        assertThat(records.get(1).getError()).contains("Mapping failed");
+        assertThat(records.get(2).getStatus()).isEqualTo(BatchItemResult.Status.ENRICHED);
+    }
+    
+    @Test
+    void process_ShouldNeverExceedMaxInFlight() {
+        // Given
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxObserved = new AtomicInteger();
+        when(enrichmentService.enrichTransactionAsync(any(Transaction.class))).thenAnswer(invocation -> {
+            maxObserved.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            CompletableFuture<EnrichedTransaction> future = new CompletableFuture<>();
+            scheduler.schedule(() -> {
+                inFlight.decrementAndGet();
+                future.complete(enriched(invocation.getArgument(0)));
+            }, 1, TimeUnit.MILLISECONDS);
+            return future;
+        });
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            lines.add(VALID.formatted("txn-" + i));
+        }
+        
+        // When
+        List<BatchItemResult> records = process(processor(3, 1024), String.join("\n", lines), 512);
+        
+        // Then
+        assertThat(records).hasSize(200);
+        assertThat(records).allMatch(record -> record.getStatus() == BatchItemResult.Status.ENRICHED);
+        assertThat(maxObserved.get()).isLessThanOrEqualTo(3);
+    }
+    
+    private ReactiveNdjsonBatchProcessor processor(int maxInFlight, int maxLineLength) {
+        return new ReactiveNdjsonBatchProcessor(enrichmentService, new TransactionMapper(), objectMapper,
+                validatorFactory.getValidator(), maxInFlight, maxLineLength);
+    }
+    
+    /**
+     * Feeds the input in chunkSize pieces so lines straddle buffer boundaries
+     */
+    private List<BatchItemResult> process(ReactiveNdjsonBatchProcessor processor, String input, int chunkSize) {
+        byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+        List<DataBuffer> chunks = new ArrayList<>();
+        for (int offset = 0; offset < bytes.length; offset += chunkSize) {
+            int length = Math.min(chunkSize, bytes.length - offset);
+            chunks.add(DefaultDataBufferFactory.sharedInstance.wrap(
+                    Arrays.copyOfRange(bytes, offset, offset + length)));
+        }
+        
+        List<BatchItemResult> records = new ArrayList<>(
+                processor.process(Flux.fromIterable(chunks)).collectList().block(Duration.ofSeconds(10)));
+        // Records arrive in completion order
+        records.sort(Comparator.comparingLong(BatchItemResult::getLine));
+        return records;
+    }
+    
+    private static EnrichedTransaction enriched(Transaction transaction) {
+        return EnrichedTransaction.builder()
+                .transaction(transaction)
+                .enrichedAt(Instant.now())
+                .build();
+    }
+}
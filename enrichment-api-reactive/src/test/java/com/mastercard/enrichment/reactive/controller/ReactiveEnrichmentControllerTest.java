@@ -0,0 +1,193 @@
+package com.mastercard.enrichment.reactive.controller;
+
+import com.mastercard.enrichment.api.dto.EnrichedTransactionResponse;
+import com.mastercard.enrichment.api.dto.TransactionRequest;
+import com.mastercard.enrichment.api.mapper.TransactionMapper;
+import com.mastercard.enrichment.core.domain.EnrichedTransaction;
+import com.mastercard.enrichment.core.domain.EnrichmentJob;
+import com.mastercard.enrichment.core.domain.EnrichmentStatus;
+import com.mastercard.enrichment.core.domain.Transaction;
+import com.mastercard.enrichment.core.repository.AsyncTransactionRepository;
+import com.mastercard.enrichment.core.service.EnrichmentJobService;
+import com.mastercard.enrichment.core.service.EnrichmentService;
+import com.mastercard.enrichment.infrastructure.metrics.EnrichmentMetrics;
+import com.mastercard.enrichment.reactive.batch.ReactiveNdjsonBatchProcessor;
+import com.mastercard.enrichment.reactive.exception.ReactiveExceptionHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveEnrichmentControllerTest {
+    
+    @Mock
+    private EnrichmentService enrichmentService;
+    
+    @Mock
+    private EnrichmentJobService enrichmentJobService;
+    
+    @Mock
+    private AsyncTransactionRepository transactionRepository;
+    
+    @Mock
+    private ReactiveNdjsonBatchProcessor batchProcessor;
+    
+    @Mock
+    private EnrichmentMetrics metrics;
+    
+    private WebTestClient client;
+    private TransactionRequest request;
+    
+    @BeforeEach
+    void setUp() {
+        ReactiveEnrichmentController controller = new ReactiveEnrichmentController(enrichmentService,
+                enrichmentJobService, transactionRepository, new TransactionMapper(), batchProcessor, metrics, 4);
+        client = WebTestClient.bindToController(controller)
+                .controllerAdvice(new ReactiveExceptionHandler())
+                .build();
+        
+        request = TransactionRequest.builder()
+                .transactionId("txn-123")
+                .merchantId("merch-456")
+                .merchantName("Test Restaurant")
+                .amount(new BigDecimal("50.00"))
+                .currency("USD")
+                .country("USA")
+                .city("New York")
+                .build();
+    }
+    
+    @Test
+    void enrichTransaction_ShouldReturnEnrichedTransaction() {
+        // Given
+        when(enrichmentService.enrichTransactionAsync(any(Transaction.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(enriched(invocation.getArgument(0))));
+        
+        // When / Then
+        client.post().uri("/api/v1/enrichment/transactions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.transactionId").isEqualTo("txn-123");
+    }
+    
+    @Test
+    void enrichTransaction_InvalidRequest_ShouldReturnValidationErrors() {
+        // Given
+        request.setMerchantId(null);
+        
+        // When / Then
+        client.post().uri("/api/v1/enrichment/transactions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Validation Failed")
+                .jsonPath("$.validationErrors.merchantId").exists();
+        verifyNoInteractions(enrichmentService);
+    }
+    
+    @Test
+    void enrichTransactionAsync_ShouldReturnAcceptedWithJobLocation() {
+        // Given
+        when(enrichmentJobService.submit(any(Transaction.class))).thenReturn(EnrichmentJob.builder()
+                .jobId("job-1")
+                .transactionId("txn-123")
+                .status(EnrichmentJob.Status.QUEUED)
+                .submittedAt(Instant.now())
+                .build());
+        
+        // When / Then
+        client.post().uri("/api/v1/enrichment/transactions/async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isAccepted()
+                .expectHeader().location("/api/v1/enrichment/jobs/job-1")
+                .expectBody()
+                .jsonPath("$.jobId").isEqualTo("job-1");
+    }
+    
+    @Test
+    void enrichTransactionsBatch_ShouldAnswerInRequestOrder() {
+        // Given
+        TransactionRequest second = TransactionRequest.builder()
+                .transactionId("txn-456")
+                .merchantId("merch-456")
+                .merchantName("Test Restaurant")
+                .amount(new BigDecimal("12.00"))
+                .currency("USD")
+                .build();
+        when(enrichmentService.enrichTransactionAsync(any(Transaction.class))).thenAnswer(invocation -> {
+            Transaction transaction = invocation.getArgument(0);
+            if ("txn-123".equals(transaction.getTransactionId())) {
+                // Finishes after the second one
+                return CompletableFuture.supplyAsync(() -> enriched(transaction),
+                        CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS));
+            }
+            return CompletableFuture.completedFuture(enriched(transaction));
+        });
+        
+        // When / Then
+        client.post().uri("/api/v1/enrichment/transactions/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(request, second))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(EnrichedTransactionResponse.class)
+                .value(responses -> assertThat(responses)
+                        .extracting(EnrichedTransactionResponse::getTransactionId)
+                        .containsExactly("txn-123", "txn-456"));
+        verify(metrics).recordBatchSize(2);
+    }
+    
+    @Test
+    void getEnrichmentStatus_ShouldReturnStatusOrNotFound() {
+        // Given
+        Transaction stored = Transaction.builder()
+                .transactionId("txn-123")
+                .enrichmentStatus(EnrichmentStatus.COMPLETED)
+                .build();
+        when(transactionRepository.findById("txn-123"))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(stored)));
+        when(transactionRepository.findById("txn-missing"))
+                .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+        
+        // When / Then
+        client.get().uri("/api/v1/enrichment/transactions/txn-123/status")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("COMPLETED");
+        client.get().uri("/api/v1/enrichment/transactions/txn-missing/status")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("NOT_FOUND");
+    }
+    
+    private static EnrichedTransaction enriched(Transaction transaction) {
+        return EnrichedTransaction.builder()
+                .transaction(transaction)
+                .enrichedAt(Instant.now())
+                .build();
+    }
+}
@@ -3,12 +3,14 @@ package com.mastercard.enrichment.api;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main application entry point
  */
 @SpringBootApplication(scanBasePackages = "com.mastercard.enrichment")
 @EnableAsync
+@EnableScheduling
 public class EnrichmentServiceApplication {
     
     public static void main(String[] args) {
@@ -0,0 +1,23 @@
+package com.mastercard.enrichment.api.actuator;
+
+import com.mastercard.enrichment.infrastructure.warmup.CacheWarmup;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache warm-up progress at /actuator/cachewarmup
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "cachewarmup")
+public class CacheWarmupEndpoint {
+
+    private final CacheWarmup cacheWarmup;
+
+    @ReadOperation
+    public CacheWarmup.Progress progress() {
+        return cacheWarmup.getProgress();
+    }
+}
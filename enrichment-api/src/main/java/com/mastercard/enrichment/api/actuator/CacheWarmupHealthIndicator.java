@@ -0,0 +1,32 @@
+package com.mastercard.enrichment.api.actuator;
+
+import com.mastercard.enrichment.infrastructure.warmup.CacheWarmup;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Out of service until cache warm-up has finished or used up its budget. Part of the readiness
+ * group, so the load balancer only sends traffic to a node with warm caches.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheWarmupHealthIndicator implements HealthIndicator {
+
+    private final CacheWarmup cacheWarmup;
+
+    @Override
+    public Health health() {
+        CacheWarmup.Progress progress = cacheWarmup.getProgress();
+        Health.Builder health = cacheWarmup.isDone() ? Health.up() : Health.outOfService();
+        health.withDetail("phase", progress.phase());
+        if (progress.source() != null) {
+            health.withDetail("source", progress.source());
+        }
+        return health
+                .withDetail("merchants", progress.merchantsLoaded() + "/" + progress.merchantsTarget())
+                .withDetail("geolocationCells", progress.cellsLoaded() + "/" + progress.cellsTarget())
+                .build();
+    }
+}
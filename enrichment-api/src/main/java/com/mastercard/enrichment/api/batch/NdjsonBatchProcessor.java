@@ -0,0 +1,227 @@
+package com.mastercard.enrichment.api.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mastercard.enrichment.api.dto.BatchItemResult;
+import com.mastercard.enrichment.api.dto.TransactionRequest;
+import com.mastercard.enrichment.api.mapper.TransactionMapper;
+import com.mastercard.enrichment.core.domain.EnrichedTransaction;
+import com.mastercard.enrichment.core.domain.Transaction;
+import com.mastercard.enrichment.core.service.EnrichmentService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Enriches an NDJSON stream of transactions in constant memory.
+ * At most maxInFlight lines are read ahead of the output: once that many are being enriched or
+ * waiting to be written, reading stops, so a slow client or slow enrichment pushes back on the input.
+ * Results are written as they complete (not in input order) and carry their input line number.
+ */
+@Slf4j
+@Component
+public class NdjsonBatchProcessor {
+    
+    private static final long DRAIN_INTERVAL_MS = 20;
+    
+    private final EnrichmentService enrichmentService;
+    private final TransactionMapper transactionMapper;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final Executor batchExecutor;
+    private final int maxInFlight;
+    private final int maxLineLength;
+    
+    public NdjsonBatchProcessor(EnrichmentService enrichmentService,
+                                TransactionMapper transactionMapper,
+                                ObjectMapper objectMapper,
+                                Validator validator,
+                                @Qualifier("batchExecutor") Executor batchExecutor,
+                                @Value("${enrichment.batch.max-in-flight:64}") int maxInFlight,
+                                @Value("${enrichment.batch.max-line-length:65536}") int maxLineLength) {
+        this.enrichmentService = enrichmentService;
+        this.transactionMapper = transactionMapper;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.batchExecutor = batchExecutor;
+        this.maxInFlight = maxInFlight;
+        this.maxLineLength = maxLineLength;
+    }
+    
+    public void process(InputStream input, OutputStream output) throws IOException {
+        Semaphore permits = new Semaphore(maxInFlight);
+        // Never holds more than maxInFlight results: a permit is only returned once its result is queued
+        BlockingQueue<BatchItemResult> completed = new LinkedBlockingQueue<>();
+        LineReader reader = new LineReader(input, maxLineLength);
+        long lineNumber = 0;
+        long items = 0;
+        
+        byte[] line;
+        while ((line = reader.next()) != null) {
+            lineNumber++;
+            if (line == LineReader.TOO_LONG) {
+                writeResult(output, failed(lineNumber, null, "Line exceeds " + maxLineLength + " bytes"));
+                continue;
+            }
+            if (isBlank(line)) {
+                continue;
+            }
+            while (!tryAcquire(permits, 1)) {
+                drain(completed, output);
+            }
+            submit(lineNumber, line, permits, completed);
+            items++;
+            drain(completed, output);
+        }
+        
+        while (!tryAcquire(permits, maxInFlight)) {
+            drain(completed, output);
+        }
+        drain(completed, output);
+        log.info("Streamed batch of {} transactions ({} lines)", items, lineNumber);
+    }
+    
+    private void submit(long lineNumber, byte[] line, Semaphore permits, BlockingQueue<BatchItemResult> completed) {
+        batchExecutor.execute(() -> {
+            try {
+                completed.add(enrich(lineNumber, line));
+            } finally {
+                permits.release();
+            }
+        });
+    }
+    
+    private BatchItemResult enrich(long lineNumber, byte[] line) {
+        TransactionRequest request;
+        try {
+            request = objectMapper.readValue(line, TransactionRequest.class);
+        } catch (IOException e) {
+            String message = e instanceof JsonProcessingException jsonException
+                    ? jsonException.getOriginalMessage() : e.getMessage();
+            return failed(lineNumber, null, "Malformed JSON: " + message);
+        }
+        if (request == null) {
+            return failed(lineNumber, null, "Malformed JSON: expected an object, got null");
+        }
+        
+        Set<ConstraintViolation<TransactionRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return failed(lineNumber, request.getTransactionId(), violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        
+        try {
+            Transaction transaction = transactionMapper.toTransaction(request);
+            transaction.setTimestamp(Instant.now());
+            EnrichedTransaction enriched = enrichmentService.enrichTransaction(transaction);
+            return BatchItemResult.builder()
+                    .line(lineNumber)
+                    .transactionId(request.getTransactionId())
+                    .status(BatchItemResult.Status.ENRICHED)
+                    .result(transactionMapper.toResponse(enriched))
+                    .build();
+        } catch (RuntimeException e) {
+            log.warn("Enrichment failed for line {} (transaction {}): {}",
+                    lineNumber, request.getTransactionId(), e.getMessage());
+            return failed(lineNumber, request.getTransactionId(), e.getMessage());
+        }
+    }
+    
+    private void drain(BlockingQueue<BatchItemResult> completed, OutputStream output) throws IOException {
+        BatchItemResult result = completed.poll();
+        if (result == null) {
+            return;
+        }
+        while (result != null) {
+            writeResult(output, result);
+            result = completed.poll();
+        }
+        output.flush();
+    }
+    
+    private void writeResult(OutputStream output, BatchItemResult result) throws IOException {
+        output.write(objectMapper.writeValueAsBytes(result));
+        output.write('\n');
+    }
+    
+    private static boolean tryAcquire(Semaphore permits, int count) throws InterruptedIOException {
+        try {
+            return permits.tryAcquire(count, DRAIN_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while streaming batch");
+        }
+    }
+    
+    private static BatchItemResult failed(long lineNumber, String transactionId, String error) {
+        return BatchItemResult.builder()
+                .line(lineNumber)
+                .transactionId(transactionId)
+                .status(BatchItemResult.Status.FAILED)
+                .error(error)
+                .build();
+    }
+    
+    private static boolean isBlank(byte[] line) {
+        for (byte b : line) {
+            if (b != ' ' && b != '\t' && b != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Splits the input on '\n' without ever buffering more than maxLineLength bytes of one line
+     */
+    static final class LineReader {
+        
+        static final byte[] TOO_LONG = new byte[0];
+        
+        private final InputStream input;
+        private final int maxLineLength;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        
+        LineReader(InputStream input, int maxLineLength) {
+            this.input = new BufferedInputStream(input);
+            this.maxLineLength = maxLineLength;
+        }
+        
+        byte[] next() throws IOException {
+            buffer.reset();
+            boolean tooLong = false;
+            int b;
+            while ((b = input.read()) != -1 && b != '\n') {
+                if (buffer.size() < maxLineLength) {
+                    buffer.write(b);
+                } else {
+                    tooLong = true;
+                }
+            }
+            if (b == -1 && buffer.size() == 0 && !tooLong) {
+                return null;
+            }
+            return tooLong ? TOO_LONG : buffer.toByteArray();
+        }
+    }
+}
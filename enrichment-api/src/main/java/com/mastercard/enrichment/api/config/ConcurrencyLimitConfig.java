@@ -0,0 +1,53 @@
+package com.mastercard.enrichment.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mastercard.enrichment.api.filter.ConcurrencyLimitFilter;
+import com.mastercard.enrichment.infrastructure.concurrent.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Adaptive concurrency limit in front of the transaction enrichment endpoints
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "enrichment.limiter.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+    
+    @Bean
+    public AdaptiveConcurrencyLimiter enrichmentConcurrencyLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${enrichment.limiter.initial-limit:50}") int initialLimit,
+            @Value("${enrichment.limiter.min-limit:10}") int minLimit,
+            @Value("${enrichment.limiter.max-limit:1000}") int maxLimit,
+            @Value("${enrichment.limiter.tolerance:1.5}") double tolerance) {
+        log.info("Enrichment concurrency limit starting at {} (min {}, max {})", initialLimit, minLimit, maxLimit);
+        return new AdaptiveConcurrencyLimiter("enrichment", initialLimit, minLimit, maxLimit, tolerance,
+                meterRegistry);
+    }
+    
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            AdaptiveConcurrencyLimiter enrichmentConcurrencyLimiter,
+            ObjectMapper objectMapper,
+            @Value("${enrichment.batch.max-in-flight:64}") int streamWeight,
+            @Value("${enrichment.batch.max-body-size:10MB}") DataSize maxBodySize,
+            @Value("${enrichment.limiter.retry-after:1s}") Duration retryAfter) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(enrichmentConcurrencyLimiter, objectMapper, streamWeight,
+                        Math.toIntExact(maxBodySize.toBytes()), retryAfter));
+        registration.addUrlPatterns("/api/v1/enrichment/transactions/*");
+        // Shed load before any other filter does work for the request
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
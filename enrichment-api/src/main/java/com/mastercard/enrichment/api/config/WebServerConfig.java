@@ -0,0 +1,34 @@
+package com.mastercard.enrichment.api.config;
+
+import com.mastercard.enrichment.infrastructure.concurrent.VirtualThreads;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+/**
+ * Web server configuration. In virtual mode Tomcat hands every request to its own virtual thread
+ * instead of its fixed worker pool, so requests blocked on DynamoDB or Redis no longer cap concurrency.
+ */
+@Slf4j
+@Configuration
+public class WebServerConfig {
+    
+    @Value("${enrichment.executor.mode:platform}")
+    private String executorMode;
+    
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        boolean virtual = VirtualThreads.isEnabled(executorMode);
+        if (virtual) {
+            log.info("Web requests running on virtual threads");
+        }
+        return protocolHandler -> {
+            if (virtual) {
+                protocolHandler.setExecutor(new VirtualThreadTaskExecutor("tomcat-handler-"));
+            }
+        };
+    }
+}
@@ -1,10 +1,14 @@
 package com.mastercard.enrichment.api.controller;
 
+import com.mastercard.enrichment.api.batch.NdjsonBatchProcessor;
 import com.mastercard.enrichment.api.dto.EnrichedTransactionResponse;
+import com.mastercard.enrichment.api.dto.JobResponse;
 import com.mastercard.enrichment.api.dto.TransactionRequest;
 import com.mastercard.enrichment.api.mapper.TransactionMapper;
 import com.mastercard.enrichment.core.domain.EnrichedTransaction;
+import com.mastercard.enrichment.core.domain.EnrichmentJob;
 import com.mastercard.enrichment.core.domain.Transaction;
+import com.mastercard.enrichment.core.service.EnrichmentJobService;
 import com.mastercard.enrichment.core.service.EnrichmentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -14,12 +18,15 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.net.URI;
 import java.time.Instant;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
@@ -33,7 +40,9 @@ import java.util.stream.Collectors;
 public class EnrichmentController {
     
     private final EnrichmentService enrichmentService;
+    private final EnrichmentJobService enrichmentJobService;
     private final TransactionMapper transactionMapper;
+    private final NdjsonBatchProcessor batchProcessor;
     
     @PostMapping("/transactions")
     @Operation(summary = "Enrich a single transaction", 
@@ -59,12 +68,14 @@ public class EnrichmentController {
     
     @PostMapping("/transactions/async")
     @Operation(summary = "Enrich a transaction asynchronously",
-               description = "Starts asynchronous enrichment process and returns immediately")
+               description = "Queues the transaction for enrichment and returns a job; "
+                       + "fetch the result from the Location header")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "202", description = "Enrichment started"),
-        @ApiResponse(responseCode = "400", description = "Invalid request")
+        @ApiResponse(responseCode = "202", description = "Enrichment job queued"),
+        @ApiResponse(responseCode = "400", description = "Invalid request"),
+        @ApiResponse(responseCode = "503", description = "Job queue is full, retry later")
     })
-    public ResponseEntity<String> enrichTransactionAsync(
+    public ResponseEntity<JobResponse> enrichTransactionAsync(
             @Valid @RequestBody TransactionRequest request) {
         
         log.info("Starting async enrichment for transaction: {}", request.getTransactionId());
@@ -72,11 +83,11 @@ public class EnrichmentController {
         Transaction transaction = transactionMapper.toTransaction(request);
         transaction.setTimestamp(Instant.now());
         
-        CompletableFuture<EnrichedTransaction> future = 
-                enrichmentService.enrichTransactionAsync(transaction);
+        EnrichmentJob job = enrichmentJobService.submit(transaction);
         
-        return ResponseEntity.status(HttpStatus.ACCEPTED)
-                .body("Enrichment started for transaction: " + request.getTransactionId());
+        return ResponseEntity.accepted()
+                .location(URI.create(JobController.JOBS_PATH + "/" + job.getJobId()))
+                .body(transactionMapper.toJobResponse(job));
     }
     
     @PostMapping("/transactions/batch")
@@ -107,6 +118,23 @@ public class EnrichmentController {
         return ResponseEntity.ok(responses);
     }
     
+    @PostMapping(value = "/transactions/batch",
+                 consumes = MediaType.APPLICATION_NDJSON_VALUE,
+                 produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream-enrich transactions as NDJSON",
+               description = "Reads one transaction per line and writes one result record per line as soon as "
+                       + "it is enriched, in completion order. Failed lines produce a FAILED record with the "
+                       + "line number; the stream continues. Memory use does not depend on batch size.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Streaming results")
+    })
+    public ResponseEntity<StreamingResponseBody> enrichTransactionsStream(InputStream body) {
+        log.info("Starting streamed batch enrichment");
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(output -> batchProcessor.process(body, output));
+    }
+    
     @GetMapping("/transactions/{transactionId}/status")
     @Operation(summary = "Get enrichment status",
                description = "Returns the current enrichment status of a transaction")
@@ -0,0 +1,66 @@
+package com.mastercard.enrichment.api.controller;
+
+import com.mastercard.enrichment.api.dto.FileEnrichmentRequest;
+import com.mastercard.enrichment.api.dto.FileEnrichmentRunResponse;
+import com.mastercard.enrichment.api.mapper.TransactionMapper;
+import com.mastercard.enrichment.core.domain.FileEnrichmentRun;
+import com.mastercard.enrichment.core.exception.FileEnrichmentRunNotFoundException;
+import com.mastercard.enrichment.core.service.FileEnrichmentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+/**
+ * REST controller for bulk enrichment of transaction files stored in S3
+ */
+@Slf4j
+@RestController
+@RequestMapping(FileEnrichmentController.FILES_PATH)
+@RequiredArgsConstructor
+@Tag(name = "File Enrichment", description = "APIs for enriching CSV and JSON-lines files in S3")
+public class FileEnrichmentController {
+    
+    static final String FILES_PATH = "/api/v1/enrichment/files";
+    
+    private final FileEnrichmentService fileEnrichmentService;
+    private final TransactionMapper transactionMapper;
+    
+    @PostMapping
+    @Operation(summary = "Enrich a file in S3",
+               description = "Starts enriching a .csv, .jsonl or .ndjson object into a JSON-lines output object; "
+                       + "follow progress at the Location header. Starting again after a failure resumes "
+                       + "from the last checkpoint.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Run accepted"),
+        @ApiResponse(responseCode = "400", description = "Invalid request or unsupported file format")
+    })
+    public ResponseEntity<FileEnrichmentRunResponse> enrichFile(@Valid @RequestBody FileEnrichmentRequest request) {
+        log.info("Received file enrichment request for s3://{}/{}", request.getBucket(), request.getInputKey());
+        FileEnrichmentRun run = fileEnrichmentService.start(request.getBucket(), request.getInputKey(),
+                request.getOutputBucket(), request.getOutputKey());
+        return ResponseEntity.accepted()
+                .location(URI.create(FILES_PATH + "/" + run.getRunId()))
+                .body(transactionMapper.toFileEnrichmentRunResponse(run));
+    }
+    
+    @GetMapping("/{runId}")
+    @Operation(summary = "Get a file enrichment run",
+               description = "Returns the run status and how far it has got")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Run retrieved successfully"),
+        @ApiResponse(responseCode = "404", description = "Run unknown or expired")
+    })
+    public ResponseEntity<FileEnrichmentRunResponse> getRun(@PathVariable String runId) {
+        FileEnrichmentRun run = fileEnrichmentService.getRun(runId)
+                .orElseThrow(() -> new FileEnrichmentRunNotFoundException(runId));
+        return ResponseEntity.ok(transactionMapper.toFileEnrichmentRunResponse(run));
+    }
+}
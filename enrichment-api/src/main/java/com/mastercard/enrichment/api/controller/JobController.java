@@ -0,0 +1,82 @@
+package com.mastercard.enrichment.api.controller;
+
+import com.mastercard.enrichment.api.dto.JobBatchResponse;
+import com.mastercard.enrichment.api.dto.JobResponse;
+import com.mastercard.enrichment.api.mapper.TransactionMapper;
+import com.mastercard.enrichment.core.domain.EnrichmentJob;
+import com.mastercard.enrichment.core.exception.InvalidRequestException;
+import com.mastercard.enrichment.core.exception.JobNotFoundException;
+import com.mastercard.enrichment.core.service.EnrichmentJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * REST controller for fetching the results of asynchronous enrichment jobs
+ */
+@Slf4j
+@RestController
+@RequestMapping(JobController.JOBS_PATH)
+@RequiredArgsConstructor
+@Tag(name = "Enrichment Jobs", description = "APIs for retrieving asynchronous enrichment results")
+public class JobController {
+    
+    static final String JOBS_PATH = "/api/v1/enrichment/jobs";
+    static final int MAX_BATCH_IDS = 100;
+    
+    private final EnrichmentJobService enrichmentJobService;
+    private final TransactionMapper transactionMapper;
+    
+    @GetMapping("/{jobId}")
+    @Operation(summary = "Get an enrichment job",
+               description = "Returns the job status, and the enriched transaction or error once finished")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Job retrieved successfully"),
+        @ApiResponse(responseCode = "404", description = "Job unknown or expired")
+    })
+    public ResponseEntity<JobResponse> getJob(@PathVariable String jobId) {
+        log.debug("Getting job: {}", jobId);
+        EnrichmentJob job = enrichmentJobService.getJob(jobId)
+                .orElseThrow(() -> new JobNotFoundException(jobId));
+        return ResponseEntity.ok(transactionMapper.toJobResponse(job));
+    }
+    
+    @GetMapping
+    @Operation(summary = "Get several enrichment jobs",
+               description = "Looks up to " + MAX_BATCH_IDS + " comma-separated job IDs at once; "
+                       + "unknown or expired IDs are listed under notFound")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Jobs retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Too many job IDs")
+    })
+    public ResponseEntity<JobBatchResponse> getJobs(@RequestParam List<String> ids) {
+        Set<String> jobIds = new LinkedHashSet<>(ids);
+        if (jobIds.size() > MAX_BATCH_IDS) {
+            throw new InvalidRequestException("At most " + MAX_BATCH_IDS + " job IDs per request, got " + jobIds.size());
+        }
+        
+        List<EnrichmentJob> jobs = enrichmentJobService.getJobs(jobIds);
+        Set<String> found = jobs.stream()
+                .map(EnrichmentJob::getJobId)
+                .collect(Collectors.toSet());
+        
+        return ResponseEntity.ok(JobBatchResponse.builder()
+                .jobs(jobs.stream()
+                        .map(transactionMapper::toJobResponse)
+                        .collect(Collectors.toList()))
+                .notFound(jobIds.stream()
+                        .filter(id -> !found.contains(id))
+                        .collect(Collectors.toList()))
+                .build());
+    }
+}
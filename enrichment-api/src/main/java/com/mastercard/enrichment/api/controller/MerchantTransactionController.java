@@ -0,0 +1,65 @@
+package com.mastercard.enrichment.api.controller;
+
+import com.mastercard.enrichment.api.dto.TransactionPageResponse;
+import com.mastercard.enrichment.api.mapper.TransactionMapper;
+import com.mastercard.enrichment.core.domain.TransactionPage;
+import com.mastercard.enrichment.core.exception.InvalidRequestException;
+import com.mastercard.enrichment.core.service.EnrichmentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+
+/**
+ * REST controller for browsing a merchant's stored transactions
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/enrichment/merchants")
+@RequiredArgsConstructor
+@Tag(name = "Merchant Transactions", description = "APIs for querying stored transactions by merchant")
+public class MerchantTransactionController {
+    
+    static final int MAX_PAGE_SIZE = 100;
+    
+    private final EnrichmentService enrichmentService;
+    private final TransactionMapper transactionMapper;
+    
+    @GetMapping("/{merchantId}/transactions")
+    @Operation(summary = "List a merchant's transactions",
+               description = "Returns transactions newest first within an optional time range. "
+                       + "Pass nextPageToken back as pageToken to fetch the following page.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Page retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid page token, or from is after to")
+    })
+    public ResponseEntity<TransactionPageResponse> getMerchantTransactions(
+            @PathVariable String merchantId,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(defaultValue = "20") int pageSize,
+            @RequestParam(required = false) String pageToken) {
+        
+        log.info("Listing transactions for merchant: {}", merchantId);
+        Instant start = from != null ? from : Instant.EPOCH;
+        Instant end = to != null ? to : Instant.now();
+        if (start.isAfter(end)) {
+            throw new InvalidRequestException("from (" + start + ") is after to (" + end + ")");
+        }
+        
+        TransactionPage page = enrichmentService.getTransactionsByMerchant(
+                merchantId,
+                start,
+                end,
+                Math.max(1, Math.min(pageSize, MAX_PAGE_SIZE)),
+                pageToken);
+        
+        return ResponseEntity.ok(transactionMapper.toPageResponse(page));
+    }
+}
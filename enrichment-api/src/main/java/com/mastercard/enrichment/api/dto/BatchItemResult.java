@@ -0,0 +1,28 @@
+package com.mastercard.enrichment.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One record of a streamed (NDJSON) batch response: the enriched transaction or the error for one input line
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+    
+    private long line;
+    private String transactionId;
+    private Status status;
+    private EnrichedTransactionResponse result;
+    private String error;
+    
+    public enum Status {
+        ENRICHED, FAILED
+    }
+}
@@ -0,0 +1,27 @@
+package com.mastercard.enrichment.api.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO for enriching a file in S3; the output defaults to the input bucket and
+ * the input key with an .enriched.jsonl extension
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileEnrichmentRequest {
+    
+    @NotBlank(message = "Bucket is required")
+    private String bucket;
+    
+    @NotBlank(message = "Input key is required")
+    private String inputKey;
+    
+    private String outputBucket;
+    private String outputKey;
+}
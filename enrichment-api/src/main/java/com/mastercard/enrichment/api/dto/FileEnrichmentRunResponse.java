@@ -0,0 +1,36 @@
+package com.mastercard.enrichment.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Response DTO for a file enrichment run and its progress
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FileEnrichmentRunResponse {
+    
+    private String runId;
+    private String bucket;
+    private String inputKey;
+    private String outputBucket;
+    private String outputKey;
+    private String status;
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant completedAt;
+    private long resumedFromLine;
+    private long linesRead;
+    private long recordsEnriched;
+    private long recordsFailed;
+    private int partsUploaded;
+    private String error;
+}
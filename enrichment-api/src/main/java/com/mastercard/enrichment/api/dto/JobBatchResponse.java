@@ -0,0 +1,21 @@
+package com.mastercard.enrichment.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for a multi-job lookup
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobBatchResponse {
+    
+    private List<JobResponse> jobs;
+    private List<String> notFound;
+}
@@ -0,0 +1,29 @@
+package com.mastercard.enrichment.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Response DTO for an asynchronous enrichment job; result or error is set once the job has finished
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class JobResponse {
+    
+    private String jobId;
+    private String transactionId;
+    private String status;
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant completedAt;
+    private EnrichedTransactionResponse result;
+    private String error;
+}
@@ -0,0 +1,40 @@
+package com.mastercard.enrichment.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Response DTO for a page of stored transactions
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionPageResponse {
+    
+    private List<TransactionSummary> transactions;
+    private String nextPageToken;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TransactionSummary {
+        private String transactionId;
+        private String merchantId;
+        private String merchantName;
+        private BigDecimal amount;
+        private String currency;
+        private Instant timestamp;
+        private String country;
+        private String city;
+        private String enrichmentStatus;
+        private Instant enrichedAt;
+    }
+}
@@ -0,0 +1,264 @@
+package com.mastercard.enrichment.api.filter;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mastercard.enrichment.api.exception.ErrorResponse;
+import com.mastercard.enrichment.infrastructure.concurrent.AdaptiveConcurrencyLimiter;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Sheds load on the enrichment endpoints with an {@link AdaptiveConcurrencyLimiter}. Requests
+ * over the limit get 429 with Retry-After straight away instead of queueing behind slow ones.
+ * A JSON batch weighs as many items as it holds, so its body is read first, up to max-body-size
+ * (larger bodies get 413). An NDJSON stream weighs the number of lines it may enrich at once; its
+ * duration depends on the stream's length, so it never feeds the latency estimate.
+ * 5xx responses count as overload; 4xx responses are ignored.
+ */
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    static final String BATCH_PATH = "/api/v1/enrichment/transactions/batch";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ObjectMapper objectMapper;
+    private final int streamWeight;
+    private final int maxBodySize;
+    private final Duration retryAfter;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter, ObjectMapper objectMapper,
+                                  int streamWeight, int maxBodySize, Duration retryAfter) {
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+        this.streamWeight = streamWeight;
+        this.maxBodySize = maxBodySize;
+        this.retryAfter = retryAfter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        HttpServletRequest admitted = request;
+        int weight = 1;
+        boolean streaming = false;
+        if (BATCH_PATH.equals(request.getRequestURI())) {
+            if (isNdjson(request)) {
+                weight = streamWeight;
+                streaming = true;
+            } else {
+                byte[] body = readBody(request);
+                if (body == null) {
+                    writeError(response, HttpStatus.PAYLOAD_TOO_LARGE,
+                            "Batch body exceeds " + maxBodySize + " bytes; send large batches as NDJSON");
+                    return;
+                }
+                weight = Math.max(1, countItems(body));
+                admitted = new CachedBodyRequest(request, body);
+            }
+        }
+
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(weight);
+        if (permit == null) {
+            log.debug("Shedding request: {} in flight, limit {}", limiter.getInFlight(), limiter.getLimit());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, retryAfter.toSeconds())));
+            writeError(response, HttpStatus.TOO_MANY_REQUESTS, "Server is at its concurrency limit, retry later");
+            return;
+        }
+
+        try {
+            chain.doFilter(admitted, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            permit.dropped();
+            throw e;
+        }
+        if (admitted.isAsyncStarted()) {
+            // Streamed responses finish after this returns
+            admitted.getAsyncContext().addListener(new PermitReleasingListener(permit, response, streaming));
+        } else {
+            release(permit, response.getStatus(), streaming);
+        }
+    }
+
+    /**
+     * The whole body, or null if it is larger than max-body-size; never reads more than one byte past it
+     */
+    private byte[] readBody(HttpServletRequest request) throws IOException {
+        if (request.getContentLengthLong() > maxBodySize) {
+            return null;
+        }
+        byte[] body = request.getInputStream().readNBytes(maxBodySize + 1);
+        return body.length > maxBodySize ? null : body;
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(Instant.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .build();
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private static void release(AdaptiveConcurrencyLimiter.Permit permit, int status, boolean streaming) {
+        if (status >= 500) {
+            permit.dropped();
+        } else if (status >= 400 || streaming) {
+            permit.ignore();
+        } else {
+            permit.success();
+        }
+    }
+
+    private static boolean isNdjson(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.startsWith(MediaType.APPLICATION_NDJSON_VALUE);
+    }
+
+    /**
+     * Top-level elements of a JSON array, or 1 if the body is anything else (the controller rejects it)
+     */
+    private int countItems(byte[] body) {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                return 1;
+            }
+            int items = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                parser.skipChildren();
+                items++;
+            }
+            return items;
+        } catch (IOException e) {
+            return 1;
+        }
+    }
+
+    private static final class PermitReleasingListener implements AsyncListener {
+
+        private final AdaptiveConcurrencyLimiter.Permit permit;
+        private final HttpServletResponse response;
+        private final boolean streaming;
+        private boolean released;
+
+        PermitReleasingListener(AdaptiveConcurrencyLimiter.Permit permit, HttpServletResponse response,
+                                boolean streaming) {
+            this.permit = permit;
+            this.response = response;
+            this.streaming = streaming;
+        }
+
+        @Override
+        public synchronized void onComplete(AsyncEvent event) {
+            if (!released) {
+                released = true;
+                release(permit, response.getStatus(), streaming);
+            }
+        }
+
+        @Override
+        public synchronized void onTimeout(AsyncEvent event) {
+            if (!released) {
+                released = true;
+                permit.dropped();
+            }
+        }
+
+        @Override
+        public synchronized void onError(AsyncEvent event) {
+            onTimeout(event);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+
+    /**
+     * Replays a body that was already read to weigh the request
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    // Everything is in memory, so the whole body is available at once
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        listener.onAllDataRead();
+                    } catch (IOException | RuntimeException e) {
+                        listener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -1,11 +1,19 @@
 package com.mastercard.enrichment.api.mapper;
 
 import com.mastercard.enrichment.api.dto.EnrichedTransactionResponse;
+import com.mastercard.enrichment.api.dto.FileEnrichmentRunResponse;
+import com.mastercard.enrichment.api.dto.JobResponse;
+import com.mastercard.enrichment.api.dto.TransactionPageResponse;
 import com.mastercard.enrichment.api.dto.TransactionRequest;
 import com.mastercard.enrichment.core.domain.EnrichedTransaction;
+import com.mastercard.enrichment.core.domain.EnrichmentJob;
+import com.mastercard.enrichment.core.domain.FileEnrichmentRun;
 import com.mastercard.enrichment.core.domain.Transaction;
+import com.mastercard.enrichment.core.domain.TransactionPage;
 import org.springframework.stereotype.Component;
 
+import java.util.stream.Collectors;
+
 /**
  * Mapper for converting between DTOs and domain models
  */
@@ -75,4 +83,58 @@ public class TransactionMapper {
         
         return builder.build();
     }
+    
+    public TransactionPageResponse toPageResponse(TransactionPage page) {
+        return TransactionPageResponse.builder()
+                .transactions(page.getTransactions().stream()
+                        .map(txn -> TransactionPageResponse.TransactionSummary.builder()
+                                .transactionId(txn.getTransactionId())
+                                .merchantId(txn.getMerchantId())
+                                .merchantName(txn.getMerchantName())
+                                .amount(txn.getAmount())
+                                .currency(txn.getCurrency())
+                                .timestamp(txn.getTimestamp())
+                                .country(txn.getCountry())
+                                .city(txn.getCity())
+                                .enrichmentStatus(txn.getEnrichmentStatus() != null ? 
+                                        txn.getEnrichmentStatus().name() : null)
+                                .enrichedAt(txn.getEnrichedAt())
+                                .build())
+                        .collect(Collectors.toList()))
+                .nextPageToken(page.getNextPageToken())
+                .build();
+    }
+    
+    public JobResponse toJobResponse(EnrichmentJob job) {
+        return JobResponse.builder()
+                .jobId(job.getJobId())
+                .transactionId(job.getTransactionId())
+                .status(job.getStatus().name())
+                .submittedAt(job.getSubmittedAt())
+                .startedAt(job.getStartedAt())
+                .completedAt(job.getCompletedAt())
+                .result(job.getResult() != null ? toResponse(job.getResult()) : null)
+                .error(job.getError())
+                .build();
+    }
+    
+    public FileEnrichmentRunResponse toFileEnrichmentRunResponse(FileEnrichmentRun run) {
+        return FileEnrichmentRunResponse.builder()
+                .runId(run.getRunId())
+                .bucket(run.getBucket())
+                .inputKey(run.getInputKey())
+                .outputBucket(run.getOutputBucket())
+                .outputKey(run.getOutputKey())
+                .status(run.getStatus().name())
+                .submittedAt(run.getSubmittedAt())
+                .startedAt(run.getStartedAt())
+                .completedAt(run.getCompletedAt())
+                .resumedFromLine(run.getResumedFromLine())
+                .linesRead(run.getLinesRead())
+                .recordsEnriched(run.getRecordsEnriched())
+                .recordsFailed(run.getRecordsFailed())
+                .partsUploaded(run.getPartsUploaded())
+                .error(run.getError())
+                .build();
+    }
 }
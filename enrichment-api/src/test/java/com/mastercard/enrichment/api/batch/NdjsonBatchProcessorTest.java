@@ -0,0 +1,178 @@
+package com.mastercard.enrichment.api.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mastercard.enrichment.api.mapper.TransactionMapper;
+import com.mastercard.enrichment.core.domain.EnrichedTransaction;
+import com.mastercard.enrichment.core.domain.Transaction;
+import com.mastercard.enrichment.core.exception.EnrichmentException;
+import com.mastercard.enrichment.core.service.EnrichmentService;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class NdjsonBatchProcessorTest {
+    
+    private static final String VALID = "{\"transactionId\":\"%s\",\"merchantId\":\"merch-1\","
+            + "\"merchantName\":\"Cafe\",\"amount\":10.00,\"currency\":\"USD\"}";
+    
+    @Mock
+    private EnrichmentService enrichmentService;
+    
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private ValidatorFactory validatorFactory;
+    private ExecutorService executor;
+    
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        executor = Executors.newFixedThreadPool(8);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        validatorFactory.close();
+    }
+    
+    @Test
+    void process_ShouldWriteOneRecordPerLineWithPerItemErrors() throws Exception {
+        // Given
+        when(enrichmentService.enrichTransaction(any(Transaction.class)))
+                .thenAnswer(invocation -> enriched(invocation.getArgument(0)));
+        when(enrichmentService.enrichTransaction(argThat(txn -> txn != null
+                && "txn-boom".equals(txn.getTransactionId()))))
+                .thenThrow(new EnrichmentException("Geolocation timed out for transaction: txn-boom"));
+        String input = String.join("\n",
+                VALID.formatted("txn-1"),
+                "{not json",
+                "",
+                VALID.formatted("txn-boom"),
+                "{\"transactionId\":\"txn-3\",\"currency\":\"USD\"}",
+                VALID.formatted("txn-4"));
+        
+        // When
+        List<JsonNode> records = process(processor(4, 1024), input);
+        
+        // Then
+        assertThat(records).extracting(node -> node.get("line").asInt()).containsExactly(1, 2, 4, 5, 6);
+        assertThat(records.get(0).get("status").asText()).isEqualTo("ENRICHED");
+        assertThat(records.get(0).get("result").get("transactionId").asText()).isEqualTo("txn-1");
+        assertThat(records.get(1).get("status").asText()).isEqualTo("FAILED");
+        assertThat(records.get(1).get("error").asText()).startsWith("Malformed JSON");
+        assertThat(records.get(2).get("error").asText()).contains("timed out");
+        assertThat(records.get(3).get("transactionId").asText()).isEqualTo("txn-3");
+        assertThat(records.get(3).get("error").asText()).contains("merchantId").contains("amount");
+        assertThat(records.get(4).get("status").asText()).isEqualTo("ENRICHED");
+    }
+    
+    @Test
+    void process_ShouldRejectOverlongLineAndContinue() throws Exception {
+        // Given
+        when(enrichmentService.enrichTransaction(any(Transaction.class)))
+                .thenAnswer(invocation -> enriched(invocation.getArgument(0)));
+        String input = "{\"merchantName\":\"" + "x".repeat(500) + "\"}\n" + VALID.formatted("txn-2") + "\n";
+        
+        // When
+        List<JsonNode> records = process(processor(4, 256), input);
+        
+        // Then
+        assertThat(records).hasSize(2);
+        assertThat(records.get(0).get("error").asText()).contains("exceeds 256 bytes");
+        assertThat(records.get(1).get("status").asText()).isEqualTo("ENRICHED");
+    }
+    
+    @Test
+    void process_WithJsonNullLine_ShouldWriteMalformedRecordAndContinue() throws Exception {
+        // Given
+        when(enrichmentService.enrichTransaction(any(Transaction.class)))
+                .thenAnswer(invocation -> enriched(invocation.getArgument(0)));
+        String input = "null\n" + VALID.formatted("txn-2") + "\n";
+        
+        // When
+        List<JsonNode> records = process(processor(4, 1024), input);
+        
+        // Then
+        assertThat(records).hasSize(2);
+        assertThat(records.get(0).get("line").asInt()).isEqualTo(1);
+        assertThat(records.get(0).get("status").asText()).isEqualTo("FAILED");
+        assertThat(records.get(0).get("error").asText()).startsWith("Malformed JSON");
+        assertThat(records.get(1).get("status").asText()).isEqualTo("ENRICHED");
+    }
+    
+    @Test
+    void process_ShouldNeverExceedMaxInFlight() throws Exception {
+        // Given
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxObserved = new AtomicInteger();
+        when(enrichmentService.enrichTransaction(any(Transaction.class))).thenAnswer(invocation -> {
+            maxObserved.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(2);
+            inFlight.decrementAndGet();
+            return enriched(invocation.getArgument(0));
+        });
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            lines.add(VALID.formatted("txn-" + i));
+        }
+        
+        // When
+        List<JsonNode> records = process(processor(3, 1024), String.join("\n", lines));
+        
+        // Then
+        assertThat(records).hasSize(200);
+        assertThat(records).allMatch(node -> "ENRICHED".equals(node.get("status").asText()));
+        assertThat(maxObserved.get()).isLessThanOrEqualTo(3);
+    }
+    
+    private NdjsonBatchProcessor processor(int maxInFlight, int maxLineLength) {
+        return new NdjsonBatchProcessor(enrichmentService, new TransactionMapper(), objectMapper,
+                validatorFactory.getValidator(), executor, maxInFlight, maxLineLength);
+    }
+    
+    private List<JsonNode> process(NdjsonBatchProcessor processor, String input) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        processor.process(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output);
+        
+        List<JsonNode> records = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            records.add(objectMapper.readTree(line));
+        }
+        // Records arrive in completion order
+        records.sort(Comparator.comparingInt(node -> node.get("line").asInt()));
+        return records;
+    }
+    
+    private static EnrichedTransaction enriched(Transaction transaction) {
+        return EnrichedTransaction.builder()
+                .transaction(transaction)
+                .enrichedAt(Instant.now())
+                .build();
+    }
+}
@@ -1,10 +1,15 @@
 package com.mastercard.enrichment.api.controller;
 
 import com.mastercard.enrichment.api.dto.EnrichedTransactionResponse;
+import com.mastercard.enrichment.api.dto.JobResponse;
 import com.mastercard.enrichment.api.dto.TransactionRequest;
 import com.mastercard.enrichment.api.mapper.TransactionMapper;
 import com.mastercard.enrichment.core.domain.*;
+import com.mastercard.enrichment.core.service.EnrichmentJobService;
 import com.mastercard.enrichment.core.service.EnrichmentService;
+import com.mastercard.enrichment.infrastructure.metrics.EnrichmentMetrics;
+import com.mastercard.enrichment.infrastructure.service.IdempotentEnrichmentService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,8 +20,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
-import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -28,6 +33,9 @@ class EnrichmentControllerTest {
     @Mock
     private EnrichmentService enrichmentService;
     
+    @Mock
+    private EnrichmentJobService enrichmentJobService;
+    
     @Mock
     private TransactionMapper transactionMapper;
     
@@ -103,20 +111,56 @@ class EnrichmentControllerTest {
     }
     
     @Test
-    void enrichTransactionAsync_ShouldReturnAccepted() {
+    void enrichTransactionAsync_ShouldReturnAcceptedWithJobLocation() {
         // Given
+        EnrichmentJob job = EnrichmentJob.builder()
+                .jobId("job-1")
+                .transactionId("txn-123")
+                .status(EnrichmentJob.Status.QUEUED)
+                .submittedAt(Instant.now())
+                .build();
         when(transactionMapper.toTransaction(request)).thenReturn(transaction);
-        when(enrichmentService.enrichTransactionAsync(any(Transaction.class)))
-                .thenReturn(CompletableFuture.completedFuture(enrichedTransaction));
+        when(enrichmentJobService.submit(transaction)).thenReturn(job);
+        when(transactionMapper.toJobResponse(job)).thenReturn(JobResponse.builder()
+                .jobId("job-1")
+                .transactionId("txn-123")
+                .status("QUEUED")
+                .build());
         
         // When
-        ResponseEntity<String> result = controller.enrichTransactionAsync(request);
+        ResponseEntity<JobResponse> result = controller.enrichTransactionAsync(request);
         
         // Then
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
-        assertThat(result.getBody()).contains("txn-123");
+        assertThat(result.getHeaders().getLocation()).hasToString("/api/v1/enrichment/jobs/job-1");
+        assertThat(result.getBody().getJobId()).isEqualTo("job-1");
+        
+        verify(enrichmentJobService, times(1)).submit(transaction);
+        verifyNoInteractions(enrichmentService);
+    }
+    
+    @Test
+    void enrichTransaction_WhenRetriedThroughIdempotentService_ShouldReplayFirstResult() {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        IdempotentEnrichmentService idempotentService = new IdempotentEnrichmentService(enrichmentService,
+                new EnrichmentMetrics(meterRegistry), meterRegistry, 1000, Duration.ofMinutes(10), Duration.ofSeconds(5));
+        EnrichmentController retriedController = new EnrichmentController(idempotentService, enrichmentJobService,
+                new TransactionMapper(), null);
+        when(enrichmentService.enrichTransaction(any(Transaction.class))).thenAnswer(invocation -> {
+            Transaction received = invocation.getArgument(0);
+            received.setEnrichmentStatus(EnrichmentStatus.COMPLETED);
+            return EnrichedTransaction.builder().transaction(received).enrichedAt(Instant.now()).build();
+        });
         
-        verify(enrichmentService, times(1)).enrichTransactionAsync(any(Transaction.class));
+        // When
+        ResponseEntity<EnrichedTransactionResponse> first = retriedController.enrichTransaction(request);
+        ResponseEntity<EnrichedTransactionResponse> retry = retriedController.enrichTransaction(request);
+        
+        // Then
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(retry.getBody()).isEqualTo(first.getBody());
+        verify(enrichmentService, times(1)).enrichTransaction(any(Transaction.class));
     }
     
     @Test
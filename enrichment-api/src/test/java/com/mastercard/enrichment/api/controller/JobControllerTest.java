@@ -0,0 +1,113 @@
+package com.mastercard.enrichment.api.controller;
+
+import com.mastercard.enrichment.api.dto.JobBatchResponse;
+import com.mastercard.enrichment.api.dto.JobResponse;
+import com.mastercard.enrichment.api.mapper.TransactionMapper;
+import com.mastercard.enrichment.core.domain.EnrichedTransaction;
+import com.mastercard.enrichment.core.domain.EnrichmentJob;
+import com.mastercard.enrichment.core.domain.Transaction;
+import com.mastercard.enrichment.core.exception.InvalidRequestException;
+import com.mastercard.enrichment.core.exception.JobNotFoundException;
+import com.mastercard.enrichment.core.service.EnrichmentJobService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JobControllerTest {
+    
+    @Mock
+    private EnrichmentJobService enrichmentJobService;
+    
+    @Spy
+    private TransactionMapper transactionMapper;
+    
+    @InjectMocks
+    private JobController controller;
+    
+    @Test
+    void getJob_WhenCompleted_ShouldReturnResult() {
+        // Given
+        when(enrichmentJobService.getJob("job-1")).thenReturn(Optional.of(completedJob("job-1")));
+        
+        // When
+        ResponseEntity<JobResponse> result = controller.getJob("job-1");
+        
+        // Then
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getBody().getStatus()).isEqualTo("COMPLETED");
+        assertThat(result.getBody().getResult().getTransactionId()).isEqualTo("txn-job-1");
+    }
+    
+    @Test
+    void getJob_WhenUnknown_ShouldThrowNotFound() {
+        // Given
+        when(enrichmentJobService.getJob("job-x")).thenReturn(Optional.empty());
+        
+        // Then
+        assertThatThrownBy(() -> controller.getJob("job-x")).isInstanceOf(JobNotFoundException.class);
+    }
+    
+    @Test
+    void getJobs_ShouldListUnknownIdsSeparately() {
+        // Given
+        when(enrichmentJobService.getJobs(anyCollection())).thenReturn(List.of(completedJob("job-1")));
+        
+        // When
+        ResponseEntity<JobBatchResponse> result = controller.getJobs(List.of("job-1", "job-2", "job-1"));
+        
+        // Then
+        assertThat(result.getBody().getJobs()).extracting(JobResponse::getJobId).containsExactly("job-1");
+        assertThat(result.getBody().getNotFound()).containsExactly("job-2");
+    }
+    
+    @Test
+    void getJobs_WithTooManyIds_ShouldReturnBadRequest() {
+        // Given
+        List<String> ids = IntStream.rangeClosed(0, JobController.MAX_BATCH_IDS)
+                .mapToObj(i -> "job-" + i)
+                .toList();
+        
+        // When / Then
+        assertThatThrownBy(() -> controller.getJobs(ids))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("At most " + JobController.MAX_BATCH_IDS);
+        verifyNoInteractions(enrichmentJobService);
+    }
+    
+    private static EnrichmentJob completedJob(String jobId) {
+        Transaction transaction = Transaction.builder()
+                .transactionId("txn-" + jobId)
+                .merchantId("merch-456")
+                .amount(new BigDecimal("50.00"))
+                .currency("USD")
+                .build();
+        return EnrichmentJob.builder()
+                .jobId(jobId)
+                .transactionId(transaction.getTransactionId())
+                .status(EnrichmentJob.Status.COMPLETED)
+                .submittedAt(Instant.now())
+                .completedAt(Instant.now())
+                .result(EnrichedTransaction.builder()
+                        .transaction(transaction)
+                        .enrichedAt(Instant.now())
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,104 @@
+package com.mastercard.enrichment.api.controller;
+
+import com.mastercard.enrichment.api.dto.TransactionPageResponse;
+import com.mastercard.enrichment.api.exception.ErrorResponse;
+import com.mastercard.enrichment.api.exception.GlobalExceptionHandler;
+import com.mastercard.enrichment.api.mapper.TransactionMapper;
+import com.mastercard.enrichment.core.domain.EnrichmentStatus;
+import com.mastercard.enrichment.core.domain.Transaction;
+import com.mastercard.enrichment.core.domain.TransactionPage;
+import com.mastercard.enrichment.core.exception.InvalidRequestException;
+import com.mastercard.enrichment.core.service.EnrichmentService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MerchantTransactionControllerTest {
+
+    @Mock
+    private EnrichmentService enrichmentService;
+
+    @Spy
+    private TransactionMapper transactionMapper;
+
+    @InjectMocks
+    private MerchantTransactionController controller;
+
+    @Test
+    void getMerchantTransactions_ShouldReturnPageWithNextToken() {
+        // Given
+        Instant from = Instant.parse("2026-01-01T00:00:00Z");
+        Instant to = Instant.parse("2026-02-01T00:00:00Z");
+        Transaction transaction = Transaction.builder()
+                .transactionId("txn-123")
+                .merchantId("merch-456")
+                .amount(new BigDecimal("50.00"))
+                .currency("USD")
+                .timestamp(from)
+                .enrichmentStatus(EnrichmentStatus.COMPLETED)
+                .build();
+        when(enrichmentService.getTransactionsByMerchant("merch-456", from, to, 10, "token-1"))
+                .thenReturn(new TransactionPage(List.of(transaction), "token-2"));
+
+        // When
+        ResponseEntity<TransactionPageResponse> result =
+                controller.getMerchantTransactions("merch-456", from, to, 10, "token-1");
+
+        // Then
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getBody().getNextPageToken()).isEqualTo("token-2");
+        assertThat(result.getBody().getTransactions()).hasSize(1);
+        assertThat(result.getBody().getTransactions().get(0).getEnrichmentStatus()).isEqualTo("COMPLETED");
+    }
+
+    @Test
+    void getMerchantTransactions_ShouldDefaultRangeAndClampPageSize() {
+        // Given
+        when(enrichmentService.getTransactionsByMerchant(eq("merch-456"), eq(Instant.EPOCH), any(Instant.class),
+                eq(MerchantTransactionController.MAX_PAGE_SIZE), isNull()))
+                .thenReturn(new TransactionPage(List.of(), null));
+
+        // When
+        ResponseEntity<TransactionPageResponse> result =
+                controller.getMerchantTransactions("merch-456", null, null, 10_000, null);
+
+        // Then
+        assertThat(result.getBody().getTransactions()).isEmpty();
+        assertThat(result.getBody().getNextPageToken()).isNull();
+    }
+
+    @Test
+    void getMerchantTransactions_WhenFromIsAfterTo_ShouldReturnBadRequest() {
+        // Given
+        Instant from = Instant.parse("2026-02-01T00:00:00Z");
+        Instant to = Instant.parse("2026-01-01T00:00:00Z");
+
+        // When
+        Throwable thrown = catchThrowable(() -> controller.getMerchantTransactions("merch-456", from, to, 10, null));
+        ResponseEntity<ErrorResponse> response =
+                new GlobalExceptionHandler().handleInvalidRequest((InvalidRequestException) thrown);
+
+        // Then
+        assertThat(thrown).isInstanceOf(InvalidRequestException.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody().getMessage()).contains("is after");
+        verifyNoInteractions(enrichmentService);
+    }
+}
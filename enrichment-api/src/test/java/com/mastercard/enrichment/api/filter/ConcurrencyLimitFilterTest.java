@@ -0,0 +1,212 @@
+package com.mastercard.enrichment.api.filter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mastercard.enrichment.infrastructure.concurrent.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimitFilterTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private SimpleMeterRegistry meterRegistry;
+    private AdaptiveConcurrencyLimiter limiter;
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new AdaptiveConcurrencyLimiter("test", 10, 2, 100, 1.5, meterRegistry);
+        filter = new ConcurrencyLimitFilter(limiter, objectMapper, 8, 1024, Duration.ofSeconds(2));
+    }
+
+    @Test
+    void doFilter_OverLimit_ShouldReturn429WithRetryAfter() throws Exception {
+        // Given
+        limiter.tryAcquire(10);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        filter.doFilter(post("/api/v1/enrichment/transactions", MediaType.APPLICATION_JSON_VALUE, "{}"),
+                response, chain);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("2");
+        JsonNode body = objectMapper.readTree(response.getContentAsByteArray());
+        assertThat(body.get("error").asText()).isEqualTo("Too Many Requests");
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    void doFilter_JsonBatch_ShouldWeighByItemCountAndReplayBody() throws Exception {
+        // Given
+        limiter.tryAcquire(5);
+        String sixItems = "[" + String.join(",", Collections.nCopies(6, "{\"transactionId\":\"t\"}")) + "]";
+        String fiveItems = "[" + String.join(",", Collections.nCopies(5, "{\"transactionId\":\"t\"}")) + "]";
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        MockFilterChain admittedChain = new MockFilterChain();
+
+        // When
+        filter.doFilter(post(ConcurrencyLimitFilter.BATCH_PATH, MediaType.APPLICATION_JSON_VALUE, sixItems),
+                rejected, new MockFilterChain());
+        filter.doFilter(post(ConcurrencyLimitFilter.BATCH_PATH, MediaType.APPLICATION_JSON_VALUE, fiveItems),
+                new MockHttpServletResponse(), admittedChain);
+
+        // Then
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(new String(admittedChain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8))
+                .isEqualTo(fiveItems);
+        assertThat(limiter.getInFlight()).isEqualTo(5);
+    }
+
+    @Test
+    void doFilter_JsonBatch_ShouldReplayBodyToReadListener() throws Exception {
+        // Given
+        String body = "[{\"transactionId\":\"t\"}]";
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(post(ConcurrencyLimitFilter.BATCH_PATH, MediaType.APPLICATION_JSON_VALUE, body),
+                new MockHttpServletResponse(), chain);
+        ServletInputStream input = chain.getRequest().getInputStream();
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        AtomicBoolean allRead = new AtomicBoolean();
+
+        // When
+        input.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                byte[] buffer = new byte[8];
+                while (input.isReady() && !input.isFinished()) {
+                    received.write(buffer, 0, input.read(buffer));
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                allRead.set(true);
+            }
+
+            @Override
+            public void onError(Throwable failure) {
+                throw new AssertionError(failure);
+            }
+        });
+
+        // Then
+        assertThat(received.toString(StandardCharsets.UTF_8)).isEqualTo(body);
+        assertThat(allRead).isTrue();
+    }
+
+    @Test
+    void doFilter_JsonBatchOverMaxBodySize_ShouldReturn413WithoutAcquiring() throws Exception {
+        // Given
+        String oversized = "[" + String.join(",", Collections.nCopies(100, "{\"transactionId\":\"t\"}")) + "]";
+        MockHttpServletRequest declared = post(ConcurrencyLimitFilter.BATCH_PATH,
+                MediaType.APPLICATION_JSON_VALUE, oversized);
+        MockHttpServletRequest chunked = new MockHttpServletRequest("POST", ConcurrencyLimitFilter.BATCH_PATH) {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        chunked.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        chunked.setContent(oversized.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse declaredResponse = new MockHttpServletResponse();
+        MockHttpServletResponse chunkedResponse = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        filter.doFilter(declared, declaredResponse, chain);
+        filter.doFilter(chunked, chunkedResponse, chain);
+
+        // Then
+        assertThat(declaredResponse.getStatus()).isEqualTo(413);
+        assertThat(chunkedResponse.getStatus()).isEqualTo(413);
+        assertThat(objectMapper.readTree(chunkedResponse.getContentAsByteArray()).get("message").asText())
+                .contains("1024 bytes");
+        assertThat(chain.getRequest()).isNull();
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void doFilter_NdjsonBatch_ShouldWeighByStreamConcurrency() throws Exception {
+        // Given
+        limiter.tryAcquire(3);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(post(ConcurrencyLimitFilter.BATCH_PATH, MediaType.APPLICATION_NDJSON_VALUE, "{}\n{}\n"),
+                response, new MockFilterChain());
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void doFilter_WithServerError_ShouldCountAsDropped() throws Exception {
+        // Given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain failing = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                resp.setStatus(503);
+            }
+        });
+
+        // When
+        filter.doFilter(post("/api/v1/enrichment/transactions", MediaType.APPLICATION_JSON_VALUE, "{}"),
+                response, failing);
+
+        // Then
+        assertThat(limiter.getInFlight()).isZero();
+        assertThat(limiter.getLimit()).isEqualTo(9);
+        assertThat(meterRegistry.get("enrichment.limiter.requests").tag("result", "dropped")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void doFilter_Get_ShouldNotBeLimited() throws Exception {
+        // Given
+        limiter.tryAcquire(10);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET",
+                "/api/v1/enrichment/transactions/txn-1/status");
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Then
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    private static MockHttpServletRequest post(String uri, String contentType, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.setContentType(contentType);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,96 @@
+package com.mastercard.enrichment.api.mapper;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mastercard.enrichment.api.dto.EnrichedTransactionResponse;
+import com.mastercard.enrichment.benchmarks.BenchmarkData;
+import com.mastercard.enrichment.core.domain.EnrichedTransaction;
+import com.mastercard.enrichment.core.domain.GeolocationData;
+import com.mastercard.enrichment.core.domain.MerchantCategory;
+import com.mastercard.enrichment.core.domain.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response side of the enrichment API: domain → DTO mapping and JSON serialization
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseMappingBenchmark {
+
+    private TransactionMapper transactionMapper;
+    private ObjectMapper objectMapper;
+    private EnrichedTransaction enriched;
+    private EnrichedTransactionResponse response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        transactionMapper = new TransactionMapper();
+        // Same settings as the ObjectMapper Spring Boot configures for the controllers
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        Transaction transaction = BenchmarkData.transactions(1, 1).get(0);
+        enriched = EnrichedTransaction.builder()
+                .transaction(transaction)
+                .merchantCategory(MerchantCategory.builder()
+                        .merchantId(transaction.getMerchantId())
+                        .categoryCode("5999")
+                        .categoryName("E-Commerce")
+                        .industry("Retail")
+                        .riskLevel(MerchantCategory.RiskLevel.LOW)
+                        .build())
+                .geolocation(GeolocationData.builder()
+                        .city("Vancouver")
+                        .region("British Columbia")
+                        .country("Canada")
+                        .countryCode("CA")
+                        .latitude(49.2827)
+                        .longitude(-123.1207)
+                        .timezone("America/Vancouver")
+                        .build())
+                .normalizedData(EnrichedTransaction.NormalizedData.builder()
+                        .normalizedMerchantName("AMAZON MARKETPLACE")
+                        .standardizedAddress("Vancouver, British Columbia, Canada")
+                        .formattedAmount("123.45 USD")
+                        .isoCountryCode("CA")
+                        .build())
+                .enrichedAt(Instant.parse("2026-01-01T00:00:01Z"))
+                .build();
+        response = transactionMapper.toResponse(enriched);
+    }
+
+    @Benchmark
+    public EnrichedTransactionResponse toResponse() {
+        return transactionMapper.toResponse(enriched);
+    }
+
+    @Benchmark
+    public byte[] serializeResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(transactionMapper.toResponse(enriched));
+    }
+}
@@ -0,0 +1,80 @@
+package com.mastercard.enrichment.benchmarks;
+
+import com.mastercard.enrichment.core.domain.Transaction;
+import com.mastercard.enrichment.core.service.EnrichmentService;
+import com.mastercard.enrichment.infrastructure.concurrent.DependencyGuard;
+import com.mastercard.enrichment.infrastructure.service.PartialEnrichmentBackfill;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic sample transactions shared by the benchmarks
+ */
+public final class BenchmarkData {
+
+    private static final String[] MERCHANT_NAMES = {
+            "Amazon Marketplace", "Joe's Coffee & Cafe", "Shell Gas Station #1234", "Hilton Garden Inn",
+            "Air Canada", "Lucky Star Casino", "Coinbase Crypto Exchange", "Corner Hardware Store",
+            "McDONALD'S #0042", "Café Müller — Downtown", "SQ *FARMERS MARKET", "Uber Trip HELP.UBER.COM"
+    };
+
+    private static final double[][] COORDINATES = {
+            {49.2827, -123.1207}, {40.7128, -74.0060}, {51.5074, -0.1278}, {47.4979, 19.0402},
+            {35.6762, 139.6503}, {-33.8688, 151.2093}, {48.8566, 2.3522}, {0.0, -160.0}
+    };
+
+    private BenchmarkData() {
+    }
+
+    public static String[] merchantNames() {
+        return MERCHANT_NAMES.clone();
+    }
+
+    /**
+     * Transactions cycling through the sample merchants; even ones carry coordinates, odd ones an address
+     */
+    public static List<Transaction> transactions(int count, int merchantCount) {
+        Random random = new Random(42);
+        List<Transaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Transaction.TransactionBuilder builder = Transaction.builder()
+                    .transactionId("txn-" + i)
+                    .merchantId("merch-" + (i % merchantCount))
+                    .merchantName(MERCHANT_NAMES[i % MERCHANT_NAMES.length])
+                    .amount(BigDecimal.valueOf(random.nextInt(100_000), 2))
+                    .currency("USD")
+                    .timestamp(Instant.parse("2026-01-01T00:00:00Z").plusSeconds(i));
+            if (i % 2 == 0) {
+                double[] coordinates = COORDINATES[i % COORDINATES.length];
+                builder.latitude(coordinates[0]).longitude(coordinates[1]);
+            } else {
+                builder.city("Vancouver").country("Canada");
+            }
+            transactions.add(builder.build());
+        }
+        return transactions;
+    }
+
+    /**
+     * Guard with room for any benchmark's concurrency, so only its own overhead is measured
+     */
+    public static DependencyGuard guard(String name, MeterRegistry meterRegistry) {
+        return new DependencyGuard(name, Duration.ofSeconds(1), 10_000, 1.0, 50, Duration.ofSeconds(1),
+                meterRegistry);
+    }
+
+    /**
+     * Backfill that is never scheduled; partially enriched transactions just wait in memory
+     */
+    public static PartialEnrichmentBackfill backfill(MeterRegistry meterRegistry) {
+        return new PartialEnrichmentBackfill(new StaticListableBeanFactory().getBeanProvider(EnrichmentService.class),
+                List.of(), meterRegistry, 10_000, 100, 5);
+    }
+}
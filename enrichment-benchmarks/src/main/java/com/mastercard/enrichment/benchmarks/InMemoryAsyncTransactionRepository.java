@@ -0,0 +1,44 @@
+package com.mastercard.enrichment.benchmarks;
+
+import com.mastercard.enrichment.core.domain.Transaction;
+import com.mastercard.enrichment.core.domain.TransactionPage;
+import com.mastercard.enrichment.core.repository.AsyncTransactionRepository;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * AsyncTransactionRepository over an InMemoryTransactionRepository; every future is already complete
+ */
+public class InMemoryAsyncTransactionRepository implements AsyncTransactionRepository {
+
+    private final InMemoryTransactionRepository repository;
+
+    public InMemoryAsyncTransactionRepository(InMemoryTransactionRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public CompletableFuture<Transaction> save(Transaction transaction) {
+        return CompletableFuture.completedFuture(repository.save(transaction));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Transaction>> findById(String transactionId) {
+        return CompletableFuture.completedFuture(repository.findById(transactionId));
+    }
+
+    @Override
+    public CompletableFuture<TransactionPage> findByMerchantId(String merchantId, Instant from, Instant to,
+                                                               int pageSize, String pageToken) {
+        return CompletableFuture.completedFuture(
+                repository.findByMerchantId(merchantId, from, to, pageSize, pageToken));
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(String transactionId) {
+        repository.delete(transactionId);
+        return CompletableFuture.completedFuture(null);
+    }
+}
@@ -0,0 +1,36 @@
+package com.mastercard.enrichment.benchmarks;
+
+import com.mastercard.enrichment.core.domain.MerchantCategory;
+import com.mastercard.enrichment.core.repository.MerchantCategoryRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * MerchantCategoryRepository stand-in so benchmarks measure the service rather than DynamoDB
+ */
+public class InMemoryMerchantCategoryRepository implements MerchantCategoryRepository {
+
+    private final Map<String, MerchantCategory> categories = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<MerchantCategory> findByMerchantId(String merchantId) {
+        return Optional.ofNullable(categories.get(merchantId));
+    }
+
+    @Override
+    public MerchantCategory save(MerchantCategory category) {
+        categories.put(category.getMerchantId(), category);
+        return category;
+    }
+
+    @Override
+    public List<MerchantCategory> findAll(int segment, int totalSegments, int limit) {
+        return categories.values().stream()
+                .filter(category -> Math.floorMod(category.getMerchantId().hashCode(), totalSegments) == segment)
+                .limit(limit)
+                .toList();
+    }
+}
@@ -0,0 +1,48 @@
+package com.mastercard.enrichment.benchmarks;
+
+import com.mastercard.enrichment.core.domain.Transaction;
+import com.mastercard.enrichment.core.domain.TransactionPage;
+import com.mastercard.enrichment.core.repository.TransactionRepository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * TransactionRepository stand-in so benchmarks measure the service rather than DynamoDB
+ */
+public class InMemoryTransactionRepository implements TransactionRepository {
+
+    private final Map<String, Transaction> transactions = new ConcurrentHashMap<>();
+
+    @Override
+    public Transaction save(Transaction transaction) {
+        transactions.put(transaction.getTransactionId(), transaction);
+        return transaction;
+    }
+
+    @Override
+    public Optional<Transaction> findById(String transactionId) {
+        return Optional.ofNullable(transactions.get(transactionId));
+    }
+
+    @Override
+    public Stream<Transaction> findByMerchantId(String merchantId) {
+        return transactions.values().stream()
+                .filter(transaction -> merchantId.equals(transaction.getMerchantId()));
+    }
+
+    @Override
+    public TransactionPage findByMerchantId(String merchantId, Instant from, Instant to,
+                                            int pageSize, String pageToken) {
+        return new TransactionPage(List.of(), null);
+    }
+
+    @Override
+    public void delete(String transactionId) {
+        transactions.remove(transactionId);
+    }
+}
@@ -0,0 +1,103 @@
+package com.mastercard.enrichment.infrastructure.cache;
+
+import com.mastercard.enrichment.core.domain.EnrichedTransaction;
+import com.mastercard.enrichment.core.domain.GeolocationData;
+import com.mastercard.enrichment.core.domain.MerchantCategory;
+import com.mastercard.enrichment.core.domain.Transaction;
+import com.mastercard.enrichment.benchmarks.BenchmarkData;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding an enriched transaction for Redis: the JSON serializer vs the compact codec,
+ * with and without LZ4. The encoded size is reported as the {@code encodedBytes} secondary result.
+ * Run with: java -jar enrichment-benchmarks/target/benchmarks.jar CacheSerializerBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheSerializerBenchmark {
+
+    @Param({ "json", "compact", "compact-lz4" })
+    public String format;
+
+    private RedisSerializer<Object> serializer;
+    private EnrichedTransaction value;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        serializer = switch (format) {
+            case "json" -> CompactRedisSerializer.jsonSerializer();
+            case "compact" -> new CompactRedisSerializer(DomainCacheCodecs.byTag(),
+                    CompactRedisSerializer.jsonSerializer(), 0);
+            default -> new CompactRedisSerializer(DomainCacheCodecs.byTag(),
+                    CompactRedisSerializer.jsonSerializer(), 1);
+        };
+        Transaction transaction = BenchmarkData.transactions(1, 1).get(0);
+        value = EnrichedTransaction.builder()
+                .transaction(transaction)
+                .merchantCategory(MerchantCategory.builder()
+                        .merchantId(transaction.getMerchantId())
+                        .categoryCode("5999")
+                        .categoryName("Online Marketplace")
+                        .industry("Retail")
+                        .riskLevel(MerchantCategory.RiskLevel.LOW)
+                        .build())
+                .geolocation(GeolocationData.builder()
+                        .country("Canada")
+                        .countryCode("CA")
+                        .city("Vancouver")
+                        .region("British Columbia")
+                        .latitude(49.2827)
+                        .longitude(-123.1207)
+                        .timezone("America/Vancouver")
+                        .build())
+                .normalizedData(EnrichedTransaction.NormalizedData.builder()
+                        .normalizedMerchantName("AMAZON MARKETPLACE")
+                        .standardizedAddress("Vancouver, Canada")
+                        .formattedAmount("USD 123.45")
+                        .isoCountryCode("CA")
+                        .build())
+                .enrichedAt(Instant.parse("2026-01-01T00:00:01Z"))
+                .build();
+        encoded = serializer.serialize(value);
+    }
+
+    @Benchmark
+    public byte[] serialize(EncodedSize size) {
+        byte[] bytes = serializer.serialize(value);
+        size.encodedBytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(encoded);
+    }
+
+    /** Encoded size of the value, reported next to the serialize timings. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EncodedSize {
+        public long encodedBytes;
+    }
+}
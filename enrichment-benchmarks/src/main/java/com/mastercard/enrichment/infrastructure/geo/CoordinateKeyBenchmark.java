@@ -0,0 +1,62 @@
+package com.mastercard.enrichment.infrastructure.geo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the geolocationByCoords cache key: the old "lat,lon" concatenation vs a geohash cell.
+ * Run with: java -jar enrichment-benchmarks/target/benchmarks.jar CoordinateKeyBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CoordinateKeyBenchmark {
+
+    private static final int QUERY_COUNT = 1024;
+
+    private Double[] latitudes;
+    private Double[] longitudes;
+    private CoordinateCellKeyGenerator exactKeys;
+    private CoordinateCellKeyGenerator cellKeys;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        latitudes = new Double[QUERY_COUNT];
+        longitudes = new Double[QUERY_COUNT];
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            latitudes[i] = random.nextDouble() * 180 - 90;
+            longitudes[i] = random.nextDouble() * 360 - 180;
+        }
+        exactKeys = new CoordinateCellKeyGenerator(0);
+        cellKeys = new CoordinateCellKeyGenerator(6);
+    }
+
+    @Benchmark
+    public String concatenatedKey() {
+        int i = next++ & (QUERY_COUNT - 1);
+        return exactKeys.key(latitudes[i], longitudes[i]);
+    }
+
+    @Benchmark
+    public String geohashKey() {
+        int i = next++ & (QUERY_COUNT - 1);
+        return cellKeys.key(latitudes[i], longitudes[i]);
+    }
+}
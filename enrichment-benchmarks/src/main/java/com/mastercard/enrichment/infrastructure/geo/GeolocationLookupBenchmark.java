@@ -0,0 +1,101 @@
+package com.mastercard.enrichment.infrastructure.geo;
+
+import com.mastercard.enrichment.core.domain.GeolocationData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coordinate-to-city lookup: k-d tree vs the original linear Haversine scan.
+ * Run with: java -jar enrichment-benchmarks/target/benchmarks.jar GeolocationLookupBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeolocationLookupBenchmark {
+
+    private static final double MAX_DISTANCE_KM = 50.0;
+    private static final int QUERY_COUNT = 1024;
+
+    @Param({"1000", "100000", "1000000"})
+    private int cityCount;
+
+    private List<GeolocationData> cities;
+    private GeoSpatialIndex index;
+    private double[] queryLatitudes;
+    private double[] queryLongitudes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        cities = new ArrayList<>(cityCount);
+        for (int i = 0; i < cityCount; i++) {
+            cities.add(GeolocationData.builder()
+                    .city("city-" + i)
+                    .latitude(Math.toDegrees(Math.asin(2 * random.nextDouble() - 1)))
+                    .longitude(random.nextDouble() * 360 - 180)
+                    .build());
+        }
+        index = new GeoSpatialIndex(cities);
+
+        // Query near existing cities so both paths find a match, as real card-present traffic would
+        queryLatitudes = new double[QUERY_COUNT];
+        queryLongitudes = new double[QUERY_COUNT];
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            GeolocationData city = cities.get(random.nextInt(cityCount));
+            queryLatitudes[i] = city.getLatitude() + random.nextGaussian() * 0.1;
+            queryLongitudes[i] = city.getLongitude() + random.nextGaussian() * 0.1;
+        }
+    }
+
+    @Benchmark
+    public GeolocationData spatialIndex() {
+        int i = next++ & (QUERY_COUNT - 1);
+        return index.nearest(queryLatitudes[i], queryLongitudes[i], MAX_DISTANCE_KM);
+    }
+
+    @Benchmark
+    public GeolocationData linearScan() {
+        int i = next++ & (QUERY_COUNT - 1);
+        double latitude = queryLatitudes[i];
+        double longitude = queryLongitudes[i];
+        // Previous GeolocationServiceImpl behaviour: first city within range, Haversine for each
+        for (GeolocationData city : cities) {
+            if (calculateDistance(latitude, longitude, city.getLatitude(), city.getLongitude()) <= MAX_DISTANCE_KM) {
+                return city;
+            }
+        }
+        return null;
+    }
+
+    private static double calculateDistance(Double lat1, Double lon1, Double lat2, Double lon2) {
+        final int R = 6371;
+
+        double latDistance = Math.toRadians(lat2 - lat1);
+        double lonDistance = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
+        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+
+        return R * c;
+    }
+}
@@ -0,0 +1,103 @@
+package com.mastercard.enrichment.infrastructure.metrics;
+
+import com.mastercard.enrichment.benchmarks.BenchmarkData;
+import com.mastercard.enrichment.benchmarks.InMemoryAsyncTransactionRepository;
+import com.mastercard.enrichment.benchmarks.InMemoryMerchantCategoryRepository;
+import com.mastercard.enrichment.benchmarks.InMemoryTransactionRepository;
+import com.mastercard.enrichment.core.domain.EnrichedTransaction;
+import com.mastercard.enrichment.core.domain.Transaction;
+import com.mastercard.enrichment.infrastructure.cache.InstrumentedCache;
+import com.mastercard.enrichment.infrastructure.categorization.CategoryRuleRegistry;
+import com.mastercard.enrichment.infrastructure.normalization.TransactionNormalizer;
+import com.mastercard.enrichment.infrastructure.service.EnrichmentServiceImpl;
+import com.mastercard.enrichment.infrastructure.service.GeolocationServiceImpl;
+import com.mastercard.enrichment.infrastructure.service.MerchantCategoryServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the pipeline and cache instrumentation: registry "noop" registers meters that record
+ * nothing (the baseline), "prometheus" records into the registry used in production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InstrumentationOverheadBenchmark {
+
+    private static final int TRANSACTION_COUNT = 1024;
+    private static final int KEY_COUNT = 1024;
+
+    @Param({"noop", "prometheus"})
+    private String registry;
+
+    private EnrichmentServiceImpl enrichmentService;
+    private List<Transaction> transactions;
+    private Cache cache;
+    private String[] keys;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MeterRegistry meterRegistry = "prometheus".equals(registry)
+                ? new PrometheusMeterRegistry(PrometheusConfig.DEFAULT)
+                : new CompositeMeterRegistry();
+        InMemoryTransactionRepository repository = new InMemoryTransactionRepository();
+        enrichmentService = new EnrichmentServiceImpl(
+                new MerchantCategoryServiceImpl(
+                        new CategoryRuleRegistry(new DefaultResourceLoader(),
+                                "classpath:categorization/category-rules.csv"),
+                        new InMemoryMerchantCategoryRepository(), 100_000, Duration.ofMinutes(10)),
+                new GeolocationServiceImpl(new DefaultResourceLoader(),
+                        "classpath:gazetteer/cities.tsv", "classpath:gazetteer/admin1CodesASCII.txt", 50, 6),
+                repository, new InMemoryAsyncTransactionRepository(repository),
+                Runnable::run, BenchmarkData.guard("categorization", meterRegistry),
+                BenchmarkData.guard("geolocation", meterRegistry), BenchmarkData.guard("repository", meterRegistry),
+                new EnrichmentMetrics(meterRegistry), new TransactionNormalizer(10_000),
+                BenchmarkData.backfill(meterRegistry));
+        transactions = BenchmarkData.transactions(TRANSACTION_COUNT, 256);
+
+        cache = new InstrumentedCache(new ConcurrentMapCache("merchantCategories"), meterRegistry);
+        keys = new String[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            keys[i] = "merch-" + i;
+            // Every other key stays absent so both hits and misses are measured
+            if (i % 2 == 0) {
+                cache.put(keys[i], "Restaurant");
+            }
+        }
+    }
+
+    @Benchmark
+    public EnrichedTransaction enrichTransaction() {
+        return enrichmentService.enrichTransaction(transactions.get(next++ & (TRANSACTION_COUNT - 1)));
+    }
+
+    @Benchmark
+    public Cache.ValueWrapper cacheGet() {
+        return cache.get(keys[next++ & (KEY_COUNT - 1)]);
+    }
+}
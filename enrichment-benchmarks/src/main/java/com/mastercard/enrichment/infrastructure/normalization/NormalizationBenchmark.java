@@ -0,0 +1,74 @@
+package com.mastercard.enrichment.infrastructure.normalization;
+
+import com.mastercard.enrichment.benchmarks.BenchmarkData;
+import com.mastercard.enrichment.core.domain.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TransactionNormalizer against the regex and String.format implementation it replaced.
+ * Run with -prof gc to compare allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NormalizationBenchmark {
+
+    private static final int TRANSACTION_COUNT = 1024;
+
+    /** Size of the normalized name cache; 0 folds every name */
+    @Param({"0", "10000"})
+    private long nameCacheSize;
+
+    private TransactionNormalizer normalizer;
+    private String[] merchantNames;
+    private List<Transaction> transactions;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        normalizer = new TransactionNormalizer(nameCacheSize);
+        merchantNames = BenchmarkData.merchantNames();
+        transactions = BenchmarkData.transactions(TRANSACTION_COUNT, 256);
+    }
+
+    @Benchmark
+    public String normalizeMerchantName() {
+        return normalizer.normalizeMerchantName(merchantNames[next++ % merchantNames.length]);
+    }
+
+    @Benchmark
+    public String normalizeMerchantNameLegacy() {
+        return merchantNames[next++ % merchantNames.length].trim()
+                .toUpperCase()
+                .replaceAll("[^A-Z0-9\\s]", "");
+    }
+
+    @Benchmark
+    public String formatAmount() {
+        Transaction transaction = transactions.get(next++ & (TRANSACTION_COUNT - 1));
+        return normalizer.formatAmount(transaction.getAmount(), transaction.getCurrency());
+    }
+
+    @Benchmark
+    public String formatAmountLegacy() {
+        Transaction transaction = transactions.get(next++ & (TRANSACTION_COUNT - 1));
+        return String.format("%.2f %s", transaction.getAmount(), transaction.getCurrency());
+    }
+}
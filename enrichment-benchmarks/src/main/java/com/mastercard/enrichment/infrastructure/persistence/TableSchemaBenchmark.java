@@ -0,0 +1,124 @@
+package com.mastercard.enrichment.infrastructure.persistence;
+
+import com.mastercard.enrichment.benchmarks.BenchmarkData;
+import lombok.Data;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSecondaryPartitionKey;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSecondarySortKey;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping a transaction item with the prebuilt static schema vs an annotated bean schema built on
+ * every call, which is what the repositories did before. See TableSchemaStartupBenchmark for the
+ * first mapping after startup.
+ * Run with: java -jar enrichment-benchmarks/target/benchmarks.jar TableSchemaBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TableSchemaBenchmark {
+
+    private TransactionEntity entity;
+    private AnnotatedTransactionEntity annotatedEntity;
+    private Map<String, AttributeValue> item;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        entity = TransactionEntityMapper.toEntity(BenchmarkData.transactions(1, 1).get(0));
+        annotatedEntity = AnnotatedTransactionEntity.of(entity);
+        item = TransactionEntity.TABLE_SCHEMA.itemToMap(entity, true);
+    }
+
+    @Benchmark
+    public Map<String, AttributeValue> writeStaticSchema() {
+        return TransactionEntity.TABLE_SCHEMA.itemToMap(entity, true);
+    }
+
+    @Benchmark
+    public Map<String, AttributeValue> writeBeanSchemaPerCall() {
+        return TableSchema.fromBean(AnnotatedTransactionEntity.class).itemToMap(annotatedEntity, true);
+    }
+
+    @Benchmark
+    public TransactionEntity readStaticSchema() {
+        return TransactionEntity.TABLE_SCHEMA.mapToItem(item);
+    }
+
+    @Benchmark
+    public AnnotatedTransactionEntity readBeanSchemaPerCall() {
+        return TableSchema.fromBean(AnnotatedTransactionEntity.class).mapToItem(item);
+    }
+
+    /**
+     * TransactionEntity as it was mapped before, through annotations and bean introspection
+     */
+    @Data
+    @DynamoDbBean
+    public static class AnnotatedTransactionEntity {
+
+        private String transactionId;
+        private String merchantId;
+        private String merchantName;
+        private BigDecimal amount;
+        private String currency;
+        private Long timestamp;
+        private String country;
+        private String city;
+        private Double latitude;
+        private Double longitude;
+        private String enrichmentStatus;
+        private Long enrichedAt;
+
+        @DynamoDbPartitionKey
+        public String getTransactionId() {
+            return transactionId;
+        }
+
+        @DynamoDbSecondaryPartitionKey(indexNames = TransactionEntity.MERCHANT_TIMESTAMP_INDEX)
+        public String getMerchantId() {
+            return merchantId;
+        }
+
+        @DynamoDbSecondarySortKey(indexNames = TransactionEntity.MERCHANT_TIMESTAMP_INDEX)
+        public Long getTimestamp() {
+            return timestamp;
+        }
+
+        static AnnotatedTransactionEntity of(TransactionEntity entity) {
+            AnnotatedTransactionEntity annotated = new AnnotatedTransactionEntity();
+            annotated.setTransactionId(entity.getTransactionId());
+            annotated.setMerchantId(entity.getMerchantId());
+            annotated.setMerchantName(entity.getMerchantName());
+            annotated.setAmount(entity.getAmount());
+            annotated.setCurrency(entity.getCurrency());
+            annotated.setTimestamp(entity.getTimestamp());
+            annotated.setCountry(entity.getCountry());
+            annotated.setCity(entity.getCity());
+            annotated.setLatitude(entity.getLatitude());
+            annotated.setLongitude(entity.getLongitude());
+            annotated.setEnrichmentStatus(entity.getEnrichmentStatus());
+            annotated.setEnrichedAt(entity.getEnrichedAt());
+            return annotated;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.mastercard.enrichment.infrastructure.persistence;
+
+import com.mastercard.enrichment.infrastructure.persistence.TableSchemaBenchmark.AnnotatedTransactionEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The first transaction item mapped in a fresh JVM, schema construction and class initialization
+ * included: the static schema vs the annotated bean schema. One shot per fork, no state, so
+ * nothing is initialized before the measurement.
+ * Run with: java -jar enrichment-benchmarks/target/benchmarks.jar TableSchemaStartupBenchmark
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class TableSchemaStartupBenchmark {
+
+    @Benchmark
+    public Map<String, AttributeValue> staticSchema() {
+        TransactionEntity entity = TransactionEntity.builder().transactionId("txn-1").build();
+        return TransactionEntity.TABLE_SCHEMA.itemToMap(entity, true);
+    }
+
+    @Benchmark
+    public Map<String, AttributeValue> beanSchema() {
+        AnnotatedTransactionEntity entity = new AnnotatedTransactionEntity();
+        entity.setTransactionId("txn-1");
+        return TableSchema.fromBean(AnnotatedTransactionEntity.class).itemToMap(entity, true);
+    }
+}
@@ -0,0 +1,146 @@
+package com.mastercard.enrichment.infrastructure.service;
+
+import com.mastercard.enrichment.benchmarks.BenchmarkData;
+import com.mastercard.enrichment.benchmarks.InMemoryAsyncTransactionRepository;
+import com.mastercard.enrichment.benchmarks.InMemoryMerchantCategoryRepository;
+import com.mastercard.enrichment.benchmarks.InMemoryTransactionRepository;
+import com.mastercard.enrichment.core.domain.EnrichedTransaction;
+import com.mastercard.enrichment.core.domain.GeolocationData;
+import com.mastercard.enrichment.core.domain.MerchantCategory;
+import com.mastercard.enrichment.core.domain.Transaction;
+import com.mastercard.enrichment.infrastructure.categorization.CategoryRuleRegistry;
+import com.mastercard.enrichment.infrastructure.metrics.EnrichmentMetrics;
+import com.mastercard.enrichment.infrastructure.normalization.TransactionNormalizer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enrichment hot path with in-memory repositories: the whole enrichTransaction call (blocking and async),
+ * and the normalization and categorization steps on their own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EnrichmentServiceBenchmark {
+
+    private static final int TRANSACTION_COUNT = 1024;
+
+    private EnrichmentServiceImpl enrichmentService;
+    private MerchantCategoryServiceImpl merchantCategoryService;
+    private List<Transaction> transactions;
+    private String[] merchantNames;
+    private MerchantCategory category;
+    private GeolocationData geolocation;
+    private int next;
+
+    /**
+     * Full pipeline; executor "direct" runs the stages on the calling thread,
+     * "pool" on a thread pool as in production
+     */
+    @State(Scope.Benchmark)
+    public static class Pipeline {
+
+        @Param({"direct", "pool"})
+        private String executor;
+
+        private ExecutorService pool;
+        private EnrichmentServiceImpl enrichmentService;
+        private List<Transaction> transactions;
+        private int next;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            pool = Executors.newFixedThreadPool(4);
+            enrichmentService = newEnrichmentService("pool".equals(executor) ? pool : Runnable::run);
+            transactions = BenchmarkData.transactions(TRANSACTION_COUNT, 256);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            pool.shutdown();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        enrichmentService = newEnrichmentService(Runnable::run);
+        merchantCategoryService = newMerchantCategoryService();
+        transactions = BenchmarkData.transactions(TRANSACTION_COUNT, 256);
+        merchantNames = BenchmarkData.merchantNames();
+        category = merchantCategoryService.determineCategoryFromName("merch-0", "Hilton Garden Inn");
+        geolocation = newGeolocationService().getGeolocationByCoordinates(49.2827, -123.1207).orElseThrow();
+    }
+
+    @Benchmark
+    public EnrichedTransaction enrichTransaction(Pipeline pipeline) {
+        return pipeline.enrichmentService.enrichTransaction(
+                pipeline.transactions.get(pipeline.next++ & (TRANSACTION_COUNT - 1)));
+    }
+
+    @Benchmark
+    public EnrichedTransaction enrichTransactionAsync(Pipeline pipeline) {
+        return pipeline.enrichmentService.enrichTransactionAsync(
+                pipeline.transactions.get(pipeline.next++ & (TRANSACTION_COUNT - 1))).join();
+    }
+
+    @Benchmark
+    public String normalizeMerchantName() {
+        return enrichmentService.normalizeMerchantName(merchantNames[next++ % merchantNames.length]);
+    }
+
+    @Benchmark
+    public EnrichedTransaction.NormalizedData createNormalizedData() {
+        return enrichmentService.createNormalizedData(
+                transactions.get(next++ & (TRANSACTION_COUNT - 1)), category, geolocation);
+    }
+
+    @Benchmark
+    public MerchantCategory determineCategoryFromName() {
+        return merchantCategoryService.determineCategoryFromName("merch-0", merchantNames[next++ % merchantNames.length]);
+    }
+
+    private static EnrichmentServiceImpl newEnrichmentService(Executor executor) {
+        InMemoryTransactionRepository repository = new InMemoryTransactionRepository();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        return new EnrichmentServiceImpl(newMerchantCategoryService(), newGeolocationService(),
+                repository, new InMemoryAsyncTransactionRepository(repository),
+                executor, BenchmarkData.guard("categorization", meterRegistry),
+                BenchmarkData.guard("geolocation", meterRegistry), BenchmarkData.guard("repository", meterRegistry),
+                new EnrichmentMetrics(meterRegistry), new TransactionNormalizer(10_000),
+                BenchmarkData.backfill(meterRegistry));
+    }
+
+    private static MerchantCategoryServiceImpl newMerchantCategoryService() {
+        return new MerchantCategoryServiceImpl(
+                new CategoryRuleRegistry(new DefaultResourceLoader(), "classpath:categorization/category-rules.csv"),
+                new InMemoryMerchantCategoryRepository(), 100_000, Duration.ofMinutes(10));
+    }
+
+    private static GeolocationServiceImpl newGeolocationService() {
+        return new GeolocationServiceImpl(new DefaultResourceLoader(),
+                "classpath:gazetteer/cities.tsv", "classpath:gazetteer/admin1CodesASCII.txt", 50, 6);
+    }
+}
@@ -0,0 +1,37 @@
+package com.mastercard.enrichment.core.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * An asynchronous enrichment request and, once finished, its outcome
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrichmentJob {
+    
+    private String jobId;
+    private String transactionId;
+    private Status status;
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant completedAt;
+    private EnrichedTransaction result;
+    private String error;
+    
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+    
+    @JsonIgnore
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+}
@@ -0,0 +1,46 @@
+package com.mastercard.enrichment.core.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A bulk enrichment of one input file into one output file, and its progress
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileEnrichmentRun {
+    
+    private String runId;
+    private String bucket;
+    private String inputKey;
+    private String outputBucket;
+    private String outputKey;
+    private Status status;
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant completedAt;
+    
+    /** Input line the run started from; non-zero when it resumed from a checkpoint */
+    private long resumedFromLine;
+    private long linesRead;
+    private long recordsEnriched;
+    private long recordsFailed;
+    private int partsUploaded;
+    private String error;
+    
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+    
+    @JsonIgnore
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+}
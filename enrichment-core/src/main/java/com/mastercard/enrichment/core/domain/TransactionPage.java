@@ -0,0 +1,25 @@
+package com.mastercard.enrichment.core.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of transactions with an opaque token for fetching the next page
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionPage {
+    
+    private List<Transaction> transactions;
+    
+    /**
+     * Null when there are no more pages
+     */
+    private String nextPageToken;
+}
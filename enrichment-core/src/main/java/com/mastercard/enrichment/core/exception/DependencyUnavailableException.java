@@ -0,0 +1,12 @@
+package com.mastercard.enrichment.core.exception;
+
+/**
+ * Exception thrown when a downstream dependency is refused a call because its circuit is open
+ * or it already has as many calls in flight as it is allowed
+ */
+public class DependencyUnavailableException extends EnrichmentException {
+    
+    public DependencyUnavailableException(String dependency, String reason) {
+        super("Dependency " + dependency + " is unavailable: " + reason);
+    }
+}
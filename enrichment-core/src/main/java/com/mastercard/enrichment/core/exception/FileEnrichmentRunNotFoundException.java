@@ -0,0 +1,11 @@
+package com.mastercard.enrichment.core.exception;
+
+/**
+ * Exception thrown when a file enrichment run is unknown or has expired
+ */
+public class FileEnrichmentRunNotFoundException extends EnrichmentException {
+    
+    public FileEnrichmentRunNotFoundException(String runId) {
+        super("File enrichment run not found: " + runId);
+    }
+}
@@ -0,0 +1,11 @@
+package com.mastercard.enrichment.core.exception;
+
+/**
+ * Exception thrown when a transaction ID is reused with a different payload
+ */
+public class IdempotencyConflictException extends EnrichmentException {
+    
+    public IdempotencyConflictException(String transactionId) {
+        super("Transaction ID already used with a different payload: " + transactionId);
+    }
+}
@@ -0,0 +1,11 @@
+package com.mastercard.enrichment.core.exception;
+
+/**
+ * Exception thrown when a pagination token cannot be decoded
+ */
+public class InvalidPageTokenException extends EnrichmentException {
+    
+    public InvalidPageTokenException(String pageToken, Throwable cause) {
+        super("Invalid page token: " + pageToken, cause);
+    }
+}
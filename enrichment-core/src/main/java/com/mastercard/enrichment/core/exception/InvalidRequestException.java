@@ -0,0 +1,11 @@
+package com.mastercard.enrichment.core.exception;
+
+/**
+ * Exception thrown when request parameters are well-formed but cannot be served, such as an inverted time range
+ */
+public class InvalidRequestException extends EnrichmentException {
+    
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.mastercard.enrichment.core.exception;
+
+/**
+ * Exception thrown when an enrichment job is unknown or has expired
+ */
+public class JobNotFoundException extends EnrichmentException {
+    
+    public JobNotFoundException(String jobId) {
+        super("Job not found: " + jobId);
+    }
+}
@@ -0,0 +1,11 @@
+package com.mastercard.enrichment.core.exception;
+
+/**
+ * Exception thrown when the job queue is full and no more work can be accepted for now
+ */
+public class JobRejectedException extends EnrichmentException {
+    
+    public JobRejectedException(String transactionId) {
+        super("Job queue is full, rejected transaction: " + transactionId);
+    }
+}
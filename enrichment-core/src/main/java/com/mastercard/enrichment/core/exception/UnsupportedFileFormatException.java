@@ -0,0 +1,11 @@
+package com.mastercard.enrichment.core.exception;
+
+/**
+ * Exception thrown when a file to enrich is neither CSV nor JSON lines
+ */
+public class UnsupportedFileFormatException extends EnrichmentException {
+    
+    public UnsupportedFileFormatException(String key) {
+        super("Unsupported file format (expected .csv, .jsonl or .ndjson): " + key);
+    }
+}
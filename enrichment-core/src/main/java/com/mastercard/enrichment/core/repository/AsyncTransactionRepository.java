@@ -0,0 +1,37 @@
+package com.mastercard.enrichment.core.repository;
+
+import com.mastercard.enrichment.core.domain.Transaction;
+import com.mastercard.enrichment.core.domain.TransactionPage;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of TransactionRepository: every call returns immediately and
+ * completes on the client's I/O threads, so no caller thread waits on the network.
+ * Callbacks attached to the returned futures must not block.
+ */
+public interface AsyncTransactionRepository {
+    
+    /**
+     * Save a transaction
+     */
+    CompletableFuture<Transaction> save(Transaction transaction);
+    
+    /**
+     * Find transaction by ID
+     */
+    CompletableFuture<Optional<Transaction>> findById(String transactionId);
+    
+    /**
+     * Find one page of a merchant's transactions within [from, to], newest first
+     */
+    CompletableFuture<TransactionPage> findByMerchantId(String merchantId, Instant from, Instant to,
+                                                        int pageSize, String pageToken);
+    
+    /**
+     * Delete transaction
+     */
+    CompletableFuture<Void> delete(String transactionId);
+}
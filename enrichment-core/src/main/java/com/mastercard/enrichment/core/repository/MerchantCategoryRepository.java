@@ -0,0 +1,28 @@
+package com.mastercard.enrichment.core.repository;
+
+import com.mastercard.enrichment.core.domain.MerchantCategory;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for merchant category persistence
+ */
+public interface MerchantCategoryRepository {
+    
+    /**
+     * Find the stored category of a merchant
+     */
+    Optional<MerchantCategory> findByMerchantId(String merchantId);
+    
+    /**
+     * Save (insert or replace) a merchant category
+     */
+    MerchantCategory save(MerchantCategory category);
+    
+    /**
+     * Read up to limit categories from one of totalSegments disjoint segments of the store,
+     * so a full read can be split across threads
+     */
+    List<MerchantCategory> findAll(int segment, int totalSegments, int limit);
+}
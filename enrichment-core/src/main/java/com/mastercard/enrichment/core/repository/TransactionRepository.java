@@ -1,9 +1,11 @@
 package com.mastercard.enrichment.core.repository;
 
 import com.mastercard.enrichment.core.domain.Transaction;
+import com.mastercard.enrichment.core.domain.TransactionPage;
 
-import java.util.List;
+import java.time.Instant;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for transaction persistence
@@ -21,9 +23,15 @@ public interface TransactionRepository {
     Optional<Transaction> findById(String transactionId);
     
     /**
-     * Find transactions by merchant ID
+     * Stream all transactions of a merchant, newest first. Pages are fetched lazily as the stream is consumed.
      */
-    List<Transaction> findByMerchantId(String merchantId);
+    Stream<Transaction> findByMerchantId(String merchantId);
+    
+    /**
+     * Find one page of a merchant's transactions within [from, to], newest first
+     */
+    TransactionPage findByMerchantId(String merchantId, Instant from, Instant to, 
+                                     int pageSize, String pageToken);
     
     /**
      * Delete transaction
@@ -0,0 +1,29 @@
+package com.mastercard.enrichment.core.service;
+
+import com.mastercard.enrichment.core.domain.EnrichmentJob;
+import com.mastercard.enrichment.core.domain.Transaction;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service for asynchronous enrichment whose results can be fetched later
+ */
+public interface EnrichmentJobService {
+    
+    /**
+     * Queue a transaction for enrichment and return the job tracking it
+     */
+    EnrichmentJob submit(Transaction transaction);
+    
+    /**
+     * Get a job by ID, while it is retained
+     */
+    Optional<EnrichmentJob> getJob(String jobId);
+    
+    /**
+     * Get several jobs at once; unknown or expired IDs are left out
+     */
+    List<EnrichmentJob> getJobs(Collection<String> jobIds);
+}
@@ -2,7 +2,9 @@ package com.mastercard.enrichment.core.service;
 
 import com.mastercard.enrichment.core.domain.EnrichedTransaction;
 import com.mastercard.enrichment.core.domain.Transaction;
+import com.mastercard.enrichment.core.domain.TransactionPage;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
@@ -30,4 +32,10 @@ public interface EnrichmentService {
      * Get enrichment status for a transaction
      */
     String getEnrichmentStatus(String transactionId);
+    
+    /**
+     * Get one page of a merchant's transactions within a time range
+     */
+    TransactionPage getTransactionsByMerchant(String merchantId, Instant from, Instant to, 
+                                              int pageSize, String pageToken);
 }
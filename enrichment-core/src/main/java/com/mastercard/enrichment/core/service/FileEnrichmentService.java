@@ -0,0 +1,22 @@
+package com.mastercard.enrichment.core.service;
+
+import com.mastercard.enrichment.core.domain.FileEnrichmentRun;
+
+import java.util.Optional;
+
+/**
+ * Service for enriching whole files of transactions (e.g. nightly settlement files)
+ */
+public interface FileEnrichmentService {
+    
+    /**
+     * Start enriching a file in the background. Starting again with the same output after a
+     * failed run resumes from that run's last checkpoint.
+     */
+    FileEnrichmentRun start(String bucket, String inputKey, String outputBucket, String outputKey);
+    
+    /**
+     * Get a run by ID, while it is retained
+     */
+    Optional<FileEnrichmentRun> getRun(String runId);
+}
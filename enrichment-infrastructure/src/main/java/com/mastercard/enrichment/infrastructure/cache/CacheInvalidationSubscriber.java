@@ -0,0 +1,82 @@
+package com.mastercard.enrichment.infrastructure.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+
+/**
+ * Subscribes to cache invalidations in the background so a Redis outage at boot does not fail startup.
+ * Until the subscription is up, stale L1 entries are bounded by the L1 TTL.
+ */
+@Slf4j
+public class CacheInvalidationSubscriber implements SmartLifecycle, DisposableBean {
+
+    private final RedisMessageListenerContainer container;
+    private final Duration retryInterval;
+
+    private volatile boolean running;
+    private Thread starter;
+
+    public CacheInvalidationSubscriber(RedisConnectionFactory connectionFactory,
+                                       MessageListener listener,
+                                       String channel,
+                                       Duration retryInterval) {
+        // Not a bean of its own: the container would start eagerly and fail the context
+        this.container = new RedisMessageListenerContainer();
+        this.container.setConnectionFactory(connectionFactory);
+        this.container.addMessageListener(listener, new ChannelTopic(channel));
+        this.container.afterPropertiesSet();
+        this.retryInterval = retryInterval;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        starter = new Thread(this::subscribe, "cache-invalidation-subscriber");
+        starter.setDaemon(true);
+        starter.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        starter.interrupt();
+        container.stop();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        container.destroy();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void subscribe() {
+        while (running) {
+            try {
+                container.start();
+                log.info("Subscribed to cache invalidations");
+                return;
+            } catch (RuntimeException e) {
+                // The container does not retry a failed first subscription, so reset and try again
+                container.stop();
+                log.warn("Cache invalidation subscription failed, retrying in {}: {}",
+                        retryInterval, e.getMessage());
+            }
+            try {
+                Thread.sleep(retryInterval.toMillis());
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+}
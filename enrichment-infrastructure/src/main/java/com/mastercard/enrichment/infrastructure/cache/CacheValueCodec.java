@@ -0,0 +1,15 @@
+package com.mastercard.enrichment.infrastructure.cache;
+
+/**
+ * Binary encoding of one cached value type for {@link CompactRedisSerializer}.
+ * Fields are written positionally without names: changing them in any way needs a new
+ * {@link CompactRedisSerializer#FORMAT_VERSION}, so nodes still on the old layout treat the values as misses.
+ */
+public interface CacheValueCodec<T> {
+
+    Class<T> type();
+
+    void write(T value, CompactWriter out);
+
+    T read(CompactReader in);
+}
@@ -0,0 +1,128 @@
+package com.mastercard.enrichment.infrastructure.cache;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Reads what {@link CompactWriter} wrote
+ */
+public final class CompactReader {
+
+    private final byte[] buffer;
+    private final int limit;
+    private int position;
+
+    public CompactReader(byte[] buffer, int offset, int limit) {
+        this.buffer = buffer;
+        this.position = offset;
+        this.limit = limit;
+    }
+
+    public int readByte() {
+        if (position >= limit) {
+            throw new IllegalStateException("Truncated cache value");
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    public boolean readBoolean() {
+        return readByte() != 0;
+    }
+
+    public long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed varint in cache value");
+    }
+
+    public long readSignedVarLong() {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public String readString() {
+        int length = (int) readVarLong() - 1;
+        if (length < 0) {
+            return null;
+        }
+        checkAvailable(length);
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    public Double readDouble() {
+        if (!readBoolean()) {
+            return null;
+        }
+        checkAvailable(8);
+        long bits = 0;
+        for (int i = 0; i < 8; i++) {
+            bits = (bits << 8) | (buffer[position++] & 0xFF);
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    public BigDecimal readDecimal() {
+        int kind = readByte();
+        if (kind == 0) {
+            return null;
+        }
+        BigInteger unscaled;
+        if (kind == 1) {
+            unscaled = BigInteger.valueOf(readSignedVarLong());
+        } else {
+            int length = (int) readVarLong();
+            checkAvailable(length);
+            unscaled = new BigInteger(Arrays.copyOfRange(buffer, position, position + length));
+            position += length;
+        }
+        return new BigDecimal(unscaled, (int) readSignedVarLong());
+    }
+
+    public Instant readInstant() {
+        if (!readBoolean()) {
+            return null;
+        }
+        long seconds = readSignedVarLong();
+        return Instant.ofEpochSecond(seconds, readVarLong());
+    }
+
+    /**
+     * A constant this version does not know reads as null
+     */
+    public <E extends Enum<E>> E readEnum(Class<E> type) {
+        String name = readString();
+        if (name == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    public <T> T readObject(CacheValueCodec<T> codec) {
+        return readBoolean() ? codec.read(this) : null;
+    }
+
+    int position() {
+        return position;
+    }
+
+    private void checkAvailable(int length) {
+        if (length > limit - position) {
+            throw new IllegalStateException("Truncated cache value");
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.mastercard.enrichment.infrastructure.cache;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.extern.slf4j.Slf4j;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Binary cache value serializer: [version][flags][tag][fields], where the tag picks a
+ * {@link CacheValueCodec}. Values of other types are stored as JSON under a reserved tag, and
+ * everything after the flags byte is LZ4-compressed once it reaches the compression threshold.
+ * <p>
+ * Rolling deploys: the first byte always has its top bit set, so JSON written by the previous
+ * serializer is still read. A value from a newer format version, or with a tag this node does not
+ * know, reads as null, which the cache treats as a miss.
+ */
+@Slf4j
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    public static final int FORMAT_VERSION = 1;
+    public static final int FIRST_CODEC_TAG = 16;
+
+    static final int JSON_TAG = 0;
+    static final int NULL_VALUE_TAG = 1;
+
+    private static final int VERSION_MARKER = 0x80;
+    private static final int FLAG_LZ4 = 1;
+    private static final int HEADER_LENGTH = 2;
+    private static final byte[] EMPTY = new byte[0];
+
+    private final Map<Class<?>, Integer> tagsByType = new HashMap<>();
+    private final Map<Integer, CacheValueCodec<?>> codecsByTag;
+    private final RedisSerializer<Object> json;
+    private final int compressionThreshold;
+    private final LZ4Compressor compressor;
+    private final LZ4FastDecompressor decompressor;
+
+    /**
+     * @param compressionThreshold encoded size in bytes from which values are compressed; 0 or less disables it
+     */
+    public CompactRedisSerializer(Map<Integer, CacheValueCodec<?>> codecsByTag,
+                                  RedisSerializer<Object> json,
+                                  int compressionThreshold) {
+        codecsByTag.forEach((tag, codec) -> {
+            if (tag < FIRST_CODEC_TAG || tag > 0xFF) {
+                throw new IllegalArgumentException("Codec tag must be " + FIRST_CODEC_TAG + "-255: " + tag);
+            }
+            tagsByType.put(codec.type(), tag);
+        });
+        this.codecsByTag = Map.copyOf(codecsByTag);
+        this.json = json;
+        this.compressionThreshold = compressionThreshold;
+        LZ4Factory lz4 = LZ4Factory.fastestInstance();
+        this.compressor = lz4.fastCompressor();
+        this.decompressor = lz4.fastDecompressor();
+    }
+
+    /**
+     * The JSON serializer used so far, plus java.time support (which it lacks by default);
+     * also the fallback for types without a codec
+     */
+    public static GenericJackson2JsonRedisSerializer jsonSerializer() {
+        GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer();
+        serializer.configure(objectMapper -> objectMapper
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+        return serializer;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return EMPTY;
+        }
+        CompactWriter out = new CompactWriter(128);
+        out.writeByte(VERSION_MARKER | FORMAT_VERSION);
+        out.writeByte(0);
+
+        Integer tag = tagsByType.get(value.getClass());
+        if (tag != null) {
+            out.writeByte(tag);
+            ((CacheValueCodec<Object>) codecsByTag.get(tag)).write(value, out);
+        } else if (value instanceof NullValue) {
+            out.writeByte(NULL_VALUE_TAG);
+        } else {
+            out.writeByte(JSON_TAG);
+            byte[] bytes = json.serialize(value);
+            out.writeBytes(bytes, 0, bytes.length);
+        }
+
+        int bodyLength = out.size() - HEADER_LENGTH;
+        if (compressionThreshold > 0 && bodyLength >= compressionThreshold) {
+            byte[] compressed = compress(out.buffer(), bodyLength);
+            if (compressed != null) {
+                return compressed;
+            }
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if ((bytes[0] & VERSION_MARKER) == 0) {
+            // Written as plain JSON before this serializer was enabled
+            return json.deserialize(bytes);
+        }
+        int version = bytes[0] & ~VERSION_MARKER & 0xFF;
+        if (version != FORMAT_VERSION || bytes.length <= HEADER_LENGTH) {
+            log.debug("Ignoring cache value in format version {}", version);
+            return null;
+        }
+
+        try {
+            byte[] body = bytes;
+            int offset = HEADER_LENGTH;
+            int limit = bytes.length;
+            if ((bytes[1] & FLAG_LZ4) != 0) {
+                CompactReader lengthReader = new CompactReader(bytes, HEADER_LENGTH, bytes.length);
+                int length = (int) lengthReader.readVarLong();
+                body = new byte[length];
+                decompressor.decompress(bytes, lengthReader.position(), body, 0, length);
+                offset = 0;
+                limit = length;
+            }
+
+            int tag = body[offset] & 0xFF;
+            if (tag == NULL_VALUE_TAG) {
+                return NullValue.INSTANCE;
+            }
+            if (tag == JSON_TAG) {
+                return json.deserialize(Arrays.copyOfRange(body, offset + 1, limit));
+            }
+            CacheValueCodec<?> codec = codecsByTag.get(tag);
+            if (codec == null) {
+                log.debug("Ignoring cache value with unknown tag {}", tag);
+                return null;
+            }
+            return codec.read(new CompactReader(body, offset + 1, limit));
+        } catch (RuntimeException e) {
+            throw new SerializationException("Cannot read cache value: " + e.getMessage(), e);
+        }
+    }
+
+    private byte[] compress(byte[] buffer, int bodyLength) {
+        int maxLength = compressor.maxCompressedLength(bodyLength);
+        CompactWriter out = new CompactWriter(HEADER_LENGTH + 5 + maxLength);
+        out.writeByte(buffer[0]);
+        out.writeByte(FLAG_LZ4);
+        out.writeVarLong(bodyLength);
+        int offset = out.size();
+        int compressedLength = compressor.compress(buffer, HEADER_LENGTH, bodyLength, out.buffer(), offset, maxLength);
+        if (offset + compressedLength >= HEADER_LENGTH + bodyLength) {
+            return null;
+        }
+        return Arrays.copyOf(out.buffer(), offset + compressedLength);
+    }
+}
@@ -0,0 +1,131 @@
+package com.mastercard.enrichment.infrastructure.cache;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer with the primitive encodings used by cache value codecs.
+ * Integers are varints (zig-zag for signed values); nullable values carry a leading presence marker.
+ */
+public final class CompactWriter {
+
+    private byte[] buffer;
+    private int size;
+
+    public CompactWriter(int initialCapacity) {
+        this.buffer = new byte[initialCapacity];
+    }
+
+    public void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) value;
+    }
+
+    public void writeBoolean(boolean value) {
+        writeByte(value ? 1 : 0);
+    }
+
+    public void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+    }
+
+    public void writeSignedVarLong(long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * UTF-8 with its length plus one in front; 0 means null
+     */
+    public void writeString(String value) {
+        if (value == null) {
+            writeByte(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(bytes.length + 1L);
+        writeBytes(bytes, 0, bytes.length);
+    }
+
+    public void writeDouble(Double value) {
+        writeBoolean(value != null);
+        if (value != null) {
+            long bits = Double.doubleToRawLongBits(value);
+            ensureCapacity(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[size++] = (byte) (bits >>> shift);
+            }
+        }
+    }
+
+    public void writeDecimal(BigDecimal value) {
+        if (value == null) {
+            writeByte(0);
+            return;
+        }
+        BigInteger unscaled = value.unscaledValue();
+        if (unscaled.bitLength() < 64) {
+            writeByte(1);
+            writeSignedVarLong(unscaled.longValue());
+        } else {
+            writeByte(2);
+            byte[] bytes = unscaled.toByteArray();
+            writeVarLong(bytes.length);
+            writeBytes(bytes, 0, bytes.length);
+        }
+        writeSignedVarLong(value.scale());
+    }
+
+    public void writeInstant(Instant value) {
+        writeBoolean(value != null);
+        if (value != null) {
+            writeSignedVarLong(value.getEpochSecond());
+            writeVarLong(value.getNano());
+        }
+    }
+
+    /**
+     * By name rather than ordinal, so reordering or adding constants stays compatible
+     */
+    public void writeEnum(Enum<?> value) {
+        writeString(value != null ? value.name() : null);
+    }
+
+    public <T> void writeObject(T value, CacheValueCodec<T> codec) {
+        writeBoolean(value != null);
+        if (value != null) {
+            codec.write(value, this);
+        }
+    }
+
+    public void writeBytes(byte[] bytes, int offset, int length) {
+        ensureCapacity(length);
+        System.arraycopy(bytes, offset, buffer, size, length);
+        size += length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    byte[] buffer() {
+        return buffer;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.mastercard.enrichment.infrastructure.cache;
+
+import com.mastercard.enrichment.core.domain.EnrichedTransaction;
+import com.mastercard.enrichment.core.domain.EnrichmentStatus;
+import com.mastercard.enrichment.core.domain.GeolocationData;
+import com.mastercard.enrichment.core.domain.MerchantCategory;
+import com.mastercard.enrichment.core.domain.Transaction;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Codecs for the domain types the enrichment caches hold. Tags are stored with every value:
+ * never reuse or renumber one, add a new tag instead.
+ */
+public final class DomainCacheCodecs {
+
+    public static final CacheValueCodec<MerchantCategory> MERCHANT_CATEGORY = new CacheValueCodec<>() {
+        @Override
+        public Class<MerchantCategory> type() {
+            return MerchantCategory.class;
+        }
+
+        @Override
+        public void write(MerchantCategory value, CompactWriter out) {
+            out.writeString(value.getMerchantId());
+            out.writeString(value.getCategoryCode());
+            out.writeString(value.getCategoryName());
+            out.writeString(value.getIndustry());
+            out.writeEnum(value.getRiskLevel());
+        }
+
+        @Override
+        public MerchantCategory read(CompactReader in) {
+            return MerchantCategory.builder()
+                    .merchantId(in.readString())
+                    .categoryCode(in.readString())
+                    .categoryName(in.readString())
+                    .industry(in.readString())
+                    .riskLevel(in.readEnum(MerchantCategory.RiskLevel.class))
+                    .build();
+        }
+    };
+
+    public static final CacheValueCodec<GeolocationData> GEOLOCATION = new CacheValueCodec<>() {
+        @Override
+        public Class<GeolocationData> type() {
+            return GeolocationData.class;
+        }
+
+        @Override
+        public void write(GeolocationData value, CompactWriter out) {
+            out.writeString(value.getCountry());
+            out.writeString(value.getCountryCode());
+            out.writeString(value.getCity());
+            out.writeString(value.getRegion());
+            out.writeString(value.getPostalCode());
+            out.writeDouble(value.getLatitude());
+            out.writeDouble(value.getLongitude());
+            out.writeString(value.getTimezone());
+        }
+
+        @Override
+        public GeolocationData read(CompactReader in) {
+            return GeolocationData.builder()
+                    .country(in.readString())
+                    .countryCode(in.readString())
+                    .city(in.readString())
+                    .region(in.readString())
+                    .postalCode(in.readString())
+                    .latitude(in.readDouble())
+                    .longitude(in.readDouble())
+                    .timezone(in.readString())
+                    .build();
+        }
+    };
+
+    public static final CacheValueCodec<Transaction> TRANSACTION = new CacheValueCodec<>() {
+        @Override
+        public Class<Transaction> type() {
+            return Transaction.class;
+        }
+
+        @Override
+        public void write(Transaction value, CompactWriter out) {
+            out.writeString(value.getTransactionId());
+            out.writeString(value.getMerchantId());
+            out.writeString(value.getMerchantName());
+            out.writeDecimal(value.getAmount());
+            out.writeString(value.getCurrency());
+            out.writeInstant(value.getTimestamp());
+            out.writeString(value.getCountry());
+            out.writeString(value.getCity());
+            out.writeDouble(value.getLatitude());
+            out.writeDouble(value.getLongitude());
+            out.writeEnum(value.getEnrichmentStatus());
+            out.writeInstant(value.getEnrichedAt());
+        }
+
+        @Override
+        public Transaction read(CompactReader in) {
+            return Transaction.builder()
+                    .transactionId(in.readString())
+                    .merchantId(in.readString())
+                    .merchantName(in.readString())
+                    .amount(in.readDecimal())
+                    .currency(in.readString())
+                    .timestamp(in.readInstant())
+                    .country(in.readString())
+                    .city(in.readString())
+                    .latitude(in.readDouble())
+                    .longitude(in.readDouble())
+                    .enrichmentStatus(in.readEnum(EnrichmentStatus.class))
+                    .enrichedAt(in.readInstant())
+                    .build();
+        }
+    };
+
+    public static final CacheValueCodec<EnrichedTransaction.NormalizedData> NORMALIZED_DATA = new CacheValueCodec<>() {
+        @Override
+        public Class<EnrichedTransaction.NormalizedData> type() {
+            return EnrichedTransaction.NormalizedData.class;
+        }
+
+        @Override
+        public void write(EnrichedTransaction.NormalizedData value, CompactWriter out) {
+            out.writeString(value.getNormalizedMerchantName());
+            out.writeString(value.getStandardizedAddress());
+            out.writeString(value.getFormattedAmount());
+            out.writeString(value.getIsoCountryCode());
+        }
+
+        @Override
+        public EnrichedTransaction.NormalizedData read(CompactReader in) {
+            return EnrichedTransaction.NormalizedData.builder()
+                    .normalizedMerchantName(in.readString())
+                    .standardizedAddress(in.readString())
+                    .formattedAmount(in.readString())
+                    .isoCountryCode(in.readString())
+                    .build();
+        }
+    };
+
+    public static final CacheValueCodec<EnrichedTransaction> ENRICHED_TRANSACTION = new CacheValueCodec<>() {
+        @Override
+        public Class<EnrichedTransaction> type() {
+            return EnrichedTransaction.class;
+        }
+
+        @Override
+        public void write(EnrichedTransaction value, CompactWriter out) {
+            out.writeObject(value.getTransaction(), TRANSACTION);
+            out.writeObject(value.getMerchantCategory(), MERCHANT_CATEGORY);
+            out.writeObject(value.getGeolocation(), GEOLOCATION);
+            out.writeObject(value.getNormalizedData(), NORMALIZED_DATA);
+            out.writeInstant(value.getEnrichedAt());
+        }
+
+        @Override
+        public EnrichedTransaction read(CompactReader in) {
+            return EnrichedTransaction.builder()
+                    .transaction(in.readObject(TRANSACTION))
+                    .merchantCategory(in.readObject(MERCHANT_CATEGORY))
+                    .geolocation(in.readObject(GEOLOCATION))
+                    .normalizedData(in.readObject(NORMALIZED_DATA))
+                    .enrichedAt(in.readInstant())
+                    .build();
+        }
+    };
+
+    private DomainCacheCodecs() {
+    }
+
+    /**
+     * The codecs by tag; tags below {@link CompactRedisSerializer#FIRST_CODEC_TAG} are reserved
+     */
+    public static Map<Integer, CacheValueCodec<?>> byTag() {
+        Map<Integer, CacheValueCodec<?>> codecs = new LinkedHashMap<>();
+        codecs.put(16, MERCHANT_CATEGORY);
+        codecs.put(17, GEOLOCATION);
+        codecs.put(18, ENRICHED_TRANSACTION);
+        codecs.put(19, TRANSACTION);
+        return codecs;
+    }
+}
@@ -0,0 +1,162 @@
+package com.mastercard.enrichment.infrastructure.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cache.Cache;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records hits, misses, puts, evictions and load time for any Spring cache.
+ * Loads through get(key, loader) are timed directly. Plain @Cacheable methods run between a
+ * missed lookup and the put of their result on the same thread, so that interval is the load time.
+ */
+public class InstrumentedCache implements Cache {
+
+    private record PendingLoad(Object key, long startedAt) {
+    }
+
+    private final Cache delegate;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter puts;
+    private final Counter evictions;
+    private final Timer loads;
+    private final ThreadLocal<PendingLoad> pendingLoad = new ThreadLocal<>();
+
+    public InstrumentedCache(Cache delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        String name = delegate.getName();
+        this.hits = Counter.builder("cache.gets")
+                .description("Cache lookups by outcome")
+                .tag("cache", name)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("cache.gets")
+                .description("Cache lookups by outcome")
+                .tag("cache", name)
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.puts = Counter.builder("cache.puts")
+                .description("Entries added to the cache")
+                .tag("cache", name)
+                .register(meterRegistry);
+        this.evictions = Counter.builder("cache.evictions")
+                .description("Entries explicitly evicted from the cache")
+                .tag("cache", name)
+                .register(meterRegistry);
+        this.loads = Timer.builder("cache.load.duration")
+                .description("Time to compute a value after a cache miss")
+                .tag("cache", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper wrapper = delegate.get(key);
+        if (wrapper != null) {
+            hits.increment();
+            pendingLoad.remove();
+        } else {
+            misses.increment();
+            pendingLoad.set(new PendingLoad(key, System.nanoTime()));
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName()
+                    + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        boolean[] loaded = new boolean[1];
+        T value = delegate.get(key, () -> {
+            loaded[0] = true;
+            long startedAt = System.nanoTime();
+            try {
+                return valueLoader.call();
+            } finally {
+                loads.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            }
+        });
+        (loaded[0] ? misses : hits).increment();
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        recordLoad(key);
+        delegate.put(key, value);
+        puts.increment();
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        recordLoad(key);
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        if (existing == null) {
+            puts.increment();
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        pendingLoad.remove();
+        delegate.evict(key);
+        evictions.increment();
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        pendingLoad.remove();
+        boolean evicted = delegate.evictIfPresent(key);
+        if (evicted) {
+            evictions.increment();
+        }
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    private void recordLoad(Object key) {
+        PendingLoad pending = pendingLoad.get();
+        if (pending != null) {
+            pendingLoad.remove();
+            if (Objects.equals(pending.key(), key)) {
+                loads.record(System.nanoTime() - pending.startedAt(), TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.mastercard.enrichment.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Cache with a bounded in-process L1 in front of a shared L2 (Redis).
+ * Writes and evictions go to both tiers and are broadcast so other nodes drop their L1 copy.
+ */
+public class TwoTierCache implements org.springframework.cache.Cache {
+
+    /**
+     * Broadcasts an invalidation to other nodes; a null key means the whole cache was cleared
+     */
+    @FunctionalInterface
+    public interface InvalidationPublisher {
+        void publish(String cacheName, String key);
+    }
+
+    private final String name;
+    private final Cache<String, ValueWrapper> l1;
+    private final org.springframework.cache.Cache l2;
+    private final InvalidationPublisher invalidationPublisher;
+
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+
+    public TwoTierCache(String name,
+                        Cache<String, ValueWrapper> l1,
+                        org.springframework.cache.Cache l2,
+                        InvalidationPublisher invalidationPublisher,
+                        MeterRegistry meterRegistry) {
+        this.name = name;
+        this.l1 = l1;
+        this.l2 = l2;
+        this.invalidationPublisher = invalidationPublisher;
+        this.l1Hits = requestCounter(meterRegistry, "l1", "hit");
+        this.l1Misses = requestCounter(meterRegistry, "l1", "miss");
+        this.l2Hits = requestCounter(meterRegistry, "l2", "hit");
+        this.l2Misses = requestCounter(meterRegistry, "l2", "miss");
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return l2.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String l1Key = toL1Key(key);
+        ValueWrapper local = l1.getIfPresent(l1Key);
+        if (local != null) {
+            l1Hits.increment();
+            return local;
+        }
+        l1Misses.increment();
+
+        ValueWrapper remote = l2.get(key);
+        if (remote == null) {
+            l2Misses.increment();
+            return null;
+        }
+        l2Hits.increment();
+        // Re-wrap so L1 holds a plain value and not a Redis-specific wrapper
+        ValueWrapper wrapper = new SimpleValueWrapper(remote.get());
+        l1.put(l1Key, wrapper);
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName()
+                    + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String l1Key = toL1Key(key);
+        ValueWrapper local = l1.getIfPresent(l1Key);
+        if (local != null) {
+            l1Hits.increment();
+            return (T) local.get();
+        }
+        l1Misses.increment();
+
+        // L2 counts as a hit unless it had to call the loader
+        boolean[] loaded = new boolean[1];
+        T value = l2.get(key, () -> {
+            loaded[0] = true;
+            return valueLoader.call();
+        });
+        (loaded[0] ? l2Misses : l2Hits).increment();
+        l1.put(l1Key, new SimpleValueWrapper(value));
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        String l1Key = toL1Key(key);
+        l2.put(key, value);
+        l1.put(l1Key, new SimpleValueWrapper(value));
+        invalidationPublisher.publish(name, l1Key);
+    }
+
+    @Override
+    public void evict(Object key) {
+        String l1Key = toL1Key(key);
+        l2.evict(key);
+        l1.invalidate(l1Key);
+        invalidationPublisher.publish(name, l1Key);
+    }
+
+    @Override
+    public void clear() {
+        l2.clear();
+        l1.invalidateAll();
+        invalidationPublisher.publish(name, null);
+    }
+
+    /**
+     * Drop a local entry after another node changed it
+     */
+    void invalidateLocal(String key) {
+        if (key == null) {
+            l1.invalidateAll();
+        } else {
+            l1.invalidate(key);
+        }
+    }
+
+    /**
+     * Keys of the most frequently used local entries, hottest first
+     */
+    public List<String> hottestLocalKeys(int limit) {
+        return l1.policy().eviction()
+                .map(eviction -> List.copyOf(eviction.hottest(limit).keySet()))
+                .orElse(List.of());
+    }
+
+    long getLocalSize() {
+        return l1.estimatedSize();
+    }
+
+    private static String toL1Key(Object key) {
+        // Redis stores keys as strings, so L1 uses the same representation to match invalidations
+        return key instanceof String stringKey ? stringKey : String.valueOf(key);
+    }
+
+    private Counter requestCounter(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("cache.tier.requests")
+                .description("Two-tier cache lookups by tier and outcome")
+                .tag("cache", name)
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
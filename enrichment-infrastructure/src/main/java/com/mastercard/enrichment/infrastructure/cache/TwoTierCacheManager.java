@@ -0,0 +1,119 @@
+package com.mastercard.enrichment.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * CacheManager combining a Caffeine L1 per node with a shared Redis L2.
+ * L1 invalidations are exchanged over Redis pub/sub as "nodeId|cacheName|key".
+ */
+@Slf4j
+public class TwoTierCacheManager implements CacheManager, MessageListener {
+
+    private static final char SEPARATOR = '|';
+
+    private final CacheManager l2CacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final String invalidationChannel;
+    private final long l1MaxSize;
+    private final Duration l1Ttl;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(CacheManager l2CacheManager,
+                               StringRedisTemplate redisTemplate,
+                               MeterRegistry meterRegistry,
+                               String invalidationChannel,
+                               long l1MaxSize,
+                               Duration l1Ttl) {
+        this.l2CacheManager = l2CacheManager;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.invalidationChannel = invalidationChannel;
+        this.l1MaxSize = l1MaxSize;
+        this.l1Ttl = l1Ttl;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return caches.keySet();
+    }
+
+    /**
+     * Hottest L1 keys of a cache that is already in use, or none
+     */
+    public List<String> hottestLocalKeys(String cacheName, int limit) {
+        TwoTierCache cache = caches.get(cacheName);
+        return cache != null ? cache.hottestLocalKeys(limit) : List.of();
+    }
+
+    /**
+     * Handle an invalidation broadcast by another node
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int first = body.indexOf(SEPARATOR);
+        int second = first < 0 ? -1 : body.indexOf(SEPARATOR, first + 1);
+        if (second < 0) {
+            log.warn("Ignoring malformed cache invalidation: {}", body);
+            return;
+        }
+        if (nodeId.equals(body.substring(0, first))) {
+            return;
+        }
+
+        TwoTierCache cache = caches.get(body.substring(first + 1, second));
+        if (cache != null) {
+            String key = body.substring(second + 1);
+            cache.invalidateLocal(key.isEmpty() ? null : key);
+        }
+    }
+
+    private TwoTierCache createCache(String name) {
+        Cache l2 = l2CacheManager.getCache(name);
+        TwoTierCache cache = new TwoTierCache(name,
+                Caffeine.newBuilder()
+                        .maximumSize(l1MaxSize)
+                        .expireAfterWrite(l1Ttl)
+                        .build(),
+                l2,
+                this::publishInvalidation,
+                meterRegistry);
+        Gauge.builder("cache.tier.l1.size", cache, TwoTierCache::getLocalSize)
+                .tag("cache", name)
+                .register(meterRegistry);
+        return cache;
+    }
+
+    private void publishInvalidation(String cacheName, String key) {
+        try {
+            redisTemplate.convertAndSend(invalidationChannel,
+                    nodeId + SEPARATOR + cacheName + SEPARATOR + (key != null ? key : ""));
+        } catch (RuntimeException e) {
+            // Other nodes fall back to L1 expiry; never fail the caller over a broadcast
+            log.warn("Failed to publish cache invalidation for {}: {}", cacheName, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.mastercard.enrichment.infrastructure.categorization;
+
+import com.mastercard.enrichment.core.domain.MerchantCategory;
+
+/**
+ * A single keyword → category rule. Keywords match whole words; a trailing '*' makes the
+ * keyword a word prefix (e.g. "shop*" matches "Shopify"). Higher priority wins.
+ */
+public record CategoryRule(String keyword,
+                           int priority,
+                           String categoryCode,
+                           String categoryName,
+                           String industry,
+                           MerchantCategory.RiskLevel riskLevel) {
+
+    public boolean isPrefix() {
+        return keyword.endsWith("*");
+    }
+
+    /**
+     * Keyword as matched against merchant names: lowercased, without the prefix marker
+     */
+    public String term() {
+        return KeywordMatcher.fold(isPrefix() ? keyword.substring(0, keyword.length() - 1) : keyword);
+    }
+}
@@ -0,0 +1,64 @@
+package com.mastercard.enrichment.infrastructure.categorization;
+
+import com.mastercard.enrichment.core.domain.MerchantCategory;
+import com.mastercard.enrichment.core.exception.EnrichmentException;
+import org.springframework.core.io.Resource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads category rules from a comma-separated file, one rule per line:
+ * {@code keyword,priority,categoryCode,categoryName,industry,riskLevel}.
+ * Blank lines and lines starting with '#' are ignored.
+ */
+public final class CategoryRuleLoader {
+
+    private static final int COLUMNS = 6;
+
+    private CategoryRuleLoader() {
+    }
+
+    public static List<CategoryRule> load(Resource resource) {
+        List<CategoryRule> rules = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                    continue;
+                }
+                rules.add(parse(trimmed, lineNumber));
+            }
+        } catch (IOException e) {
+            throw new EnrichmentException("Failed to read category rules: " + resource.getDescription(), e);
+        }
+        return rules;
+    }
+
+    private static CategoryRule parse(String line, int lineNumber) {
+        String[] columns = line.split(",", -1);
+        if (columns.length != COLUMNS) {
+            throw new EnrichmentException("Invalid category rule at line " + lineNumber + ": " + line);
+        }
+        try {
+            return new CategoryRule(
+                    columns[0].trim(),
+                    Integer.parseInt(columns[1].trim()),
+                    columns[2].trim(),
+                    columns[3].trim(),
+                    columns[4].trim(),
+                    MerchantCategory.RiskLevel.valueOf(columns[5].trim().toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+            throw new EnrichmentException("Invalid category rule at line " + lineNumber + ": " + line, e);
+        }
+    }
+}
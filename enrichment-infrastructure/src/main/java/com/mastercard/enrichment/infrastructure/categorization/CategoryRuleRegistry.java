@@ -0,0 +1,87 @@
+package com.mastercard.enrichment.infrastructure.categorization;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the compiled category rules. A reload compiles a complete new matcher and swaps it in
+ * atomically, so in-flight categorizations always see one whole rule set. File-system rule files
+ * are polled for changes; an invalid file is rejected and the current rules stay active.
+ */
+@Slf4j
+@Component
+public class CategoryRuleRegistry {
+
+    private final Resource rulesResource;
+    private final AtomicReference<KeywordMatcher> matcher = new AtomicReference<>();
+    private volatile long lastModified;
+
+    @Autowired
+    public CategoryRuleRegistry(
+            ResourceLoader resourceLoader,
+            @Value("${enrichment.categorization.rules:classpath:categorization/category-rules.csv}") String rules) {
+        this.rulesResource = resourceLoader.getResource(rules);
+        this.lastModified = lastModified();
+        this.matcher.set(KeywordMatcher.compile(CategoryRuleLoader.load(rulesResource)));
+        log.info("Loaded {} category rules from {}", matcher.get().size(), rules);
+    }
+
+    public CategoryRuleRegistry(KeywordMatcher matcher) {
+        this.rulesResource = null;
+        this.matcher.set(matcher);
+    }
+
+    public Optional<CategoryRule> match(String merchantName) {
+        return matcher.get().match(merchantName);
+    }
+
+    /**
+     * Re-read and swap in the rules file. Returns false (keeping the current rules) if it is invalid.
+     */
+    public boolean reload() {
+        if (rulesResource == null) {
+            return false;
+        }
+        try {
+            long modified = lastModified();
+            KeywordMatcher compiled = KeywordMatcher.compile(CategoryRuleLoader.load(rulesResource));
+            matcher.set(compiled);
+            lastModified = modified;
+            log.info("Reloaded {} category rules from {}", compiled.size(), rulesResource.getDescription());
+            return true;
+        } catch (RuntimeException e) {
+            log.error("Rejected category rules from {}, keeping current rules", rulesResource.getDescription(), e);
+            return false;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${enrichment.categorization.reload-interval:PT30S}")
+    public void reloadIfModified() {
+        if (rulesResource == null || !rulesResource.isFile()) {
+            return;
+        }
+        long modified = lastModified();
+        if (modified != lastModified) {
+            // Remember the attempt so a broken file is not re-parsed on every poll
+            lastModified = modified;
+            reload();
+        }
+    }
+
+    private long lastModified() {
+        try {
+            return rulesResource.isFile() ? rulesResource.lastModified() : 0L;
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+}
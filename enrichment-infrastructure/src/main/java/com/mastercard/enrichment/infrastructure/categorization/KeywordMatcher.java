@@ -0,0 +1,185 @@
+package com.mastercard.enrichment.infrastructure.categorization;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+
+/**
+ * Aho-Corasick automaton over the rule keywords. A merchant name is scanned once, case-insensitively,
+ * regardless of how many rules there are; matches are kept only on word boundaries and the
+ * highest-priority rule wins (earlier rules win ties). Immutable and safe to share between threads.
+ */
+public final class KeywordMatcher {
+
+    private static final int[] NO_OUTPUT = new int[0];
+
+    private final List<CategoryRule> rules;
+    private final int[] termLengths;
+
+    // Per state: sorted transition labels and their target states, failure link, matching rule indexes
+    private final char[][] labels;
+    private final int[][] targets;
+    private final int[] failure;
+    private final int[][] outputs;
+
+    private KeywordMatcher(List<CategoryRule> rules, int[] termLengths, char[][] labels, int[][] targets,
+                           int[] failure, int[][] outputs) {
+        this.rules = rules;
+        this.termLengths = termLengths;
+        this.labels = labels;
+        this.targets = targets;
+        this.failure = failure;
+        this.outputs = outputs;
+    }
+
+    public static KeywordMatcher compile(List<CategoryRule> rules) {
+        List<Map<Character, Integer>> trie = new ArrayList<>();
+        List<List<Integer>> terminal = new ArrayList<>();
+        trie.add(new HashMap<>());
+        terminal.add(new ArrayList<>());
+        int[] termLengths = new int[rules.size()];
+
+        for (int r = 0; r < rules.size(); r++) {
+            String term = rules.get(r).term();
+            if (term.isEmpty()) {
+                throw new IllegalArgumentException("Empty keyword in rule: " + rules.get(r));
+            }
+            termLengths[r] = term.length();
+            int state = 0;
+            for (int i = 0; i < term.length(); i++) {
+                Integer next = trie.get(state).get(term.charAt(i));
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new HashMap<>());
+                    terminal.add(new ArrayList<>());
+                    trie.get(state).put(term.charAt(i), next);
+                }
+                state = next;
+            }
+            terminal.get(state).add(r);
+        }
+
+        int stateCount = trie.size();
+        char[][] labels = new char[stateCount][];
+        int[][] targets = new int[stateCount][];
+        for (int s = 0; s < stateCount; s++) {
+            Character[] keys = trie.get(s).keySet().toArray(new Character[0]);
+            Arrays.sort(keys);
+            labels[s] = new char[keys.length];
+            targets[s] = new int[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                labels[s][i] = keys[i];
+                targets[s][i] = trie.get(s).get(keys[i]);
+            }
+        }
+
+        // Breadth-first so each state's failure link is final before its children are visited
+        int[] failure = new int[stateCount];
+        int[][] outputs = new int[stateCount][];
+        outputs[0] = toArray(terminal.get(0));
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int child : targets[0]) {
+            failure[child] = 0;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            outputs[state] = merge(toArray(terminal.get(state)), outputs[failure[state]]);
+            for (int i = 0; i < labels[state].length; i++) {
+                int child = targets[state][i];
+                int fallback = failure[state];
+                int next = transition(labels, targets, fallback, labels[state][i]);
+                while (next < 0 && fallback != 0) {
+                    fallback = failure[fallback];
+                    next = transition(labels, targets, fallback, labels[state][i]);
+                }
+                failure[child] = next < 0 || next == child ? 0 : next;
+                queue.add(child);
+            }
+        }
+
+        return new KeywordMatcher(List.copyOf(rules), termLengths, labels, targets, failure, outputs);
+    }
+
+    /**
+     * Best matching rule for the given text, if any keyword occurs in it as a whole word (or word prefix)
+     */
+    public Optional<CategoryRule> match(CharSequence text) {
+        int best = -1;
+        int state = 0;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = fold(text.charAt(i));
+            int next = transition(labels, targets, state, c);
+            while (next < 0 && state != 0) {
+                state = failure[state];
+                next = transition(labels, targets, state, c);
+            }
+            state = next < 0 ? 0 : next;
+
+            for (int rule : outputs[state]) {
+                if (best >= 0 && !outranks(rule, best)) {
+                    continue;
+                }
+                int start = i - termLengths[rule] + 1;
+                boolean startsWord = start == 0 || !isWordChar(text.charAt(start - 1));
+                boolean endsWord = rules.get(rule).isPrefix() || i + 1 == length || !isWordChar(text.charAt(i + 1));
+                if (startsWord && endsWord) {
+                    best = rule;
+                }
+            }
+        }
+        return best >= 0 ? Optional.of(rules.get(best)) : Optional.empty();
+    }
+
+    public int size() {
+        return rules.size();
+    }
+
+    static String fold(String value) {
+        StringBuilder folded = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            folded.append(fold(value.charAt(i)));
+        }
+        return folded.toString();
+    }
+
+    private static char fold(char c) {
+        return Character.toLowerCase(c);
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c);
+    }
+
+    private boolean outranks(int candidate, int current) {
+        int byPriority = Integer.compare(rules.get(candidate).priority(), rules.get(current).priority());
+        return byPriority > 0 || (byPriority == 0 && candidate < current);
+    }
+
+    private static int transition(char[][] labels, int[][] targets, int state, char c) {
+        int i = Arrays.binarySearch(labels[state], c);
+        return i >= 0 ? targets[state][i] : -1;
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        return values.isEmpty() ? NO_OUTPUT : values.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int[] merge(int[] own, int[] inherited) {
+        if (own.length == 0) {
+            return inherited;
+        }
+        if (inherited.length == 0) {
+            return own;
+        }
+        int[] merged = Arrays.copyOf(own, own.length + inherited.length);
+        System.arraycopy(inherited, 0, merged, own.length, inherited.length);
+        return merged;
+    }
+}
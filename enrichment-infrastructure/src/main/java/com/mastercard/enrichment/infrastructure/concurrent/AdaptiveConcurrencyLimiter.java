@@ -0,0 +1,161 @@
+package com.mastercard.enrichment.infrastructure.concurrent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limit that adapts to observed latency (gradient style). Two moving averages of
+ * latency per unit of weight are kept: a short one for the current load and a long one for the
+ * normal load. While the short one stays within tolerance of the long one, the limit grows by
+ * about sqrt(limit) per sample; as it rises above, the limit shrinks in proportion. A dropped request
+ * (timeout or server error downstream) cuts the limit multiplicatively, AIMD style.
+ * Requests over the limit are rejected immediately rather than queued.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double SHORT_WINDOW = 10;
+    private static final double LONG_WINDOW = 600;
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter accepted;
+    private final Counter rejected;
+    private final Counter dropped;
+
+    private volatile double limit;
+    private double shortLatency;
+    private double longLatency;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit, double tolerance,
+                                      MeterRegistry meterRegistry) {
+        this(name, initialLimit, minLimit, maxLimit, tolerance, meterRegistry, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit, double tolerance,
+                               MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.accepted = requestCounter(meterRegistry, name, "accepted");
+        this.rejected = requestCounter(meterRegistry, name, "rejected");
+        this.dropped = requestCounter(meterRegistry, name, "dropped");
+        Gauge.builder("enrichment.limiter.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("limiter", name)
+                .register(meterRegistry);
+        Gauge.builder("enrichment.limiter.inflight", inFlight, AtomicInteger::get)
+                .description("Weight of requests currently admitted")
+                .tag("limiter", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Admit a request of the given weight, or return null if that would exceed the limit.
+     * A request heavier than the whole limit is admitted only when nothing else is in flight.
+     */
+    public Permit tryAcquire(int weight) {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current > 0 && current + weight > limit) {
+                rejected.increment();
+                return null;
+            }
+        } while (!inFlight.compareAndSet(current, current + weight));
+        accepted.increment();
+        return new Permit(weight, nanoClock.getAsLong());
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void onSample(long latencyNanos, int weight, int inFlightAtStart) {
+        double sample = (double) latencyNanos / weight;
+        if (longLatency == 0) {
+            shortLatency = sample;
+            longLatency = sample;
+            return;
+        }
+        shortLatency += (sample - shortLatency) / SHORT_WINDOW;
+        longLatency += (sample - longLatency) / LONG_WINDOW;
+
+        // After a sustained slowdown ends, let the baseline come back down quickly
+        if (longLatency / shortLatency > 2) {
+            longLatency *= 0.95;
+        }
+        // Latency says nothing about capacity while well under the limit; don't grow into unused room
+        if (inFlightAtStart < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longLatency / shortLatency));
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = clamp(limit * (1 - SMOOTHING) + target * SMOOTHING);
+    }
+
+    private synchronized void onDropped() {
+        dropped.increment();
+        limit = clamp(limit * BACKOFF_RATIO);
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String name, String result) {
+        return Counter.builder("enrichment.limiter.requests")
+                .description("Requests seen by the concurrency limiter by outcome")
+                .tag("limiter", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * An admitted request; exactly one of the completion methods must be called
+     */
+    public final class Permit {
+
+        private final int weight;
+        private final long startNanos;
+        private final int inFlightAtStart;
+
+        private Permit(int weight, long startNanos) {
+            this.weight = weight;
+            this.startNanos = startNanos;
+            this.inFlightAtStart = inFlight.get();
+        }
+
+        /** The request completed normally; its latency feeds the limit */
+        public void success() {
+            inFlight.addAndGet(-weight);
+            onSample(nanoClock.getAsLong() - startNanos, weight, inFlightAtStart);
+        }
+
+        /** The request timed out or failed downstream: a sign of overload */
+        public void dropped() {
+            inFlight.addAndGet(-weight);
+            onDropped();
+        }
+
+        /** The request failed for its own reasons (e.g. validation); its latency says nothing */
+        public void ignore() {
+            inFlight.addAndGet(-weight);
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.mastercard.enrichment.infrastructure.concurrent;
+
+import com.mastercard.enrichment.core.exception.DependencyUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker, bulkhead and timeout for one downstream dependency. Calls are refused straight
+ * away with {@link DependencyUnavailableException} while the circuit is open or while the
+ * dependency already has its maximum number of calls in flight, so a slow dependency can neither
+ * hold callers for a full timeout nor soak up every thread of a shared executor.
+ * <p>
+ * The circuit opens when the failure rate over the last window of calls reaches the threshold;
+ * timeouts and calls slower than the timeout count as failures. After the open duration a single
+ * trial call is let through: it closes the circuit if it succeeds and reopens it if it fails.
+ */
+@Slf4j
+public class DependencyGuard {
+
+    public enum State {
+        CLOSED,
+        HALF_OPEN,
+        OPEN
+    }
+
+    private final String name;
+    private final Duration timeout;
+    private final long timeoutNanos;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    private final int minimumCalls;
+    private final Semaphore bulkhead;
+    private final LongSupplier nanoClock;
+    private final Counter succeeded;
+    private final Counter failed;
+    private final Counter timedOut;
+    private final Counter shortCircuited;
+    private final Counter saturated;
+
+    // Outcomes of the last window of calls, true for a failure
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCalls;
+    private int windowFailures;
+
+    private volatile State state = State.CLOSED;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    public DependencyGuard(String name, Duration timeout, int maxConcurrentCalls, double failureRateThreshold,
+                           int windowSize, Duration openDuration, MeterRegistry meterRegistry) {
+        this(name, timeout, maxConcurrentCalls, failureRateThreshold, windowSize, openDuration, meterRegistry,
+                System::nanoTime);
+    }
+
+    DependencyGuard(String name, Duration timeout, int maxConcurrentCalls, double failureRateThreshold,
+                    int windowSize, Duration openDuration, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.name = name;
+        this.timeout = timeout;
+        this.timeoutNanos = timeout.toNanos();
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.window = new boolean[windowSize];
+        this.minimumCalls = Math.max(1, windowSize / 2);
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.nanoClock = nanoClock;
+        this.succeeded = callCounter(meterRegistry, name, "success");
+        this.failed = callCounter(meterRegistry, name, "failure");
+        this.timedOut = callCounter(meterRegistry, name, "timeout");
+        this.shortCircuited = callCounter(meterRegistry, name, "open");
+        this.saturated = callCounter(meterRegistry, name, "saturated");
+        Gauge.builder("enrichment.dependency.state", this, guard -> guard.getState().ordinal())
+                .description("Circuit state per dependency: 0 closed, 1 half-open, 2 open")
+                .tag("dependency", name)
+                .register(meterRegistry);
+        Gauge.builder("enrichment.dependency.inflight", this,
+                        guard -> maxConcurrentCalls - guard.bulkhead.availablePermits())
+                .description("Calls currently in flight per dependency")
+                .tag("dependency", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run a blocking call on the executor. The returned future fails with a TimeoutException once
+     * the timeout passes, or straight away if the call is refused; the bulkhead slot is held until
+     * the call itself returns.
+     */
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> call, Executor executor) {
+        boolean trial;
+        try {
+            trial = admit();
+        } catch (DependencyUnavailableException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        long start = nanoClock.getAsLong();
+        try {
+            executor.execute(() -> {
+                try {
+                    // Nobody is waiting any more (timed out or cancelled before we got a thread)
+                    if (!result.isDone()) {
+                        result.complete(call.get());
+                    }
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                } finally {
+                    bulkhead.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            bulkhead.release();
+            record(trial, start, e);
+            return CompletableFuture.failedFuture(e);
+        }
+        result.orTimeout(timeoutNanos, TimeUnit.NANOSECONDS)
+                .whenComplete((value, error) -> record(trial, start, error));
+        return result;
+    }
+
+    /**
+     * Run a non-blocking call, failing the returned future with a TimeoutException once the timeout passes
+     */
+    public <T> CompletableFuture<T> callAsync(Supplier<CompletableFuture<T>> call) {
+        boolean trial;
+        try {
+            trial = admit();
+        } catch (DependencyUnavailableException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        long start = nanoClock.getAsLong();
+        CompletableFuture<T> pending;
+        try {
+            pending = call.get();
+        } catch (RuntimeException e) {
+            bulkhead.release();
+            record(trial, start, e);
+            return CompletableFuture.failedFuture(e);
+        }
+        pending.whenComplete((value, error) -> bulkhead.release());
+        return pending.copy()
+                .orTimeout(timeoutNanos, TimeUnit.NANOSECONDS)
+                .whenComplete((value, error) -> record(trial, start, error));
+    }
+
+    /**
+     * Run a blocking call on the calling thread. It cannot be cut short, but a call slower than the
+     * timeout still counts as a failure.
+     */
+    public <T> T call(Supplier<T> call) {
+        boolean trial = admit();
+        long start = nanoClock.getAsLong();
+        try {
+            T value = call.get();
+            record(trial, start, null);
+            return value;
+        } catch (RuntimeException e) {
+            record(trial, start, e);
+            throw e;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Current circuit state; an open circuit whose open duration has passed reports OPEN until the next call
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * True while calls are being refused without trying the dependency
+     */
+    public synchronized boolean isOpen() {
+        return state == State.OPEN && nanoClock.getAsLong() - openedAt < openNanos;
+    }
+
+    /**
+     * Take a bulkhead slot and ask the circuit for permission; returns whether this is the half-open trial call
+     */
+    private boolean admit() {
+        if (!bulkhead.tryAcquire()) {
+            saturated.increment();
+            throw new DependencyUnavailableException(name, "too many calls in flight");
+        }
+        Boolean trial = tryPass();
+        if (trial == null) {
+            bulkhead.release();
+            shortCircuited.increment();
+            throw new DependencyUnavailableException(name, "circuit is open");
+        }
+        return trial;
+    }
+
+    private synchronized Boolean tryPass() {
+        switch (state) {
+            case CLOSED:
+                return false;
+            case OPEN:
+                if (nanoClock.getAsLong() - openedAt < openNanos) {
+                    return null;
+                }
+                state = State.HALF_OPEN;
+                log.info("Circuit for {} half-open, trying one call", name);
+                trialInFlight = true;
+                return true;
+            default:
+                if (trialInFlight) {
+                    return null;
+                }
+                trialInFlight = true;
+                return true;
+        }
+    }
+
+    private void record(boolean trial, long start, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof CancellationException) {
+            // The caller lost interest; says nothing about the dependency
+            if (trial) {
+                endTrial();
+            }
+            return;
+        }
+        boolean failure;
+        if (cause == null) {
+            failure = nanoClock.getAsLong() - start > timeoutNanos;
+            (failure ? timedOut : succeeded).increment();
+        } else {
+            failure = true;
+            (cause instanceof TimeoutException ? timedOut : failed).increment();
+        }
+        onOutcome(trial, failure);
+    }
+
+    private synchronized void onOutcome(boolean trial, boolean failure) {
+        if (trial) {
+            trialInFlight = false;
+            if (failure) {
+                open();
+            } else {
+                state = State.CLOSED;
+                resetWindow();
+                log.info("Circuit for {} closed", name);
+            }
+            return;
+        }
+        // Late outcomes of calls admitted before the circuit opened don't count against the next trial
+        if (state != State.CLOSED) {
+            return;
+        }
+        if (window[windowIndex]) {
+            windowFailures--;
+        }
+        window[windowIndex] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+        windowCalls = Math.min(window.length, windowCalls + 1);
+        if (windowCalls >= minimumCalls && (double) windowFailures / windowCalls >= failureRateThreshold) {
+            log.warn("Circuit for {} opened: {} of the last {} calls failed", name, windowFailures, windowCalls);
+            open();
+        }
+    }
+
+    private synchronized void endTrial() {
+        trialInFlight = false;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = nanoClock.getAsLong();
+        resetWindow();
+    }
+
+    private void resetWindow() {
+        Arrays.fill(window, false);
+        windowIndex = 0;
+        windowCalls = 0;
+        windowFailures = 0;
+    }
+
+    private static Counter callCounter(MeterRegistry meterRegistry, String name, String result) {
+        return Counter.builder("enrichment.dependency.calls")
+                .description("Calls to downstream dependencies by outcome")
+                .tag("dependency", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,91 @@
+package com.mastercard.enrichment.infrastructure.concurrent;
+
+import com.mastercard.enrichment.core.exception.EnrichmentException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls for the same key into one load. The first caller runs the loader on
+ * its own thread; callers arriving while it is in flight wait (up to the timeout) for its result or
+ * exception instead of loading again. Nothing is retained once the load finishes.
+ */
+public class SingleFlight<K, V> {
+
+    private final String operation;
+    private final Duration timeout;
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter loaded;
+    private final Counter coalesced;
+    private final Counter timedOut;
+
+    public SingleFlight(String operation, Duration timeout, MeterRegistry meterRegistry) {
+        this.operation = operation;
+        this.timeout = timeout;
+        this.loaded = callCounter(meterRegistry, "loaded");
+        this.coalesced = callCounter(meterRegistry, "coalesced");
+        this.timedOut = callCounter(meterRegistry, "timeout");
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        if (key == null) {
+            loaded.increment();
+            return loader.get();
+        }
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            coalesced.increment();
+            return await(key, existing);
+        }
+
+        loaded.increment();
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private V await(K key, CompletableFuture<V> call) {
+        try {
+            return call.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timedOut.increment();
+            throw new EnrichmentException(operation + " timed out waiting for in-flight load of " + key, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new EnrichmentException(operation + " failed for " + key, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EnrichmentException(operation + " interrupted waiting for " + key, e);
+        }
+    }
+
+    private Counter callCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("enrichment.coalescing.calls")
+                .description("Lookups that ran a load, joined an in-flight one, or gave up waiting")
+                .tag("operation", operation)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,125 @@
+package com.mastercard.enrichment.infrastructure.concurrent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Watches for virtual threads pinned to their carrier (blocking inside synchronized blocks or
+ * native frames) using the JFR jdk.VirtualThreadPinned event. Pinning turns a blocked virtual
+ * thread back into a blocked platform thread, so it is timed per client library and the first
+ * stack seen for each pinning site is logged. Only runs in virtual mode.
+ */
+@Slf4j
+@Component
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final int MAX_LOGGED_SITES = 1000;
+    private static final int LOGGED_FRAMES = 20;
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration threshold;
+    private final Set<String> loggedSites = ConcurrentHashMap.newKeySet();
+
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${enrichment.executor.mode:platform}") String executorMode,
+                                       @Value("${enrichment.executor.pinning-threshold:20ms}") Duration threshold) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = VirtualThreads.isEnabled(executorMode);
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        RecordingStream recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.startAsync();
+        stream = recording;
+        log.info("Monitoring virtual thread pinning longer than {}", threshold);
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recording = stream;
+        stream = null;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        List<String> frames = event.getStackTrace() == null
+                ? List.of()
+                : event.getStackTrace().getFrames().stream()
+                        .map(VirtualThreadPinningMonitor::describe)
+                        .toList();
+        String source = source(frames);
+        Timer.builder("enrichment.virtual.pinned")
+                .description("Time virtual threads spent pinned to their carrier thread")
+                .tag("source", source)
+                .register(meterRegistry)
+                .record(event.getDuration());
+
+        String site = site(frames);
+        if (loggedSites.size() < MAX_LOGGED_SITES && loggedSites.add(site)) {
+            log.warn("Virtual thread pinned for {} ms in {} ({}):\n\tat {}", event.getDuration().toMillis(), site,
+                    source, frames.stream().limit(LOGGED_FRAMES).collect(Collectors.joining("\n\tat ")));
+        }
+    }
+
+    /**
+     * Client library the pinned call went through, for tagging
+     */
+    static String source(List<String> frames) {
+        for (String frame : frames) {
+            if (frame.startsWith("io.lettuce.") || frame.startsWith("org.springframework.data.redis.")) {
+                return "redis";
+            }
+            if (frame.startsWith("software.amazon.awssdk.")) {
+                return "aws-sdk";
+            }
+        }
+        return "other";
+    }
+
+    /**
+     * Innermost frame outside the JDK: where the pinning monitor or blocking call was entered
+     */
+    static String site(List<String> frames) {
+        return frames.stream()
+                .filter(frame -> !frame.startsWith("java.") && !frame.startsWith("jdk.") && !frame.startsWith("sun."))
+                .findFirst()
+                .orElse(frames.isEmpty() ? "unknown" : frames.get(0));
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+}
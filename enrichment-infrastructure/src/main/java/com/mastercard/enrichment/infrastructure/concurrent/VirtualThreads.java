@@ -0,0 +1,63 @@
+package com.mastercard.enrichment.infrastructure.concurrent;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Resolves the configured execution mode. The service is built for Java 17, so virtual threads
+ * are reached reflectively and every caller falls back to platform threads when they are absent.
+ */
+@Slf4j
+public final class VirtualThreads {
+
+    public static final String MODE_PROPERTY = "enrichment.executor.mode";
+    public static final String VIRTUAL = "virtual";
+
+    private static final int MIN_JAVA_VERSION = 21;
+    private static final AtomicBoolean FALLBACK_LOGGED = new AtomicBoolean();
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        return Runtime.version().feature() >= MIN_JAVA_VERSION;
+    }
+
+    /**
+     * Whether the given mode asks for virtual threads and the running JVM can provide them
+     */
+    public static boolean isEnabled(String mode) {
+        if (!VIRTUAL.equalsIgnoreCase(mode)) {
+            return false;
+        }
+        if (!isSupported()) {
+            if (FALLBACK_LOGGED.compareAndSet(false, true)) {
+                log.warn("Virtual threads are not available on Java {}, falling back to platform threads",
+                        Runtime.version().feature());
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Executor starting one named virtual thread per task, or null if virtual threads are unavailable
+     */
+    public static ExecutorService newPerTaskExecutor(String threadNamePrefix) {
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, threadNamePrefix, 0L);
+            ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            return (ExecutorService) Executors.class
+                    .getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
@@ -5,15 +5,20 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.sqs.SqsClient;
 
 import java.net.URI;
+import java.time.Duration;
 
 /**
- * AWS configuration for DynamoDB and S3
+ * AWS configuration for DynamoDB, S3 and SQS
  */
 @Configuration
 public class AwsConfig {
@@ -24,9 +29,18 @@ public class AwsConfig {
     @Value("${aws.dynamodb.endpoint:}")
     private String dynamoDbEndpoint;
     
+    @Value("${aws.dynamodb.async.max-concurrency:200}")
+    private int dynamoDbAsyncMaxConcurrency;
+    
+    @Value("${aws.dynamodb.async.connection-acquisition-timeout:2s}")
+    private Duration dynamoDbAsyncAcquisitionTimeout;
+    
     @Value("${aws.s3.endpoint:}")
     private String s3Endpoint;
     
+    @Value("${aws.sqs.endpoint:}")
+    private String sqsEndpoint;
+    
     @Value("${aws.accessKeyId:}")
     private String accessKeyId;
     
@@ -59,6 +73,38 @@ public class AwsConfig {
                 .build();
     }
     
+    /**
+     * Non-blocking DynamoDB client on Netty; requests wait on the event loop, not on caller threads
+     */
+    @Bean
+    public DynamoDbAsyncClient dynamoDbAsyncClient() {
+        var builder = DynamoDbAsyncClient.builder()
+                .region(Region.of(awsRegion))
+                .httpClientBuilder(NettyNioAsyncHttpClient.builder()
+                        .maxConcurrency(dynamoDbAsyncMaxConcurrency)
+                        .connectionAcquisitionTimeout(dynamoDbAsyncAcquisitionTimeout));
+        
+        // For local development with LocalStack
+        if (!dynamoDbEndpoint.isEmpty()) {
+            builder.endpointOverride(URI.create(dynamoDbEndpoint));
+        }
+        
+        // For local development credentials
+        if (!accessKeyId.isEmpty() && !secretAccessKey.isEmpty()) {
+            builder.credentialsProvider(StaticCredentialsProvider.create(
+                    AwsBasicCredentials.create(accessKeyId, secretAccessKey)));
+        }
+        
+        return builder.build();
+    }
+    
+    @Bean
+    public DynamoDbEnhancedAsyncClient dynamoDbEnhancedAsyncClient(DynamoDbAsyncClient dynamoDbAsyncClient) {
+        return DynamoDbEnhancedAsyncClient.builder()
+                .dynamoDbClient(dynamoDbAsyncClient)
+                .build();
+    }
+    
     @Bean
     public S3Client s3Client() {
         var builder = S3Client.builder()
@@ -78,4 +124,23 @@ public class AwsConfig {
         
         return builder.build();
     }
+    
+    @Bean
+    public SqsClient sqsClient() {
+        var builder = SqsClient.builder()
+                .region(Region.of(awsRegion));
+        
+        // For local development with LocalStack
+        if (!sqsEndpoint.isEmpty()) {
+            builder.endpointOverride(URI.create(sqsEndpoint));
+        }
+        
+        // For local development credentials
+        if (!accessKeyId.isEmpty() && !secretAccessKey.isEmpty()) {
+            builder.credentialsProvider(StaticCredentialsProvider.create(
+                    AwsBasicCredentials.create(accessKeyId, secretAccessKey)));
+        }
+        
+        return builder.build();
+    }
 }
@@ -0,0 +1,125 @@
+package com.mastercard.enrichment.infrastructure.config;
+
+import com.mastercard.enrichment.infrastructure.concurrent.VirtualThreads;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executor configuration for the enrichment pipeline
+ */
+@Slf4j
+@Configuration
+public class ExecutorConfig {
+
+    @Value("${enrichment.executor.mode:platform}")
+    private String executorMode;
+
+    @Value("${enrichment.executor.pool-size:32}")
+    private int poolSize;
+
+    @Value("${enrichment.executor.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${enrichment.batch.pool-size:16}")
+    private int batchPoolSize;
+
+    @Value("${enrichment.jobs.pool-size:8}")
+    private int jobPoolSize;
+
+    @Value("${enrichment.jobs.queue-capacity:10000}")
+    private int jobQueueCapacity;
+
+    @Value("${enrichment.files.max-concurrent-runs:2}")
+    private int maxConcurrentFileRuns;
+
+    /**
+     * Executor running the independent enrichment stages (categorization, geolocation)
+     */
+    @Bean(name = "enrichmentExecutor", destroyMethod = "shutdown")
+    public ExecutorService enrichmentExecutor() {
+        if (VirtualThreads.isEnabled(executorMode)) {
+            ExecutorService virtualExecutor = VirtualThreads.newPerTaskExecutor("enrichment-stage-");
+            if (virtualExecutor != null) {
+                log.info("Enrichment stages running on virtual threads");
+                return virtualExecutor;
+            }
+        }
+
+        log.info("Enrichment stages running on {} platform threads", poolSize);
+        // Caller-runs keeps the pipeline moving (with backpressure) when the queue is full
+        return new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("enrichment-stage-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Executor running whole items of streamed batches. Kept apart from the stage executor:
+     * an item waits on its stages, so sharing one pool could fill it with waiting items.
+     */
+    @Bean(name = "batchExecutor", destroyMethod = "shutdown")
+    public ExecutorService batchExecutor() {
+        log.info("Batch items running on {} platform threads", batchPoolSize);
+        return new ThreadPoolExecutor(batchPoolSize, batchPoolSize, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("enrichment-batch-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Executor running asynchronous enrichment jobs. Sized on its own so queued jobs show up as
+     * queue depth rather than competing with request threads; a full queue rejects new jobs.
+     */
+    @Bean(name = "jobExecutor", destroyMethod = "shutdown")
+    public ThreadPoolExecutor jobExecutor() {
+        log.info("Enrichment jobs running on {} platform threads (queue capacity {})", jobPoolSize, jobQueueCapacity);
+        return new ThreadPoolExecutor(jobPoolSize, jobPoolSize, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(jobQueueCapacity),
+                new CustomizableThreadFactory("enrichment-job-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Executor running whole-file enrichments. Each run fans its chunks out to the batch executor,
+     * so this only caps how many files stream at once; further runs wait in the queue.
+     */
+    @Bean(name = "fileEnrichmentExecutor", destroyMethod = "shutdown")
+    public ExecutorService fileEnrichmentExecutor() {
+        log.info("File enrichments running at most {} at a time", maxConcurrentFileRuns);
+        return new ThreadPoolExecutor(maxConcurrentFileRuns, maxConcurrentFileRuns, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                new CustomizableThreadFactory("enrichment-file-"));
+    }
+
+    /**
+     * Declaring our own Executor bean switches off Boot's default one, so keep it for @Async.
+     * In virtual mode each @Async call gets its own virtual thread instead of a pooled one.
+     */
+    @Lazy
+    @Bean(name = { TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME })
+    public AsyncTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        if (VirtualThreads.isEnabled(executorMode)) {
+            log.info("@Async work running on virtual threads");
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("async-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+        return builder.build();
+    }
+}
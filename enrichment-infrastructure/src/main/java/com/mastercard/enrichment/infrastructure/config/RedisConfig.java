@@ -1,6 +1,14 @@
 package com.mastercard.enrichment.infrastructure.config;
 
+import com.mastercard.enrichment.infrastructure.cache.CacheInvalidationSubscriber;
+import com.mastercard.enrichment.infrastructure.cache.CompactRedisSerializer;
+import com.mastercard.enrichment.infrastructure.cache.DomainCacheCodecs;
+import com.mastercard.enrichment.infrastructure.cache.InstrumentedCacheManager;
+import com.mastercard.enrichment.infrastructure.cache.TwoTierCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -10,14 +18,16 @@ import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
 
 /**
- * Redis configuration for caching
+ * Redis configuration for caching, with an optional in-process L1 in front of Redis
  */
 @Configuration
 @EnableCaching
@@ -29,6 +39,24 @@ public class RedisConfig {
     @Value("${spring.redis.port:6379}")
     private int redisPort;
     
+    @Value("${enrichment.cache.l1.enabled:true}")
+    private boolean l1Enabled;
+    
+    @Value("${enrichment.cache.l1.max-size:10000}")
+    private long l1MaxSize;
+    
+    @Value("${enrichment.cache.l1.ttl:60s}")
+    private Duration l1Ttl;
+    
+    @Value("${enrichment.cache.invalidation-channel:enrichment:cache:invalidation}")
+    private String invalidationChannel;
+    
+    @Value("${enrichment.cache.serialization.format:compact}")
+    private String serializationFormat;
+    
+    @Value("${enrichment.cache.serialization.compression-threshold:1024}")
+    private int compressionThreshold;
+    
     @Bean
     public RedisConnectionFactory redisConnectionFactory() {
         RedisStandaloneConfiguration config = new RedisStandaloneConfiguration();
@@ -48,17 +76,51 @@ public class RedisConfig {
         return template;
     }
     
+    /**
+     * Redis-backed caches, behind an in-process L1 when enabled, with hit/miss/load metrics per cache
+     */
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public InstrumentedCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                                 StringRedisTemplate stringRedisTemplate,
+                                                 MeterRegistry meterRegistry) {
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(10))
                 .serializeKeysWith(RedisSerializationContext.SerializationPair
                         .fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(RedisSerializationContext.SerializationPair
-                        .fromSerializer(new GenericJackson2JsonRedisSerializer()));
+                        .fromSerializer(cacheValueSerializer()));
         
-        return RedisCacheManager.builder(connectionFactory)
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(config)
                 .build();
+        redisCacheManager.afterPropertiesSet();
+        
+        CacheManager cacheManager = l1Enabled
+                ? new TwoTierCacheManager(redisCacheManager, stringRedisTemplate, meterRegistry,
+                        invalidationChannel, l1MaxSize, l1Ttl)
+                : redisCacheManager;
+        return new InstrumentedCacheManager(cacheManager, meterRegistry);
+    }
+    
+    /**
+     * Compact binary values for the domain types (JSON for anything else), or plain JSON with "json"
+     */
+    private RedisSerializer<Object> cacheValueSerializer() {
+        if ("json".equalsIgnoreCase(serializationFormat)) {
+            return CompactRedisSerializer.jsonSerializer();
+        }
+        return new CompactRedisSerializer(DomainCacheCodecs.byTag(), CompactRedisSerializer.jsonSerializer(),
+                compressionThreshold);
+    }
+    
+    /**
+     * Subscribes the two-tier cache to L1 invalidations published by other nodes
+     */
+    @Bean
+    @ConditionalOnProperty(name = "enrichment.cache.l1.enabled", havingValue = "true", matchIfMissing = true)
+    public CacheInvalidationSubscriber cacheInvalidationSubscriber(RedisConnectionFactory connectionFactory,
+                                                                   InstrumentedCacheManager cacheManager) {
+        return new CacheInvalidationSubscriber(connectionFactory, (TwoTierCacheManager) cacheManager.getDelegate(),
+                invalidationChannel, Duration.ofSeconds(5));
     }
 }
@@ -0,0 +1,55 @@
+package com.mastercard.enrichment.infrastructure.config;
+
+import com.mastercard.enrichment.infrastructure.concurrent.DependencyGuard;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * One {@link DependencyGuard} per downstream dependency of the enrichment pipeline. Bulkhead sizes
+ * stay below the stage executor's pool so a stuck dependency leaves threads for the other one.
+ */
+@Configuration
+public class ResilienceConfig {
+
+    @Value("${enrichment.resilience.failure-rate-threshold:0.5}")
+    private double failureRateThreshold;
+
+    @Value("${enrichment.resilience.window-size:50}")
+    private int windowSize;
+
+    @Value("${enrichment.resilience.open-duration:10s}")
+    private Duration openDuration;
+
+    @Bean
+    public DependencyGuard categorizationGuard(
+            @Value("${enrichment.timeout.categorization:500ms}") Duration timeout,
+            @Value("${enrichment.resilience.categorization.max-concurrent-calls:24}") int maxConcurrentCalls,
+            MeterRegistry meterRegistry) {
+        return guard("categorization", timeout, maxConcurrentCalls, meterRegistry);
+    }
+
+    @Bean
+    public DependencyGuard geolocationGuard(
+            @Value("${enrichment.timeout.geolocation:500ms}") Duration timeout,
+            @Value("${enrichment.resilience.geolocation.max-concurrent-calls:24}") int maxConcurrentCalls,
+            MeterRegistry meterRegistry) {
+        return guard("geolocation", timeout, maxConcurrentCalls, meterRegistry);
+    }
+
+    @Bean
+    public DependencyGuard repositoryGuard(
+            @Value("${enrichment.timeout.persistence:2s}") Duration timeout,
+            @Value("${enrichment.resilience.repository.max-concurrent-calls:256}") int maxConcurrentCalls,
+            MeterRegistry meterRegistry) {
+        return guard("repository", timeout, maxConcurrentCalls, meterRegistry);
+    }
+
+    private DependencyGuard guard(String name, Duration timeout, int maxConcurrentCalls, MeterRegistry meterRegistry) {
+        return new DependencyGuard(name, timeout, maxConcurrentCalls, failureRateThreshold, windowSize, openDuration,
+                meterRegistry);
+    }
+}
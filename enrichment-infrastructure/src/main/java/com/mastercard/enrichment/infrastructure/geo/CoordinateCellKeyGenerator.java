@@ -0,0 +1,53 @@
+package com.mastercard.enrichment.infrastructure.geo;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * Cache key for coordinate lookups: the geohash of the cell the point falls in, so nearby readings
+ * from the same terminal share an entry. A precision of 0 keys on the exact coordinates instead.
+ */
+@Component(CoordinateCellKeyGenerator.BEAN_NAME)
+public class CoordinateCellKeyGenerator implements KeyGenerator {
+
+    public static final String BEAN_NAME = "coordinateCellKeyGenerator";
+
+    private final int precision;
+
+    public CoordinateCellKeyGenerator(@Value("${enrichment.geolocation.cell-precision:6}") int precision) {
+        if (precision < 0 || precision > GeoHash.MAX_PRECISION) {
+            throw new IllegalArgumentException("enrichment.geolocation.cell-precision must be between 0 and "
+                    + GeoHash.MAX_PRECISION + ": " + precision);
+        }
+        this.precision = precision;
+    }
+
+    /**
+     * Expects (latitude, longitude) as the first two arguments
+     */
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        return key((Double) params[0], (Double) params[1]);
+    }
+
+    public String key(Double latitude, Double longitude) {
+        if (precision == 0 || latitude == null || longitude == null) {
+            return latitude + "," + longitude;
+        }
+        return GeoHash.encode(latitude, longitude, precision);
+    }
+
+    /**
+     * A point that maps back to the given key, as {latitude, longitude}
+     */
+    public double[] point(String key) {
+        int comma = key.indexOf(',');
+        if (comma < 0) {
+            return GeoHash.decodeCenter(key);
+        }
+        return new double[] { Double.parseDouble(key.substring(0, comma)), Double.parseDouble(key.substring(comma + 1)) };
+    }
+}
@@ -0,0 +1,121 @@
+package com.mastercard.enrichment.infrastructure.geo;
+
+import com.mastercard.enrichment.core.domain.GeolocationData;
+import com.mastercard.enrichment.core.exception.EnrichmentException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads city gazetteers in the GeoNames "cities" tab-separated format
+ * (see https://download.geonames.org/export/dump/readme.txt), e.g. cities15000.txt.
+ * Region names come from an optional admin1CodesASCII.txt file; without it the admin1 code is used.
+ */
+@Slf4j
+public final class GazetteerLoader {
+
+    private static final int NAME = 1;
+    private static final int ASCII_NAME = 2;
+    private static final int ALTERNATE_NAMES = 3;
+    private static final int LATITUDE = 4;
+    private static final int LONGITUDE = 5;
+    private static final int COUNTRY_CODE = 8;
+    private static final int ADMIN1_CODE = 10;
+    private static final int POPULATION = 14;
+    private static final int TIMEZONE = 17;
+    private static final int MIN_COLUMNS = TIMEZONE + 1;
+
+    private GazetteerLoader() {
+    }
+
+    /**
+     * A loaded city with every name it is known by and its population, used to prefer
+     * larger cities on name collisions
+     */
+    public record City(GeolocationData data, List<String> names, long population) {
+    }
+
+    public static List<City> load(Resource cities, Resource admin1Codes) {
+        Map<String, String> regionNames = admin1Codes != null && admin1Codes.exists()
+                ? loadRegionNames(admin1Codes)
+                : Map.of();
+        Map<String, String> countryNames = new HashMap<>();
+
+        List<City> result = new ArrayList<>();
+        try (BufferedReader reader = reader(cities)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.charAt(0) == '#') {
+                    continue;
+                }
+                String[] columns = line.split("\t", -1);
+                if (columns.length < MIN_COLUMNS) {
+                    log.warn("Skipping malformed gazetteer line: {}", line);
+                    continue;
+                }
+                String countryCode = columns[COUNTRY_CODE];
+                String admin1 = columns[ADMIN1_CODE];
+                GeolocationData data = GeolocationData.builder()
+                        .city(columns[NAME])
+                        .country(countryNames.computeIfAbsent(countryCode, GazetteerLoader::countryName))
+                        .countryCode(countryCode)
+                        .region(regionNames.getOrDefault(countryCode + "." + admin1, admin1))
+                        .latitude(Double.parseDouble(columns[LATITUDE]))
+                        .longitude(Double.parseDouble(columns[LONGITUDE]))
+                        .timezone(columns[TIMEZONE])
+                        .build();
+                long population = columns[POPULATION].isEmpty() ? 0 : Long.parseLong(columns[POPULATION]);
+                result.add(new City(data, names(columns), population));
+            }
+        } catch (IOException | NumberFormatException e) {
+            throw new EnrichmentException("Failed to load gazetteer: " + cities.getDescription(), e);
+        }
+        return result;
+    }
+
+    private static List<String> names(String[] columns) {
+        List<String> names = new ArrayList<>();
+        names.add(columns[NAME]);
+        if (!columns[ASCII_NAME].isEmpty() && !columns[ASCII_NAME].equals(columns[NAME])) {
+            names.add(columns[ASCII_NAME]);
+        }
+        if (!columns[ALTERNATE_NAMES].isEmpty()) {
+            names.addAll(List.of(columns[ALTERNATE_NAMES].split(",")));
+        }
+        return names;
+    }
+
+    private static Map<String, String> loadRegionNames(Resource admin1Codes) {
+        Map<String, String> names = new HashMap<>();
+        try (BufferedReader reader = reader(admin1Codes)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] columns = line.split("\t", -1);
+                if (columns.length >= 2 && !line.startsWith("#")) {
+                    names.put(columns[0], columns[1]);
+                }
+            }
+        } catch (IOException e) {
+            throw new EnrichmentException("Failed to load admin1 codes: " + admin1Codes.getDescription(), e);
+        }
+        return names;
+    }
+
+    private static String countryName(String countryCode) {
+        String name = new Locale("", countryCode).getDisplayCountry(Locale.ENGLISH);
+        return name.isEmpty() ? countryCode : name;
+    }
+
+    private static BufferedReader reader(Resource resource) throws IOException {
+        return new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,117 @@
+package com.mastercard.enrichment.infrastructure.geo;
+
+/**
+ * Geohash cells (see https://en.wikipedia.org/wiki/Geohash). A precision of n characters splits the
+ * globe into cells of 5n interleaved longitude/latitude bits, e.g. 6 characters is about 1.2 x 0.6 km.
+ * Latitude and longitude halve independently, so cell bounds are computed per axis without decoding.
+ */
+public final class GeoHash {
+
+    public static final int MAX_PRECISION = 12;
+
+    private static final String BASE32_CHARS = "0123456789bcdefghjkmnpqrstuvwxyz";
+    private static final char[] BASE32 = BASE32_CHARS.toCharArray();
+
+    private GeoHash() {
+    }
+
+    /**
+     * Geohash of the cell containing the point, written straight into a char array
+     */
+    public static String encode(double latitude, double longitude, int precision) {
+        checkPrecision(precision);
+        int bits = precision * 5;
+        long latCell = cellIndex(latitude, -90, 180, latitudeBits(precision));
+        long lonCell = cellIndex(longitude, -180, 360, longitudeBits(precision));
+
+        // Interleave starting with longitude, most significant bit first
+        char[] hash = new char[precision];
+        int latBit = latitudeBits(precision) - 1;
+        int lonBit = longitudeBits(precision) - 1;
+        int value = 0;
+        for (int bit = 0; bit < bits; bit++) {
+            value <<= 1;
+            if ((bit & 1) == 0) {
+                value |= (int) (lonCell >>> lonBit--) & 1;
+            } else {
+                value |= (int) (latCell >>> latBit--) & 1;
+            }
+            if (bit % 5 == 4) {
+                hash[bit / 5] = BASE32[value];
+                value = 0;
+            }
+        }
+        return new String(hash);
+    }
+
+    /**
+     * Latitude of the centre of the cell containing the point
+     */
+    public static double cellCenterLatitude(double latitude, int precision) {
+        checkPrecision(precision);
+        return cellCenter(latitude, -90, 180, latitudeBits(precision));
+    }
+
+    /**
+     * Longitude of the centre of the cell containing the point
+     */
+    public static double cellCenterLongitude(double longitude, int precision) {
+        checkPrecision(precision);
+        return cellCenter(longitude, -180, 360, longitudeBits(precision));
+    }
+
+    /**
+     * Centre of the cell a geohash names, as {latitude, longitude}
+     */
+    public static double[] decodeCenter(String hash) {
+        int precision = hash.length();
+        checkPrecision(precision);
+        long latCell = 0;
+        long lonCell = 0;
+        int bit = 0;
+        for (int i = 0; i < precision; i++) {
+            int value = BASE32_CHARS.indexOf(hash.charAt(i));
+            if (value < 0) {
+                throw new IllegalArgumentException("Not a geohash: " + hash);
+            }
+            for (int shift = 4; shift >= 0; shift--, bit++) {
+                int next = (value >>> shift) & 1;
+                if ((bit & 1) == 0) {
+                    lonCell = lonCell << 1 | next;
+                } else {
+                    latCell = latCell << 1 | next;
+                }
+            }
+        }
+        double latCellSize = 180.0 / (1L << latitudeBits(precision));
+        double lonCellSize = 360.0 / (1L << longitudeBits(precision));
+        return new double[] { -90 + (latCell + 0.5) * latCellSize, -180 + (lonCell + 0.5) * lonCellSize };
+    }
+
+    private static int latitudeBits(int precision) {
+        return precision * 5 / 2;
+    }
+
+    private static int longitudeBits(int precision) {
+        return (precision * 5 + 1) / 2;
+    }
+
+    private static long cellIndex(double value, double min, double range, int bits) {
+        long cells = 1L << bits;
+        long index = (long) Math.floor((value - min) / range * cells);
+        // The upper bound (90 / 180) belongs to the last cell
+        return Math.max(0, Math.min(cells - 1, index));
+    }
+
+    private static double cellCenter(double value, double min, double range, int bits) {
+        double cellSize = range / (1L << bits);
+        return min + (cellIndex(value, min, range, bits) + 0.5) * cellSize;
+    }
+
+    private static void checkPrecision(int precision) {
+        if (precision < 1 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Geohash precision must be between 1 and " + MAX_PRECISION
+                    + ": " + precision);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.mastercard.enrichment.infrastructure.geo;
+
+import com.mastercard.enrichment.core.domain.GeolocationData;
+
+import java.util.List;
+
+/**
+ * Static k-d tree over cities for nearest-neighbour lookup.
+ * Cities are stored as unit vectors on the sphere, so the search compares squared chord
+ * lengths (plain multiplications) instead of evaluating Haversine for every candidate.
+ * Only the query point itself needs trigonometry, once per lookup.
+ */
+public class GeoSpatialIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    // Tree nodes in implicit layout: the median of [lo, hi) sits at (lo + hi) >>> 1
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] zs;
+    private final GeolocationData[] cities;
+
+    public GeoSpatialIndex(List<GeolocationData> cityList) {
+        int size = cityList.size();
+        this.xs = new double[size];
+        this.ys = new double[size];
+        this.zs = new double[size];
+        this.cities = new GeolocationData[size];
+
+        for (int i = 0; i < size; i++) {
+            GeolocationData city = cityList.get(i);
+            double lat = Math.toRadians(city.getLatitude());
+            double lon = Math.toRadians(city.getLongitude());
+            double cosLat = Math.cos(lat);
+            xs[i] = cosLat * Math.cos(lon);
+            ys[i] = cosLat * Math.sin(lon);
+            zs[i] = Math.sin(lat);
+            cities[i] = city;
+        }
+        build(0, size, 0);
+    }
+
+    public int size() {
+        return cities.length;
+    }
+
+    /**
+     * Nearest city within maxDistanceKm (great-circle), or null if there is none
+     */
+    public GeolocationData nearest(double latitude, double longitude, double maxDistanceKm) {
+        if (cities.length == 0) {
+            return null;
+        }
+        double lat = Math.toRadians(latitude);
+        double lon = Math.toRadians(longitude);
+        double cosLat = Math.cos(lat);
+        double[] query = { cosLat * Math.cos(lon), cosLat * Math.sin(lon), Math.sin(lat) };
+
+        // Chord length on the unit sphere for the given arc: 2 * sin(d / 2R)
+        double maxChord = 2 * Math.sin(Math.min(maxDistanceKm / EARTH_RADIUS_KM, Math.PI) / 2);
+        Nearest best = new Nearest(maxChord * maxChord);
+        search(query, 0, cities.length, 0, best);
+        return best.index >= 0 ? cities[best.index] : null;
+    }
+
+    private void search(double[] query, int lo, int hi, int axis, Nearest best) {
+        if (lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        double dx = query[0] - xs[mid];
+        double dy = query[1] - ys[mid];
+        double dz = query[2] - zs[mid];
+        double distance = dx * dx + dy * dy + dz * dz;
+        if (distance <= best.distance) {
+            best.distance = distance;
+            best.index = mid;
+        }
+
+        double delta = query[axis] - coordinate(mid, axis);
+        int nextAxis = axis == 2 ? 0 : axis + 1;
+        if (delta < 0) {
+            search(query, lo, mid, nextAxis, best);
+            if (delta * delta <= best.distance) {
+                search(query, mid + 1, hi, nextAxis, best);
+            }
+        } else {
+            search(query, mid + 1, hi, nextAxis, best);
+            if (delta * delta <= best.distance) {
+                search(query, lo, mid, nextAxis, best);
+            }
+        }
+    }
+
+    private void build(int lo, int hi, int axis) {
+        if (hi - lo <= 1) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        select(lo, hi - 1, mid, axis);
+        int nextAxis = axis == 2 ? 0 : axis + 1;
+        build(lo, mid, nextAxis);
+        build(mid + 1, hi, nextAxis);
+    }
+
+    /**
+     * Quickselect: partially order [left, right] so position k holds its median along axis
+     */
+    private void select(int left, int right, int k, int axis) {
+        while (right > left) {
+            double pivot = coordinate((left + right) >>> 1, axis);
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (coordinate(i, axis) < pivot) {
+                    i++;
+                }
+                while (coordinate(j, axis) > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(i++, j--);
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private double coordinate(int i, int axis) {
+        return axis == 0 ? xs[i] : axis == 1 ? ys[i] : zs[i];
+    }
+
+    private void swap(int a, int b) {
+        double x = xs[a];
+        xs[a] = xs[b];
+        xs[b] = x;
+        double y = ys[a];
+        ys[a] = ys[b];
+        ys[b] = y;
+        double z = zs[a];
+        zs[a] = zs[b];
+        zs[b] = z;
+        GeolocationData city = cities[a];
+        cities[a] = cities[b];
+        cities[b] = city;
+    }
+
+    private static final class Nearest {
+        private double distance;
+        private int index = -1;
+
+        private Nearest(double maxDistance) {
+            this.distance = maxDistance;
+        }
+    }
+}
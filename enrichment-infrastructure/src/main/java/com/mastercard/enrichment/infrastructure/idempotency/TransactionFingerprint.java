@@ -0,0 +1,73 @@
+package com.mastercard.enrichment.infrastructure.idempotency;
+
+import com.mastercard.enrichment.core.domain.Transaction;
+
+import java.math.BigDecimal;
+
+/**
+ * 64-bit FNV-1a hash of the fields a client sends for a transaction. Enrichment status and
+ * time are left out because enrichment itself sets them, and so is the timestamp, which ingress
+ * assigns on receipt and so differs on every retry; amounts compare by value, so 4.5 and 4.50 match.
+ * Hashes fields in place without building an intermediate string.
+ */
+public final class TransactionFingerprint {
+
+    private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+
+    private TransactionFingerprint() {
+    }
+
+    public static long of(Transaction transaction) {
+        long hash = OFFSET_BASIS;
+        hash = mix(hash, transaction.getTransactionId());
+        hash = mix(hash, transaction.getMerchantId());
+        hash = mix(hash, transaction.getMerchantName());
+        hash = mix(hash, transaction.getAmount());
+        hash = mix(hash, transaction.getCurrency());
+        hash = mix(hash, transaction.getCountry());
+        hash = mix(hash, transaction.getCity());
+        hash = mix(hash, transaction.getLatitude());
+        hash = mix(hash, transaction.getLongitude());
+        return hash;
+    }
+
+    /**
+     * Fingerprint as 16 hex digits, for cache keys
+     */
+    public static String hex(Transaction transaction) {
+        // Evaluated for every cache key, so no format string parsing
+        String digits = Long.toHexString(of(transaction));
+        return digits.length() == 16 ? digits : "0".repeat(16 - digits.length()) + digits;
+    }
+
+    private static long mix(long hash, String value) {
+        if (value == null) {
+            return mixLong(hash, -1L);
+        }
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * PRIME;
+        }
+        // Length terminates the field, so ("ab", "c") and ("a", "bc") differ
+        return mixLong(hash, value.length());
+    }
+
+    private static long mix(long hash, BigDecimal value) {
+        if (value == null) {
+            return mixLong(hash, -1L);
+        }
+        BigDecimal normalized = value.signum() == 0 ? BigDecimal.ZERO : value.stripTrailingZeros();
+        return mixLong(mixLong(hash, normalized.unscaledValue().hashCode()), normalized.scale());
+    }
+
+    private static long mix(long hash, Double value) {
+        return mixLong(hash, value == null ? -1L : Double.doubleToLongBits(value));
+    }
+
+    private static long mixLong(long hash, long value) {
+        for (int shift = 0; shift < 64; shift += 8) {
+            hash = (hash ^ ((value >>> shift) & 0xFF)) * PRIME;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,463 @@
+package com.mastercard.enrichment.infrastructure.ingestion;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mastercard.enrichment.core.domain.EnrichedTransaction;
+import com.mastercard.enrichment.core.domain.Transaction;
+import com.mastercard.enrichment.core.repository.TransactionRepository;
+import com.mastercard.enrichment.core.service.EnrichmentService;
+import com.mastercard.enrichment.infrastructure.persistence.WriteBehindTransactionWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Consumes transactions from an SQS queue: several pollers long-poll batches of up to 10 messages,
+ * enrich each batch through {@link EnrichmentService#enrichTransactions}, and delete a message only
+ * once its transaction is durably saved. Messages still being worked on have their visibility
+ * extended so they are not redelivered mid-batch, up to max-processing-time.
+ * Anything not deleted (malformed, failed, not flushed) is redelivered, and after the queue's
+ * maxReceiveCount moved to its dead-letter queue by the redrive policy.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "enrichment.ingestion.sqs.enabled", havingValue = "true")
+public class SqsTransactionConsumer {
+
+    /** ReceiveMessage, DeleteMessageBatch and ChangeMessageVisibilityBatch limit */
+    static final int MAX_MESSAGES = 10;
+
+    private final SqsClient sqsClient;
+    private final EnrichmentService enrichmentService;
+    private final TransactionRepository transactionRepository;
+    private final WriteBehindTransactionWriter writeBehindWriter;
+    private final String queueUrl;
+    private final int pollers;
+    private final Duration waitTime;
+    private final Duration visibilityTimeout;
+    private final Duration maxProcessingTime;
+    private final Duration shutdownTimeout;
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    /** Messages received and not yet deleted or given up on, by receipt handle */
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService visibilityExtender;
+
+    private final Counter receivedCounter;
+    private final Counter deletedCounter;
+    private final Counter invalidCounter;
+    private final Counter failedCounter;
+    private final Counter extensionCounter;
+    private final Timer batchTimer;
+    private final Timer lagTimer;
+
+    private final List<Thread> pollerThreads = new ArrayList<>();
+    private volatile boolean running;
+
+    private static final class InFlight {
+        final Message message;
+        final long receivedAt = System.nanoTime();
+        volatile long visibleAt;
+
+        InFlight(Message message, Duration visibilityTimeout) {
+            this.message = message;
+            this.visibleAt = receivedAt + visibilityTimeout.toNanos();
+        }
+    }
+
+    public SqsTransactionConsumer(
+            SqsClient sqsClient,
+            EnrichmentService enrichmentService,
+            TransactionRepository transactionRepository,
+            ObjectProvider<WriteBehindTransactionWriter> writeBehindWriter,
+            MeterRegistry meterRegistry,
+            @Value("${enrichment.ingestion.sqs.queue-url}") String queueUrl,
+            @Value("${enrichment.ingestion.sqs.pollers:4}") int pollers,
+            @Value("${enrichment.ingestion.sqs.wait-time:20s}") Duration waitTime,
+            @Value("${enrichment.ingestion.sqs.visibility-timeout:30s}") Duration visibilityTimeout,
+            @Value("${enrichment.ingestion.sqs.max-processing-time:5m}") Duration maxProcessingTime,
+            @Value("${enrichment.ingestion.sqs.shutdown-timeout:30s}") Duration shutdownTimeout) {
+        this.sqsClient = sqsClient;
+        this.enrichmentService = enrichmentService;
+        this.transactionRepository = transactionRepository;
+        this.writeBehindWriter = writeBehindWriter.getIfAvailable();
+        this.queueUrl = queueUrl;
+        this.pollers = pollers;
+        this.waitTime = waitTime;
+        this.visibilityTimeout = visibilityTimeout;
+        this.maxProcessingTime = maxProcessingTime;
+        this.shutdownTimeout = shutdownTimeout;
+        this.visibilityExtender = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sqs-visibility-extender");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.receivedCounter = messages(meterRegistry, "received");
+        this.deletedCounter = messages(meterRegistry, "deleted");
+        this.invalidCounter = messages(meterRegistry, "invalid");
+        this.failedCounter = messages(meterRegistry, "failed");
+        this.extensionCounter = Counter.builder("enrichment.ingestion.visibility.extensions")
+                .description("Messages whose visibility timeout was extended while being processed")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("enrichment.ingestion.batch.latency")
+                .description("Time from receiving a batch to deleting its processed messages")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("enrichment.ingestion.lag")
+                .description("Time from a message being sent to the queue to being deleted")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("enrichment.ingestion.inflight", inFlight, Map::size)
+                .description("Messages received and not yet deleted")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (int i = 0; i < pollers; i++) {
+            Thread poller = new Thread(this::pollLoop, "sqs-poller-" + i);
+            poller.setDaemon(true);
+            poller.start();
+            pollerThreads.add(poller);
+        }
+        long extendEvery = Math.max(1, visibilityTimeout.toMillis() / 3);
+        visibilityExtender.scheduleWithFixedDelay(this::extendVisibility, extendEvery, extendEvery,
+                TimeUnit.MILLISECONDS);
+        log.info("Consuming transactions from {} with {} pollers (visibility timeout {})",
+                queueUrl, pollers, visibilityTimeout);
+    }
+
+    /**
+     * Stop receiving and let the pollers finish the batches they already hold
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // A poller notices after its current long poll (at most wait-time) and batch
+        running = false;
+        long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+        for (Thread poller : pollerThreads) {
+            poller.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+        }
+        visibilityExtender.shutdownNow();
+        if (!inFlight.isEmpty()) {
+            log.warn("SQS consumer stopped with {} messages unfinished; they will be redelivered", inFlight.size());
+        }
+    }
+
+    private void pollLoop() {
+        ReceiveMessageRequest receiveRequest = ReceiveMessageRequest.builder()
+                .queueUrl(queueUrl)
+                .maxNumberOfMessages(MAX_MESSAGES)
+                .waitTimeSeconds((int) waitTime.toSeconds())
+                .visibilityTimeout((int) visibilityTimeout.toSeconds())
+                .attributeNamesWithStrings(MessageSystemAttributeName.SENT_TIMESTAMP.toString())
+                .build();
+        while (running) {
+            List<Message> messages;
+            try {
+                messages = sqsClient.receiveMessage(receiveRequest).messages();
+            } catch (SdkException e) {
+                if (running) {
+                    log.warn("Receiving from {} failed, retrying: {}", queueUrl, e.getMessage());
+                    pause(Duration.ofSeconds(1));
+                }
+                continue;
+            }
+            if (!messages.isEmpty()) {
+                try {
+                    process(messages);
+                } catch (RuntimeException e) {
+                    // Whatever was not deleted becomes visible again and is redelivered
+                    log.error("Processing a batch of {} messages failed: {}", messages.size(), e.getMessage(), e);
+                    messages.forEach(message -> inFlight.remove(message.receiptHandle()));
+                }
+            }
+        }
+    }
+
+    void process(List<Message> messages) {
+        long start = System.nanoTime();
+        receivedCounter.increment(messages.size());
+
+        Map<Message, Transaction> batch = new LinkedHashMap<>();
+        for (Message message : messages) {
+            try {
+                batch.put(message, parse(message.body()));
+                inFlight.put(message.receiptHandle(), new InFlight(message, visibilityTimeout));
+            } catch (IllegalArgumentException e) {
+                // Not deleted: redelivered until the redrive policy moves it to the dead-letter queue
+                invalidCounter.increment();
+                log.warn("Skipping invalid message {}: {}", message.messageId(), e.getMessage());
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Map<Message, CompletableFuture<Void>> writes = watchWrites(batch);
+        try {
+            List<Message> saved = awaitSaved(enrich(batch), writes);
+            delete(saved);
+        } finally {
+            batch.keySet().forEach(message -> inFlight.remove(message.receiptHandle()));
+            writes.forEach((message, write) -> writeBehindWriter.unwatch(batch.get(message).getTransactionId(), write));
+        }
+        batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Enrich the batch in one call; if that fails, enrich one by one so a single bad
+     * transaction does not hold back the rest. Already enriched ones are replayed, not redone.
+     */
+    private Map<Message, EnrichedTransaction> enrich(Map<Message, Transaction> batch) {
+        Map<Message, EnrichedTransaction> enriched = new LinkedHashMap<>();
+        try {
+            List<EnrichedTransaction> results = enrichmentService.enrichTransactions(new ArrayList<>(batch.values()));
+            if (results.size() == batch.size()) {
+                int i = 0;
+                for (Message message : batch.keySet()) {
+                    enriched.put(message, results.get(i++));
+                }
+                return enriched;
+            }
+            log.warn("Batch of {} returned {} results, enriching individually", batch.size(), results.size());
+        } catch (RuntimeException e) {
+            log.warn("Batch of {} failed ({}), enriching individually", batch.size(), e.getMessage());
+        }
+
+        batch.forEach((message, transaction) -> {
+            try {
+                enriched.put(message, enrichmentService.enrichTransaction(transaction));
+            } catch (RuntimeException e) {
+                failedCounter.increment();
+                log.warn("Enrichment failed for transaction {} (message {}): {}",
+                        transaction.getTransactionId(), message.messageId(), e.getMessage());
+            }
+        });
+        return enriched;
+    }
+
+    /**
+     * With write-behind, register for the write each message's enrichment is about to buffer,
+     * so the delete waits on that write rather than whatever happens to be pending afterwards
+     */
+    private Map<Message, CompletableFuture<Void>> watchWrites(Map<Message, Transaction> batch) {
+        if (writeBehindWriter == null) {
+            return Map.of();
+        }
+        Map<Message, CompletableFuture<Void>> writes = new LinkedHashMap<>();
+        batch.forEach((message, transaction) ->
+                writes.put(message, writeBehindWriter.nextWrite(transaction.getTransactionId())));
+        return writes;
+    }
+
+    /**
+     * The enriched messages whose transaction is in DynamoDB. Without write-behind the save already
+     * happened synchronously; with it, wait for the write this delivery buffered to be flushed.
+     */
+    private List<Message> awaitSaved(Map<Message, EnrichedTransaction> enriched,
+                                     Map<Message, CompletableFuture<Void>> writes) {
+        if (writeBehindWriter == null) {
+            return new ArrayList<>(enriched.keySet());
+        }
+
+        List<Message> saved = new ArrayList<>(enriched.size());
+        long deadline = System.nanoTime() + maxProcessingTime.toNanos();
+        for (Map.Entry<Message, EnrichedTransaction> entry : enriched.entrySet()) {
+            Message message = entry.getKey();
+            Transaction transaction = entry.getValue().getTransaction();
+            String transactionId = transaction.getTransactionId();
+            CompletableFuture<Void> write = writes.get(message);
+            if (writeBehindWriter.unwatch(transactionId, write)) {
+                // Replayed from an earlier delivery, whose buffered write may since have failed
+                log.debug("Transaction {} was replayed, saving it again for message {}",
+                        transactionId, message.messageId());
+                write = save(transaction);
+            }
+            try {
+                write.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                saved.add(message);
+            } catch (ExecutionException | TimeoutException e) {
+                failedCounter.increment();
+                log.warn("Transaction {} was not saved, leaving message {} for redelivery: {}",
+                        transactionId, message.messageId(), e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return saved;
+    }
+
+    private CompletableFuture<Void> save(Transaction transaction) {
+        String transactionId = transaction.getTransactionId();
+        CompletableFuture<Void> write = writeBehindWriter.nextWrite(transactionId);
+        try {
+            transactionRepository.save(transaction);
+            return write;
+        } catch (RuntimeException e) {
+            writeBehindWriter.unwatch(transactionId, write);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void delete(List<Message> messages) {
+        for (int from = 0; from < messages.size(); from += MAX_MESSAGES) {
+            List<Message> chunk = messages.subList(from, Math.min(from + MAX_MESSAGES, messages.size()));
+            List<DeleteMessageBatchRequestEntry> entries = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                entries.add(DeleteMessageBatchRequestEntry.builder()
+                        .id(Integer.toString(i))
+                        .receiptHandle(chunk.get(i).receiptHandle())
+                        .build());
+            }
+
+            DeleteMessageBatchResponse response;
+            try {
+                response = sqsClient.deleteMessageBatch(DeleteMessageBatchRequest.builder()
+                        .queueUrl(queueUrl)
+                        .entries(entries)
+                        .build());
+            } catch (SdkException e) {
+                // Enriched and saved, so redelivery is harmless: enrichment is idempotent per transaction
+                log.warn("Deleting {} messages failed, they will be redelivered: {}", chunk.size(), e.getMessage());
+                continue;
+            }
+
+            deletedCounter.increment(response.successful().size());
+            long now = System.currentTimeMillis();
+            response.successful().forEach(entry -> recordLag(chunk.get(Integer.parseInt(entry.id())), now));
+            for (BatchResultErrorEntry failure : response.failed()) {
+                log.warn("Deleting message {} failed ({}): {}", chunk.get(Integer.parseInt(failure.id())).messageId(),
+                        failure.code(), failure.message());
+            }
+        }
+    }
+
+    /**
+     * Push back the visibility timeout of messages about to become visible again, unless they have
+     * been processed for longer than max-processing-time
+     */
+    private void extendVisibility() {
+        try {
+            long now = System.nanoTime();
+            List<InFlight> due = inFlight.values().stream()
+                    .filter(item -> item.visibleAt - now < visibilityTimeout.toNanos() / 2)
+                    .filter(item -> now - item.receivedAt < maxProcessingTime.toNanos())
+                    .toList();
+            for (int from = 0; from < due.size(); from += MAX_MESSAGES) {
+                List<InFlight> chunk = due.subList(from, Math.min(from + MAX_MESSAGES, due.size()));
+                List<ChangeMessageVisibilityBatchRequestEntry> entries = new ArrayList<>(chunk.size());
+                for (int i = 0; i < chunk.size(); i++) {
+                    entries.add(ChangeMessageVisibilityBatchRequestEntry.builder()
+                            .id(Integer.toString(i))
+                            .receiptHandle(chunk.get(i).message.receiptHandle())
+                            .visibilityTimeout((int) visibilityTimeout.toSeconds())
+                            .build());
+                }
+                long extendedAt = System.nanoTime();
+                ChangeMessageVisibilityBatchResponse response = sqsClient.changeMessageVisibilityBatch(
+                        ChangeMessageVisibilityBatchRequest.builder()
+                                .queueUrl(queueUrl)
+                                .entries(entries)
+                                .build());
+                response.successful().forEach(entry ->
+                        chunk.get(Integer.parseInt(entry.id())).visibleAt = extendedAt + visibilityTimeout.toNanos());
+                extensionCounter.increment(response.successful().size());
+            }
+        } catch (RuntimeException e) {
+            // Retried on the next tick; keep the schedule alive
+            log.warn("Extending message visibility failed: {}", e.getMessage());
+        }
+    }
+
+    private Transaction parse(String body) {
+        Transaction transaction;
+        try {
+            transaction = objectMapper.readValue(body, Transaction.class);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getMessage());
+        }
+        if (transaction == null) {
+            throw new IllegalArgumentException("Malformed JSON: null message");
+        }
+        require(transaction.getTransactionId(), "transactionId");
+        require(transaction.getMerchantId(), "merchantId");
+        require(transaction.getAmount(), "amount");
+        require(transaction.getCurrency(), "currency");
+        if (transaction.getTimestamp() == null) {
+            transaction.setTimestamp(Instant.now());
+        }
+        return transaction;
+    }
+
+    private void recordLag(Message message, long now) {
+        String sent = message.attributes().get(MessageSystemAttributeName.SENT_TIMESTAMP);
+        if (sent != null) {
+            lagTimer.record(Math.max(0, now - Long.parseLong(sent)), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static void require(Object value, String field) {
+        if (value == null || value instanceof String s && s.isBlank()) {
+            throw new IllegalArgumentException("Missing " + field);
+        }
+    }
+
+    private static Counter messages(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("enrichment.ingestion.messages")
+                .description("SQS messages by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static void pause(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.mastercard.enrichment.infrastructure.job;
+
+import com.mastercard.enrichment.core.domain.EnrichedTransaction;
+import com.mastercard.enrichment.core.domain.EnrichmentJob;
+import com.mastercard.enrichment.core.domain.Transaction;
+import com.mastercard.enrichment.core.exception.JobRejectedException;
+import com.mastercard.enrichment.core.service.EnrichmentJobService;
+import com.mastercard.enrichment.core.service.EnrichmentService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Runs enrichment jobs on the dedicated job executor and records their outcome in the job store
+ */
+@Slf4j
+@Service
+public class EnrichmentJobServiceImpl implements EnrichmentJobService {
+    
+    private final EnrichmentService enrichmentService;
+    private final EnrichmentJobStore jobStore;
+    private final ThreadPoolExecutor jobExecutor;
+    private final Timer waitTimer;
+    private final Timer runTimer;
+    private final MeterRegistry meterRegistry;
+    
+    public EnrichmentJobServiceImpl(EnrichmentService enrichmentService,
+                                    EnrichmentJobStore jobStore,
+                                    @Qualifier("jobExecutor") ThreadPoolExecutor jobExecutor,
+                                    MeterRegistry meterRegistry) {
+        this.enrichmentService = enrichmentService;
+        this.jobStore = jobStore;
+        this.jobExecutor = jobExecutor;
+        this.meterRegistry = meterRegistry;
+        this.waitTimer = Timer.builder("enrichment.jobs.wait")
+                .description("Time jobs spend queued before a worker picks them up")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("enrichment.jobs.run")
+                .description("Time spent enriching a job once started")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("enrichment.jobs.queue.depth", jobExecutor, executor -> executor.getQueue().size())
+                .description("Jobs waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("enrichment.jobs.active", jobExecutor, ThreadPoolExecutor::getActiveCount)
+                .description("Jobs currently running")
+                .register(meterRegistry);
+    }
+    
+    @Override
+    public EnrichmentJob submit(Transaction transaction) {
+        EnrichmentJob job = EnrichmentJob.builder()
+                .jobId(UUID.randomUUID().toString())
+                .transactionId(transaction.getTransactionId())
+                .status(EnrichmentJob.Status.QUEUED)
+                .submittedAt(Instant.now())
+                .build();
+        jobStore.put(job);
+        
+        long queuedAt = System.nanoTime();
+        try {
+            jobExecutor.execute(() -> run(job, transaction, queuedAt));
+        } catch (RejectedExecutionException e) {
+            jobStore.remove(job.getJobId());
+            count("rejected");
+            throw new JobRejectedException(transaction.getTransactionId());
+        }
+        log.debug("Queued job {} for transaction {}", job.getJobId(), transaction.getTransactionId());
+        return job;
+    }
+    
+    @Override
+    public Optional<EnrichmentJob> getJob(String jobId) {
+        return jobStore.get(jobId);
+    }
+    
+    @Override
+    public List<EnrichmentJob> getJobs(Collection<String> jobIds) {
+        return jobIds.stream()
+                .distinct()
+                .map(jobStore::get)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+    
+    private void run(EnrichmentJob queued, Transaction transaction, long queuedAt) {
+        long startedAt = System.nanoTime();
+        waitTimer.record(Duration.ofNanos(startedAt - queuedAt));
+        EnrichmentJob running = queued.toBuilder()
+                .status(EnrichmentJob.Status.RUNNING)
+                .startedAt(Instant.now())
+                .build();
+        jobStore.put(running);
+        
+        EnrichmentJob finished;
+        try {
+            EnrichedTransaction result = enrichmentService.enrichTransaction(transaction);
+            finished = running.toBuilder()
+                    .status(EnrichmentJob.Status.COMPLETED)
+                    .result(result)
+                    .completedAt(Instant.now())
+                    .build();
+            count("completed");
+        } catch (RuntimeException e) {
+            log.warn("Job {} failed for transaction {}: {}", queued.getJobId(), transaction.getTransactionId(),
+                    e.getMessage());
+            finished = failed(running, e.getMessage());
+        } catch (Error e) {
+            // Left RUNNING, the job would never finish; the error still reaches the executor
+            log.error("Job {} failed for transaction {}", queued.getJobId(), transaction.getTransactionId(), e);
+            jobStore.put(failed(running, e.toString()));
+            throw e;
+        } finally {
+            runTimer.record(Duration.ofNanos(System.nanoTime() - startedAt));
+        }
+        jobStore.put(finished);
+    }
+    
+    private EnrichmentJob failed(EnrichmentJob running, String error) {
+        count("failed");
+        return running.toBuilder()
+                .status(EnrichmentJob.Status.FAILED)
+                .error(error)
+                .completedAt(Instant.now())
+                .build();
+    }
+    
+    private void count(String result) {
+        Counter.builder("enrichment.jobs")
+                .description("Enrichment jobs by outcome")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+}
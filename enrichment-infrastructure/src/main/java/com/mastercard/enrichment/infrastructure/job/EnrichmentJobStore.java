@@ -0,0 +1,110 @@
+package com.mastercard.enrichment.infrastructure.job;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.mastercard.enrichment.core.domain.EnrichmentJob;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Retains job state and results for a limited time. Jobs live in a size-bounded in-memory map
+ * that expires entries after the TTL; with spill enabled, jobs pushed out by the size bound are
+ * written to Redis (with the same TTL) instead of being lost, and lookups fall back to Redis.
+ */
+@Slf4j
+@Component
+public class EnrichmentJobStore {
+    
+    private static final String KEY_PREFIX = "enrichment:job:";
+    
+    private final StringRedisTemplate redisTemplate;
+    private final boolean redisSpill;
+    private final Duration ttl;
+    private final Cache<String, EnrichmentJob> jobs;
+    private final Counter spilled;
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+    
+    public EnrichmentJobStore(StringRedisTemplate redisTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${enrichment.jobs.store.max-size:100000}") long maxSize,
+                              @Value("${enrichment.jobs.store.ttl:15m}") Duration ttl,
+                              @Value("${enrichment.jobs.store.redis-spill:false}") boolean redisSpill) {
+        this.redisTemplate = redisTemplate;
+        this.redisSpill = redisSpill;
+        this.ttl = ttl;
+        this.jobs = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .evictionListener(this::onEviction)
+                .build();
+        this.spilled = Counter.builder("enrichment.jobs.store.spilled")
+                .description("Jobs moved from memory to Redis by the size bound")
+                .register(meterRegistry);
+        Gauge.builder("enrichment.jobs.store.size", jobs, Cache::estimatedSize)
+                .description("Jobs retained in memory")
+                .register(meterRegistry);
+    }
+    
+    public void put(EnrichmentJob job) {
+        jobs.put(job.getJobId(), job);
+    }
+    
+    public Optional<EnrichmentJob> get(String jobId) {
+        EnrichmentJob job = jobs.getIfPresent(jobId);
+        if (job != null || !redisSpill) {
+            return Optional.ofNullable(job);
+        }
+        return readSpilled(jobId);
+    }
+    
+    public void remove(String jobId) {
+        jobs.invalidate(jobId);
+    }
+    
+    /**
+     * Run pending evictions now (they otherwise happen asynchronously)
+     */
+    void cleanUp() {
+        jobs.cleanUp();
+    }
+    
+    private void onEviction(String jobId, EnrichmentJob job, RemovalCause cause) {
+        // Expired jobs are simply dropped; only those displaced by the size bound are kept
+        if (!redisSpill || cause != RemovalCause.SIZE || job == null) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + jobId, objectMapper.writeValueAsString(job), ttl);
+            spilled.increment();
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Failed to spill job {} to Redis, dropping it: {}", jobId, e.getMessage());
+        }
+    }
+    
+    private Optional<EnrichmentJob> readSpilled(String jobId) {
+        try {
+            String json = redisTemplate.opsForValue().get(KEY_PREFIX + jobId);
+            return json != null ? Optional.of(objectMapper.readValue(json, EnrichmentJob.class)) : Optional.empty();
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Failed to read spilled job {} from Redis: {}", jobId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
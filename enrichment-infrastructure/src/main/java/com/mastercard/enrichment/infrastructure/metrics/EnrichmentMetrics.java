@@ -0,0 +1,84 @@
+package com.mastercard.enrichment.infrastructure.metrics;
+
+import com.mastercard.enrichment.core.domain.EnrichmentStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Meters for the enrichment pipeline. Everything is registered up front so the hot path only
+ * touches pre-built meters and never goes through a registry lookup.
+ */
+@Component
+public class EnrichmentMetrics {
+
+    /**
+     * Steps of enrichTransaction, each timed separately as enrichment.stage{stage=...}
+     */
+    public enum Stage {
+        CATEGORIZATION,
+        GEOLOCATION,
+        NORMALIZATION,
+        PERSISTENCE
+    }
+
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+    private final Map<EnrichmentStatus, Counter> outcomes = new EnumMap<>(EnrichmentStatus.class);
+    private final DistributionSummary batchSize;
+
+    public EnrichmentMetrics(MeterRegistry meterRegistry) {
+        for (Stage stage : Stage.values()) {
+            stageTimers.put(stage, Timer.builder("enrichment.stage")
+                    .description("Time spent in each enrichment pipeline stage")
+                    .tag("stage", stage.name().toLowerCase(Locale.ROOT))
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        for (EnrichmentStatus status : EnrichmentStatus.values()) {
+            outcomes.put(status, Counter.builder("enrichment.transactions")
+                    .description("Enriched transactions by final status")
+                    .tag("status", status.name())
+                    .register(meterRegistry));
+        }
+        this.batchSize = DistributionSummary.builder("enrichment.batch.size")
+                .description("Transactions per batch enrichment request")
+                .baseUnit("transactions")
+                .serviceLevelObjectives(1, 10, 50, 100, 500, 1000, 5000)
+                .register(meterRegistry);
+    }
+
+    public <T> T time(Stage stage, Supplier<T> step) {
+        return stageTimers.get(stage).record(step);
+    }
+
+    public void time(Stage stage, Runnable step) {
+        stageTimers.get(stage).record(step);
+    }
+
+    /**
+     * Times an asynchronous step from the call until its future completes
+     */
+    public <T> CompletableFuture<T> timeAsync(Stage stage, Supplier<CompletableFuture<T>> step) {
+        Timer timer = stageTimers.get(stage);
+        long start = System.nanoTime();
+        return step.get().whenComplete((result, error) ->
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+    }
+
+    public void recordOutcome(EnrichmentStatus status) {
+        outcomes.get(status).increment();
+    }
+
+    public void recordBatchSize(int size) {
+        batchSize.record(size);
+    }
+}
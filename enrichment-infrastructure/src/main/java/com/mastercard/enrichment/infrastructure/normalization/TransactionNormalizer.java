@@ -0,0 +1,170 @@
+package com.mastercard.enrichment.infrastructure.normalization;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.Normalizer;
+import java.util.Currency;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Merchant name and amount normalization for the enrichment NORMALIZATION stage.
+ * <p>
+ * Names are scanned once: letters are upper-cased, Latin accents and ligatures are folded to ASCII
+ * ("Café Müller" becomes "CAFE MULLER"), letters from other scripts are kept, punctuation is dropped
+ * and whitespace runs collapse to a single space. A name that is already normalized is returned as is,
+ * and recent results are kept in a bounded cache so repeat merchants cost a single lookup.
+ * <p>
+ * Amounts are rendered with the currency's minor units (2 for USD, 0 for JPY, 3 for BHD), rounding
+ * half up, independent of the default locale.
+ */
+@Component
+public class TransactionNormalizer {
+
+    private static final int DEFAULT_FRACTION_DIGITS = 2;
+
+    /** ASCII folding of U+00C0..U+024F, null where the character has no Latin base letter */
+    private static final int FOLD_FIRST = 0x00C0;
+    private static final String[] FOLD = buildFoldTable(0x0250);
+
+    private final Cache<String, String> names;
+    private final Map<String, Integer> fractionDigits = new ConcurrentHashMap<>();
+
+    public TransactionNormalizer(@Value("${enrichment.normalization.name-cache-size:10000}") long nameCacheSize) {
+        this.names = nameCacheSize > 0
+                ? Caffeine.newBuilder().maximumSize(nameCacheSize).build()
+                : null;
+    }
+
+    public String normalizeMerchantName(String merchantName) {
+        if (merchantName == null || isNormalized(merchantName)) {
+            return merchantName;
+        }
+        if (names == null) {
+            return fold(merchantName);
+        }
+        String normalized = names.getIfPresent(merchantName);
+        if (normalized == null) {
+            normalized = fold(merchantName);
+            names.put(merchantName, normalized);
+        }
+        return normalized;
+    }
+
+    /**
+     * "1234.50 USD"; null when there is no amount, the bare amount when there is no currency
+     */
+    public String formatAmount(BigDecimal amount, String currency) {
+        if (amount == null) {
+            return null;
+        }
+        int digits = currency != null ? fractionDigits.computeIfAbsent(currency, TransactionNormalizer::minorUnits)
+                : DEFAULT_FRACTION_DIGITS;
+        BigDecimal scaled = amount.scale() == digits ? amount : amount.setScale(digits, RoundingMode.HALF_UP);
+        String plain = scaled.toPlainString();
+        return currency != null ? plain + ' ' + currency : plain;
+    }
+
+    /**
+     * True when folding would return the name unchanged, checked without allocating
+     */
+    static boolean isNormalized(String name) {
+        int length = name.length();
+        if (length == 0) {
+            return true;
+        }
+        if (name.charAt(0) == ' ' || name.charAt(length - 1) == ' ') {
+            return false;
+        }
+        char previous = 0;
+        for (int i = 0; i < length; i++) {
+            char c = name.charAt(i);
+            boolean allowed = (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || (c == ' ' && previous != ' ');
+            if (!allowed) {
+                return false;
+            }
+            previous = c;
+        }
+        return true;
+    }
+
+    static String fold(String name) {
+        int length = name.length();
+        StringBuilder out = new StringBuilder(length);
+        boolean pendingSpace = false;
+        for (int i = 0; i < length; ) {
+            int c = name.codePointAt(i);
+            i += Character.charCount(c);
+
+            if (c < 0x80) {
+                if (c >= 'a' && c <= 'z') {
+                    c -= 'a' - 'A';
+                } else if (!((c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9'))) {
+                    pendingSpace |= isSpace(c);
+                    continue;
+                }
+                pendingSpace = appendSpace(out, pendingSpace);
+                out.append((char) c);
+            } else if (c >= FOLD_FIRST && c < FOLD_FIRST + FOLD.length && FOLD[c - FOLD_FIRST] != null) {
+                pendingSpace = appendSpace(out, pendingSpace);
+                out.append(FOLD[c - FOLD_FIRST]);
+            } else if (Character.isLetterOrDigit(c)) {
+                pendingSpace = appendSpace(out, pendingSpace);
+                out.appendCodePoint(Character.toUpperCase(c));
+            } else {
+                // Combining marks, symbols and punctuation are dropped
+                pendingSpace |= isSpace(c);
+            }
+        }
+        return out.toString();
+    }
+
+    private static boolean appendSpace(StringBuilder out, boolean pendingSpace) {
+        if (pendingSpace && !out.isEmpty()) {
+            out.append(' ');
+        }
+        return false;
+    }
+
+    private static boolean isSpace(int c) {
+        return Character.isWhitespace(c) || Character.isSpaceChar(c);
+    }
+
+    private static int minorUnits(String currency) {
+        try {
+            int digits = Currency.getInstance(currency).getDefaultFractionDigits();
+            return digits >= 0 ? digits : DEFAULT_FRACTION_DIGITS;
+        } catch (IllegalArgumentException e) {
+            return DEFAULT_FRACTION_DIGITS;
+        }
+    }
+
+    private static String[] buildFoldTable(int end) {
+        String[] table = new String[end - FOLD_FIRST];
+        for (int c = FOLD_FIRST; c < end; c++) {
+            String base = Normalizer.normalize(String.valueOf((char) c), Normalizer.Form.NFD)
+                    .replaceAll("\\p{M}", "")
+                    .toUpperCase(Locale.ROOT);
+            if (base.chars().allMatch(ch -> (ch >= 'A' && ch <= 'Z'))) {
+                table[c - FOLD_FIRST] = base;
+            }
+        }
+        // Letters without a canonical decomposition
+        String[][] special = {
+                {"Æ", "AE"}, {"æ", "AE"}, {"Ð", "D"}, {"ð", "D"}, {"Ø", "O"}, {"ø", "O"}, {"Þ", "TH"},
+                {"þ", "TH"}, {"ß", "SS"}, {"Đ", "D"}, {"đ", "D"}, {"Ħ", "H"}, {"ħ", "H"}, {"ı", "I"},
+                {"Ĳ", "IJ"}, {"ĳ", "IJ"}, {"ĸ", "K"}, {"Ŀ", "L"}, {"ŀ", "L"}, {"Ł", "L"}, {"ł", "L"},
+                {"Ŋ", "NG"}, {"ŋ", "NG"}, {"Œ", "OE"}, {"œ", "OE"}, {"Ŧ", "T"}, {"ŧ", "T"}, {"ƒ", "F"}
+        };
+        for (String[] entry : special) {
+            table[entry[0].charAt(0) - FOLD_FIRST] = entry[1];
+        }
+        return table;
+    }
+}
@@ -0,0 +1,90 @@
+package com.mastercard.enrichment.infrastructure.persistence;
+
+import com.mastercard.enrichment.core.domain.Transaction;
+import com.mastercard.enrichment.core.domain.TransactionPage;
+import com.mastercard.enrichment.core.repository.AsyncTransactionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * DynamoDB implementation of AsyncTransactionRepository on the enhanced async client, whose
+ * requests run on the Netty event loop instead of a caller thread.
+ * Saves and deletes go through the write-behind buffer when it is enabled, like the blocking repository,
+ * but without waiting for buffer space: a full buffer fails the returned future at once.
+ */
+@Slf4j
+@Repository
+public class DynamoDbAsyncTransactionRepository implements AsyncTransactionRepository {
+    
+    private final DynamoDbAsyncTable<TransactionEntity> table;
+    private final WriteBehindTransactionWriter writeBehindWriter;
+    
+    public DynamoDbAsyncTransactionRepository(DynamoDbEnhancedAsyncClient dynamoDbClient,
+                                              ObjectProvider<WriteBehindTransactionWriter> writeBehindWriter) {
+        this.table = dynamoDbClient.table(DynamoDbTransactionRepository.TABLE_NAME,
+                TransactionEntity.TABLE_SCHEMA);
+        this.writeBehindWriter = writeBehindWriter.getIfAvailable();
+    }
+    
+    @Override
+    public CompletableFuture<Transaction> save(Transaction transaction) {
+        log.debug("Saving transaction asynchronously: {}", transaction.getTransactionId());
+        TransactionEntity entity = TransactionEntityMapper.toEntity(transaction);
+        if (writeBehindWriter != null) {
+            return writeBehindWriter.enqueueAsync(entity, table::putItem).thenApply(ignored -> transaction);
+        }
+        return table.putItem(entity).thenApply(ignored -> transaction);
+    }
+    
+    @Override
+    public CompletableFuture<Optional<Transaction>> findById(String transactionId) {
+        log.debug("Finding transaction by ID asynchronously: {}", transactionId);
+        if (writeBehindWriter != null) {
+            TransactionEntity buffered = writeBehindWriter.findPending(transactionId);
+            if (buffered != null) {
+                return CompletableFuture.completedFuture(Optional.of(TransactionEntityMapper.toDomain(buffered)));
+            }
+            if (writeBehindWriter.isDeletePending(transactionId)) {
+                return CompletableFuture.completedFuture(Optional.empty());
+            }
+        }
+        return table.getItem(TransactionEntityMapper.key(transactionId))
+                .thenApply(entity -> Optional.ofNullable(entity).map(TransactionEntityMapper::toDomain));
+    }
+    
+    @Override
+    public CompletableFuture<TransactionPage> findByMerchantId(String merchantId, Instant from, Instant to,
+                                                               int pageSize, String pageToken) {
+        log.debug("Finding transactions by merchant ID asynchronously: {} between {} and {}", merchantId, from, to);
+        var request = TransactionEntityMapper.merchantPageRequest(merchantId, from, to, pageSize, pageToken);
+        
+        // Only the first page is requested; the caller continues with the returned token
+        AtomicReference<Page<TransactionEntity>> first = new AtomicReference<>();
+        return table.index(TransactionEntity.MERCHANT_TIMESTAMP_INDEX).query(request)
+                .limit(1)
+                .subscribe(first::set)
+                .thenApply(ignored -> TransactionEntityMapper.toPage(first.get()));
+    }
+    
+    @Override
+    public CompletableFuture<Void> delete(String transactionId) {
+        log.debug("Deleting transaction asynchronously: {}", transactionId);
+        if (writeBehindWriter != null) {
+            return writeBehindWriter.deleteAsync(transactionId, this::deleteItem);
+        }
+        return deleteItem(transactionId);
+    }
+    
+    private CompletableFuture<Void> deleteItem(String transactionId) {
+        return table.deleteItem(TransactionEntityMapper.key(transactionId)).thenApply(ignored -> null);
+    }
+}
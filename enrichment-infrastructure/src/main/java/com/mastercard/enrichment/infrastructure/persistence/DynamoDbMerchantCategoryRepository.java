@@ -0,0 +1,82 @@
+package com.mastercard.enrichment.infrastructure.persistence;
+
+import com.mastercard.enrichment.core.domain.MerchantCategory;
+import com.mastercard.enrichment.core.repository.MerchantCategoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * DynamoDB implementation of MerchantCategoryRepository
+ */
+@Slf4j
+@Repository
+public class DynamoDbMerchantCategoryRepository implements MerchantCategoryRepository {
+    
+    private final DynamoDbTable<MerchantCategoryEntity> table;
+    static final String TABLE_NAME = "MerchantCategories";
+    
+    public DynamoDbMerchantCategoryRepository(DynamoDbEnhancedClient dynamoDbClient) {
+        this.table = dynamoDbClient.table(TABLE_NAME, MerchantCategoryEntity.TABLE_SCHEMA);
+    }
+    
+    @Override
+    public Optional<MerchantCategory> findByMerchantId(String merchantId) {
+        log.debug("Finding category by merchant ID: {}", merchantId);
+        Key key = Key.builder()
+                .partitionValue(merchantId)
+                .build();
+        
+        MerchantCategoryEntity entity = table.getItem(r -> r.key(key).consistentRead(true));
+        return Optional.ofNullable(entity).map(this::toDomain);
+    }
+    
+    @Override
+    public MerchantCategory save(MerchantCategory category) {
+        log.debug("Saving category for merchant: {}", category.getMerchantId());
+        table.putItem(toEntity(category));
+        return category;
+    }
+    
+    /**
+     * Parallel scan segment; pages are fetched only until the limit is reached
+     */
+    @Override
+    public List<MerchantCategory> findAll(int segment, int totalSegments, int limit) {
+        log.debug("Scanning categories, segment {} of {}", segment, totalSegments);
+        return table.scan(r -> r.segment(segment).totalSegments(totalSegments))
+                .items()
+                .stream()
+                .limit(limit)
+                .map(this::toDomain)
+                .toList();
+    }
+    
+    private MerchantCategoryEntity toEntity(MerchantCategory category) {
+        return MerchantCategoryEntity.builder()
+                .merchantId(category.getMerchantId())
+                .categoryCode(category.getCategoryCode())
+                .categoryName(category.getCategoryName())
+                .industry(category.getIndustry())
+                .riskLevel(category.getRiskLevel() != null ? category.getRiskLevel().name() : null)
+                .updatedAt(Instant.now().getEpochSecond())
+                .build();
+    }
+    
+    private MerchantCategory toDomain(MerchantCategoryEntity entity) {
+        return MerchantCategory.builder()
+                .merchantId(entity.getMerchantId())
+                .categoryCode(entity.getCategoryCode())
+                .categoryName(entity.getCategoryName())
+                .industry(entity.getIndustry())
+                .riskLevel(entity.getRiskLevel() != null
+                        ? MerchantCategory.RiskLevel.valueOf(entity.getRiskLevel()) : null)
+                .build();
+    }
+}
@@ -1,112 +1,107 @@
 package com.mastercard.enrichment.infrastructure.persistence;
 
-import com.mastercard.enrichment.core.domain.EnrichmentStatus;
 import com.mastercard.enrichment.core.domain.Transaction;
+import com.mastercard.enrichment.core.domain.TransactionPage;
 import com.mastercard.enrichment.core.repository.TransactionRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Repository;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbIndex;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
-import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
 
 import java.time.Instant;
-import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
- * DynamoDB implementation of TransactionRepository
+ * DynamoDB implementation of TransactionRepository.
+ * Saves and deletes go through the write-behind buffer when it is enabled; they then return once
+ * buffered, and a write the buffer later gives up on is only logged and counted (at-most-once).
  */
 @Slf4j
 @Repository
-@RequiredArgsConstructor
 public class DynamoDbTransactionRepository implements TransactionRepository {
     
-    private final DynamoDbEnhancedClient dynamoDbClient;
-    private static final String TABLE_NAME = "Transactions";
+    private final DynamoDbTable<TransactionEntity> table;
+    private final DynamoDbIndex<TransactionEntity> merchantIndex;
+    private final WriteBehindTransactionWriter writeBehindWriter;
+    static final String TABLE_NAME = "Transactions";
     
-    private DynamoDbTable<TransactionEntity> getTable() {
-        return dynamoDbClient.table(TABLE_NAME, TableSchema.fromBean(TransactionEntity.class));
+    public DynamoDbTransactionRepository(DynamoDbEnhancedClient dynamoDbClient,
+                                         ObjectProvider<WriteBehindTransactionWriter> writeBehindWriter) {
+        this.table = dynamoDbClient.table(TABLE_NAME, TransactionEntity.TABLE_SCHEMA);
+        this.merchantIndex = table.index(TransactionEntity.MERCHANT_TIMESTAMP_INDEX);
+        this.writeBehindWriter = writeBehindWriter.getIfAvailable();
     }
     
     @Override
     public Transaction save(Transaction transaction) {
         log.debug("Saving transaction: {}", transaction.getTransactionId());
-        TransactionEntity entity = toEntity(transaction);
-        getTable().putItem(entity);
+        TransactionEntity entity = TransactionEntityMapper.toEntity(transaction);
+        if (writeBehindWriter != null) {
+            writeBehindWriter.enqueue(entity);
+        } else {
+            table.putItem(entity);
+        }
         return transaction;
     }
     
     @Override
     public Optional<Transaction> findById(String transactionId) {
         log.debug("Finding transaction by ID: {}", transactionId);
-        Key key = Key.builder()
-                .partitionValue(transactionId)
-                .build();
+        if (writeBehindWriter != null) {
+            TransactionEntity buffered = writeBehindWriter.findPending(transactionId);
+            if (buffered != null) {
+                return Optional.of(TransactionEntityMapper.toDomain(buffered));
+            }
+            if (writeBehindWriter.isDeletePending(transactionId)) {
+                return Optional.empty();
+            }
+        }
         
-        TransactionEntity entity = getTable().getItem(key);
-        return Optional.ofNullable(entity).map(this::toDomain);
-    }
-    
-    @Override
-    public List<Transaction> findByMerchantId(String merchantId) {
-        log.debug("Finding transactions by merchant ID: {}", merchantId);
-        // Note: This requires a GSI on merchantId in production
-        return getTable().scan().items().stream()
-                .filter(entity -> merchantId.equals(entity.getMerchantId()))
-                .map(this::toDomain)
-                .collect(Collectors.toList());
+        TransactionEntity entity = table.getItem(TransactionEntityMapper.key(transactionId));
+        return Optional.ofNullable(entity).map(TransactionEntityMapper::toDomain);
     }
     
     @Override
-    public void delete(String transactionId) {
-        log.debug("Deleting transaction: {}", transactionId);
-        Key key = Key.builder()
-                .partitionValue(transactionId)
+    public Stream<Transaction> findByMerchantId(String merchantId) {
+        log.debug("Streaming transactions by merchant ID: {}", merchantId);
+        QueryEnhancedRequest request = QueryEnhancedRequest.builder()
+                .queryConditional(QueryConditional.keyEqualTo(Key.builder()
+                        .partitionValue(merchantId)
+                        .build()))
+                .scanIndexForward(false)
                 .build();
-        getTable().deleteItem(key);
+        return merchantIndex.query(request).stream()
+                .flatMap(page -> page.items().stream())
+                .map(TransactionEntityMapper::toDomain);
     }
     
-    private TransactionEntity toEntity(Transaction transaction) {
-        return TransactionEntity.builder()
-                .transactionId(transaction.getTransactionId())
-                .merchantId(transaction.getMerchantId())
-                .merchantName(transaction.getMerchantName())
-                .amount(transaction.getAmount())
-                .currency(transaction.getCurrency())
-                .timestamp(transaction.getTimestamp() != null ? 
-                        transaction.getTimestamp().getEpochSecond() : null)
-                .country(transaction.getCountry())
-                .city(transaction.getCity())
-                .latitude(transaction.getLatitude())
-                .longitude(transaction.getLongitude())
-                .enrichmentStatus(transaction.getEnrichmentStatus() != null ? 
-                        transaction.getEnrichmentStatus().name() : null)
-                .enrichedAt(transaction.getEnrichedAt() != null ? 
-                        transaction.getEnrichedAt().getEpochSecond() : null)
-                .build();
+    @Override
+    public TransactionPage findByMerchantId(String merchantId, Instant from, Instant to, 
+                                            int pageSize, String pageToken) {
+        log.debug("Finding transactions by merchant ID: {} between {} and {}", merchantId, from, to);
+        QueryEnhancedRequest request = TransactionEntityMapper.merchantPageRequest(
+                merchantId, from, to, pageSize, pageToken);
+        
+        // Only the first page is fetched; the caller continues with the returned token
+        Page<TransactionEntity> page = merchantIndex.query(request).iterator().next();
+        return TransactionEntityMapper.toPage(page);
     }
     
-    private Transaction toDomain(TransactionEntity entity) {
-        return Transaction.builder()
-                .transactionId(entity.getTransactionId())
-                .merchantId(entity.getMerchantId())
-                .merchantName(entity.getMerchantName())
-                .amount(entity.getAmount())
-                .currency(entity.getCurrency())
-                .timestamp(entity.getTimestamp() != null ? 
-                        Instant.ofEpochSecond(entity.getTimestamp()) : null)
-                .country(entity.getCountry())
-                .city(entity.getCity())
-                .latitude(entity.getLatitude())
-                .longitude(entity.getLongitude())
-                .enrichmentStatus(entity.getEnrichmentStatus() != null ? 
-                        EnrichmentStatus.valueOf(entity.getEnrichmentStatus()) : null)
-                .enrichedAt(entity.getEnrichedAt() != null ? 
-                        Instant.ofEpochSecond(entity.getEnrichedAt()) : null)
-                .build();
+    @Override
+    public void delete(String transactionId) {
+        log.debug("Deleting transaction: {}", transactionId);
+        if (writeBehindWriter != null) {
+            // Ordered after any buffered put, which would otherwise bring the item back
+            writeBehindWriter.delete(transactionId);
+        } else {
+            table.deleteItem(TransactionEntityMapper.key(transactionId));
+        }
     }
 }
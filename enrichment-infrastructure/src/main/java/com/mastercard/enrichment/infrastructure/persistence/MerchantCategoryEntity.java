@@ -0,0 +1,54 @@
+package com.mastercard.enrichment.infrastructure.persistence;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticTableSchema;
+
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.primaryPartitionKey;
+
+/**
+ * DynamoDB entity for merchant categories
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MerchantCategoryEntity {
+    
+    /**
+     * Item mapping of the MerchantCategories table, built without reflection
+     */
+    public static final TableSchema<MerchantCategoryEntity> TABLE_SCHEMA =
+            StaticTableSchema.builder(MerchantCategoryEntity.class)
+                .newItemSupplier(MerchantCategoryEntity::new)
+                .addAttribute(String.class, a -> a.name("merchantId")
+                        .getter(MerchantCategoryEntity::getMerchantId)
+                        .setter(MerchantCategoryEntity::setMerchantId)
+                        .tags(primaryPartitionKey()))
+                .addAttribute(String.class, a -> a.name("categoryCode")
+                        .getter(MerchantCategoryEntity::getCategoryCode)
+                        .setter(MerchantCategoryEntity::setCategoryCode))
+                .addAttribute(String.class, a -> a.name("categoryName")
+                        .getter(MerchantCategoryEntity::getCategoryName)
+                        .setter(MerchantCategoryEntity::setCategoryName))
+                .addAttribute(String.class, a -> a.name("industry")
+                        .getter(MerchantCategoryEntity::getIndustry)
+                        .setter(MerchantCategoryEntity::setIndustry))
+                .addAttribute(String.class, a -> a.name("riskLevel")
+                        .getter(MerchantCategoryEntity::getRiskLevel)
+                        .setter(MerchantCategoryEntity::setRiskLevel))
+                .addAttribute(Long.class, a -> a.name("updatedAt")
+                        .getter(MerchantCategoryEntity::getUpdatedAt)
+                        .setter(MerchantCategoryEntity::setUpdatedAt))
+                .build();
+    
+    private String merchantId;
+    private String categoryCode;
+    private String categoryName;
+    private String industry;
+    private String riskLevel;
+    private Long updatedAt;
+}
@@ -4,12 +4,14 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbAttribute;
-import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
-import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticTableSchema;
 
 import java.math.BigDecimal;
-import java.time.Instant;
+
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.primaryPartitionKey;
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.secondaryPartitionKey;
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.secondarySortKey;
 
 /**
  * DynamoDB entity for transaction persistence
@@ -18,9 +20,60 @@ import java.time.Instant;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@DynamoDbBean
 public class TransactionEntity {
     
+    /**
+     * GSI for merchant history queries: partition key merchantId, sort key timestamp
+     */
+    public static final String MERCHANT_TIMESTAMP_INDEX = "merchantId-timestamp-index";
+    
+    /**
+     * Item mapping of the Transactions table, spelled out with accessor references so the mapper
+     * never introspects the class. Build tables from this one instance.
+     */
+    public static final TableSchema<TransactionEntity> TABLE_SCHEMA = StaticTableSchema.builder(TransactionEntity.class)
+            .newItemSupplier(TransactionEntity::new)
+            .addAttribute(String.class, a -> a.name("transactionId")
+                    .getter(TransactionEntity::getTransactionId)
+                    .setter(TransactionEntity::setTransactionId)
+                    .tags(primaryPartitionKey()))
+            .addAttribute(String.class, a -> a.name("merchantId")
+                    .getter(TransactionEntity::getMerchantId)
+                    .setter(TransactionEntity::setMerchantId)
+                    .tags(secondaryPartitionKey(MERCHANT_TIMESTAMP_INDEX)))
+            .addAttribute(String.class, a -> a.name("merchantName")
+                    .getter(TransactionEntity::getMerchantName)
+                    .setter(TransactionEntity::setMerchantName))
+            .addAttribute(BigDecimal.class, a -> a.name("amount")
+                    .getter(TransactionEntity::getAmount)
+                    .setter(TransactionEntity::setAmount))
+            .addAttribute(String.class, a -> a.name("currency")
+                    .getter(TransactionEntity::getCurrency)
+                    .setter(TransactionEntity::setCurrency))
+            .addAttribute(Long.class, a -> a.name("timestamp")
+                    .getter(TransactionEntity::getTimestamp)
+                    .setter(TransactionEntity::setTimestamp)
+                    .tags(secondarySortKey(MERCHANT_TIMESTAMP_INDEX)))
+            .addAttribute(String.class, a -> a.name("country")
+                    .getter(TransactionEntity::getCountry)
+                    .setter(TransactionEntity::setCountry))
+            .addAttribute(String.class, a -> a.name("city")
+                    .getter(TransactionEntity::getCity)
+                    .setter(TransactionEntity::setCity))
+            .addAttribute(Double.class, a -> a.name("latitude")
+                    .getter(TransactionEntity::getLatitude)
+                    .setter(TransactionEntity::setLatitude))
+            .addAttribute(Double.class, a -> a.name("longitude")
+                    .getter(TransactionEntity::getLongitude)
+                    .setter(TransactionEntity::setLongitude))
+            .addAttribute(String.class, a -> a.name("enrichmentStatus")
+                    .getter(TransactionEntity::getEnrichmentStatus)
+                    .setter(TransactionEntity::setEnrichmentStatus))
+            .addAttribute(Long.class, a -> a.name("enrichedAt")
+                    .getter(TransactionEntity::getEnrichedAt)
+                    .setter(TransactionEntity::setEnrichedAt))
+            .build();
+    
     private String transactionId;
     private String merchantId;
     private String merchantName;
@@ -33,65 +86,4 @@ public class TransactionEntity {
     private Double longitude;
     private String enrichmentStatus;
     private Long enrichedAt;
-    
-    @DynamoDbPartitionKey
-    @DynamoDbAttribute("transactionId")
-    public String getTransactionId() {
-        return transactionId;
-    }
-    
-    @DynamoDbAttribute("merchantId")
-    public String getMerchantId() {
-        return merchantId;
-    }
-    
-    @DynamoDbAttribute("merchantName")
-    public String getMerchantName() {
-        return merchantName;
-    }
-    
-    @DynamoDbAttribute("amount")
-    public BigDecimal getAmount() {
-        return amount;
-    }
-    
-    @DynamoDbAttribute("currency")
-    public String getCurrency() {
-        return currency;
-    }
-    
-    @DynamoDbAttribute("timestamp")
-    public Long getTimestamp() {
-        return timestamp;
-    }
-    
-    @DynamoDbAttribute("country")
-    public String getCountry() {
-        return country;
-    }
-    
-    @DynamoDbAttribute("city")
-    public String getCity() {
-        return city;
-    }
-    
-    @DynamoDbAttribute("latitude")
-    public Double getLatitude() {
-        return latitude;
-    }
-    
-    @DynamoDbAttribute("longitude")
-    public Double getLongitude() {
-        return longitude;
-    }
-    
-    @DynamoDbAttribute("enrichmentStatus")
-    public String getEnrichmentStatus() {
-        return enrichmentStatus;
-    }
-    
-    @DynamoDbAttribute("enrichedAt")
-    public Long getEnrichedAt() {
-        return enrichedAt;
-    }
 }
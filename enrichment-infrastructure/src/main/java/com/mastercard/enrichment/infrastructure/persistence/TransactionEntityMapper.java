@@ -0,0 +1,130 @@
+package com.mastercard.enrichment.infrastructure.persistence;
+
+import com.mastercard.enrichment.core.domain.EnrichmentStatus;
+import com.mastercard.enrichment.core.domain.Transaction;
+import com.mastercard.enrichment.core.domain.TransactionPage;
+import com.mastercard.enrichment.core.exception.InvalidPageTokenException;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Mapping between Transaction and TransactionEntity, and the merchant page queries and tokens,
+ * shared by the blocking and async transaction repositories
+ */
+final class TransactionEntityMapper {
+    
+    private TransactionEntityMapper() {
+    }
+    
+    static Key key(String transactionId) {
+        return Key.builder()
+                .partitionValue(transactionId)
+                .build();
+    }
+    
+    static QueryEnhancedRequest merchantPageRequest(String merchantId, Instant from, Instant to,
+                                                    int pageSize, String pageToken) {
+        return QueryEnhancedRequest.builder()
+                .queryConditional(QueryConditional.sortBetween(
+                        Key.builder().partitionValue(merchantId).sortValue(from.getEpochSecond()).build(),
+                        Key.builder().partitionValue(merchantId).sortValue(to.getEpochSecond()).build()))
+                .scanIndexForward(false)
+                .limit(pageSize)
+                .exclusiveStartKey(decodePageToken(merchantId, pageToken))
+                .build();
+    }
+    
+    static TransactionPage toPage(Page<TransactionEntity> page) {
+        if (page == null) {
+            return TransactionPage.builder().transactions(List.of()).build();
+        }
+        return TransactionPage.builder()
+                .transactions(page.items().stream()
+                        .map(TransactionEntityMapper::toDomain)
+                        .collect(Collectors.toList()))
+                .nextPageToken(encodePageToken(page.lastEvaluatedKey()))
+                .build();
+    }
+    
+    /**
+     * Page token is "timestamp|transactionId" of the last item; merchantId comes from the request
+     */
+    static String encodePageToken(Map<String, AttributeValue> lastEvaluatedKey) {
+        if (lastEvaluatedKey == null || lastEvaluatedKey.isEmpty()) {
+            return null;
+        }
+        String token = lastEvaluatedKey.get("timestamp").n() + "|" + lastEvaluatedKey.get("transactionId").s();
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    static Map<String, AttributeValue> decodePageToken(String merchantId, String pageToken) {
+        if (pageToken == null || pageToken.isEmpty()) {
+            return null;
+        }
+        try {
+            String token = new String(Base64.getUrlDecoder().decode(pageToken), StandardCharsets.UTF_8);
+            int separator = token.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Missing separator");
+            }
+            long timestamp = Long.parseLong(token.substring(0, separator));
+            return Map.of(
+                    "merchantId", AttributeValue.fromS(merchantId),
+                    "timestamp", AttributeValue.fromN(Long.toString(timestamp)),
+                    "transactionId", AttributeValue.fromS(token.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPageTokenException(pageToken, e);
+        }
+    }
+    
+    static TransactionEntity toEntity(Transaction transaction) {
+        return TransactionEntity.builder()
+                .transactionId(transaction.getTransactionId())
+                .merchantId(transaction.getMerchantId())
+                .merchantName(transaction.getMerchantName())
+                .amount(transaction.getAmount())
+                .currency(transaction.getCurrency())
+                .timestamp(transaction.getTimestamp() != null ? 
+                        transaction.getTimestamp().getEpochSecond() : null)
+                .country(transaction.getCountry())
+                .city(transaction.getCity())
+                .latitude(transaction.getLatitude())
+                .longitude(transaction.getLongitude())
+                .enrichmentStatus(transaction.getEnrichmentStatus() != null ? 
+                        transaction.getEnrichmentStatus().name() : null)
+                .enrichedAt(transaction.getEnrichedAt() != null ? 
+                        transaction.getEnrichedAt().getEpochSecond() : null)
+                .build();
+    }
+    
+    static Transaction toDomain(TransactionEntity entity) {
+        return Transaction.builder()
+                .transactionId(entity.getTransactionId())
+                .merchantId(entity.getMerchantId())
+                .merchantName(entity.getMerchantName())
+                .amount(entity.getAmount())
+                .currency(entity.getCurrency())
+                .timestamp(entity.getTimestamp() != null ? 
+                        Instant.ofEpochSecond(entity.getTimestamp()) : null)
+                .country(entity.getCountry())
+                .city(entity.getCity())
+                .latitude(entity.getLatitude())
+                .longitude(entity.getLongitude())
+                .enrichmentStatus(entity.getEnrichmentStatus() != null ? 
+                        EnrichmentStatus.valueOf(entity.getEnrichmentStatus()) : null)
+                .enrichedAt(entity.getEnrichedAt() != null ? 
+                        Instant.ofEpochSecond(entity.getEnrichedAt()) : null)
+                .build();
+    }
+}
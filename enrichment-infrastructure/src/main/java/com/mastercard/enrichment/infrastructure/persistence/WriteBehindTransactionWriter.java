@@ -0,0 +1,433 @@
+package com.mastercard.enrichment.infrastructure.persistence;
+
+import com.mastercard.enrichment.core.exception.EnrichmentException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteResult;
+import software.amazon.awssdk.enhanced.dynamodb.model.WriteBatch;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind buffer for transaction writes, flushed to DynamoDB with BatchWriteItem.
+ * A batch is flushed once it holds 25 items or the oldest item has waited max-batch-delay.
+ * Deletes go through the same buffer, so they are applied after any put buffered before them.
+ * <p>
+ * Callers of {@link #enqueue} and {@link #delete} return once the write is buffered. A write the
+ * flusher gives up on after max-retries is logged and counted as failed, but nobody is told unless
+ * they registered with {@link #nextWrite}: for them the write is at-least-once, for everyone else
+ * at-most-once. {@link #enqueueAsync} and {@link #deleteAsync} never block: they fail at once while the
+ * buffer is full and hand late writes during shutdown to the caller's non-blocking client.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "enrichment.persistence.write-behind.enabled", havingValue = "true")
+public class WriteBehindTransactionWriter {
+
+    /** DynamoDB BatchWriteItem limit */
+    static final int MAX_BATCH_SIZE = 25;
+
+    private final DynamoDbEnhancedClient dynamoDbClient;
+    private final DynamoDbTable<TransactionEntity> table;
+    private final BlockingQueue<PendingWrite> buffer;
+    private final Map<String, PendingWrite> pending = new ConcurrentHashMap<>();
+    /** Futures waiting for the next write of a transaction, see {@link #nextWrite} */
+    private final Map<String, List<CompletableFuture<Void>>> watchers = new ConcurrentHashMap<>();
+    private final Duration maxBatchDelay;
+    private final Duration offerTimeout;
+    private final int maxRetries;
+    private final Duration shutdownTimeout;
+
+    private final Timer flushTimer;
+    private final Counter writtenCounter;
+    private final Counter failedCounter;
+    private final Counter retryCounter;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    /**
+     * A buffered put, or delete of the entity's key, and the future completed once it (or a newer
+     * write of the same transaction) is applied
+     */
+    private record PendingWrite(TransactionEntity entity, boolean delete, CompletableFuture<Void> flushed) {
+
+        String transactionId() {
+            return entity.getTransactionId();
+        }
+    }
+
+    public WriteBehindTransactionWriter(
+            DynamoDbEnhancedClient dynamoDbClient,
+            MeterRegistry meterRegistry,
+            @Value("${enrichment.persistence.write-behind.buffer-capacity:10000}") int bufferCapacity,
+            @Value("${enrichment.persistence.write-behind.max-batch-delay:50ms}") Duration maxBatchDelay,
+            @Value("${enrichment.persistence.write-behind.offer-timeout:100ms}") Duration offerTimeout,
+            @Value("${enrichment.persistence.write-behind.max-retries:5}") int maxRetries,
+            @Value("${enrichment.persistence.write-behind.shutdown-timeout:10s}") Duration shutdownTimeout) {
+        this.dynamoDbClient = dynamoDbClient;
+        this.table = dynamoDbClient.table(DynamoDbTransactionRepository.TABLE_NAME,
+                TransactionEntity.TABLE_SCHEMA);
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        this.maxBatchDelay = maxBatchDelay;
+        this.offerTimeout = offerTimeout;
+        this.maxRetries = maxRetries;
+        this.shutdownTimeout = shutdownTimeout;
+
+        Gauge.builder("enrichment.writebehind.queue.depth", buffer, BlockingQueue::size)
+                .description("Transactions waiting to be flushed to DynamoDB")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("enrichment.writebehind.flush.latency")
+                .description("Time to flush one batch to DynamoDB, including retries")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.writtenCounter = Counter.builder("enrichment.writebehind.items")
+                .tag("result", "written")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("enrichment.writebehind.items")
+                .tag("result", "failed")
+                .register(meterRegistry);
+        this.retryCounter = Counter.builder("enrichment.writebehind.retries")
+                .description("BatchWriteItem calls retried for unprocessed items or errors")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        flusher = new Thread(this::flushLoop, "transaction-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Write-behind enabled for {} (capacity {}, max delay {})",
+                DynamoDbTransactionRepository.TABLE_NAME, buffer.remainingCapacity(), maxBatchDelay);
+    }
+
+    /**
+     * Flush everything still buffered before the DynamoDB client goes away
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // The flusher notices within one max-batch-delay and drains the buffer before exiting
+        running = false;
+        flusher.join(shutdownTimeout.toMillis());
+        if (!buffer.isEmpty()) {
+            log.error("Write-behind shutdown timed out with {} transactions unflushed", buffer.size());
+        }
+    }
+
+    /**
+     * Buffer an entity for writing, blocking up to offer-timeout while the buffer is full
+     */
+    public void enqueue(TransactionEntity entity) {
+        if (!running) {
+            // Late writes during shutdown go straight to the table
+            table.putItem(entity);
+            notifyWatchers(entity.getTransactionId(), CompletableFuture.completedFuture(null));
+            return;
+        }
+        submit(new PendingWrite(entity, false, new CompletableFuture<>()), true);
+    }
+
+    /**
+     * Non-blocking {@link #enqueue}: fails at once while the buffer is full, and writes through
+     * directWrite instead of a blocking put once the writer is stopped
+     */
+    public CompletableFuture<Void> enqueueAsync(TransactionEntity entity,
+                                                Function<TransactionEntity, CompletableFuture<Void>> directWrite) {
+        if (!running) {
+            CompletableFuture<Void> written = directWrite.apply(entity);
+            notifyWatchers(entity.getTransactionId(), written);
+            return written;
+        }
+        return submitNow(new PendingWrite(entity, false, new CompletableFuture<>()));
+    }
+
+    /**
+     * Buffer a delete behind any buffered put of the transaction, which it supersedes
+     */
+    public void delete(String transactionId) {
+        if (!running) {
+            table.deleteItem(TransactionEntityMapper.key(transactionId));
+            notifyWatchers(transactionId, CompletableFuture.completedFuture(null));
+            return;
+        }
+        TransactionEntity key = TransactionEntity.builder().transactionId(transactionId).build();
+        submit(new PendingWrite(key, true, new CompletableFuture<>()), true);
+    }
+
+    /**
+     * Non-blocking {@link #delete}, see {@link #enqueueAsync}
+     */
+    public CompletableFuture<Void> deleteAsync(String transactionId,
+                                               Function<String, CompletableFuture<Void>> directDelete) {
+        if (!running) {
+            CompletableFuture<Void> deleted = directDelete.apply(transactionId);
+            notifyWatchers(transactionId, deleted);
+            return deleted;
+        }
+        TransactionEntity key = TransactionEntity.builder().transactionId(transactionId).build();
+        return submitNow(new PendingWrite(key, true, new CompletableFuture<>()));
+    }
+
+    /**
+     * Latest buffered (not yet flushed) version of a transaction, for read-your-writes;
+     * null if nothing or a delete is buffered
+     */
+    public TransactionEntity findPending(String transactionId) {
+        PendingWrite write = pending.get(transactionId);
+        return write != null && !write.delete() ? write.entity() : null;
+    }
+
+    /**
+     * True while a delete of the transaction is buffered, so reads must not go to the table
+     */
+    public boolean isDeletePending(String transactionId) {
+        PendingWrite write = pending.get(transactionId);
+        return write != null && write.delete();
+    }
+
+    /**
+     * Future for the next write of a transaction buffered after this call: completes once that
+     * write (or a newer version) is in DynamoDB, fails if the writer gives up on it. It never
+     * completes if nothing is written, so callers must {@link #unwatch} it when done.
+     */
+    public CompletableFuture<Void> nextWrite(String transactionId) {
+        CompletableFuture<Void> watcher = new CompletableFuture<>();
+        watchers.compute(transactionId, (id, waiting) -> {
+            List<CompletableFuture<Void>> list = waiting != null ? waiting : new ArrayList<>(1);
+            list.add(watcher);
+            return list;
+        });
+        return watcher;
+    }
+
+    /**
+     * Stop watching; true if no write of the transaction was buffered since {@link #nextWrite}
+     */
+    public boolean unwatch(String transactionId, CompletableFuture<Void> watcher) {
+        boolean[] removed = new boolean[1];
+        watchers.computeIfPresent(transactionId, (id, waiting) -> {
+            removed[0] = waiting.remove(watcher);
+            return waiting.isEmpty() ? null : waiting;
+        });
+        return removed[0];
+    }
+
+    private CompletableFuture<Void> submitNow(PendingWrite write) {
+        try {
+            submit(write, false);
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Buffer a write, waiting up to offer-timeout for space if wait is set
+     */
+    private void submit(PendingWrite write, boolean wait) {
+        String transactionId = write.transactionId();
+        PendingWrite previous = pending.put(transactionId, write);
+        try {
+            boolean offered = wait
+                    ? buffer.offer(write, offerTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                    : buffer.offer(write);
+            if (!offered) {
+                rejected(write, previous);
+                throw new EnrichmentException("Write-behind buffer full, rejected transaction: " + transactionId);
+            }
+        } catch (InterruptedException e) {
+            rejected(write, previous);
+            Thread.currentThread().interrupt();
+            throw new EnrichmentException("Interrupted while buffering transaction: " + transactionId, e);
+        }
+        if (previous != null) {
+            // Whoever waits on the older version is satisfied once the newer one is written
+            write.flushed().whenComplete((ignored, failure) -> complete(previous, failure));
+        }
+        notifyWatchers(transactionId, write.flushed());
+    }
+
+    public int getQueueDepth() {
+        return buffer.size();
+    }
+
+    private void flushLoop() {
+        List<PendingWrite> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        while (running || !buffer.isEmpty()) {
+            try {
+                collectBatch(batch);
+            } catch (InterruptedException e) {
+                // Never interrupted by us; flush what we have and let the loop condition decide
+                Thread.interrupted();
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void collectBatch(List<PendingWrite> batch) throws InterruptedException {
+        PendingWrite first = running
+                ? buffer.poll(maxBatchDelay.toMillis(), TimeUnit.MILLISECONDS)
+                : buffer.poll();
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+
+        long deadline = System.nanoTime() + maxBatchDelay.toNanos();
+        while (batch.size() < MAX_BATCH_SIZE) {
+            buffer.drainTo(batch, MAX_BATCH_SIZE - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= MAX_BATCH_SIZE || remaining <= 0 || !running) {
+                return;
+            }
+            PendingWrite next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        // BatchWriteItem rejects duplicate keys, and only the latest write per transaction matters
+        Map<String, PendingWrite> latest = new LinkedHashMap<>();
+        for (PendingWrite write : batch) {
+            latest.put(write.transactionId(), write);
+        }
+
+        flushTimer.record(() -> {
+            Collection<PendingWrite> toWrite = latest.values();
+            for (int attempt = 0; !toWrite.isEmpty(); attempt++) {
+                if (attempt > maxRetries) {
+                    log.error("Giving up on {} transactions after {} retries", toWrite.size(), maxRetries);
+                    failedCounter.increment(toWrite.size());
+                    EnrichmentException failure = new EnrichmentException(
+                            "Write-behind gave up after " + maxRetries + " retries");
+                    toWrite.forEach(write -> clearPending(write, failure));
+                    return;
+                }
+                if (attempt > 0) {
+                    retryCounter.increment();
+                    backoff(attempt);
+                }
+                toWrite = writeBatch(toWrite);
+            }
+        });
+    }
+
+    /**
+     * Write one batch, returning the writes DynamoDB did not process
+     */
+    private Collection<PendingWrite> writeBatch(Collection<PendingWrite> writes) {
+        WriteBatch.Builder<TransactionEntity> writeBatch = WriteBatch.builder(TransactionEntity.class)
+                .mappedTableResource(table);
+        for (PendingWrite write : writes) {
+            if (write.delete()) {
+                writeBatch.addDeleteItem(TransactionEntityMapper.key(write.transactionId()));
+            } else {
+                writeBatch.addPutItem(write.entity());
+            }
+        }
+
+        try {
+            BatchWriteResult result = dynamoDbClient.batchWriteItem(request ->
+                    request.writeBatches(writeBatch.build()));
+            // Unprocessed items come back as copies; retry the originals so clearPending recognises them
+            Set<String> unprocessedIds = result.unprocessedPutItemsForTable(table).stream()
+                    .map(TransactionEntity::getTransactionId)
+                    .collect(Collectors.toSet());
+            result.unprocessedDeleteItemsForTable(table)
+                    .forEach(key -> unprocessedIds.add(key.partitionKeyValue().s()));
+            List<PendingWrite> unprocessed = new ArrayList<>(unprocessedIds.size());
+            List<PendingWrite> written = new ArrayList<>(writes.size());
+            for (PendingWrite write : writes) {
+                (unprocessedIds.contains(write.transactionId()) ? unprocessed : written).add(write);
+            }
+            // Counted before anyone waiting on these writes is told they are done
+            writtenCounter.increment(written.size());
+            written.forEach(write -> clearPending(write, null));
+            return unprocessed;
+        } catch (RuntimeException e) {
+            log.warn("BatchWriteItem of {} transactions failed: {}", writes.size(), e.getMessage());
+            return writes;
+        }
+    }
+
+    private void clearPending(PendingWrite write, Throwable failure) {
+        // Cleared first so woken waiters no longer see it; a newer version buffered in the meantime keeps its entry
+        pending.remove(write.transactionId(), write);
+        complete(write, failure);
+        // A rejection may have restored this write before it was done
+        pending.remove(write.transactionId(), write);
+    }
+
+    private void notifyWatchers(String transactionId, CompletableFuture<Void> write) {
+        List<CompletableFuture<Void>> waiting = watchers.remove(transactionId);
+        if (waiting != null) {
+            waiting.forEach(watcher -> write.whenComplete((ignored, failure) -> {
+                if (failure == null) {
+                    watcher.complete(null);
+                } else {
+                    watcher.completeExceptionally(failure);
+                }
+            }));
+        }
+    }
+
+    private void rejected(PendingWrite write, PendingWrite previous) {
+        String transactionId = write.transactionId();
+        if (previous == null || previous.flushed().isDone()) {
+            pending.remove(transactionId, write);
+            return;
+        }
+        // The older version is still queued and will be written; reads see it again until it is
+        if (pending.replace(transactionId, write, previous) && previous.flushed().isDone()) {
+            // Flushed while the newer version held the entry, so nobody else will clear it
+            pending.remove(transactionId, previous);
+        }
+    }
+
+    private static void complete(PendingWrite write, Throwable failure) {
+        if (failure == null) {
+            write.flushed().complete(null);
+        } else {
+            write.flushed().completeExceptionally(failure);
+        }
+    }
+
+    private void backoff(int attempt) {
+        long delayMillis = Math.min(1000L, 25L << Math.min(attempt, 6));
+        try {
+            Thread.sleep(delayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.mastercard.enrichment.infrastructure.s3;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.mastercard.enrichment.core.domain.EnrichedTransaction;
+
+/**
+ * One line of the output file: the enriched transaction, or why its input line failed
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+record FileEnrichmentRecord(long line,
+                            String transactionId,
+                            String status,
+                            EnrichedTransaction result,
+                            String error) {
+    
+    static final String ENRICHED = "ENRICHED";
+    static final String FAILED = "FAILED";
+}
@@ -0,0 +1,88 @@
+package com.mastercard.enrichment.infrastructure.s3;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Splits a stream on '\n' while tracking the byte offset of the next line in the whole file,
+ * so a later run can resume with a ranged GET. Never buffers more than maxLineLength bytes of a line.
+ */
+final class OffsetLineReader {
+    
+    static final String TOO_LONG = new String();
+    
+    private final InputStream input;
+    private final int maxLineLength;
+    private final byte[] buffer = new byte[64 * 1024];
+    private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+    private int position;
+    private int limit;
+    private long offset;
+    
+    OffsetLineReader(InputStream input, long startOffset, int maxLineLength) {
+        this.input = input;
+        this.offset = startOffset;
+        this.maxLineLength = maxLineLength;
+    }
+    
+    /**
+     * Next line without its terminator ('\n' or "\r\n"), TOO_LONG if it was over the limit,
+     * or null at end of input
+     */
+    String readLine() throws IOException {
+        line.reset();
+        boolean tooLong = false;
+        boolean read = false;
+        while (true) {
+            if (position == limit && !fill()) {
+                break;
+            }
+            read = true;
+            int start = position;
+            while (position < limit && buffer[position] != '\n') {
+                position++;
+            }
+            int length = position - start;
+            offset += length;
+            if (line.size() + length <= maxLineLength) {
+                line.write(buffer, start, length);
+            } else {
+                tooLong = true;
+            }
+            if (position < limit) {
+                // Consume the '\n'
+                position++;
+                offset++;
+                break;
+            }
+        }
+        if (!read) {
+            return null;
+        }
+        if (tooLong) {
+            return TOO_LONG;
+        }
+        byte[] bytes = line.toByteArray();
+        int length = bytes.length > 0 && bytes[bytes.length - 1] == '\r' ? bytes.length - 1 : bytes.length;
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Byte offset just past the last line returned
+     */
+    long offset() {
+        return offset;
+    }
+    
+    private boolean fill() throws IOException {
+        int count = input.read(buffer);
+        if (count <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = count;
+        return true;
+    }
+}
@@ -0,0 +1,25 @@
+package com.mastercard.enrichment.infrastructure.s3;
+
+import java.util.List;
+
+/**
+ * Progress of a file enrichment as of its last uploaded part, stored next to the output.
+ * Everything before inputOffset is already in the uploaded parts, so a resumed run continues
+ * from there; inputETag detects an input that was replaced in between.
+ */
+record PipelineCheckpoint(String inputETag,
+                          String uploadId,
+                          List<String> header,
+                          long inputOffset,
+                          long lines,
+                          long enriched,
+                          long failed,
+                          List<Part> parts) {
+    
+    record Part(int partNumber, String eTag) {
+    }
+    
+    static PipelineCheckpoint start(String inputETag, String uploadId) {
+        return new PipelineCheckpoint(inputETag, uploadId, null, 0, 0, 0, 0, List.of());
+    }
+}
@@ -0,0 +1,28 @@
+package com.mastercard.enrichment.infrastructure.s3;
+
+import com.mastercard.enrichment.core.exception.UnsupportedFileFormatException;
+
+import java.util.Locale;
+
+/**
+ * Input file formats, recognised by object key extension
+ */
+public enum RecordFormat {
+    
+    /** Comma-separated values with a header row naming the transaction fields */
+    CSV,
+    
+    /** One JSON transaction object per line */
+    JSON_LINES;
+    
+    public static RecordFormat fromKey(String key) {
+        String lower = key.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".csv")) {
+            return CSV;
+        }
+        if (lower.endsWith(".jsonl") || lower.endsWith(".ndjson")) {
+            return JSON_LINES;
+        }
+        throw new UnsupportedFileFormatException(key);
+    }
+}
@@ -0,0 +1,376 @@
+package com.mastercard.enrichment.infrastructure.s3;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mastercard.enrichment.core.domain.EnrichedTransaction;
+import com.mastercard.enrichment.core.domain.FileEnrichmentRun;
+import com.mastercard.enrichment.core.domain.Transaction;
+import com.mastercard.enrichment.core.exception.EnrichmentException;
+import com.mastercard.enrichment.core.service.EnrichmentService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.NoSuchUploadException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Streams a CSV or JSON-lines object from S3, enriches it in parallel chunks and writes one JSON line
+ * per input record back to S3 as a multipart upload. Memory stays bounded by one chunk plus one part
+ * whatever the file size.
+ * <p>
+ * After each uploaded part a checkpoint (input offset, counters, part ETags) is written next to the
+ * output, so a failed run started again continues after the last uploaded part instead of from the top.
+ * Lines after that part may be enriched twice across the two runs, but each appears once in the output.
+ * A last checkpoint covering the whole input is written before the upload is completed, so a run that
+ * stopped after completing it but before deleting the checkpoint is recognized as finished.
+ */
+@Slf4j
+@Component
+public class S3FileEnrichmentPipeline {
+
+    static final String CHECKPOINT_SUFFIX = ".checkpoint.json";
+    static final String OUTPUT_CONTENT_TYPE = "application/x-ndjson";
+    /** S3 rejects multipart uploads whose parts, other than the last, are smaller than this */
+    static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+
+    private static final int MAX_LINE_LENGTH = 1024 * 1024;
+
+    private final S3Client s3Client;
+    private final EnrichmentService enrichmentService;
+    private final Executor batchExecutor;
+    private final int chunkSize;
+    private final int partSize;
+    private final Counter enrichedCounter;
+    private final Counter failedCounter;
+    private final Counter partsCounter;
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    @Autowired
+    public S3FileEnrichmentPipeline(S3Client s3Client,
+                                    EnrichmentService enrichmentService,
+                                    @Qualifier("batchExecutor") Executor batchExecutor,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${enrichment.files.chunk-size:500}") int chunkSize,
+                                    @Value("${enrichment.files.part-size:8MB}") DataSize partSize) {
+        this(s3Client, enrichmentService, batchExecutor, meterRegistry, chunkSize, validPartSize(partSize));
+    }
+
+    /**
+     * Takes any part size, for stores without the S3 minimum
+     */
+    S3FileEnrichmentPipeline(S3Client s3Client, EnrichmentService enrichmentService, Executor batchExecutor,
+                             MeterRegistry meterRegistry, int chunkSize, int partSize) {
+        this.s3Client = s3Client;
+        this.enrichmentService = enrichmentService;
+        this.batchExecutor = batchExecutor;
+        this.chunkSize = chunkSize;
+        this.partSize = partSize;
+        this.enrichedCounter = records(meterRegistry, "enriched");
+        this.failedCounter = records(meterRegistry, "failed");
+        this.partsCounter = Counter.builder("enrichment.files.parts")
+                .description("Output parts uploaded by file enrichment runs")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Enrich run's input into its output, resuming from a checkpoint if one matches the input.
+     * progress is called as chunks complete; a failure leaves the last checkpoint in place and is rethrown.
+     */
+    public FileEnrichmentRun run(FileEnrichmentRun run, Consumer<FileEnrichmentRun> progress) {
+        RecordFormat format = RecordFormat.fromKey(run.getInputKey());
+        String checkpointKey = run.getOutputKey() + CHECKPOINT_SUFFIX;
+        HeadObjectResponse input = s3Client.headObject(b -> b.bucket(run.getBucket()).key(run.getInputKey()));
+
+        PipelineCheckpoint checkpoint = loadCheckpoint(run.getOutputBucket(), checkpointKey);
+        if (checkpoint != null && !checkpoint.inputETag().equals(input.eTag())) {
+            log.warn("Input s3://{}/{} changed since the last checkpoint, starting over",
+                    run.getBucket(), run.getInputKey());
+            abortUpload(run, checkpoint.uploadId());
+            checkpoint = null;
+        }
+        if (checkpoint != null && !uploadExists(run, checkpoint.uploadId())) {
+            if (checkpoint.inputOffset() >= input.contentLength() && outputExists(run)) {
+                // Stopped after completing the upload but before deleting the checkpoint
+                log.info("s3://{}/{} was already enriched into s3://{}/{}", run.getBucket(), run.getInputKey(),
+                        run.getOutputBucket(), run.getOutputKey());
+                s3Client.deleteObject(b -> b.bucket(run.getOutputBucket()).key(checkpointKey));
+                FileEnrichmentRun finished = withProgress(run.toBuilder().resumedFromLine(checkpoint.lines()).build(),
+                        checkpoint.lines(), checkpoint.enriched(), checkpoint.failed(), checkpoint.parts().size());
+                progress.accept(finished);
+                return finished;
+            }
+            log.warn("Upload {} of s3://{}/{} no longer exists, starting over", checkpoint.uploadId(),
+                    run.getOutputBucket(), run.getOutputKey());
+            checkpoint = null;
+        }
+        if (checkpoint == null) {
+            String uploadId = s3Client.createMultipartUpload(b -> b.bucket(run.getOutputBucket())
+                    .key(run.getOutputKey())
+                    .contentType(OUTPUT_CONTENT_TYPE)).uploadId();
+            checkpoint = PipelineCheckpoint.start(input.eTag(), uploadId);
+        } else {
+            log.info("Resuming s3://{}/{} from line {} ({} parts uploaded)", run.getBucket(), run.getInputKey(),
+                    checkpoint.lines(), checkpoint.parts().size());
+        }
+
+        FileEnrichmentRun current = withProgress(run.toBuilder().resumedFromLine(checkpoint.lines()).build(),
+                checkpoint.lines(), checkpoint.enriched(), checkpoint.failed(), checkpoint.parts().size());
+        progress.accept(current);
+
+        try (InputStream stream = openInput(run, checkpoint.inputOffset(), input.contentLength())) {
+            OffsetLineReader reader = new OffsetLineReader(stream, checkpoint.inputOffset(), MAX_LINE_LENGTH);
+            long lines = checkpoint.lines();
+            long enriched = checkpoint.enriched();
+            long failed = checkpoint.failed();
+            List<PipelineCheckpoint.Part> parts = new ArrayList<>(checkpoint.parts());
+
+            List<String> header = checkpoint.header();
+            if (format == RecordFormat.CSV && header == null) {
+                String headerLine = reader.readLine();
+                header = headerLine == null || headerLine == OffsetLineReader.TOO_LONG
+                        ? List.of()
+                        : TransactionRecordParser.splitCsv(headerLine);
+                lines++;
+            }
+            TransactionRecordParser parser = new TransactionRecordParser(format, header, objectMapper);
+
+            ByteArrayOutputStream part = new ByteArrayOutputStream(partSize + partSize / 8);
+            List<CompletableFuture<Outcome>> chunk = new ArrayList<>(chunkSize);
+            boolean endOfInput = false;
+            while (!endOfInput) {
+                chunk.clear();
+                while (chunk.size() < chunkSize) {
+                    String line = reader.readLine();
+                    if (line == null) {
+                        endOfInput = true;
+                        break;
+                    }
+                    long lineNumber = ++lines;
+                    if (!line.isBlank()) {
+                        chunk.add(CompletableFuture.supplyAsync(() -> enrichLine(parser, lineNumber, line),
+                                batchExecutor));
+                    }
+                }
+
+                // Joined in order, so the output follows the input
+                for (CompletableFuture<Outcome> future : chunk) {
+                    Outcome outcome = future.join();
+                    part.write(outcome.json());
+                    if (outcome.enriched()) {
+                        enriched++;
+                    } else {
+                        failed++;
+                    }
+                }
+
+                if (part.size() >= partSize) {
+                    parts.add(uploadPart(run, checkpoint.uploadId(), parts.size() + 1, part.toByteArray()));
+                    part.reset();
+                    checkpoint = new PipelineCheckpoint(checkpoint.inputETag(), checkpoint.uploadId(), header,
+                            reader.offset(), lines, enriched, failed, List.copyOf(parts));
+                    saveCheckpoint(run.getOutputBucket(), checkpointKey, checkpoint);
+                }
+                current = withProgress(current, lines, enriched, failed, parts.size());
+                progress.accept(current);
+            }
+
+            if (part.size() > 0) {
+                parts.add(uploadPart(run, checkpoint.uploadId(), parts.size() + 1, part.toByteArray()));
+            }
+            checkpoint = new PipelineCheckpoint(checkpoint.inputETag(), checkpoint.uploadId(), header,
+                    reader.offset(), lines, enriched, failed, List.copyOf(parts));
+            saveCheckpoint(run.getOutputBucket(), checkpointKey, checkpoint);
+            finish(run, checkpoint.uploadId(), parts);
+            s3Client.deleteObject(b -> b.bucket(run.getOutputBucket()).key(checkpointKey));
+
+            log.info("Enriched s3://{}/{} into s3://{}/{}: {} enriched, {} failed", run.getBucket(),
+                    run.getInputKey(), run.getOutputBucket(), run.getOutputKey(), enriched, failed);
+            return withProgress(current, lines, enriched, failed, parts.size());
+        } catch (IOException e) {
+            throw new EnrichmentException("Failed to read s3://" + run.getBucket() + "/" + run.getInputKey(), e);
+        }
+    }
+
+    private Outcome enrichLine(TransactionRecordParser parser, long lineNumber, String line) {
+        FileEnrichmentRecord record;
+        Transaction transaction = null;
+        try {
+            if (line == OffsetLineReader.TOO_LONG) {
+                throw new IllegalArgumentException("Line exceeds " + MAX_LINE_LENGTH + " bytes");
+            }
+            transaction = parser.parse(line);
+            EnrichedTransaction result = enrichmentService.enrichTransaction(transaction);
+            record = new FileEnrichmentRecord(lineNumber, transaction.getTransactionId(),
+                    FileEnrichmentRecord.ENRICHED, result, null);
+        } catch (RuntimeException e) {
+            record = new FileEnrichmentRecord(lineNumber,
+                    transaction != null ? transaction.getTransactionId() : null,
+                    FileEnrichmentRecord.FAILED, null, e.getMessage());
+        }
+
+        boolean enriched = record.result() != null;
+        (enriched ? enrichedCounter : failedCounter).increment();
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(record);
+            byte[] withNewline = new byte[json.length + 1];
+            System.arraycopy(json, 0, withNewline, 0, json.length);
+            withNewline[json.length] = '\n';
+            return new Outcome(withNewline, enriched);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private InputStream openInput(FileEnrichmentRun run, long offset, long contentLength) {
+        if (offset >= contentLength) {
+            return InputStream.nullInputStream();
+        }
+        return s3Client.getObject(b -> {
+            b.bucket(run.getBucket()).key(run.getInputKey());
+            if (offset > 0) {
+                b.range("bytes=" + offset + "-");
+            }
+        });
+    }
+
+    private PipelineCheckpoint.Part uploadPart(FileEnrichmentRun run, String uploadId, int partNumber, byte[] bytes) {
+        String eTag = s3Client.uploadPart(b -> b.bucket(run.getOutputBucket())
+                        .key(run.getOutputKey())
+                        .uploadId(uploadId)
+                        .partNumber(partNumber),
+                RequestBody.fromBytes(bytes)).eTag();
+        partsCounter.increment();
+        log.debug("Uploaded part {} ({} bytes) of s3://{}/{}", partNumber, bytes.length,
+                run.getOutputBucket(), run.getOutputKey());
+        return new PipelineCheckpoint.Part(partNumber, eTag);
+    }
+
+    private void finish(FileEnrichmentRun run, String uploadId, List<PipelineCheckpoint.Part> parts) {
+        if (parts.isEmpty()) {
+            // A multipart upload needs at least one part, so an empty input gets an empty object instead
+            abortUpload(run, uploadId);
+            s3Client.putObject(b -> b.bucket(run.getOutputBucket())
+                            .key(run.getOutputKey())
+                            .contentType(OUTPUT_CONTENT_TYPE),
+                    RequestBody.empty());
+            return;
+        }
+        List<CompletedPart> completedParts = parts.stream()
+                .map(part -> CompletedPart.builder().partNumber(part.partNumber()).eTag(part.eTag()).build())
+                .toList();
+        s3Client.completeMultipartUpload(b -> b.bucket(run.getOutputBucket())
+                .key(run.getOutputKey())
+                .uploadId(uploadId)
+                .multipartUpload(upload -> upload.parts(completedParts)));
+    }
+
+    private boolean uploadExists(FileEnrichmentRun run, String uploadId) {
+        try {
+            s3Client.listParts(b -> b.bucket(run.getOutputBucket())
+                    .key(run.getOutputKey())
+                    .uploadId(uploadId)
+                    .maxParts(1));
+            return true;
+        } catch (NoSuchUploadException e) {
+            return false;
+        }
+    }
+
+    private boolean outputExists(FileEnrichmentRun run) {
+        try {
+            s3Client.headObject(b -> b.bucket(run.getOutputBucket()).key(run.getOutputKey()));
+            return true;
+        } catch (NoSuchKeyException e) {
+            return false;
+        }
+    }
+
+    private void abortUpload(FileEnrichmentRun run, String uploadId) {
+        try {
+            s3Client.abortMultipartUpload(b -> b.bucket(run.getOutputBucket())
+                    .key(run.getOutputKey())
+                    .uploadId(uploadId));
+        } catch (S3Exception e) {
+            log.warn("Could not abort upload {} of s3://{}/{}: {}", uploadId, run.getOutputBucket(),
+                    run.getOutputKey(), e.getMessage());
+        }
+    }
+
+    private PipelineCheckpoint loadCheckpoint(String bucket, String key) {
+        try {
+            ResponseBytes<GetObjectResponse> bytes = s3Client.getObjectAsBytes(b -> b.bucket(bucket).key(key));
+            return objectMapper.readValue(bytes.asByteArray(), PipelineCheckpoint.class);
+        } catch (NoSuchKeyException e) {
+            return null;
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable checkpoint s3://{}/{}: {}", bucket, key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void saveCheckpoint(String bucket, String key, PipelineCheckpoint checkpoint) {
+        try {
+            s3Client.putObject(b -> b.bucket(bucket).key(key).contentType("application/json"),
+                    RequestBody.fromBytes(objectMapper.writeValueAsBytes(checkpoint)));
+        } catch (JsonProcessingException e) {
+            throw new EnrichmentException("Failed to write checkpoint s3://" + bucket + "/" + key, e);
+        }
+    }
+
+    private static int validPartSize(DataSize partSize) {
+        if (partSize.toBytes() < MIN_PART_SIZE || partSize.toBytes() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("enrichment.files.part-size must be between 5MB and 2GB: " + partSize);
+        }
+        return (int) partSize.toBytes();
+    }
+
+    private static FileEnrichmentRun withProgress(FileEnrichmentRun run, long lines, long enriched, long failed,
+                                                  int parts) {
+        return run.toBuilder()
+                .linesRead(lines)
+                .recordsEnriched(enriched)
+                .recordsFailed(failed)
+                .partsUploaded(parts)
+                .build();
+    }
+
+    private static Counter records(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("enrichment.files.records")
+                .description("Records processed by file enrichment runs")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record Outcome(byte[] json, boolean enriched) {
+    }
+}
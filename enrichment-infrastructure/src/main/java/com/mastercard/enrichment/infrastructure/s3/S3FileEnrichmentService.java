@@ -0,0 +1,119 @@
+package com.mastercard.enrichment.infrastructure.s3;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mastercard.enrichment.core.domain.FileEnrichmentRun;
+import com.mastercard.enrichment.core.service.FileEnrichmentService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs file enrichments on their own small executor and keeps their progress for a while.
+ * At most one run writes a given output at a time; starting it again returns the active run.
+ */
+@Slf4j
+@Service
+public class S3FileEnrichmentService implements FileEnrichmentService {
+
+    static final String OUTPUT_SUFFIX = ".enriched.jsonl";
+
+    private final S3FileEnrichmentPipeline pipeline;
+    private final Executor fileEnrichmentExecutor;
+    private final Cache<String, FileEnrichmentRun> runs;
+    private final Map<String, String> activeRunsByOutput = new ConcurrentHashMap<>();
+
+    public S3FileEnrichmentService(S3FileEnrichmentPipeline pipeline,
+                                   @Qualifier("fileEnrichmentExecutor") Executor fileEnrichmentExecutor,
+                                   @Value("${enrichment.files.run-retention:24h}") Duration runRetention) {
+        this.pipeline = pipeline;
+        this.fileEnrichmentExecutor = fileEnrichmentExecutor;
+        this.runs = Caffeine.newBuilder()
+                .maximumSize(1000)
+                .expireAfterWrite(runRetention)
+                .build();
+    }
+
+    @Override
+    public FileEnrichmentRun start(String bucket, String inputKey, String outputBucket, String outputKey) {
+        // Fail fast on the request rather than in the background
+        RecordFormat.fromKey(inputKey);
+
+        FileEnrichmentRun run = FileEnrichmentRun.builder()
+                .runId(UUID.randomUUID().toString())
+                .bucket(bucket)
+                .inputKey(inputKey)
+                .outputBucket(outputBucket != null && !outputBucket.isBlank() ? outputBucket : bucket)
+                .outputKey(outputKey != null && !outputKey.isBlank() ? outputKey : defaultOutputKey(inputKey))
+                .status(FileEnrichmentRun.Status.QUEUED)
+                .submittedAt(Instant.now())
+                .build();
+
+        String output = run.getOutputBucket() + "/" + run.getOutputKey();
+        String activeRunId = activeRunsByOutput.putIfAbsent(output, run.getRunId());
+        if (activeRunId != null) {
+            FileEnrichmentRun active = runs.getIfPresent(activeRunId);
+            if (active != null) {
+                log.info("File s3://{} is already being written by run {}", output, activeRunId);
+                return active;
+            }
+            activeRunsByOutput.replace(output, activeRunId, run.getRunId());
+        }
+
+        runs.put(run.getRunId(), run);
+        fileEnrichmentExecutor.execute(() -> execute(run, output));
+        log.info("Queued run {} enriching s3://{}/{} into s3://{}", run.getRunId(), bucket, inputKey, output);
+        return run;
+    }
+
+    @Override
+    public Optional<FileEnrichmentRun> getRun(String runId) {
+        return Optional.ofNullable(runs.getIfPresent(runId));
+    }
+
+    private void execute(FileEnrichmentRun queued, String output) {
+        FileEnrichmentRun running = queued.toBuilder()
+                .status(FileEnrichmentRun.Status.RUNNING)
+                .startedAt(Instant.now())
+                .build();
+        runs.put(running.getRunId(), running);
+
+        FileEnrichmentRun[] latest = { running };
+        try {
+            FileEnrichmentRun finished = pipeline.run(running, progress -> {
+                latest[0] = progress;
+                runs.put(progress.getRunId(), progress);
+            });
+            runs.put(finished.getRunId(), finished.toBuilder()
+                    .status(FileEnrichmentRun.Status.COMPLETED)
+                    .completedAt(Instant.now())
+                    .build());
+        } catch (RuntimeException e) {
+            log.error("Run {} failed after line {}: {}", queued.getRunId(), latest[0].getLinesRead(),
+                    e.getMessage(), e);
+            runs.put(queued.getRunId(), latest[0].toBuilder()
+                    .status(FileEnrichmentRun.Status.FAILED)
+                    .error(e.getMessage())
+                    .completedAt(Instant.now())
+                    .build());
+        } finally {
+            activeRunsByOutput.remove(output, queued.getRunId());
+        }
+    }
+
+    static String defaultOutputKey(String inputKey) {
+        int slash = inputKey.lastIndexOf('/');
+        int dot = inputKey.lastIndexOf('.');
+        String base = dot > slash ? inputKey.substring(0, dot) : inputKey;
+        return base + OUTPUT_SUFFIX;
+    }
+}
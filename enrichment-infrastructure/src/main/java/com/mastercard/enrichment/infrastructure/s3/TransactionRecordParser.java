@@ -0,0 +1,120 @@
+package com.mastercard.enrichment.infrastructure.s3;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mastercard.enrichment.core.domain.Transaction;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BiConsumer;
+
+/**
+ * Parses one input line into a transaction. CSV columns are matched to transaction fields by
+ * header name, ignoring case, '_' and '-' (so merchant_id, merchantId and MERCHANT-ID all work);
+ * unknown columns are ignored. Quoted CSV fields may contain commas and doubled quotes but not newlines.
+ */
+final class TransactionRecordParser {
+    
+    private final RecordFormat format;
+    private final ObjectMapper objectMapper;
+    private final List<BiConsumer<Transaction, String>> columns;
+    
+    TransactionRecordParser(RecordFormat format, List<String> header, ObjectMapper objectMapper) {
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.columns = format == RecordFormat.CSV ? header.stream().map(TransactionRecordParser::column).toList() : List.of();
+    }
+    
+    /**
+     * @throws IllegalArgumentException if the line is malformed or lacks a required field
+     */
+    Transaction parse(String line) {
+        Transaction transaction = format == RecordFormat.CSV ? parseCsv(line) : parseJson(line);
+        require(transaction.getTransactionId(), "transactionId");
+        require(transaction.getMerchantId(), "merchantId");
+        require(transaction.getAmount(), "amount");
+        require(transaction.getCurrency(), "currency");
+        return transaction;
+    }
+    
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+    
+    private Transaction parseCsv(String line) {
+        List<String> values = splitCsv(line);
+        Transaction transaction = new Transaction();
+        for (int i = 0; i < values.size() && i < columns.size(); i++) {
+            String value = values.get(i);
+            if (!value.isEmpty()) {
+                try {
+                    columns.get(i).accept(transaction, value);
+                } catch (RuntimeException e) {
+                    throw new IllegalArgumentException("Invalid value for column " + (i + 1) + ": " + value);
+                }
+            }
+        }
+        return transaction;
+    }
+    
+    private Transaction parseJson(String line) {
+        try {
+            return objectMapper.readValue(line, Transaction.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+    
+    private static BiConsumer<Transaction, String> column(String name) {
+        String normalized = name.toLowerCase(Locale.ROOT).replace("_", "").replace("-", "").trim();
+        return switch (normalized) {
+            case "transactionid" -> Transaction::setTransactionId;
+            case "merchantid" -> Transaction::setMerchantId;
+            case "merchantname" -> Transaction::setMerchantName;
+            case "amount" -> (t, v) -> t.setAmount(new BigDecimal(v));
+            case "currency" -> Transaction::setCurrency;
+            case "timestamp" -> (t, v) -> t.setTimestamp(Instant.parse(v));
+            case "country" -> Transaction::setCountry;
+            case "city" -> Transaction::setCity;
+            case "latitude" -> (t, v) -> t.setLatitude(Double.valueOf(v));
+            case "longitude" -> (t, v) -> t.setLongitude(Double.valueOf(v));
+            default -> (t, v) -> { };
+        };
+    }
+    
+    private static void require(Object value, String field) {
+        if (value == null || value instanceof String s && s.isBlank()) {
+            throw new IllegalArgumentException("Missing " + field);
+        }
+    }
+}
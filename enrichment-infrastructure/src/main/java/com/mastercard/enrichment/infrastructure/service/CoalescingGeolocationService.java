@@ -0,0 +1,60 @@
+package com.mastercard.enrichment.infrastructure.service;
+
+import com.mastercard.enrichment.core.domain.GeolocationData;
+import com.mastercard.enrichment.core.service.GeolocationService;
+import com.mastercard.enrichment.infrastructure.concurrent.SingleFlight;
+import com.mastercard.enrichment.infrastructure.geo.CoordinateCellKeyGenerator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Sits in front of the cached GeolocationServiceImpl so that concurrent lookups for the same
+ * location share one cache miss and one load. Keys mirror the cache keys of the delegate.
+ */
+@Primary
+@Service
+@ConditionalOnProperty(name = "enrichment.coalescing.enabled", havingValue = "true", matchIfMissing = true)
+public class CoalescingGeolocationService implements GeolocationService {
+    
+    private final GeolocationService delegate;
+    private final CoordinateCellKeyGenerator coordinateKeys;
+    private final SingleFlight<String, Optional<GeolocationData>> coordinateLookups;
+    private final SingleFlight<String, Optional<GeolocationData>> addressLookups;
+    private final SingleFlight<String, Optional<GeolocationData>> ipLookups;
+    
+    public CoalescingGeolocationService(
+            @Qualifier("geolocationServiceImpl") GeolocationService delegate,
+            CoordinateCellKeyGenerator coordinateKeys,
+            MeterRegistry meterRegistry,
+            @Value("${enrichment.coalescing.timeout:1s}") Duration timeout) {
+        this.delegate = delegate;
+        this.coordinateKeys = coordinateKeys;
+        this.coordinateLookups = new SingleFlight<>("geolocationByCoords", timeout, meterRegistry);
+        this.addressLookups = new SingleFlight<>("geolocationByAddress", timeout, meterRegistry);
+        this.ipLookups = new SingleFlight<>("geolocationByIp", timeout, meterRegistry);
+    }
+    
+    @Override
+    public Optional<GeolocationData> getGeolocationByCoordinates(Double latitude, Double longitude) {
+        return coordinateLookups.execute(coordinateKeys.key(latitude, longitude),
+                () -> delegate.getGeolocationByCoordinates(latitude, longitude));
+    }
+    
+    @Override
+    public Optional<GeolocationData> getGeolocationByAddress(String address, String country) {
+        return addressLookups.execute(address + "," + country,
+                () -> delegate.getGeolocationByAddress(address, country));
+    }
+    
+    @Override
+    public Optional<GeolocationData> getGeolocationByIp(String ipAddress) {
+        return ipLookups.execute(ipAddress, () -> delegate.getGeolocationByIp(ipAddress));
+    }
+}
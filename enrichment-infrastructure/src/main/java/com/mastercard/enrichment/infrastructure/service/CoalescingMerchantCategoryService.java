@@ -0,0 +1,53 @@
+package com.mastercard.enrichment.infrastructure.service;
+
+import com.mastercard.enrichment.core.domain.MerchantCategory;
+import com.mastercard.enrichment.core.service.MerchantCategoryService;
+import com.mastercard.enrichment.infrastructure.concurrent.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Sits in front of the cached MerchantCategoryServiceImpl so that concurrent lookups for the same
+ * merchant share one cache miss and one load instead of stampeding Redis and DynamoDB
+ */
+@Primary
+@Service
+@ConditionalOnProperty(name = "enrichment.coalescing.enabled", havingValue = "true", matchIfMissing = true)
+public class CoalescingMerchantCategoryService implements MerchantCategoryService {
+    
+    private final MerchantCategoryService delegate;
+    private final SingleFlight<String, Optional<MerchantCategory>> categoryLookups;
+    private final SingleFlight<String, MerchantCategory> categorizations;
+    
+    public CoalescingMerchantCategoryService(
+            @Qualifier("merchantCategoryServiceImpl") MerchantCategoryService delegate,
+            MeterRegistry meterRegistry,
+            @Value("${enrichment.coalescing.timeout:1s}") Duration timeout) {
+        this.delegate = delegate;
+        this.categoryLookups = new SingleFlight<>("merchantCategory", timeout, meterRegistry);
+        this.categorizations = new SingleFlight<>("categorizeMerchant", timeout, meterRegistry);
+    }
+    
+    @Override
+    public Optional<MerchantCategory> getCategoryByMerchantId(String merchantId) {
+        return categoryLookups.execute(merchantId, () -> delegate.getCategoryByMerchantId(merchantId));
+    }
+    
+    @Override
+    public MerchantCategory categorizeMerchant(String merchantId, String merchantName) {
+        String key = merchantId == null ? null : merchantId + '|' + merchantName;
+        return categorizations.execute(key, () -> delegate.categorizeMerchant(merchantId, merchantName));
+    }
+    
+    @Override
+    public void updateCategory(MerchantCategory category) {
+        delegate.updateCategory(category);
+    }
+}
@@ -1,23 +1,34 @@
 package com.mastercard.enrichment.infrastructure.service;
 
 import com.mastercard.enrichment.core.domain.*;
+import com.mastercard.enrichment.core.exception.EnrichmentException;
+import com.mastercard.enrichment.core.repository.AsyncTransactionRepository;
 import com.mastercard.enrichment.core.repository.TransactionRepository;
 import com.mastercard.enrichment.core.service.EnrichmentService;
 import com.mastercard.enrichment.core.service.GeolocationService;
 import com.mastercard.enrichment.core.service.MerchantCategoryService;
+import com.mastercard.enrichment.infrastructure.concurrent.DependencyGuard;
+import com.mastercard.enrichment.infrastructure.metrics.EnrichmentMetrics;
+import com.mastercard.enrichment.infrastructure.metrics.EnrichmentMetrics.Stage;
+import com.mastercard.enrichment.infrastructure.normalization.TransactionNormalizer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 /**
- * Implementation of EnrichmentService with caching and async support
+ * Implementation of EnrichmentService with caching and async support. Categorization and geolocation
+ * are optional: each runs behind its own {@link DependencyGuard}, and a stage that fails, times out or
+ * is refused is skipped, leaving the transaction PARTIALLY_ENRICHED for {@link PartialEnrichmentBackfill}.
  */
 @Slf4j
 @Service
@@ -27,42 +38,54 @@ public class EnrichmentServiceImpl implements EnrichmentService {
     private final MerchantCategoryService merchantCategoryService;
     private final GeolocationService geolocationService;
     private final TransactionRepository transactionRepository;
+    private final AsyncTransactionRepository asyncTransactionRepository;
+    
+    @Qualifier("enrichmentExecutor")
+    private final Executor enrichmentExecutor;
+    
+    @Qualifier("categorizationGuard")
+    private final DependencyGuard categorizationGuard;
+    
+    @Qualifier("geolocationGuard")
+    private final DependencyGuard geolocationGuard;
+    
+    @Qualifier("repositoryGuard")
+    private final DependencyGuard repositoryGuard;
+    
+    private final EnrichmentMetrics metrics;
+    
+    private final TransactionNormalizer normalizer;
+    
+    private final PartialEnrichmentBackfill backfill;
     
     @Override
-    @Cacheable(value = "enrichedTransactions", key = "#transaction.transactionId")
+    @Cacheable(value = "enrichedTransactions", key = "#transaction.transactionId + ':' + "
+            + "T(com.mastercard.enrichment.infrastructure.idempotency.TransactionFingerprint).hex(#transaction)",
+            unless = "#result.transaction.enrichmentStatus.name() == 'PARTIALLY_ENRICHED'")
     public EnrichedTransaction enrichTransaction(Transaction transaction) {
         log.info("Enriching transaction: {}", transaction.getTransactionId());
         
         transaction.setEnrichmentStatus(EnrichmentStatus.IN_PROGRESS);
         
         try {
-            // Enrich with merchant category
-            MerchantCategory merchantCategory = merchantCategoryService
-                    .categorizeMerchant(transaction.getMerchantId(), transaction.getMerchantName());
+            // Categorization and geolocation are independent, so run them concurrently
+            CompletableFuture<MerchantCategory> categoryFuture = startCategorization(transaction);
+            CompletableFuture<GeolocationData> geolocationFuture = startGeolocation(transaction);
             
-            // Enrich with geolocation
-            GeolocationData geolocation = null;
-            if (transaction.getLatitude() != null && transaction.getLongitude() != null) {
-                geolocation = geolocationService
-                        .getGeolocationByCoordinates(transaction.getLatitude(), transaction.getLongitude())
-                        .orElse(null);
-            } else if (transaction.getCountry() != null) {
-                String address = (transaction.getCity() != null ? transaction.getCity() + ", " : "") 
-                        + transaction.getCountry();
-                geolocation = geolocationService
-                        .getGeolocationByAddress(address, transaction.getCountry())
-                        .orElse(null);
-            }
+            MerchantCategory merchantCategory = awaitStage(categoryFuture, "Merchant categorization", transaction);
+            GeolocationData geolocation = awaitStage(geolocationFuture, "Geolocation", transaction);
             
             // Create normalized data
-            EnrichedTransaction.NormalizedData normalizedData = createNormalizedData(
-                    transaction, merchantCategory, geolocation);
+            EnrichedTransaction.NormalizedData normalizedData = metrics.time(Stage.NORMALIZATION,
+                    () -> createNormalizedData(transaction, merchantCategory, geolocation));
             
-            transaction.setEnrichmentStatus(EnrichmentStatus.COMPLETED);
+            EnrichmentStatus status = finalStatus(categoryFuture, geolocationFuture);
+            transaction.setEnrichmentStatus(status);
             transaction.setEnrichedAt(Instant.now());
             
             // Save enriched transaction
-            transactionRepository.save(transaction);
+            metrics.time(Stage.PERSISTENCE, () -> repositoryGuard.call(() -> transactionRepository.save(transaction)));
+            recordOutcome(transaction);
             
             return EnrichedTransaction.builder()
                     .transaction(transaction)
@@ -75,22 +98,86 @@ public class EnrichmentServiceImpl implements EnrichmentService {
         } catch (Exception e) {
             log.error("Error enriching transaction: {}", transaction.getTransactionId(), e);
             transaction.setEnrichmentStatus(EnrichmentStatus.FAILED);
-            transactionRepository.save(transaction);
+            metrics.recordOutcome(EnrichmentStatus.FAILED);
+            try {
+                metrics.time(Stage.PERSISTENCE,
+                        () -> repositoryGuard.call(() -> transactionRepository.save(transaction)));
+            } catch (RuntimeException saveError) {
+                // The enrichment failure is what the caller needs to see
+                suppress(e, saveError);
+            }
             throw e;
         }
     }
     
+    /**
+     * Same pipeline as enrichTransaction without holding the calling thread: the stages run on the
+     * enrichment executor and the save goes through the non-blocking repository, so the returned
+     * future completes on whichever thread finishes the last step. Categorization still blocks an
+     * enrichment executor thread on a category store miss, since the category repository is blocking.
+     */
     @Override
-    @Async
     public CompletableFuture<EnrichedTransaction> enrichTransactionAsync(Transaction transaction) {
         log.info("Starting async enrichment for transaction: {}", transaction.getTransactionId());
-        EnrichedTransaction result = enrichTransaction(transaction);
-        return CompletableFuture.completedFuture(result);
+        
+        transaction.setEnrichmentStatus(EnrichmentStatus.IN_PROGRESS);
+        
+        CompletableFuture<MerchantCategory> categoryFuture = startCategorization(transaction);
+        CompletableFuture<GeolocationData> geolocationFuture = startGeolocation(transaction);
+        CompletableFuture<GeolocationData> geolocationOrSkipped =
+                geolocationFuture.exceptionally(e -> skipStage(e, "Geolocation", transaction));
+        
+        return categoryFuture
+                .exceptionally(e -> skipStage(e, "Merchant categorization", transaction))
+                .thenCombine(geolocationOrSkipped, (merchantCategory, geolocation) -> {
+                    EnrichedTransaction.NormalizedData normalizedData = metrics.time(Stage.NORMALIZATION,
+                            () -> createNormalizedData(transaction, merchantCategory, geolocation));
+                    
+                    transaction.setEnrichmentStatus(finalStatus(categoryFuture, geolocationFuture));
+                    transaction.setEnrichedAt(Instant.now());
+                    
+                    return EnrichedTransaction.builder()
+                            .transaction(transaction)
+                            .merchantCategory(merchantCategory)
+                            .geolocation(geolocation)
+                            .normalizedData(normalizedData);
+                })
+                .thenCompose(enriched -> metrics.timeAsync(Stage.PERSISTENCE,
+                                () -> repositoryGuard.callAsync(() -> asyncTransactionRepository.save(transaction)))
+                        .thenApply(saved -> {
+                            recordOutcome(transaction);
+                            return enriched.enrichedAt(Instant.now()).build();
+                        }))
+                .exceptionallyCompose(e -> {
+                    Throwable cause = unwrap(e);
+                    log.error("Error enriching transaction: {}", transaction.getTransactionId(), cause);
+                    transaction.setEnrichmentStatus(EnrichmentStatus.FAILED);
+                    metrics.recordOutcome(EnrichmentStatus.FAILED);
+                    return metrics.timeAsync(Stage.PERSISTENCE,
+                                    () -> repositoryGuard.callAsync(() -> asyncTransactionRepository.save(transaction)))
+                            .handle((saved, saveError) -> {
+                                if (saveError != null) {
+                                    suppress(cause, unwrap(saveError));
+                                }
+                                throw cause instanceof RuntimeException runtimeException
+                                        ? runtimeException
+                                        : new EnrichmentException("Enrichment failed for transaction: "
+                                                + transaction.getTransactionId(), cause);
+                            });
+                });
+    }
+    
+    private static void suppress(Throwable failure, Throwable saveError) {
+        // A failed save may rethrow the very exception that failed the enrichment
+        if (saveError != failure) {
+            failure.addSuppressed(saveError);
+        }
     }
     
     @Override
     public List<EnrichedTransaction> enrichTransactions(List<Transaction> transactions) {
         log.info("Batch enriching {} transactions", transactions.size());
+        metrics.recordBatchSize(transactions.size());
         return transactions.stream()
                 .map(this::enrichTransaction)
                 .collect(Collectors.toList());
@@ -104,7 +191,82 @@ public class EnrichmentServiceImpl implements EnrichmentService {
                 .orElse("NOT_FOUND");
     }
     
-    private EnrichedTransaction.NormalizedData createNormalizedData(
+    @Override
+    public TransactionPage getTransactionsByMerchant(String merchantId, Instant from, Instant to, 
+                                                     int pageSize, String pageToken) {
+        return transactionRepository.findByMerchantId(merchantId, from, to, pageSize, pageToken);
+    }
+    
+    private GeolocationData resolveGeolocation(Transaction transaction) {
+        if (transaction.getLatitude() != null && transaction.getLongitude() != null) {
+            return geolocationService
+                    .getGeolocationByCoordinates(transaction.getLatitude(), transaction.getLongitude())
+                    .orElse(null);
+        } else if (transaction.getCountry() != null) {
+            String address = (transaction.getCity() != null ? transaction.getCity() + ", " : "") 
+                    + transaction.getCountry();
+            return geolocationService
+                    .getGeolocationByAddress(address, transaction.getCountry())
+                    .orElse(null);
+        }
+        return null;
+    }
+    
+    private CompletableFuture<MerchantCategory> startCategorization(Transaction transaction) {
+        return categorizationGuard.supplyAsync(() -> metrics.time(Stage.CATEGORIZATION, () -> merchantCategoryService
+                        .categorizeMerchant(transaction.getMerchantId(), transaction.getMerchantName())),
+                enrichmentExecutor);
+    }
+    
+    private CompletableFuture<GeolocationData> startGeolocation(Transaction transaction) {
+        return geolocationGuard.supplyAsync(() -> metrics.time(Stage.GEOLOCATION, () -> resolveGeolocation(transaction)),
+                enrichmentExecutor);
+    }
+    
+    /**
+     * Wait for an optional pipeline stage; a failed, timed out or refused stage is skipped
+     */
+    private <T> T awaitStage(CompletableFuture<T> stage, String stageName, Transaction transaction) {
+        try {
+            return stage.join();
+        } catch (CompletionException e) {
+            return skipStage(e, stageName, transaction);
+        }
+    }
+    
+    private static <T> T skipStage(Throwable error, String stageName, Transaction transaction) {
+        Throwable cause = unwrap(error);
+        String reason = cause instanceof TimeoutException ? "timed out" : cause.toString();
+        log.warn("{} skipped for transaction {}: {}", stageName, transaction.getTransactionId(), reason);
+        return null;
+    }
+    
+    private static EnrichmentStatus finalStatus(CompletableFuture<?>... stages) {
+        for (CompletableFuture<?> stage : stages) {
+            if (stage.isCompletedExceptionally()) {
+                return EnrichmentStatus.PARTIALLY_ENRICHED;
+            }
+        }
+        return EnrichmentStatus.COMPLETED;
+    }
+    
+    /**
+     * Count a saved result and hand partial ones to the backfill, which forgets them once complete
+     */
+    private void recordOutcome(Transaction transaction) {
+        metrics.recordOutcome(transaction.getEnrichmentStatus());
+        if (transaction.getEnrichmentStatus() == EnrichmentStatus.PARTIALLY_ENRICHED) {
+            backfill.submit(transaction);
+        } else {
+            backfill.resolved(transaction.getTransactionId());
+        }
+    }
+    
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+    
+    EnrichedTransaction.NormalizedData createNormalizedData(
             Transaction transaction, 
             MerchantCategory category, 
             GeolocationData geolocation) {
@@ -112,8 +274,7 @@ public class EnrichmentServiceImpl implements EnrichmentService {
         String normalizedMerchantName = normalizeMerchantName(transaction.getMerchantName());
         String standardizedAddress = geolocation != null ? 
                 formatAddress(geolocation) : null;
-        String formattedAmount = String.format("%.2f %s", 
-                transaction.getAmount(), transaction.getCurrency());
+        String formattedAmount = normalizer.formatAmount(transaction.getAmount(), transaction.getCurrency());
         String isoCountryCode = geolocation != null ? geolocation.getCountryCode() : null;
         
         return EnrichedTransaction.NormalizedData.builder()
@@ -124,12 +285,8 @@ public class EnrichmentServiceImpl implements EnrichmentService {
                 .build();
     }
     
-    private String normalizeMerchantName(String merchantName) {
-        if (merchantName == null) return null;
-        // Simple normalization: trim, uppercase, remove special chars
-        return merchantName.trim()
-                .toUpperCase()
-                .replaceAll("[^A-Z0-9\\s]", "");
+    String normalizeMerchantName(String merchantName) {
+        return normalizer.normalizeMerchantName(merchantName);
     }
     
     private String formatAddress(GeolocationData geolocation) {
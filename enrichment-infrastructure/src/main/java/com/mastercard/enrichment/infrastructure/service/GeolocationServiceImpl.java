@@ -2,80 +2,74 @@ package com.mastercard.enrichment.infrastructure.service;
 
 import com.mastercard.enrichment.core.domain.GeolocationData;
 import com.mastercard.enrichment.core.service.GeolocationService;
+import com.mastercard.enrichment.infrastructure.geo.CoordinateCellKeyGenerator;
+import com.mastercard.enrichment.infrastructure.geo.GazetteerLoader;
+import com.mastercard.enrichment.infrastructure.geo.GeoHash;
+import com.mastercard.enrichment.infrastructure.geo.GeoSpatialIndex;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.core.io.ResourceLoader;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.MissingResourceException;
 import java.util.Optional;
 
 /**
- * Implementation of GeolocationService with caching
- * In production, this would integrate with a real geolocation API
+ * Implementation of GeolocationService backed by an offline city gazetteer.
+ * Coordinates resolve to the nearest city through a k-d tree; addresses through a name index,
+ * narrowed to the transaction's country when one is given.
+ * Coordinate lookups are cached per geohash cell and resolved from the cell centre, so every point
+ * in a cell gets the same answer whichever of them filled the cache.
+ * In production, IP lookups would integrate with a real geolocation API.
  */
 @Slf4j
 @Service
 public class GeolocationServiceImpl implements GeolocationService {
     
-    // Mock data for demonstration
-    private static final Map<String, GeolocationData> CITY_DATA = new HashMap<>();
+    private final GeoSpatialIndex spatialIndex;
+    private final Map<String, List<GazetteerLoader.City>> citiesByName;
+    private final double maxDistanceKm;
+    private final int cellPrecision;
     
-    static {
-        CITY_DATA.put("Vancouver", GeolocationData.builder()
-                .city("Vancouver")
-                .country("Canada")
-                .countryCode("CA")
-                .region("British Columbia")
-                .latitude(49.2827)
-                .longitude(-123.1207)
-                .timezone("America/Vancouver")
-                .build());
-        
-        CITY_DATA.put("New York", GeolocationData.builder()
-                .city("New York")
-                .country("United States")
-                .countryCode("US")
-                .region("New York")
-                .latitude(40.7128)
-                .longitude(-74.0060)
-                .timezone("America/New_York")
-                .build());
-        
-        CITY_DATA.put("London", GeolocationData.builder()
-                .city("London")
-                .country("United Kingdom")
-                .countryCode("GB")
-                .region("England")
-                .latitude(51.5074)
-                .longitude(-0.1278)
-                .timezone("Europe/London")
-                .build());
-        
-        CITY_DATA.put("Budapest", GeolocationData.builder()
-                .city("Budapest")
-                .country("Hungary")
-                .countryCode("HU")
-                .region("Central Hungary")
-                .latitude(47.4979)
-                .longitude(19.0402)
-                .timezone("Europe/Budapest")
-                .build());
+    @Autowired
+    public GeolocationServiceImpl(
+            ResourceLoader resourceLoader,
+            @Value("${enrichment.geolocation.gazetteer:classpath:gazetteer/cities.tsv}") String gazetteer,
+            @Value("${enrichment.geolocation.admin1-codes:classpath:gazetteer/admin1CodesASCII.txt}") String admin1Codes,
+            @Value("${enrichment.geolocation.max-distance-km:50}") double maxDistanceKm,
+            @Value("${enrichment.geolocation.cell-precision:6}") int cellPrecision) {
+        this(GazetteerLoader.load(resourceLoader.getResource(gazetteer), resourceLoader.getResource(admin1Codes)),
+                maxDistanceKm, cellPrecision);
+        log.info("Loaded {} cities from {}", spatialIndex.size(), gazetteer);
+    }
+    
+    /**
+     * A cell precision of 0 resolves the exact coordinates
+     */
+    public GeolocationServiceImpl(List<GazetteerLoader.City> cities, double maxDistanceKm, int cellPrecision) {
+        this.spatialIndex = new GeoSpatialIndex(cities.stream().map(GazetteerLoader.City::data).toList());
+        this.citiesByName = indexByName(cities);
+        this.maxDistanceKm = maxDistanceKm;
+        this.cellPrecision = cellPrecision;
     }
     
     @Override
-    @Cacheable(value = "geolocationByCoords", key = "#latitude + ',' + #longitude")
+    @Cacheable(value = "geolocationByCoords", keyGenerator = CoordinateCellKeyGenerator.BEAN_NAME)
     public Optional<GeolocationData> getGeolocationByCoordinates(Double latitude, Double longitude) {
         log.debug("Getting geolocation for coordinates: {}, {}", latitude, longitude);
-        
-        // Simple proximity match with mock data
-        for (GeolocationData data : CITY_DATA.values()) {
-            if (isNearby(latitude, longitude, data.getLatitude(), data.getLongitude(), 50.0)) {
-                return Optional.of(data);
-            }
+        if (cellPrecision == 0) {
+            return Optional.ofNullable(spatialIndex.nearest(latitude, longitude, maxDistanceKm));
         }
-        
-        return Optional.empty();
+        return Optional.ofNullable(spatialIndex.nearest(GeoHash.cellCenterLatitude(latitude, cellPrecision),
+                GeoHash.cellCenterLongitude(longitude, cellPrecision), maxDistanceKm));
     }
     
     @Override
@@ -83,10 +77,12 @@ public class GeolocationServiceImpl implements GeolocationService {
     public Optional<GeolocationData> getGeolocationByAddress(String address, String country) {
         log.debug("Getting geolocation for address: {}, {}", address, country);
         
-        // Simple keyword matching with mock data
-        for (Map.Entry<String, GeolocationData> entry : CITY_DATA.entrySet()) {
-            if (address.toLowerCase().contains(entry.getKey().toLowerCase())) {
-                return Optional.of(entry.getValue());
+        // Match each comma-separated part (e.g. "Vancouver, Canada") against known city names
+        for (String part : address.split(",")) {
+            for (GazetteerLoader.City city : citiesByName.getOrDefault(normalizeName(part), List.of())) {
+                if (inCountry(city.data(), country)) {
+                    return Optional.of(city.data());
+                }
             }
         }
         
@@ -102,26 +98,42 @@ public class GeolocationServiceImpl implements GeolocationService {
     }
     
     /**
-     * Check if two coordinates are within a certain distance (in km)
+     * Index every city name; cities sharing a name are listed most populous first
      */
-    private boolean isNearby(Double lat1, Double lon1, Double lat2, Double lon2, double maxDistance) {
-        double distance = calculateDistance(lat1, lon1, lat2, lon2);
-        return distance <= maxDistance;
+    private static Map<String, List<GazetteerLoader.City>> indexByName(List<GazetteerLoader.City> cities) {
+        Map<String, List<GazetteerLoader.City>> index = new HashMap<>();
+        for (GazetteerLoader.City city : cities) {
+            for (String name : city.names()) {
+                List<GazetteerLoader.City> candidates = index.computeIfAbsent(normalizeName(name), key -> new ArrayList<>(1));
+                if (!candidates.contains(city)) {
+                    candidates.add(city);
+                }
+            }
+        }
+        Comparator<GazetteerLoader.City> byPopulation = Comparator.comparingLong(GazetteerLoader.City::population);
+        index.values().forEach(candidates -> candidates.sort(byPopulation.reversed()));
+        return index;
     }
     
     /**
-     * Calculate distance between two coordinates using Haversine formula
+     * Country given as ISO alpha-2 or alpha-3 code or English name; no country matches any city
      */
-    private double calculateDistance(Double lat1, Double lon1, Double lat2, Double lon2) {
-        final int R = 6371; // Radius of the earth in km
-        
-        double latDistance = Math.toRadians(lat2 - lat1);
-        double lonDistance = Math.toRadians(lon2 - lon1);
-        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
-                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        
-        return R * c;
+    private static boolean inCountry(GeolocationData city, String country) {
+        if (country == null || country.isBlank()) {
+            return true;
+        }
+        String wanted = country.trim();
+        if (wanted.equalsIgnoreCase(city.getCountryCode()) || wanted.equalsIgnoreCase(city.getCountry())) {
+            return true;
+        }
+        try {
+            return wanted.equalsIgnoreCase(new Locale("", city.getCountryCode()).getISO3Country());
+        } catch (MissingResourceException e) {
+            return false;
+        }
+    }
+    
+    private static String normalizeName(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
     }
 }
@@ -0,0 +1,251 @@
+package com.mastercard.enrichment.infrastructure.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mastercard.enrichment.core.domain.EnrichedTransaction;
+import com.mastercard.enrichment.core.domain.EnrichmentStatus;
+import com.mastercard.enrichment.core.domain.Transaction;
+import com.mastercard.enrichment.core.domain.TransactionPage;
+import com.mastercard.enrichment.core.exception.EnrichmentException;
+import com.mastercard.enrichment.core.exception.IdempotencyConflictException;
+import com.mastercard.enrichment.core.service.EnrichmentService;
+import com.mastercard.enrichment.infrastructure.idempotency.TransactionFingerprint;
+import com.mastercard.enrichment.infrastructure.metrics.EnrichmentMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Sits in front of EnrichmentServiceImpl and makes enrichment idempotent per transaction ID and payload.
+ * An exact retry is answered from memory before any stage runs or anything is written; reusing an ID
+ * with a different payload is rejected; a duplicate arriving while the first is still enriching waits
+ * for its result instead of enriching again. Only successful, complete results are remembered.
+ * <p>
+ * Payloads are compared by {@link TransactionFingerprint}. Conflicts are detected for IDs this node
+ * has seen; the Redis result cache is keyed by ID and fingerprint, so other nodes never serve a
+ * result for a different payload either.
+ */
+@Slf4j
+@Primary
+@Service
+@ConditionalOnProperty(name = "enrichment.idempotency.enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotentEnrichmentService implements EnrichmentService {
+    
+    private final EnrichmentService delegate;
+    private final Cache<String, Completed> completed;
+    private final ConcurrentMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final Duration waitTimeout;
+    private final EnrichmentMetrics metrics;
+    private final Counter replayed;
+    private final Counter joined;
+    private final Counter conflicts;
+    private final Counter enriched;
+    
+    public IdempotentEnrichmentService(@Qualifier("enrichmentServiceImpl") EnrichmentService delegate,
+                                       EnrichmentMetrics metrics,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${enrichment.idempotency.max-size:100000}") long maxSize,
+                                       @Value("${enrichment.idempotency.ttl:10m}") Duration ttl,
+                                       @Value("${enrichment.idempotency.wait-timeout:5s}") Duration waitTimeout) {
+        this.delegate = delegate;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.waitTimeout = waitTimeout;
+        this.metrics = metrics;
+        this.replayed = count(meterRegistry, "replayed");
+        this.joined = count(meterRegistry, "joined");
+        this.conflicts = count(meterRegistry, "conflict");
+        this.enriched = count(meterRegistry, "enriched");
+    }
+    
+    @Override
+    public EnrichedTransaction enrichTransaction(Transaction transaction) {
+        String transactionId = transaction.getTransactionId();
+        if (transactionId == null) {
+            return delegate.enrichTransaction(transaction);
+        }
+        long fingerprint = TransactionFingerprint.of(transaction);
+        
+        Completed previous = completed.getIfPresent(transactionId);
+        if (previous != null) {
+            return replay(previous, fingerprint, transactionId);
+        }
+        
+        InFlight mine = new InFlight(fingerprint, new CompletableFuture<>());
+        InFlight first = inFlight.putIfAbsent(transactionId, mine);
+        if (first != null) {
+            checkSamePayload(first.fingerprint(), fingerprint, transactionId);
+            joined.increment();
+            return await(first.result(), transactionId);
+        }
+        
+        try {
+            // The previous holder may have finished between the lookup and taking the slot
+            previous = completed.getIfPresent(transactionId);
+            EnrichedTransaction result = previous != null
+                    ? replay(previous, fingerprint, transactionId)
+                    : enrich(transaction, fingerprint);
+            mine.result().complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            mine.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(transactionId, mine);
+        }
+    }
+    
+    /**
+     * Non-blocking variant: duplicates get the in-flight enrichment's future rather than waiting on it
+     */
+    @Override
+    public CompletableFuture<EnrichedTransaction> enrichTransactionAsync(Transaction transaction) {
+        String transactionId = transaction.getTransactionId();
+        if (transactionId == null) {
+            return delegate.enrichTransactionAsync(transaction);
+        }
+        long fingerprint = TransactionFingerprint.of(transaction);
+        
+        try {
+            Completed previous = completed.getIfPresent(transactionId);
+            if (previous != null) {
+                return CompletableFuture.completedFuture(replay(previous, fingerprint, transactionId));
+            }
+            
+            InFlight mine = new InFlight(fingerprint, new CompletableFuture<>());
+            InFlight first = inFlight.putIfAbsent(transactionId, mine);
+            if (first != null) {
+                checkSamePayload(first.fingerprint(), fingerprint, transactionId);
+                joined.increment();
+                return first.result().copy();
+            }
+            
+            previous = completed.getIfPresent(transactionId);
+            if (previous != null) {
+                inFlight.remove(transactionId, mine);
+                mine.result().complete(previous.result());
+                return CompletableFuture.completedFuture(replay(previous, fingerprint, transactionId));
+            }
+            
+            CompletableFuture<EnrichedTransaction> enrichment;
+            try {
+                enrichment = delegate.enrichTransactionAsync(transaction);
+            } catch (RuntimeException e) {
+                enrichment = CompletableFuture.failedFuture(e);
+            }
+            enrichment.whenComplete((result, error) -> {
+                if (error == null) {
+                    remember(transactionId, fingerprint, result);
+                    mine.result().complete(result);
+                } else {
+                    boolean wrapped = error instanceof CompletionException && error.getCause() != null;
+                    mine.result().completeExceptionally(wrapped ? error.getCause() : error);
+                }
+                inFlight.remove(transactionId, mine);
+            });
+            return mine.result().copy();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
+    @Override
+    public List<EnrichedTransaction> enrichTransactions(List<Transaction> transactions) {
+        log.info("Batch enriching {} transactions", transactions.size());
+        metrics.recordBatchSize(transactions.size());
+        return transactions.stream()
+                .map(this::enrichTransaction)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public String getEnrichmentStatus(String transactionId) {
+        return delegate.getEnrichmentStatus(transactionId);
+    }
+    
+    @Override
+    public TransactionPage getTransactionsByMerchant(String merchantId, Instant from, Instant to,
+                                                     int pageSize, String pageToken) {
+        return delegate.getTransactionsByMerchant(merchantId, from, to, pageSize, pageToken);
+    }
+    
+    private EnrichedTransaction enrich(Transaction transaction, long fingerprint) {
+        EnrichedTransaction result = delegate.enrichTransaction(transaction);
+        remember(transaction.getTransactionId(), fingerprint, result);
+        return result;
+    }
+    
+    /**
+     * Partial results are not replayed, so a retry can pick up the stages that were skipped
+     */
+    private void remember(String transactionId, long fingerprint, EnrichedTransaction result) {
+        enriched.increment();
+        if (result.getTransaction().getEnrichmentStatus() != EnrichmentStatus.PARTIALLY_ENRICHED) {
+            completed.put(transactionId, new Completed(fingerprint, result));
+        }
+    }
+    
+    private EnrichedTransaction replay(Completed previous, long fingerprint, String transactionId) {
+        checkSamePayload(previous.fingerprint(), fingerprint, transactionId);
+        replayed.increment();
+        log.debug("Replaying enrichment result for transaction: {}", transactionId);
+        return previous.result();
+    }
+    
+    private void checkSamePayload(long expected, long actual, String transactionId) {
+        if (expected != actual) {
+            conflicts.increment();
+            log.warn("Transaction ID reused with a different payload: {}", transactionId);
+            throw new IdempotencyConflictException(transactionId);
+        }
+    }
+    
+    private EnrichedTransaction await(CompletableFuture<EnrichedTransaction> result, String transactionId) {
+        try {
+            return result.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new EnrichmentException("Enrichment failed for transaction: " + transactionId, e.getCause());
+        } catch (TimeoutException e) {
+            throw new EnrichmentException("Timed out waiting for in-flight enrichment of transaction: "
+                    + transactionId, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EnrichmentException("Interrupted waiting for transaction: " + transactionId, e);
+        }
+    }
+    
+    private static Counter count(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("enrichment.idempotency")
+                .description("Enrichment requests by idempotency outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+    
+    private record Completed(long fingerprint, EnrichedTransaction result) {
+    }
+    
+    private record InFlight(long fingerprint, CompletableFuture<EnrichedTransaction> result) {
+    }
+}
@@ -1,97 +1,166 @@
 package com.mastercard.enrichment.infrastructure.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.mastercard.enrichment.core.domain.MerchantCategory;
+import com.mastercard.enrichment.core.repository.MerchantCategoryRepository;
 import com.mastercard.enrichment.core.service.MerchantCategoryService;
-import lombok.RequiredArgsConstructor;
+import com.mastercard.enrichment.infrastructure.categorization.CategoryRuleRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
 
 /**
- * Implementation of MerchantCategoryService with caching
+ * Implementation of MerchantCategoryService with caching.
+ * Names are categorized by the keyword rules in {@link CategoryRuleRegistry}.
+ * Categories live in a size-bounded local store that reads through and writes through to the
+ * MerchantCategories table. Work on one merchant is serialized by a per-merchant chain of futures,
+ * so table calls never run under a lock of the store's map and only the result is installed in it.
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class MerchantCategoryServiceImpl implements MerchantCategoryService {
     
-    // In-memory storage for demo purposes (would be DynamoDB in production)
-    private final Map<String, MerchantCategory> categoryStore = new HashMap<>();
+    private final CategoryRuleRegistry categoryRules;
+    private final MerchantCategoryRepository categoryRepository;
+    private final Cache<String, MerchantCategory> categoryStore;
+    /** Last queued operation per merchant; each waits for its predecessor */
+    private final ConcurrentMap<String, CompletableFuture<MerchantCategory>> operations = new ConcurrentHashMap<>();
+    
+    public MerchantCategoryServiceImpl(
+            CategoryRuleRegistry categoryRules,
+            MerchantCategoryRepository categoryRepository,
+            @Value("${enrichment.categorization.store.max-size:100000}") long maxSize,
+            @Value("${enrichment.categorization.store.ttl:10m}") Duration ttl) {
+        this.categoryRules = categoryRules;
+        this.categoryRepository = categoryRepository;
+        // Evicted entries are still in DynamoDB and are read back on the next access. Updates made on
+        // other nodes only reach this store through the table, so entries expire after ttl.
+        this.categoryStore = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
     
     @Override
-    @Cacheable(value = "merchantCategories", key = "#merchantId")
+    @Cacheable(value = "merchantCategories", key = "#merchantId", unless = "#result == null")
     public Optional<MerchantCategory> getCategoryByMerchantId(String merchantId) {
         log.debug("Getting category for merchant: {}", merchantId);
-        return Optional.ofNullable(categoryStore.get(merchantId));
+        MerchantCategory stored = categoryStore.getIfPresent(merchantId);
+        if (stored != null) {
+            return Optional.of(stored);
+        }
+        // Read-through; a missing merchant is not stored, so it is looked up again next time
+        return Optional.ofNullable(serialized(merchantId, () -> {
+            MerchantCategory current = categoryStore.getIfPresent(merchantId);
+            if (current != null) {
+                return current;
+            }
+            MerchantCategory loaded = categoryRepository.findByMerchantId(merchantId).orElse(null);
+            if (loaded != null) {
+                categoryStore.put(merchantId, loaded);
+            }
+            return loaded;
+        }));
     }
     
     @Override
     public MerchantCategory categorizeMerchant(String merchantId, String merchantName) {
         log.info("Categorizing merchant: {} - {}", merchantId, merchantName);
         
-        // Check if already categorized
-        Optional<MerchantCategory> existing = getCategoryByMerchantId(merchantId);
-        if (existing.isPresent()) {
-            return existing.get();
+        MerchantCategory stored = categoryStore.getIfPresent(merchantId);
+        if (stored != null) {
+            return stored;
         }
-        
-        // Simple categorization logic based on merchant name keywords
-        MerchantCategory category = determineCategoryFromName(merchantId, merchantName);
-        categoryStore.put(merchantId, category);
-        
-        return category;
+        // Serialized per merchant: concurrent calls load or categorize once, and never overwrite an update
+        return serialized(merchantId, () -> {
+            MerchantCategory current = categoryStore.getIfPresent(merchantId);
+            if (current != null) {
+                return current;
+            }
+            MerchantCategory category = categoryRepository.findByMerchantId(merchantId)
+                    .orElseGet(() -> categoryRepository.save(determineCategoryFromName(merchantId, merchantName)));
+            categoryStore.put(merchantId, category);
+            return category;
+        });
     }
     
     @Override
+    @CacheEvict(value = "merchantCategories", key = "#category.merchantId")
     public void updateCategory(MerchantCategory category) {
         log.info("Updating category for merchant: {}", category.getMerchantId());
-        categoryStore.put(category.getMerchantId(), category);
+        // Write-through in merchant order, so the store and the table apply updates in the same order
+        serialized(category.getMerchantId(), () -> {
+            MerchantCategory saved = categoryRepository.save(category);
+            categoryStore.put(category.getMerchantId(), saved);
+            return saved;
+        });
     }
     
-    private MerchantCategory determineCategoryFromName(String merchantId, String merchantName) {
-        String nameLower = merchantName.toLowerCase();
-        
-        // E-commerce
-        if (nameLower.contains("amazon") || nameLower.contains("ebay") || nameLower.contains("shop")) {
-            return buildCategory(merchantId, "5999", "E-Commerce", "Retail", MerchantCategory.RiskLevel.LOW);
+    /**
+     * Put categories read from a snapshot or the table into the store ahead of traffic. Merchants
+     * already in the store keep their entry, which may be newer.
+     */
+    public void preload(Collection<MerchantCategory> categories) {
+        for (MerchantCategory category : categories) {
+            categoryStore.asMap().putIfAbsent(category.getMerchantId(), category);
         }
-        
-        // Restaurants
-        if (nameLower.contains("restaurant") || nameLower.contains("cafe") || nameLower.contains("food")) {
-            return buildCategory(merchantId, "5812", "Restaurant", "Food & Beverage", MerchantCategory.RiskLevel.LOW);
-        }
-        
-        // Gas Stations
-        if (nameLower.contains("gas") || nameLower.contains("fuel") || nameLower.contains("petrol")) {
-            return buildCategory(merchantId, "5541", "Gas Station", "Automotive", MerchantCategory.RiskLevel.LOW);
-        }
-        
-        // Hotels
-        if (nameLower.contains("hotel") || nameLower.contains("inn") || nameLower.contains("resort")) {
-            return buildCategory(merchantId, "7011", "Hotel", "Lodging", MerchantCategory.RiskLevel.MEDIUM);
-        }
-        
-        // Airlines
-        if (nameLower.contains("airline") || nameLower.contains("airways") || nameLower.contains("air")) {
-            return buildCategory(merchantId, "4511", "Airline", "Transportation", MerchantCategory.RiskLevel.MEDIUM);
-        }
-        
-        // Gambling/Casino
-        if (nameLower.contains("casino") || nameLower.contains("gambling") || nameLower.contains("betting")) {
-            return buildCategory(merchantId, "7995", "Gambling", "Entertainment", MerchantCategory.RiskLevel.HIGH);
-        }
-        
-        // Cryptocurrency
-        if (nameLower.contains("crypto") || nameLower.contains("bitcoin") || nameLower.contains("blockchain")) {
-            return buildCategory(merchantId, "6051", "Cryptocurrency", "Financial Services", MerchantCategory.RiskLevel.CRITICAL);
+    }
+    
+    /**
+     * The most frequently used categories in the store, hottest first
+     */
+    public List<MerchantCategory> hottestCategories(int limit) {
+        return categoryStore.policy().eviction()
+                .map(eviction -> List.copyOf(eviction.hottest(limit).values()))
+                .orElse(List.of());
+    }
+    
+    /**
+     * Run an operation on one merchant after the previous one queued for it has finished
+     */
+    private MerchantCategory serialized(String merchantId, Supplier<MerchantCategory> operation) {
+        CompletableFuture<MerchantCategory> mine = new CompletableFuture<>();
+        CompletableFuture<MerchantCategory> previous = operations.put(merchantId, mine);
+        try {
+            if (previous != null) {
+                // Only the ordering matters here; the predecessor's caller handles its failure
+                previous.exceptionally(failure -> null).join();
+            }
+            MerchantCategory result = operation.get();
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            operations.remove(merchantId, mine);
         }
-        
-        // Default category
-        return buildCategory(merchantId, "5999", "Miscellaneous", "General Retail", MerchantCategory.RiskLevel.LOW);
+    }
+    
+    long getStoreSize() {
+        categoryStore.cleanUp();
+        return categoryStore.estimatedSize();
+    }
+    
+    MerchantCategory determineCategoryFromName(String merchantId, String merchantName) {
+        return categoryRules.match(merchantName)
+                .map(rule -> buildCategory(merchantId, rule.categoryCode(), rule.categoryName(),
+                        rule.industry(), rule.riskLevel()))
+                // Default category
+                .orElseGet(() -> buildCategory(merchantId, "5999", "Miscellaneous", "General Retail",
+                        MerchantCategory.RiskLevel.LOW));
     }
     
     private MerchantCategory buildCategory(String merchantId, String code, String name, 
@@ -0,0 +1,172 @@
+package com.mastercard.enrichment.infrastructure.service;
+
+import com.mastercard.enrichment.core.domain.EnrichedTransaction;
+import com.mastercard.enrichment.core.domain.EnrichmentStatus;
+import com.mastercard.enrichment.core.domain.Transaction;
+import com.mastercard.enrichment.core.service.EnrichmentService;
+import com.mastercard.enrichment.infrastructure.concurrent.DependencyGuard;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Re-enriches transactions that were saved as PARTIALLY_ENRICHED because a stage was skipped.
+ * Passes run on a fixed delay and are skipped while any dependency circuit is still open; a
+ * transaction is given up (and stays PARTIALLY_ENRICHED) after a number of unsuccessful passes.
+ * Pending transactions are kept in memory only, up to a fixed number per node.
+ */
+@Slf4j
+@Component
+public class PartialEnrichmentBackfill {
+
+    private final ObjectProvider<EnrichmentService> enrichmentService;
+    private final List<DependencyGuard> guards;
+    private final int maxPending;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+    private final Counter queued;
+    private final Counter dropped;
+    private final Counter completed;
+    private final Counter abandoned;
+
+    public PartialEnrichmentBackfill(@Qualifier("enrichmentServiceImpl") ObjectProvider<EnrichmentService> enrichmentService,
+                                     List<DependencyGuard> guards,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${enrichment.backfill.max-pending:10000}") int maxPending,
+                                     @Value("${enrichment.backfill.batch-size:100}") int batchSize,
+                                     @Value("${enrichment.backfill.max-attempts:5}") int maxAttempts) {
+        this.enrichmentService = enrichmentService;
+        this.guards = guards;
+        this.maxPending = maxPending;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.queued = count(meterRegistry, "queued");
+        this.dropped = count(meterRegistry, "dropped");
+        this.completed = count(meterRegistry, "completed");
+        this.abandoned = count(meterRegistry, "abandoned");
+        Gauge.builder("enrichment.backfill.pending", pending, Map::size)
+                .description("Partially enriched transactions waiting for a backfill pass")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Remember a partially enriched transaction; a transaction already waiting keeps its attempt count
+     */
+    public void submit(Transaction transaction) {
+        String transactionId = transaction.getTransactionId();
+        if (transactionId == null || pending.containsKey(transactionId)) {
+            return;
+        }
+        if (pending.size() >= maxPending) {
+            dropped.increment();
+            log.warn("Backfill queue full, transaction {} stays partially enriched", transactionId);
+            return;
+        }
+        if (pending.putIfAbsent(transactionId, new Pending(copy(transaction))) == null) {
+            queued.increment();
+        }
+    }
+
+    /**
+     * Forget a transaction that has since been fully enriched
+     */
+    public void resolved(String transactionId) {
+        if (transactionId != null && pending.remove(transactionId) != null) {
+            completed.increment();
+        }
+    }
+
+    public int getPending() {
+        return pending.size();
+    }
+
+    @Scheduled(fixedDelayString = "${enrichment.backfill.interval:PT30S}")
+    public void backfill() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        for (DependencyGuard guard : guards) {
+            if (guard.isOpen()) {
+                log.debug("Skipping backfill pass, circuit for {} is open", guard.getName());
+                return;
+            }
+        }
+
+        List<Map.Entry<String, Pending>> due = new ArrayList<>(batchSize);
+        for (Map.Entry<String, Pending> entry : pending.entrySet()) {
+            if (due.size() == batchSize) {
+                break;
+            }
+            due.add(entry);
+        }
+        log.info("Backfilling {} of {} partially enriched transactions", due.size(), pending.size());
+
+        EnrichmentService service = enrichmentService.getObject();
+        CompletableFuture<?>[] passes = new CompletableFuture<?>[due.size()];
+        for (int i = 0; i < due.size(); i++) {
+            String transactionId = due.get(i).getKey();
+            Pending entry = due.get(i).getValue();
+            CompletableFuture<EnrichedTransaction> enrichment;
+            try {
+                enrichment = service.enrichTransactionAsync(copy(entry.transaction()));
+            } catch (RuntimeException e) {
+                enrichment = CompletableFuture.failedFuture(e);
+            }
+            passes[i] = enrichment.handle((result, error) -> {
+                // A completed enrichment has already resolved the entry
+                boolean stillPartial = error != null
+                        || result.getTransaction().getEnrichmentStatus() != EnrichmentStatus.COMPLETED;
+                if (stillPartial && entry.attempts().incrementAndGet() >= maxAttempts
+                        && pending.remove(transactionId, entry)) {
+                    abandoned.increment();
+                    log.warn("Giving up backfilling transaction {} after {} attempts", transactionId, maxAttempts);
+                }
+                return null;
+            });
+        }
+        CompletableFuture.allOf(passes).join();
+    }
+
+    private static Transaction copy(Transaction transaction) {
+        return Transaction.builder()
+                .transactionId(transaction.getTransactionId())
+                .merchantId(transaction.getMerchantId())
+                .merchantName(transaction.getMerchantName())
+                .amount(transaction.getAmount())
+                .currency(transaction.getCurrency())
+                .timestamp(transaction.getTimestamp())
+                .country(transaction.getCountry())
+                .city(transaction.getCity())
+                .latitude(transaction.getLatitude())
+                .longitude(transaction.getLongitude())
+                .build();
+    }
+
+    private static Counter count(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("enrichment.backfill.transactions")
+                .description("Partially enriched transactions by backfill outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record Pending(Transaction transaction, AtomicInteger attempts) {
+
+        Pending(Transaction transaction) {
+            this(transaction, new AtomicInteger());
+        }
+    }
+}
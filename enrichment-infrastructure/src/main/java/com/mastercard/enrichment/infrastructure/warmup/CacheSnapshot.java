@@ -0,0 +1,20 @@
+package com.mastercard.enrichment.infrastructure.warmup;
+
+import com.mastercard.enrichment.core.domain.MerchantCategory;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The hottest cache entries of a node, hottest first: merchant categories and the keys of
+ * coordinate cells whose geolocation was cached
+ */
+public record CacheSnapshot(Instant writtenAt,
+                            List<MerchantCategory> merchantCategories,
+                            List<String> geolocationCells) {
+
+    public CacheSnapshot {
+        merchantCategories = merchantCategories != null ? List.copyOf(merchantCategories) : List.of();
+        geolocationCells = geolocationCells != null ? List.copyOf(geolocationCells) : List.of();
+    }
+}
@@ -0,0 +1,79 @@
+package com.mastercard.enrichment.infrastructure.warmup;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Keeps a {@link CacheSnapshot} in a JSON file. Writes go to a temporary file that is then moved
+ * over the old one, so a crash mid-write never leaves a truncated snapshot behind.
+ */
+@Slf4j
+public class CacheSnapshotStore {
+
+    private final Path path;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    public CacheSnapshotStore(Path path) {
+        this.path = path;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * The snapshot, unless there is none, it cannot be read or it was written longer than maxAge ago
+     */
+    public Optional<CacheSnapshot> read(Duration maxAge) {
+        if (!Files.isRegularFile(path)) {
+            log.info("No cache snapshot at {}", path);
+            return Optional.empty();
+        }
+        try (InputStream input = Files.newInputStream(path)) {
+            CacheSnapshot snapshot = objectMapper.readValue(input, CacheSnapshot.class);
+            if (snapshot.writtenAt() == null || snapshot.writtenAt().isBefore(Instant.now().minus(maxAge))) {
+                log.info("Ignoring cache snapshot at {} written {}", path, snapshot.writtenAt());
+                return Optional.empty();
+            }
+            return Optional.of(snapshot);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable cache snapshot at {}: {}", path, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void write(CacheSnapshot snapshot) throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream output = Files.newOutputStream(temporary)) {
+                objectMapper.writeValue(output, snapshot);
+            }
+            try {
+                Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+}
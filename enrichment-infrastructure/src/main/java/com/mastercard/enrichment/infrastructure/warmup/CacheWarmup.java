@@ -0,0 +1,281 @@
+package com.mastercard.enrichment.infrastructure.warmup;
+
+import com.mastercard.enrichment.core.domain.MerchantCategory;
+import com.mastercard.enrichment.core.repository.MerchantCategoryRepository;
+import com.mastercard.enrichment.core.service.GeolocationService;
+import com.mastercard.enrichment.infrastructure.cache.InstrumentedCacheManager;
+import com.mastercard.enrichment.infrastructure.cache.TwoTierCacheManager;
+import com.mastercard.enrichment.infrastructure.geo.CoordinateCellKeyGenerator;
+import com.mastercard.enrichment.infrastructure.service.MerchantCategoryServiceImpl;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fills the merchant category store and the coordinate cell cache before the node takes traffic,
+ * so a fresh deploy does not send its first minutes of lookups to Redis, DynamoDB and the categorizer.
+ * <p>
+ * Entries come from the snapshot file this node (or its predecessor) wrote periodically and on
+ * shutdown, or, without a usable snapshot, from a parallel scan of the MerchantCategories table.
+ * Loading runs on its own threads within a time budget; whatever is not loaded by then is left to
+ * normal traffic. The node is not ready until warm-up has finished or run out of budget.
+ */
+@Slf4j
+@Component
+public class CacheWarmup {
+
+    static final String GEOLOCATION_CACHE = "geolocationByCoords";
+    private static final int CHUNK_SIZE = 500;
+
+    public enum Phase {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        TIMED_OUT,
+        FAILED,
+        DISABLED
+    }
+
+    /**
+     * Point-in-time view of the warm-up, as reported through actuator
+     */
+    public record Progress(Phase phase, String source, Instant startedAt, Instant finishedAt,
+                           int merchantsLoaded, int merchantsTarget, int cellsLoaded, int cellsTarget,
+                           int failures) {
+    }
+
+    private final MerchantCategoryServiceImpl merchantCategoryService;
+    private final MerchantCategoryRepository categoryRepository;
+    private final GeolocationService geolocationService;
+    private final CoordinateCellKeyGenerator cellKeys;
+    private final CacheManager cacheManager;
+    private final CacheSnapshotStore snapshotStore;
+    private final boolean enabled;
+    private final int merchantLimit;
+    private final int cellLimit;
+    private final int parallelism;
+    private final Duration budget;
+    private final Duration snapshotMaxAge;
+
+    private final AtomicInteger merchantsLoaded = new AtomicInteger();
+    private final AtomicInteger cellsLoaded = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+    private volatile Phase phase = Phase.PENDING;
+    private volatile String source;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile int merchantsTarget;
+    private volatile int cellsTarget;
+    private volatile boolean stopped;
+
+    public CacheWarmup(MerchantCategoryServiceImpl merchantCategoryService,
+                       MerchantCategoryRepository categoryRepository,
+                       GeolocationService geolocationService,
+                       CoordinateCellKeyGenerator cellKeys,
+                       CacheManager cacheManager,
+                       @Value("${enrichment.warmup.enabled:true}") boolean enabled,
+                       @Value("${enrichment.warmup.merchants:10000}") int merchantLimit,
+                       @Value("${enrichment.warmup.geolocation-cells:5000}") int cellLimit,
+                       @Value("${enrichment.warmup.parallelism:8}") int parallelism,
+                       @Value("${enrichment.warmup.budget:30s}") Duration budget,
+                       @Value("${enrichment.warmup.snapshot.path:${java.io.tmpdir}/enrichment-cache-snapshot.json}")
+                       String snapshotPath,
+                       @Value("${enrichment.warmup.snapshot.max-age:24h}") Duration snapshotMaxAge) {
+        this.merchantCategoryService = merchantCategoryService;
+        this.categoryRepository = categoryRepository;
+        this.geolocationService = geolocationService;
+        this.cellKeys = cellKeys;
+        this.cacheManager = cacheManager;
+        this.snapshotStore = new CacheSnapshotStore(Path.of(snapshotPath));
+        this.enabled = enabled;
+        this.merchantLimit = merchantLimit;
+        this.cellLimit = cellLimit;
+        this.parallelism = parallelism;
+        this.budget = budget;
+        this.snapshotMaxAge = snapshotMaxAge;
+    }
+
+    /**
+     * Start warming up in the background once the context is up; startup itself is not held back
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void start() {
+        if (!enabled) {
+            phase = Phase.DISABLED;
+            return;
+        }
+        Thread thread = new Thread(this::run, "cache-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * True once warm-up has finished, run out of budget, failed or is disabled
+     */
+    public boolean isDone() {
+        return phase != Phase.PENDING && phase != Phase.RUNNING;
+    }
+
+    public Progress getProgress() {
+        return new Progress(phase, source, startedAt, finishedAt, merchantsLoaded.get(), merchantsTarget,
+                cellsLoaded.get(), cellsTarget, failures.get());
+    }
+
+    void run() {
+        startedAt = Instant.now();
+        phase = Phase.RUNNING;
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism,
+                new CustomizableThreadFactory("cache-warmup-"));
+        try {
+            List<CompletableFuture<Void>> tasks = new ArrayList<>();
+            Optional<CacheSnapshot> snapshot = snapshotStore.read(snapshotMaxAge);
+            if (snapshot.isPresent()) {
+                source = "snapshot";
+                List<MerchantCategory> categories = head(snapshot.get().merchantCategories(), merchantLimit);
+                List<String> cells = head(snapshot.get().geolocationCells(), cellLimit);
+                merchantsTarget = categories.size();
+                cellsTarget = cells.size();
+                for (int from = 0; from < categories.size(); from += CHUNK_SIZE) {
+                    List<MerchantCategory> chunk = categories.subList(from, Math.min(categories.size(), from + CHUNK_SIZE));
+                    tasks.add(task(() -> preload(chunk), executor));
+                }
+                for (int from = 0; from < cells.size(); from += CHUNK_SIZE) {
+                    List<String> chunk = cells.subList(from, Math.min(cells.size(), from + CHUNK_SIZE));
+                    tasks.add(task(() -> resolveCells(chunk), executor));
+                }
+            } else {
+                // No record of what was hot, so take any merchants; cells fill in with traffic
+                source = "dynamodb";
+                merchantsTarget = merchantLimit;
+                int perSegment = (merchantLimit + parallelism - 1) / parallelism;
+                for (int segment = 0; segment < parallelism; segment++) {
+                    int current = segment;
+                    tasks.add(task(() -> preload(categoryRepository.findAll(current, parallelism, perSegment)),
+                            executor));
+                }
+            }
+            CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new))
+                    .get(budget.toMillis(), TimeUnit.MILLISECONDS);
+            finish(Phase.COMPLETED);
+        } catch (TimeoutException e) {
+            finish(Phase.TIMED_OUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            finish(Phase.FAILED);
+        } catch (ExecutionException | RuntimeException e) {
+            log.error("Cache warm-up failed", e);
+            finish(Phase.FAILED);
+        } finally {
+            stopped = true;
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Save the hottest entries for the next start. Skipped until warm-up is done, so a node that is
+     * still cold never replaces a good snapshot with a poor one.
+     */
+    @Scheduled(fixedDelayString = "${enrichment.warmup.snapshot.interval:PT5M}",
+            initialDelayString = "${enrichment.warmup.snapshot.interval:PT5M}")
+    public void writeSnapshot() {
+        if (!enabled || !isDone()) {
+            return;
+        }
+        CacheSnapshot snapshot = new CacheSnapshot(Instant.now(),
+                merchantCategoryService.hottestCategories(merchantLimit), hottestCells());
+        if (snapshot.merchantCategories().isEmpty() && snapshot.geolocationCells().isEmpty()) {
+            return;
+        }
+        try {
+            snapshotStore.write(snapshot);
+            log.info("Wrote cache snapshot of {} merchants and {} cells to {}", snapshot.merchantCategories().size(),
+                    snapshot.geolocationCells().size(), snapshotStore.getPath());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to write cache snapshot to {}: {}", snapshotStore.getPath(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopped = true;
+        writeSnapshot();
+    }
+
+    private List<String> hottestCells() {
+        CacheManager delegate = cacheManager instanceof InstrumentedCacheManager instrumented
+                ? instrumented.getDelegate()
+                : cacheManager;
+        // Without the local tier there is no record of which cells are hot
+        return delegate instanceof TwoTierCacheManager twoTier
+                ? twoTier.hottestLocalKeys(GEOLOCATION_CACHE, cellLimit)
+                : List.of();
+    }
+
+    private void preload(List<MerchantCategory> categories) {
+        merchantCategoryService.preload(categories);
+        merchantsLoaded.addAndGet(categories.size());
+    }
+
+    private void resolveCells(List<String> cells) {
+        for (String cell : cells) {
+            if (stopped) {
+                return;
+            }
+            try {
+                double[] point = cellKeys.point(cell);
+                geolocationService.getGeolocationByCoordinates(point[0], point[1]);
+                cellsLoaded.incrementAndGet();
+            } catch (RuntimeException e) {
+                failures.incrementAndGet();
+                log.debug("Failed to warm geolocation cell {}: {}", cell, e.getMessage());
+            }
+        }
+    }
+
+    private CompletableFuture<Void> task(Runnable work, ExecutorService executor) {
+        return CompletableFuture.runAsync(() -> {
+            if (stopped) {
+                return;
+            }
+            try {
+                work.run();
+            } catch (RuntimeException e) {
+                failures.incrementAndGet();
+                log.warn("Cache warm-up task failed: {}", e.getMessage());
+            }
+        }, executor);
+    }
+
+    private void finish(Phase result) {
+        finishedAt = Instant.now();
+        phase = result;
+        log.info("Cache warm-up {} in {} ms from {}: {} merchants, {} geolocation cells, {} failures", result,
+                Duration.between(startedAt, finishedAt).toMillis(), source, merchantsLoaded.get(), cellsLoaded.get(),
+                failures.get());
+    }
+
+    private static <T> List<T> head(List<T> list, int limit) {
+        return list.size() > limit ? list.subList(0, limit) : list;
+    }
+}
@@ -0,0 +1,160 @@
+package com.mastercard.enrichment.infrastructure.cache;
+
+import com.mastercard.enrichment.core.domain.EnrichedTransaction;
+import com.mastercard.enrichment.core.domain.EnrichmentStatus;
+import com.mastercard.enrichment.core.domain.GeolocationData;
+import com.mastercard.enrichment.core.domain.MerchantCategory;
+import com.mastercard.enrichment.core.domain.Transaction;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactRedisSerializerTest {
+
+    private final CompactRedisSerializer serializer = new CompactRedisSerializer(DomainCacheCodecs.byTag(),
+            CompactRedisSerializer.jsonSerializer(), 0);
+
+    @Test
+    void roundTrip_ShouldPreserveEveryDomainType() {
+        for (Object value : List.of(category(), geolocation(), enrichedTransaction())) {
+            assertThat(serializer.deserialize(serializer.serialize(value))).isEqualTo(value);
+        }
+    }
+
+    @Test
+    void roundTrip_ShouldPreserveNullFieldsAndLargeAmounts() {
+        // Given
+        EnrichedTransaction value = EnrichedTransaction.builder()
+                .transaction(Transaction.builder()
+                        .transactionId("txn-1")
+                        .amount(new BigDecimal("123456789012345678901234567890.125"))
+                        .build())
+                .build();
+
+        // When
+        Object result = serializer.deserialize(serializer.serialize(value));
+
+        // Then
+        assertThat(result).isEqualTo(value);
+    }
+
+    @Test
+    void serialize_ShouldBeSmallerThanJson() {
+        // Given
+        EnrichedTransaction value = enrichedTransaction();
+
+        // When
+        byte[] compact = serializer.serialize(value);
+        byte[] json = CompactRedisSerializer.jsonSerializer().serialize(value);
+
+        // Then
+        assertThat(compact.length).isLessThan(json.length / 3);
+    }
+
+    @Test
+    void serialize_AboveThreshold_ShouldCompressAndRoundTrip() {
+        // Given
+        CompactRedisSerializer compressing = new CompactRedisSerializer(DomainCacheCodecs.byTag(),
+                CompactRedisSerializer.jsonSerializer(), 64);
+        GeolocationData value = geolocation();
+        value.setRegion("Region ".repeat(40));
+
+        // When
+        byte[] compressed = compressing.serialize(value);
+
+        // Then
+        assertThat(compressed.length).isLessThan(serializer.serialize(value).length);
+        assertThat(compressing.deserialize(compressed)).isEqualTo(value);
+        assertThat(serializer.deserialize(compressed)).isEqualTo(value);
+    }
+
+    @Test
+    void nullValue_ShouldRoundTrip() {
+        assertThat(serializer.deserialize(serializer.serialize(NullValue.INSTANCE))).isSameAs(NullValue.INSTANCE);
+    }
+
+    @Test
+    void typeWithoutCodec_ShouldFallBackToJson() {
+        ArrayList<String> value = new ArrayList<>(List.of("a", "b"));
+        assertThat(serializer.deserialize(serializer.serialize(value))).isEqualTo(value);
+    }
+
+    @Test
+    void deserialize_JsonWrittenBeforeSwitch_ShouldStillBeRead() {
+        // Given
+        byte[] legacy = new GenericJackson2JsonRedisSerializer().serialize(category());
+
+        // When
+        Object result = serializer.deserialize(legacy);
+
+        // Then
+        assertThat(result).isEqualTo(category());
+    }
+
+    @Test
+    void deserialize_NewerFormatVersionOrUnknownTag_ShouldReadAsMiss() {
+        // Given
+        byte[] newerVersion = serializer.serialize(category());
+        newerVersion[0] = (byte) (0x80 | (CompactRedisSerializer.FORMAT_VERSION + 1));
+        byte[] unknownTag = serializer.serialize(category());
+        unknownTag[2] = (byte) 200;
+
+        // When / Then
+        assertThat(serializer.deserialize(newerVersion)).isNull();
+        assertThat(serializer.deserialize(unknownTag)).isNull();
+    }
+
+    private static MerchantCategory category() {
+        return MerchantCategory.builder()
+                .merchantId("merch-1")
+                .categoryCode("5812")
+                .categoryName("Restaurants")
+                .industry("Food & Beverage")
+                .riskLevel(MerchantCategory.RiskLevel.LOW)
+                .build();
+    }
+
+    private static GeolocationData geolocation() {
+        return GeolocationData.builder()
+                .country("Canada")
+                .countryCode("CA")
+                .city("Vancouver")
+                .region("British Columbia")
+                .latitude(49.2827)
+                .longitude(-123.1207)
+                .timezone("America/Vancouver")
+                .build();
+    }
+
+    private static EnrichedTransaction enrichedTransaction() {
+        return EnrichedTransaction.builder()
+                .transaction(Transaction.builder()
+                        .transactionId("txn-12345")
+                        .merchantId("merch-1")
+                        .merchantName("Joe's Café")
+                        .amount(new BigDecimal("4.50"))
+                        .currency("CAD")
+                        .timestamp(Instant.parse("2026-01-15T10:30:00.123456789Z"))
+                        .latitude(49.2827)
+                        .longitude(-123.1207)
+                        .enrichmentStatus(EnrichmentStatus.COMPLETED)
+                        .enrichedAt(Instant.parse("2026-01-15T10:30:01Z"))
+                        .build())
+                .merchantCategory(category())
+                .geolocation(geolocation())
+                .normalizedData(EnrichedTransaction.NormalizedData.builder()
+                        .normalizedMerchantName("JOES CAFE")
+                        .formattedAmount("CAD 4.50")
+                        .isoCountryCode("CA")
+                        .build())
+                .enrichedAt(Instant.parse("2026-01-15T10:30:01Z"))
+                .build();
+    }
+}
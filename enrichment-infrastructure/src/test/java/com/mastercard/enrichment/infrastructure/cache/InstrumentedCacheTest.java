@@ -0,0 +1,89 @@
+package com.mastercard.enrichment.infrastructure.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InstrumentedCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new InstrumentedCacheManager(new ConcurrentMapCacheManager(), meterRegistry)
+                .getCache("merchantCategories");
+    }
+
+    @Test
+    void get_ShouldCountHitsAndMisses() {
+        // Given
+        cache.put("merch-1", "Restaurant");
+
+        // When
+        cache.get("merch-1");
+        cache.get("merch-2");
+        cache.get("merch-1", String.class);
+
+        // Then
+        assertThat(gets("hit")).isEqualTo(2);
+        assertThat(gets("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void put_AfterMissOnSameKey_ShouldRecordLoadTime() {
+        // When: the @Cacheable sequence of lookup, method call, put
+        cache.get("merch-1");
+        cache.put("merch-1", "Restaurant");
+        cache.put("merch-2", "Hotel");
+
+        // Then
+        assertThat(loads()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.puts").tag("cache", "merchantCategories").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void put_AfterMissOnOtherKey_ShouldNotRecordLoadTime() {
+        // When
+        cache.get("merch-1");
+        cache.put("merch-2", "Hotel");
+
+        // Then
+        assertThat(loads()).isZero();
+    }
+
+    @Test
+    void getWithLoader_ShouldTimeOnlyActualLoads() {
+        // When
+        String loaded = cache.get("merch-1", () -> "Hotel");
+        String cached = cache.get("merch-1", () -> "Other");
+
+        // Then
+        assertThat(loaded).isEqualTo("Hotel");
+        assertThat(cached).isEqualTo("Hotel");
+        assertThat(loads()).isEqualTo(1);
+        assertThat(gets("hit")).isEqualTo(1);
+        assertThat(gets("miss")).isEqualTo(1);
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", "merchantCategories")
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+
+    private long loads() {
+        return meterRegistry.get("cache.load.duration")
+                .tag("cache", "merchantCategories")
+                .timer()
+                .count();
+    }
+}
@@ -0,0 +1,151 @@
+package com.mastercard.enrichment.infrastructure.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TwoTierCacheTest {
+
+    private static final String CHANNEL = "enrichment:cache:invalidation";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private ConcurrentMapCacheManager l2CacheManager;
+    private SimpleMeterRegistry meterRegistry;
+    private TwoTierCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        l2CacheManager = new ConcurrentMapCacheManager();
+        meterRegistry = new SimpleMeterRegistry();
+        cacheManager = new TwoTierCacheManager(l2CacheManager, redisTemplate, meterRegistry,
+                CHANNEL, 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void get_ShouldServeRepeatedReadsFromL1() {
+        // Given
+        l2CacheManager.getCache("merchantCategories").put("merch-1", "Restaurant");
+        Cache cache = cacheManager.getCache("merchantCategories");
+
+        // When
+        Object first = cache.get("merch-1").get();
+        l2CacheManager.getCache("merchantCategories").evict("merch-1");
+        Object second = cache.get("merch-1").get();
+
+        // Then
+        assertThat(first).isEqualTo("Restaurant");
+        assertThat(second).isEqualTo("Restaurant");
+        assertThat(count("l1", "hit")).isEqualTo(1);
+        assertThat(count("l1", "miss")).isEqualTo(1);
+        assertThat(count("l2", "hit")).isEqualTo(1);
+    }
+
+    @Test
+    void get_ShouldCacheNullValues() {
+        // Given
+        Cache cache = cacheManager.getCache("geolocationByCoords");
+        cache.put("0.0,0.0", null);
+
+        // When
+        Cache.ValueWrapper wrapper = cache.get("0.0,0.0");
+
+        // Then
+        assertThat(wrapper).isNotNull();
+        assertThat(wrapper.get()).isNull();
+        assertThat(count("l1", "hit")).isEqualTo(1);
+    }
+
+    @Test
+    void getWithLoader_ShouldLoadOnceAndPopulateBothTiers() {
+        // Given
+        Cache cache = cacheManager.getCache("merchantCategories");
+
+        // When
+        String loaded = cache.get("merch-1", () -> "Hotel");
+        String cached = cache.get("merch-1", () -> "Other");
+
+        // Then
+        assertThat(loaded).isEqualTo("Hotel");
+        assertThat(cached).isEqualTo("Hotel");
+        assertThat(l2CacheManager.getCache("merchantCategories").get("merch-1").get()).isEqualTo("Hotel");
+        assertThat(count("l2", "miss")).isEqualTo(1);
+        assertThat(count("l1", "hit")).isEqualTo(1);
+    }
+
+    @Test
+    void evict_ShouldRemoveFromBothTiersAndBroadcast() {
+        // Given
+        Cache cache = cacheManager.getCache("merchantCategories");
+        cache.put("merch-1", "Restaurant");
+
+        // When
+        cache.evict("merch-1");
+
+        // Then
+        assertThat(cache.get("merch-1")).isNull();
+        assertThat(l2CacheManager.getCache("merchantCategories").get("merch-1")).isNull();
+        verify(redisTemplate, times(2)).convertAndSend(eq(CHANNEL), anyString());
+    }
+
+    @Test
+    void onMessage_FromOtherNode_ShouldDropLocalEntry() {
+        // Given
+        Cache cache = cacheManager.getCache("merchantCategories");
+        cache.put("merch-1", "Restaurant");
+        l2CacheManager.getCache("merchantCategories").put("merch-1", "Hotel");
+
+        // When
+        cacheManager.onMessage(message("other-node|merchantCategories|merch-1"), null);
+
+        // Then
+        assertThat(cache.get("merch-1").get()).isEqualTo("Hotel");
+    }
+
+    @Test
+    void onMessage_FromOtherNode_WithEmptyKey_ShouldClearLocalCache() {
+        // Given
+        Cache cache = cacheManager.getCache("merchantCategories");
+        cache.put("merch-1", "Restaurant");
+        cache.put("merch-2", "Hotel");
+        l2CacheManager.getCache("merchantCategories").clear();
+
+        // When
+        cacheManager.onMessage(message("other-node|merchantCategories|"), null);
+
+        // Then
+        assertThat(cache.get("merch-1")).isNull();
+        assertThat(cache.get("merch-2")).isNull();
+    }
+
+    private double count(String tier, String result) {
+        return meterRegistry.get("cache.tier.requests")
+                .tag("tier", tier)
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+
+    private DefaultMessage message(String body) {
+        return new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
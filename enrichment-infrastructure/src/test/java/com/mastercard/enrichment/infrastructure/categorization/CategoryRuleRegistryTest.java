@@ -0,0 +1,49 @@
+package com.mastercard.enrichment.infrastructure.categorization;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CategoryRuleRegistryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void reload_ShouldSwapInNewRules() throws Exception {
+        // Given
+        Path rules = tempDir.resolve("rules.csv");
+        Files.writeString(rules, "casino,20,7995,Gambling,Entertainment,HIGH\n");
+        CategoryRuleRegistry registry = new CategoryRuleRegistry(new DefaultResourceLoader(), rules.toUri().toString());
+
+        // When
+        Files.writeString(rules, "arcade,20,7994,Video Game Arcade,Entertainment,MEDIUM\n");
+        boolean reloaded = registry.reload();
+
+        // Then
+        assertThat(reloaded).isTrue();
+        assertThat(registry.match("Lucky Casino")).isEmpty();
+        assertThat(registry.match("Retro Arcade")).isPresent();
+    }
+
+    @Test
+    void reload_WithInvalidFile_ShouldKeepCurrentRules() throws Exception {
+        // Given
+        Path rules = tempDir.resolve("rules.csv");
+        Files.writeString(rules, "casino,20,7995,Gambling,Entertainment,HIGH\n");
+        CategoryRuleRegistry registry = new CategoryRuleRegistry(new DefaultResourceLoader(), rules.toUri().toString());
+
+        // When
+        Files.writeString(rules, "casino,not-a-number,7995,Gambling,Entertainment,HIGH\n");
+        boolean reloaded = registry.reload();
+
+        // Then
+        assertThat(reloaded).isFalse();
+        assertThat(registry.match("Lucky Casino")).isPresent();
+    }
+}
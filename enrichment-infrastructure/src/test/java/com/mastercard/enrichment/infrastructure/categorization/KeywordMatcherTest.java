@@ -0,0 +1,59 @@
+package com.mastercard.enrichment.infrastructure.categorization;
+
+import com.mastercard.enrichment.core.domain.MerchantCategory;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeywordMatcherTest {
+
+    private final KeywordMatcher matcher =
+            KeywordMatcher.compile(CategoryRuleLoader.load(new ClassPathResource("categorization/category-rules.csv")));
+
+    @Test
+    void match_ShouldRequireWholeWords() {
+        assertThat(categoryOf("Air Canada")).contains("Airline");
+        assertThat(categoryOf("County Fair Tickets")).isEmpty();
+        assertThat(categoryOf("Joe's Repair")).isEmpty();
+        assertThat(categoryOf("Dinner Club")).isEmpty();
+    }
+
+    @Test
+    void match_WithPrefixKeyword_ShouldMatchWordStart() {
+        assertThat(categoryOf("SHOPIFY*STORE 42")).contains("E-Commerce");
+        assertThat(categoryOf("Workshop Supplies")).isEmpty();
+    }
+
+    @Test
+    void match_ShouldPreferHigherPriority() {
+        // Hotel (40) outranks Airline (30) regardless of position in the name
+        assertThat(categoryOf("Air Hotel")).contains("Hotel");
+        assertThat(categoryOf("Hotel Air")).contains("Hotel");
+    }
+
+    @Test
+    void match_ShouldFollowFailureLinksAcrossOverlappingKeywords() {
+        // Given
+        KeywordMatcher overlapping = KeywordMatcher.compile(List.of(
+                rule("she", 1, "A"),
+                rule("he", 2, "B"),
+                rule("hers", 3, "C")));
+
+        // Then
+        assertThat(overlapping.match("ushers")).isEmpty();
+        assertThat(overlapping.match("u he").map(CategoryRule::categoryName)).contains("B");
+        assertThat(overlapping.match("she sells hers").map(CategoryRule::categoryName)).contains("C");
+    }
+
+    private Optional<String> categoryOf(String merchantName) {
+        return matcher.match(merchantName).map(CategoryRule::categoryName);
+    }
+
+    private static CategoryRule rule(String keyword, int priority, String name) {
+        return new CategoryRule(keyword, priority, "0000", name, "Test", MerchantCategory.RiskLevel.LOW);
+    }
+}
@@ -0,0 +1,121 @@
+package com.mastercard.enrichment.infrastructure.concurrent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicLong clock;
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new AtomicLong();
+        limiter = new AdaptiveConcurrencyLimiter("test", 20, 5, 200, 1.5, meterRegistry, clock::get);
+    }
+
+    @Test
+    void tryAcquire_OverLimit_ShouldRejectImmediately() {
+        // Given
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            permits.add(limiter.tryAcquire(1));
+        }
+
+        // When
+        AdaptiveConcurrencyLimiter.Permit rejected = limiter.tryAcquire(1);
+        permits.get(0).ignore();
+        AdaptiveConcurrencyLimiter.Permit afterRelease = limiter.tryAcquire(1);
+
+        // Then
+        assertThat(permits).doesNotContainNull();
+        assertThat(rejected).isNull();
+        assertThat(afterRelease).isNotNull();
+        assertThat(count("rejected")).isEqualTo(1);
+        assertThat(meterRegistry.get("enrichment.limiter.inflight").gauge().value()).isEqualTo(20);
+    }
+
+    @Test
+    void tryAcquire_WithWeight_ShouldCountEveryItem() {
+        // Given
+        AdaptiveConcurrencyLimiter.Permit batch = limiter.tryAcquire(15);
+
+        // When / Then
+        assertThat(batch).isNotNull();
+        assertThat(limiter.tryAcquire(6)).isNull();
+        assertThat(limiter.tryAcquire(5)).isNotNull();
+    }
+
+    @Test
+    void tryAcquire_HeavierThanLimitWhenIdle_ShouldAdmit() {
+        // When
+        AdaptiveConcurrencyLimiter.Permit batch = limiter.tryAcquire(500);
+
+        // Then
+        assertThat(batch).isNotNull();
+        assertThat(limiter.tryAcquire(1)).isNull();
+    }
+
+    @Test
+    void limit_WithSteadyLatencyAtFullUse_ShouldGrow() {
+        // When
+        runRounds(50, 10);
+
+        // Then
+        assertThat(limiter.getLimit()).isGreaterThan(20);
+    }
+
+    @Test
+    void limit_WhenLatencyRises_ShouldShrink() {
+        // Given
+        runRounds(20, 10);
+        int before = limiter.getLimit();
+
+        // When: latency quadruples (the long-term average catches up over a few hundred samples)
+        runRounds(2, 40);
+
+        // Then
+        assertThat(limiter.getLimit()).isLessThan(before);
+    }
+
+    @Test
+    void limit_WhenRequestsDrop_ShouldBackOffToMinimum() {
+        // When
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire(1).dropped();
+        }
+
+        // Then
+        assertThat(limiter.getLimit()).isEqualTo(5);
+        assertThat(count("dropped")).isEqualTo(50);
+    }
+
+    /**
+     * Fill the limit, advance the clock, complete everything
+     */
+    private void runRounds(int rounds, long latencyMillis) {
+        for (int round = 0; round < rounds; round++) {
+            List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+            AdaptiveConcurrencyLimiter.Permit permit;
+            while ((permit = limiter.tryAcquire(1)) != null) {
+                permits.add(permit);
+            }
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+            permits.forEach(AdaptiveConcurrencyLimiter.Permit::success);
+        }
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("enrichment.limiter.requests").tag("result", result).counter().count();
+    }
+}
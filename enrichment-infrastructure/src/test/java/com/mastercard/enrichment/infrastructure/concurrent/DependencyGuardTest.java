@@ -0,0 +1,172 @@
+package com.mastercard.enrichment.infrastructure.concurrent;
+
+import com.mastercard.enrichment.core.exception.DependencyUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DependencyGuardTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicLong clock;
+    private DependencyGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new AtomicLong();
+        guard = new DependencyGuard("test", Duration.ofMillis(100), 2, 0.5, 4, Duration.ofSeconds(10),
+                meterRegistry, clock::get);
+    }
+
+    @Test
+    void call_WhenFailureRateReachesThreshold_ShouldOpenAndRefuseCalls() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        fail(2);
+
+        // When / Then
+        assertThat(guard.getState()).isEqualTo(DependencyGuard.State.OPEN);
+        assertThatThrownBy(() -> guard.call(calls::incrementAndGet))
+                .isInstanceOf(DependencyUnavailableException.class)
+                .hasMessageContaining("circuit is open");
+        assertThat(calls).hasValue(0);
+        assertThat(count("failure")).isEqualTo(2);
+        assertThat(count("open")).isEqualTo(1);
+    }
+
+    @Test
+    void call_BelowThreshold_ShouldStayClosed() {
+        // Given
+        guard.call(() -> "ok");
+        guard.call(() -> "ok");
+        guard.call(() -> "ok");
+
+        // When
+        fail(1);
+
+        // Then
+        assertThat(guard.getState()).isEqualTo(DependencyGuard.State.CLOSED);
+        assertThat(guard.call(() -> "ok")).isEqualTo("ok");
+    }
+
+    @Test
+    void call_AfterOpenDuration_ShouldCloseOnSuccessfulTrial() {
+        // Given
+        fail(2);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        // When
+        String result = guard.call(() -> "ok");
+
+        // Then
+        assertThat(result).isEqualTo("ok");
+        assertThat(guard.getState()).isEqualTo(DependencyGuard.State.CLOSED);
+        assertThat(guard.isOpen()).isFalse();
+    }
+
+    @Test
+    void call_WhenTrialFails_ShouldReopen() {
+        // Given
+        fail(2);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        // When
+        fail(1);
+
+        // Then
+        assertThat(guard.isOpen()).isTrue();
+        assertThatThrownBy(() -> guard.call(() -> "ok")).isInstanceOf(DependencyUnavailableException.class);
+    }
+
+    @Test
+    void call_SlowerThanTimeout_ShouldCountAsFailure() {
+        // When
+        for (int i = 0; i < 2; i++) {
+            guard.call(() -> clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(150)));
+        }
+
+        // Then
+        assertThat(count("timeout")).isEqualTo(2);
+        assertThat(guard.getState()).isEqualTo(DependencyGuard.State.OPEN);
+    }
+
+    @Test
+    void supplyAsync_WhenBulkheadIsFull_ShouldRefuseStraightAway() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            CompletableFuture<String> first = guard.supplyAsync(() -> await(release), executor);
+            CompletableFuture<String> second = guard.supplyAsync(() -> await(release), executor);
+
+            // When
+            CompletableFuture<String> third = guard.supplyAsync(() -> "ok", executor);
+
+            // Then
+            assertThatThrownBy(third::join).hasCauseInstanceOf(DependencyUnavailableException.class);
+            assertThat(count("saturated")).isEqualTo(1);
+            release.countDown();
+            assertThat(first.get(1, TimeUnit.SECONDS)).isEqualTo("done");
+            assertThat(second.get(1, TimeUnit.SECONDS)).isEqualTo("done");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void supplyAsync_WhenCallHangs_ShouldTimeOutAndHoldSlotUntilItReturns() throws Exception {
+        // Given
+        guard = new DependencyGuard("test", Duration.ofMillis(50), 1, 0.5, 4, Duration.ofSeconds(10),
+                meterRegistry);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            // When
+            CompletableFuture<String> hung = guard.supplyAsync(() -> await(release), executor);
+
+            // Then
+            assertThatThrownBy(() -> hung.get(1, TimeUnit.SECONDS)).hasCauseInstanceOf(TimeoutException.class);
+            assertThat(guard.supplyAsync(() -> "ok", executor)).isCompletedExceptionally();
+            release.countDown();
+            executor.submit(() -> { }).get(1, TimeUnit.SECONDS);
+            assertThat(guard.supplyAsync(() -> "ok", executor).get(1, TimeUnit.SECONDS)).isEqualTo("ok");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            assertThatThrownBy(() -> guard.call(() -> {
+                throw new IllegalStateException("down");
+            })).isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    private static String await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "done";
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("enrichment.dependency.calls").tag("result", result).counter().count();
+    }
+}
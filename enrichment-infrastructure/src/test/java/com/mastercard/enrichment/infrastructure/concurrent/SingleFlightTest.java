@@ -0,0 +1,158 @@
+package com.mastercard.enrichment.infrastructure.concurrent;
+
+import com.mastercard.enrichment.core.exception.EnrichmentException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 32;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_WithConcurrentCallsForSameKey_ShouldLoadOnce() throws Exception {
+        // Given
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("test", Duration.ofSeconds(5), meterRegistry);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        // When: every caller arrives while the first load is still blocked
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> singleFlight.execute("merch-1", () -> {
+                loads.incrementAndGet();
+                await(release);
+                return "Restaurant";
+            })));
+        }
+        awaitCount("coalesced", CALLERS - 1);
+        release.countDown();
+
+        // Then
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("Restaurant");
+        }
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(count("loaded")).isEqualTo(1);
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    @Test
+    void execute_WhenLoadFails_ShouldFailAllWaitersAndLoadAgainNextTime() throws Exception {
+        // Given
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("test", Duration.ofSeconds(5), meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> singleFlight.execute("merch-1", () -> {
+            await(release);
+            throw new EnrichmentException("DynamoDB unavailable");
+        }));
+        awaitInFlight(singleFlight);
+        Future<String> follower = executor.submit(() -> singleFlight.execute("merch-1", () -> "unused"));
+        awaitCount("coalesced", 1);
+
+        // When
+        release.countDown();
+
+        // Then
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(EnrichmentException.class);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(EnrichmentException.class);
+        assertThat(singleFlight.execute("merch-1", () -> "Restaurant")).isEqualTo("Restaurant");
+    }
+
+    @Test
+    void execute_WhenWaitExceedsTimeout_ShouldGiveUp() throws Exception {
+        // Given
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("test", Duration.ofMillis(50), meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> singleFlight.execute("merch-1", () -> {
+            await(release);
+            return "Restaurant";
+        }));
+        awaitInFlight(singleFlight);
+
+        // When / Then
+        try {
+            assertThatThrownBy(() -> singleFlight.execute("merch-1", () -> "unused"))
+                    .isInstanceOf(EnrichmentException.class)
+                    .hasMessageContaining("timed out");
+            assertThat(count("timeout")).isEqualTo(1);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void execute_WithDifferentKeys_ShouldNotCoalesce() {
+        // Given
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("test", Duration.ofSeconds(1), meterRegistry);
+
+        // When
+        singleFlight.execute("merch-1", () -> "Restaurant");
+        singleFlight.execute("merch-2", () -> "Hotel");
+        singleFlight.execute(null, () -> "Other");
+
+        // Then
+        assertThat(count("loaded")).isEqualTo(3);
+        assertThat(count("coalesced")).isZero();
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("enrichment.coalescing.calls")
+                .tag("operation", "test")
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+
+    private void awaitCount(String result, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count(result) < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(count(result)).isEqualTo(expected);
+    }
+
+    private static void awaitInFlight(SingleFlight<?, ?> singleFlight) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (singleFlight.inFlightCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(singleFlight.inFlightCount()).isEqualTo(1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
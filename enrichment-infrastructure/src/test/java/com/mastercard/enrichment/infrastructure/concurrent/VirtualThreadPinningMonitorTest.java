@@ -0,0 +1,51 @@
+package com.mastercard.enrichment.infrastructure.concurrent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualThreadPinningMonitorTest {
+
+    @Test
+    void source_ShouldAttributeFramesToClientLibrary() {
+        assertThat(VirtualThreadPinningMonitor.source(List.of(
+                "java.lang.Object.wait0:-1",
+                "io.lettuce.core.protocol.DefaultEndpoint.write:412",
+                "com.mastercard.enrichment.infrastructure.service.MerchantCategoryServiceImpl.categorizeMerchant:80")))
+                .isEqualTo("redis");
+        assertThat(VirtualThreadPinningMonitor.source(List.of(
+                "sun.nio.ch.NioSocketImpl.read:320",
+                "software.amazon.awssdk.http.apache.ApacheHttpClient.execute:240")))
+                .isEqualTo("aws-sdk");
+        assertThat(VirtualThreadPinningMonitor.source(List.of("java.lang.Thread.sleep:509"))).isEqualTo("other");
+    }
+
+    @Test
+    void site_ShouldSkipJdkFrames() {
+        assertThat(VirtualThreadPinningMonitor.site(List.of(
+                "jdk.internal.misc.Unsafe.park:-2",
+                "java.util.concurrent.locks.LockSupport.park:371",
+                "org.apache.http.pool.AbstractConnPool.getPoolEntryBlocking:393",
+                "software.amazon.awssdk.http.apache.ApacheHttpClient.execute:240")))
+                .isEqualTo("org.apache.http.pool.AbstractConnPool.getPoolEntryBlocking:393");
+        assertThat(VirtualThreadPinningMonitor.site(List.of())).isEqualTo("unknown");
+    }
+
+    @Test
+    void start_InPlatformMode_ShouldNotRecord() {
+        // Given
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(new SimpleMeterRegistry(),
+                "platform", Duration.ofMillis(20));
+
+        // When
+        monitor.start();
+
+        // Then
+        assertThat(monitor.isRunning()).isFalse();
+        monitor.stop();
+    }
+}
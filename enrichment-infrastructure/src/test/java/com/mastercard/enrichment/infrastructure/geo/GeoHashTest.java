@@ -0,0 +1,60 @@
+package com.mastercard.enrichment.infrastructure.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class GeoHashTest {
+
+    @Test
+    void encode_ShouldMatchReferenceHashes() {
+        assertThat(GeoHash.encode(42.605, -5.603, 5)).isEqualTo("ezs42");
+        assertThat(GeoHash.encode(57.64911, 10.40744, 11)).isEqualTo("u4pruydqqvj");
+        assertThat(GeoHash.encode(-33.8688, 151.2093, 6)).isEqualTo("r3gx2f");
+        assertThat(GeoHash.encode(90, 180, 4)).isEqualTo("zzzz");
+        assertThat(GeoHash.encode(-90, -180, 4)).isEqualTo("0000");
+    }
+
+    @Test
+    void cellCenter_ShouldLieInSameCell() {
+        // Given
+        Random random = new Random(42);
+
+        // When / Then
+        for (int i = 0; i < 10_000; i++) {
+            double lat = random.nextDouble() * 180 - 90;
+            double lon = random.nextDouble() * 360 - 180;
+            int precision = 1 + random.nextInt(GeoHash.MAX_PRECISION);
+            assertThat(GeoHash.encode(GeoHash.cellCenterLatitude(lat, precision),
+                    GeoHash.cellCenterLongitude(lon, precision), precision))
+                    .isEqualTo(GeoHash.encode(lat, lon, precision));
+        }
+    }
+
+    @Test
+    void decodeCenter_ShouldMatchCellCenter() {
+        // Given
+        Random random = new Random(7);
+
+        // When / Then
+        for (int i = 0; i < 10_000; i++) {
+            double lat = random.nextDouble() * 180 - 90;
+            double lon = random.nextDouble() * 360 - 180;
+            int precision = 1 + random.nextInt(GeoHash.MAX_PRECISION);
+            double[] center = GeoHash.decodeCenter(GeoHash.encode(lat, lon, precision));
+            assertThat(center[0]).isCloseTo(GeoHash.cellCenterLatitude(lat, precision), within(1e-9));
+            assertThat(center[1]).isCloseTo(GeoHash.cellCenterLongitude(lon, precision), within(1e-9));
+        }
+        assertThatThrownBy(() -> GeoHash.decodeCenter("ezs4a")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void encode_WithInvalidPrecision_ShouldThrow() {
+        assertThatThrownBy(() -> GeoHash.encode(0, 0, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GeoHash.encode(0, 0, 13)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,101 @@
+package com.mastercard.enrichment.infrastructure.geo;
+
+import com.mastercard.enrichment.core.domain.GeolocationData;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+class GeoSpatialIndexTest {
+
+    @Test
+    void nearest_ShouldMatchBruteForceHaversine() {
+        // Given
+        Random random = new Random(42);
+        List<GeolocationData> cities = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            cities.add(city("city-" + i, randomLatitude(random), randomLongitude(random)));
+        }
+        GeoSpatialIndex index = new GeoSpatialIndex(cities);
+
+        // When / Then
+        for (int i = 0; i < 1_000; i++) {
+            double lat = randomLatitude(random);
+            double lon = randomLongitude(random);
+            GeolocationData expected = bruteForceNearest(cities, lat, lon, 500);
+            GeolocationData actual = index.nearest(lat, lon, 500);
+            if (expected == null) {
+                assertThat(actual).isNull();
+            } else {
+                // Ties are possible in principle, so compare distances rather than identity
+                assertThat(haversine(lat, lon, actual.getLatitude(), actual.getLongitude()))
+                        .isCloseTo(haversine(lat, lon, expected.getLatitude(), expected.getLongitude()),
+                                offset(1e-6));
+            }
+        }
+    }
+
+    @Test
+    void nearest_ShouldPreferClosestCityRatherThanFirstWithinRange() {
+        // Given
+        GeoSpatialIndex index = new GeoSpatialIndex(List.of(
+                city("Far", 49.45, -123.12),
+                city("Near", 49.28, -123.12)));
+
+        // When
+        GeolocationData result = index.nearest(49.2827, -123.1207, 50);
+
+        // Then
+        assertThat(result.getCity()).isEqualTo("Near");
+    }
+
+    @Test
+    void nearest_ShouldReturnNullBeyondMaxDistanceAndAcrossDateLine() {
+        // Given
+        GeoSpatialIndex index = new GeoSpatialIndex(List.of(city("Suva", -18.14, 178.44)));
+
+        // Then
+        assertThat(index.nearest(-18.14, -179.9, 300)).isNotNull();
+        assertThat(index.nearest(-18.14, -170.0, 300)).isNull();
+        assertThat(new GeoSpatialIndex(List.of()).nearest(0, 0, 50)).isNull();
+    }
+
+    private static GeolocationData bruteForceNearest(List<GeolocationData> cities, double lat, double lon,
+                                                     double maxDistanceKm) {
+        GeolocationData best = null;
+        double bestDistance = maxDistanceKm;
+        for (GeolocationData city : cities) {
+            double distance = haversine(lat, lon, city.getLatitude(), city.getLongitude());
+            if (distance <= bestDistance) {
+                bestDistance = distance;
+                best = city;
+            }
+        }
+        return best;
+    }
+
+    private static double haversine(double lat1, double lon1, double lat2, double lon2) {
+        double latDistance = Math.toRadians(lat2 - lat1);
+        double lonDistance = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
+        return 6371 * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    private static double randomLatitude(Random random) {
+        return Math.toDegrees(Math.asin(2 * random.nextDouble() - 1));
+    }
+
+    private static double randomLongitude(Random random) {
+        return random.nextDouble() * 360 - 180;
+    }
+
+    private static GeolocationData city(String name, double lat, double lon) {
+        return GeolocationData.builder().city(name).latitude(lat).longitude(lon).build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.mastercard.enrichment.infrastructure.idempotency;
+
+import com.mastercard.enrichment.core.domain.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionFingerprintTest {
+
+    @Test
+    void hex_ShouldBeSixteenZeroPaddedDigitsOfTheFingerprint() {
+        for (int i = 0; i < 1000; i++) {
+            // Given
+            Transaction transaction = Transaction.builder()
+                    .transactionId("txn-" + i)
+                    .merchantId("merch-1")
+                    .amount(new BigDecimal("10.00"))
+                    .currency("USD")
+                    .build();
+
+            // When
+            String hex = TransactionFingerprint.hex(transaction);
+
+            // Then
+            assertThat(hex).hasSize(16).isEqualTo(String.format("%016x", TransactionFingerprint.of(transaction)));
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.mastercard.enrichment.infrastructure.ingestion;
+
+import com.mastercard.enrichment.core.domain.EnrichedTransaction;
+import com.mastercard.enrichment.core.domain.Transaction;
+import com.mastercard.enrichment.core.exception.EnrichmentException;
+import com.mastercard.enrichment.core.repository.TransactionRepository;
+import com.mastercard.enrichment.core.service.EnrichmentService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.testcontainers.containers.localstack.LocalStackContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the SQS consumer against a queue (with a dead-letter queue) in LocalStack: mvn verify -Plocalstack
+ */
+@Testcontainers
+class SqsTransactionConsumerIT {
+
+    private static final int MESSAGES = 200;
+    private static final String VALID = "{\"transactionId\":\"%s\",\"merchantId\":\"merch-1\","
+            + "\"merchantName\":\"Cafe\",\"amount\":10.00,\"currency\":\"USD\"}";
+
+    @Container
+    private static final LocalStackContainer LOCALSTACK = new LocalStackContainer(
+            DockerImageName.parse("localstack/localstack:3.0"))
+            .withServices(LocalStackContainer.Service.SQS);
+
+    private SqsClient sqsClient;
+    private String queueUrl;
+    private String deadLetterQueueUrl;
+    private SimpleMeterRegistry meterRegistry;
+    private SqsTransactionConsumer consumer;
+    private final Set<String> enriched = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        sqsClient = SqsClient.builder()
+                .endpointOverride(LOCALSTACK.getEndpointOverride(LocalStackContainer.Service.SQS))
+                .region(Region.of(LOCALSTACK.getRegion()))
+                .credentialsProvider(StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create(LOCALSTACK.getAccessKey(), LOCALSTACK.getSecretKey())))
+                .build();
+        deadLetterQueueUrl = sqsClient.createQueue(b -> b.queueName("transactions-dlq")).queueUrl();
+        String deadLetterArn = sqsClient.getQueueAttributes(b -> b.queueUrl(deadLetterQueueUrl)
+                        .attributeNames(QueueAttributeName.QUEUE_ARN))
+                .attributes().get(QueueAttributeName.QUEUE_ARN);
+        queueUrl = sqsClient.createQueue(b -> b.queueName("transactions")
+                .attributes(Map.of(QueueAttributeName.REDRIVE_POLICY,
+                        "{\"deadLetterTargetArn\":\"" + deadLetterArn + "\",\"maxReceiveCount\":\"2\"}")))
+                .queueUrl();
+
+        EnrichmentService enrichmentService = mock(EnrichmentService.class);
+        when(enrichmentService.enrichTransactions(anyList())).thenAnswer(invocation -> {
+            List<Transaction> batch = invocation.getArgument(0);
+            if (batch.stream().anyMatch(txn -> txn.getTransactionId().equals("txn-poison"))) {
+                throw new EnrichmentException("Enrichment failed for transaction: txn-poison");
+            }
+            batch.forEach(txn -> enriched.add(txn.getTransactionId()));
+            return batch.stream().map(txn -> EnrichedTransaction.builder().transaction(txn).build()).toList();
+        });
+        when(enrichmentService.enrichTransaction(any())).thenAnswer(invocation -> {
+            Transaction txn = invocation.getArgument(0);
+            if (txn.getTransactionId().equals("txn-poison")) {
+                throw new EnrichmentException("Enrichment failed for transaction: txn-poison");
+            }
+            enriched.add(txn.getTransactionId());
+            return EnrichedTransaction.builder().transaction(txn).build();
+        });
+
+        meterRegistry = new SimpleMeterRegistry();
+        consumer = new SqsTransactionConsumer(sqsClient, enrichmentService, mock(TransactionRepository.class),
+                mock(ObjectProvider.class, invocation -> null), meterRegistry,
+                queueUrl, 4, Duration.ofSeconds(1), Duration.ofSeconds(2), Duration.ofMinutes(1),
+                Duration.ofSeconds(10));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        consumer.stop();
+        sqsClient.close();
+    }
+
+    @Test
+    void consumer_ShouldEnrichAndDeleteEveryMessageAndLeavePoisonForDeadLetterQueue() throws Exception {
+        // Given
+        List<String> bodies = new ArrayList<>();
+        for (int i = 0; i < MESSAGES; i++) {
+            bodies.add(VALID.formatted("txn-" + i));
+        }
+        bodies.add(VALID.formatted("txn-poison"));
+        bodies.add("{not json");
+        for (int from = 0; from < bodies.size(); from += SqsTransactionConsumer.MAX_MESSAGES) {
+            List<SendMessageBatchRequestEntry> entries = new ArrayList<>();
+            for (int i = from; i < Math.min(from + SqsTransactionConsumer.MAX_MESSAGES, bodies.size()); i++) {
+                entries.add(SendMessageBatchRequestEntry.builder().id("m" + i).messageBody(bodies.get(i)).build());
+            }
+            sqsClient.sendMessageBatch(b -> b.queueUrl(queueUrl).entries(entries));
+        }
+
+        // When
+        consumer.start();
+        long deadline = System.nanoTime() + Duration.ofSeconds(60).toNanos();
+        while (System.nanoTime() < deadline && (enriched.size() < MESSAGES || visibleMessages(deadLetterQueueUrl) < 2)) {
+            Thread.sleep(250);
+        }
+
+        // Then
+        assertThat(enriched).hasSize(MESSAGES);
+        assertThat(meterRegistry.get("enrichment.ingestion.messages").tag("result", "deleted")
+                .counter().count()).isEqualTo(MESSAGES);
+        assertThat(visibleMessages(deadLetterQueueUrl)).isEqualTo(2);
+        assertThat(visibleMessages(queueUrl)).isZero();
+    }
+
+    private int visibleMessages(String url) {
+        return Integer.parseInt(sqsClient.getQueueAttributes(b -> b.queueUrl(url)
+                        .attributeNames(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES))
+                .attributes().get(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES));
+    }
+}
@@ -0,0 +1,255 @@
+package com.mastercard.enrichment.infrastructure.ingestion;
+
+import com.mastercard.enrichment.core.domain.EnrichedTransaction;
+import com.mastercard.enrichment.core.domain.Transaction;
+import com.mastercard.enrichment.core.exception.EnrichmentException;
+import com.mastercard.enrichment.core.repository.TransactionRepository;
+import com.mastercard.enrichment.core.service.EnrichmentService;
+import com.mastercard.enrichment.infrastructure.persistence.WriteBehindTransactionWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResponse;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SqsTransactionConsumerTest {
+
+    private static final String QUEUE_URL = "http://localhost:4566/000000000000/transactions";
+    private static final String VALID = "{\"transactionId\":\"%s\",\"merchantId\":\"merch-1\","
+            + "\"merchantName\":\"Cafe\",\"amount\":10.00,\"currency\":\"USD\"}";
+
+    @Mock
+    private SqsClient sqsClient;
+
+    @Mock
+    private EnrichmentService enrichmentService;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private WriteBehindTransactionWriter writeBehindWriter;
+
+    @Mock
+    private ObjectProvider<WriteBehindTransactionWriter> writeBehindProvider;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void process_ShouldDeleteOnlyEnrichedMessages() {
+        // Given
+        SqsTransactionConsumer consumer = consumer(null, Duration.ofSeconds(30));
+        when(enrichmentService.enrichTransactions(anyList()))
+                .thenThrow(new EnrichmentException("Geolocation timed out for transaction: txn-boom"));
+        when(enrichmentService.enrichTransaction(any(Transaction.class)))
+                .thenAnswer(invocation -> enriched(invocation.getArgument(0)));
+        when(enrichmentService.enrichTransaction(argThat(txn -> txn != null
+                && "txn-boom".equals(txn.getTransactionId()))))
+                .thenThrow(new EnrichmentException("Geolocation timed out for transaction: txn-boom"));
+        stubDelete();
+
+        // When
+        consumer.process(List.of(
+                message("m-1", VALID.formatted("txn-1")),
+                message("m-2", "{not json"),
+                message("m-3", VALID.formatted("txn-boom")),
+                message("m-4", "{\"transactionId\":\"txn-4\"}"),
+                message("m-5", VALID.formatted("txn-5")),
+                message("m-6", "null")));
+
+        // Then
+        assertThat(deletedReceiptHandles()).containsExactly("rh-m-1", "rh-m-5");
+        assertThat(count("received")).isEqualTo(6);
+        assertThat(count("invalid")).isEqualTo(3);
+        assertThat(count("failed")).isEqualTo(1);
+        assertThat(count("deleted")).isEqualTo(2);
+    }
+
+    @Test
+    void process_WithWriteBehind_ShouldDeleteOnlyFlushedTransactions() {
+        // Given
+        SqsTransactionConsumer consumer = consumer(writeBehindWriter, Duration.ofSeconds(30));
+        stubEnrichBatch();
+        when(writeBehindWriter.nextWrite("txn-1")).thenReturn(CompletableFuture.completedFuture(null));
+        when(writeBehindWriter.nextWrite("txn-2")).thenReturn(CompletableFuture.failedFuture(
+                new EnrichmentException("Write-behind gave up after 5 retries")));
+        stubDelete();
+
+        // When
+        consumer.process(List.of(message("m-1", VALID.formatted("txn-1")), message("m-2", VALID.formatted("txn-2"))));
+
+        // Then
+        verify(enrichmentService).enrichTransactions(argThat(batch -> batch.size() == 2));
+        assertThat(deletedReceiptHandles()).containsExactly("rh-m-1");
+        assertThat(count("failed")).isEqualTo(1);
+    }
+
+    @Test
+    void process_WithWriteBehind_WhenReplayedWithoutWrite_ShouldSaveAgainBeforeDeleting() {
+        // Given
+        SqsTransactionConsumer consumer = consumer(writeBehindWriter, Duration.ofSeconds(30));
+        stubEnrichBatch();
+        CompletableFuture<Void> neverWritten = new CompletableFuture<>();
+        CompletableFuture<Void> rewritten = new CompletableFuture<>();
+        when(writeBehindWriter.nextWrite("txn-1")).thenReturn(neverWritten, rewritten);
+        // The earlier delivery's result is replayed, so nothing is buffered for this one
+        when(writeBehindWriter.unwatch("txn-1", neverWritten)).thenReturn(true);
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> {
+            rewritten.complete(null);
+            return invocation.getArgument(0);
+        });
+        stubDelete();
+
+        // When
+        consumer.process(List.of(message("m-1", VALID.formatted("txn-1"))));
+
+        // Then
+        verify(transactionRepository).save(argThat(txn -> "txn-1".equals(txn.getTransactionId())));
+        assertThat(deletedReceiptHandles()).containsExactly("rh-m-1");
+    }
+
+    @Test
+    void process_WithWriteBehind_WhenReplayedAndSaveFails_ShouldNotDelete() {
+        // Given
+        SqsTransactionConsumer consumer = consumer(writeBehindWriter, Duration.ofSeconds(30));
+        stubEnrichBatch();
+        CompletableFuture<Void> neverWritten = new CompletableFuture<>();
+        when(writeBehindWriter.nextWrite("txn-1")).thenReturn(neverWritten, new CompletableFuture<>());
+        when(writeBehindWriter.unwatch(eq("txn-1"), any())).thenReturn(true);
+        when(transactionRepository.save(any(Transaction.class)))
+                .thenThrow(new EnrichmentException("Write-behind buffer full, rejected transaction: txn-1"));
+
+        // When
+        consumer.process(List.of(message("m-1", VALID.formatted("txn-1"))));
+
+        // Then
+        verify(sqsClient, never()).deleteMessageBatch(any(DeleteMessageBatchRequest.class));
+        assertThat(count("failed")).isEqualTo(1);
+    }
+
+    @Test
+    void process_WithSlowBatch_ShouldExtendVisibility() throws Exception {
+        // Given
+        SqsTransactionConsumer consumer = consumer(null, Duration.ofSeconds(1));
+        when(enrichmentService.enrichTransactions(anyList())).thenAnswer(invocation -> {
+            Thread.sleep(1200);
+            List<Transaction> batch = invocation.getArgument(0);
+            return batch.stream().map(SqsTransactionConsumerTest::enriched).toList();
+        });
+        when(sqsClient.changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class)))
+                .thenAnswer(invocation -> {
+                    ChangeMessageVisibilityBatchRequest request = invocation.getArgument(0);
+                    return ChangeMessageVisibilityBatchResponse.builder()
+                            .successful(request.entries().stream()
+                                    .map(entry -> ChangeMessageVisibilityBatchResultEntry.builder()
+                                            .id(entry.id())
+                                            .build())
+                                    .toList())
+                            .build();
+                });
+        stubDelete();
+        when(sqsClient.receiveMessage(any(ReceiveMessageRequest.class))).thenAnswer(invocation -> {
+            // An empty long poll
+            Thread.sleep(100);
+            return ReceiveMessageResponse.builder().build();
+        });
+
+        // When
+        consumer.start();
+        try {
+            consumer.process(List.of(message("m-1", VALID.formatted("txn-1"))));
+        } finally {
+            consumer.stop();
+        }
+
+        // Then
+        verify(sqsClient, atLeastOnce()).changeMessageVisibilityBatch(
+                argThat((ChangeMessageVisibilityBatchRequest request) -> request.entries().size() == 1
+                        && "rh-m-1".equals(request.entries().get(0).receiptHandle())
+                        && request.entries().get(0).visibilityTimeout() == 1));
+        assertThat(meterRegistry.counter("enrichment.ingestion.visibility.extensions").count())
+                .isGreaterThanOrEqualTo(1);
+        assertThat(deletedReceiptHandles()).containsExactly("rh-m-1");
+    }
+
+    private SqsTransactionConsumer consumer(WriteBehindTransactionWriter writer, Duration visibilityTimeout) {
+        when(writeBehindProvider.getIfAvailable()).thenReturn(writer);
+        return new SqsTransactionConsumer(sqsClient, enrichmentService, transactionRepository, writeBehindProvider,
+                meterRegistry,
+                QUEUE_URL, 1, Duration.ZERO, visibilityTimeout, Duration.ofMinutes(1), Duration.ofSeconds(5));
+    }
+
+    private void stubEnrichBatch() {
+        when(enrichmentService.enrichTransactions(anyList())).thenAnswer(invocation -> {
+            List<Transaction> batch = invocation.getArgument(0);
+            return batch.stream().map(SqsTransactionConsumerTest::enriched).toList();
+        });
+    }
+
+    private void stubDelete() {
+        when(sqsClient.deleteMessageBatch(any(DeleteMessageBatchRequest.class))).thenAnswer(invocation -> {
+            DeleteMessageBatchRequest request = invocation.getArgument(0);
+            return DeleteMessageBatchResponse.builder()
+                    .successful(request.entries().stream()
+                            .map(entry -> DeleteMessageBatchResultEntry.builder().id(entry.id()).build())
+                            .toList())
+                    .build();
+        });
+    }
+
+    private List<String> deletedReceiptHandles() {
+        ArgumentCaptor<DeleteMessageBatchRequest> captor = ArgumentCaptor.forClass(DeleteMessageBatchRequest.class);
+        verify(sqsClient, atLeastOnce()).deleteMessageBatch(captor.capture());
+        return captor.getAllValues().stream()
+                .flatMap(request -> request.entries().stream())
+                .map(DeleteMessageBatchRequestEntry::receiptHandle)
+                .toList();
+    }
+
+    private double count(String result) {
+        return meterRegistry.counter("enrichment.ingestion.messages", "result", result).count();
+    }
+
+    private static Message message(String id, String body) {
+        return Message.builder()
+                .messageId(id)
+                .receiptHandle("rh-" + id)
+                .body(body)
+                .build();
+    }
+
+    private static EnrichedTransaction enriched(Transaction transaction) {
+        return EnrichedTransaction.builder().transaction(transaction).build();
+    }
+}
@@ -0,0 +1,181 @@
+package com.mastercard.enrichment.infrastructure.job;
+
+import com.mastercard.enrichment.core.domain.EnrichedTransaction;
+import com.mastercard.enrichment.core.domain.EnrichmentJob;
+import com.mastercard.enrichment.core.domain.Transaction;
+import com.mastercard.enrichment.core.exception.EnrichmentException;
+import com.mastercard.enrichment.core.exception.JobRejectedException;
+import com.mastercard.enrichment.core.service.EnrichmentService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EnrichmentJobServiceImplTest {
+
+    @Mock
+    private EnrichmentService enrichmentService;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ThreadPoolExecutor jobExecutor;
+    private EnrichmentJobServiceImpl jobService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jobExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1),
+                new ThreadPoolExecutor.AbortPolicy());
+        EnrichmentJobStore jobStore = new EnrichmentJobStore(redisTemplate, meterRegistry, 100,
+                Duration.ofMinutes(1), false);
+        jobService = new EnrichmentJobServiceImpl(enrichmentService, jobStore, jobExecutor, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobExecutor.shutdownNow();
+    }
+
+    @Test
+    void submit_ShouldCompleteJobWithResult() throws InterruptedException {
+        // Given
+        Transaction transaction = transaction("txn-1");
+        when(enrichmentService.enrichTransaction(transaction)).thenReturn(EnrichedTransaction.builder()
+                .transaction(transaction)
+                .enrichedAt(Instant.now())
+                .build());
+
+        // When
+        EnrichmentJob queued = jobService.submit(transaction);
+        EnrichmentJob finished = awaitFinished(queued.getJobId());
+
+        // Then
+        assertThat(queued.getStatus()).isEqualTo(EnrichmentJob.Status.QUEUED);
+        assertThat(finished.getStatus()).isEqualTo(EnrichmentJob.Status.COMPLETED);
+        assertThat(finished.getResult().getTransaction().getTransactionId()).isEqualTo("txn-1");
+        assertThat(finished.getStartedAt()).isNotNull();
+        assertThat(meterRegistry.get("enrichment.jobs.wait").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("enrichment.jobs").tag("result", "completed").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void submit_WhenEnrichmentFails_ShouldRecordError() throws InterruptedException {
+        // Given
+        Transaction transaction = transaction("txn-1");
+        when(enrichmentService.enrichTransaction(transaction))
+                .thenThrow(new EnrichmentException("Unable to connect to Redis"));
+
+        // When
+        EnrichmentJob finished = awaitFinished(jobService.submit(transaction).getJobId());
+
+        // Then
+        assertThat(finished.getStatus()).isEqualTo(EnrichmentJob.Status.FAILED);
+        assertThat(finished.getError()).isEqualTo("Unable to connect to Redis");
+        assertThat(finished.getResult()).isNull();
+    }
+
+    @Test
+    void submit_WhenEnrichmentThrowsError_ShouldStillMarkJobFailed() throws InterruptedException {
+        // Given
+        Transaction transaction = transaction("txn-1");
+        when(enrichmentService.enrichTransaction(transaction)).thenThrow(new StackOverflowError());
+
+        // When
+        EnrichmentJob finished = awaitFinished(jobService.submit(transaction).getJobId());
+
+        // Then
+        assertThat(finished.getStatus()).isEqualTo(EnrichmentJob.Status.FAILED);
+        assertThat(finished.getError()).contains("StackOverflowError");
+        assertThat(meterRegistry.get("enrichment.jobs").tag("result", "failed").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void submit_WhenQueueFull_ShouldRejectAndForgetJob() throws InterruptedException {
+        // Given: one job running, one queued
+        CountDownLatch release = new CountDownLatch(1);
+        when(enrichmentService.enrichTransaction(any())).thenAnswer(invocation -> {
+            release.await();
+            return null;
+        });
+        EnrichmentJob running = jobService.submit(transaction("txn-1"));
+        EnrichmentJob queued = jobService.submit(transaction("txn-2"));
+
+        // When / Then
+        assertThatThrownBy(() -> jobService.submit(transaction("txn-3")))
+                .isInstanceOf(JobRejectedException.class);
+        assertThat(meterRegistry.get("enrichment.jobs").tag("result", "rejected").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("enrichment.jobs.store.size").gauge().value()).isEqualTo(2);
+
+        release.countDown();
+        assertThat(jobService.getJobs(List.of(running.getJobId(), queued.getJobId(), "unknown")))
+                .extracting(EnrichmentJob::getJobId)
+                .containsExactly(running.getJobId(), queued.getJobId());
+    }
+
+    @Test
+    void store_WithSpill_ShouldMoveJobsDisplacedBySizeToRedis() {
+        // Given
+        @SuppressWarnings("unchecked")
+        ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        EnrichmentJobStore jobStore = new EnrichmentJobStore(redisTemplate, meterRegistry, 1,
+                Duration.ofMinutes(1), true);
+
+        // When
+        jobStore.put(EnrichmentJob.builder().jobId("job-1").status(EnrichmentJob.Status.QUEUED).build());
+        jobStore.put(EnrichmentJob.builder().jobId("job-2").status(EnrichmentJob.Status.QUEUED).build());
+        jobStore.cleanUp();
+
+        // Then
+        verify(valueOperations).set(startsWith("enrichment:job:job-"), anyString(), eq(Duration.ofMinutes(1)));
+        assertThat(meterRegistry.get("enrichment.jobs.store.spilled").counter().count()).isEqualTo(1);
+    }
+
+    private EnrichmentJob awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            EnrichmentJob job = jobService.getJob(jobId).orElseThrow();
+            if (job.isFinished()) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Job " + jobId + " did not finish");
+    }
+
+    private static Transaction transaction(String transactionId) {
+        return Transaction.builder()
+                .transactionId(transactionId)
+                .merchantId("merch-456")
+                .amount(new BigDecimal("50.00"))
+                .currency("USD")
+                .build();
+    }
+}
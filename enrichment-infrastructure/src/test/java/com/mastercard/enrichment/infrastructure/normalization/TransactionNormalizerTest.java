@@ -0,0 +1,58 @@
+package com.mastercard.enrichment.infrastructure.normalization;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionNormalizerTest {
+
+    private final TransactionNormalizer normalizer = new TransactionNormalizer(100);
+
+    @Test
+    void normalizeMerchantName_WithPunctuation_ShouldMatchLegacyOutput() {
+        // When / Then
+        assertThat(normalizer.normalizeMerchantName("  Joe's Coffee Shop ")).isEqualTo("JOES COFFEE SHOP");
+        assertThat(normalizer.normalizeMerchantName("McDONALD'S #0042")).isEqualTo("MCDONALDS 0042");
+        assertThat(normalizer.normalizeMerchantName("7-Eleven")).isEqualTo("7ELEVEN");
+    }
+
+    @Test
+    void normalizeMerchantName_WithAccentsAndLigatures_ShouldFoldToAscii() {
+        // When / Then
+        assertThat(normalizer.normalizeMerchantName("Café Müller — Downtown")).isEqualTo("CAFE MULLER DOWNTOWN");
+        assertThat(normalizer.normalizeMerchantName("Straße Œuvre Łódź")).isEqualTo("STRASSE OEUVRE LODZ");
+        assertThat(normalizer.normalizeMerchantName("Café Bar")).isEqualTo("CAFE BAR");
+    }
+
+    @Test
+    void normalizeMerchantName_WithOtherScripts_ShouldKeepLetters() {
+        // When / Then
+        assertThat(normalizer.normalizeMerchantName("Кофе Хаус")).isEqualTo("КОФЕ ХАУС");
+        assertThat(normalizer.normalizeMerchantName("東京 Ramen")).isEqualTo("東京 RAMEN");
+    }
+
+    @Test
+    void normalizeMerchantName_WhenAlreadyNormalized_ShouldReturnSameInstance() {
+        // Given
+        String name = "AMAZON MARKETPLACE";
+
+        // When / Then
+        assertThat(normalizer.normalizeMerchantName(name)).isSameAs(name);
+        assertThat(normalizer.normalizeMerchantName(null)).isNull();
+        assertThat(TransactionNormalizer.isNormalized("AMAZON  MARKETPLACE")).isFalse();
+    }
+
+    @Test
+    void formatAmount_ShouldUseCurrencyMinorUnits() {
+        // When / Then
+        assertThat(normalizer.formatAmount(new BigDecimal("4.5"), "USD")).isEqualTo("4.50 USD");
+        assertThat(normalizer.formatAmount(new BigDecimal("1234.565"), "EUR")).isEqualTo("1234.57 EUR");
+        assertThat(normalizer.formatAmount(new BigDecimal("1200.4"), "JPY")).isEqualTo("1200 JPY");
+        assertThat(normalizer.formatAmount(new BigDecimal("1.2"), "BHD")).isEqualTo("1.200 BHD");
+        assertThat(normalizer.formatAmount(new BigDecimal("1E+3"), "XYZ")).isEqualTo("1000.00 XYZ");
+        assertThat(normalizer.formatAmount(new BigDecimal("4.50"), null)).isEqualTo("4.50");
+        assertThat(normalizer.formatAmount(null, "USD")).isNull();
+    }
+}
@@ -0,0 +1,125 @@
+package com.mastercard.enrichment.infrastructure.persistence;
+
+import com.mastercard.enrichment.core.domain.EnrichmentStatus;
+import com.mastercard.enrichment.core.domain.Transaction;
+import com.mastercard.enrichment.core.domain.TransactionPage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.testcontainers.containers.localstack.LocalStackContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
+import software.amazon.awssdk.enhanced.dynamodb.model.CreateTableEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.EnhancedGlobalSecondaryIndex;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.Projection;
+import software.amazon.awssdk.services.dynamodb.model.ProjectionType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the async repository against DynamoDB in LocalStack: mvn verify -Plocalstack
+ */
+@Testcontainers
+class DynamoDbAsyncTransactionRepositoryIT {
+
+    @Container
+    private static final LocalStackContainer LOCALSTACK = new LocalStackContainer(
+            DockerImageName.parse("localstack/localstack:3.0"))
+            .withServices(LocalStackContainer.Service.DYNAMODB);
+
+    private static final Instant BASE = Instant.parse("2026-01-01T00:00:00Z");
+
+    private DynamoDbAsyncTable<TransactionEntity> table;
+    private DynamoDbAsyncTransactionRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        DynamoDbAsyncClient dynamoDbClient = DynamoDbAsyncClient.builder()
+                .endpointOverride(LOCALSTACK.getEndpointOverride(LocalStackContainer.Service.DYNAMODB))
+                .region(Region.of(LOCALSTACK.getRegion()))
+                .credentialsProvider(StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create(LOCALSTACK.getAccessKey(), LOCALSTACK.getSecretKey())))
+                .httpClientBuilder(NettyNioAsyncHttpClient.builder())
+                .build();
+        DynamoDbEnhancedAsyncClient enhancedClient = DynamoDbEnhancedAsyncClient.builder()
+                .dynamoDbClient(dynamoDbClient)
+                .build();
+        table = enhancedClient.table(DynamoDbTransactionRepository.TABLE_NAME,
+                TransactionEntity.TABLE_SCHEMA);
+        table.createTable(CreateTableEnhancedRequest.builder()
+                .globalSecondaryIndices(EnhancedGlobalSecondaryIndex.builder()
+                        .indexName(TransactionEntity.MERCHANT_TIMESTAMP_INDEX)
+                        .projection(Projection.builder().projectionType(ProjectionType.ALL).build())
+                        .build())
+                .build()).join();
+
+        repository = new DynamoDbAsyncTransactionRepository(enhancedClient,
+                new StaticListableBeanFactory().getBeanProvider(WriteBehindTransactionWriter.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        table.deleteTable().join();
+    }
+
+    @Test
+    void save_ThenFindById_ShouldRoundTrip() {
+        // Given
+        Transaction transaction = transaction("txn-1", 0);
+
+        // When
+        repository.save(transaction).join();
+
+        // Then
+        assertThat(repository.findById("txn-1").join())
+                .hasValueSatisfying(found -> {
+                    assertThat(found.getMerchantId()).isEqualTo("merch-1");
+                    assertThat(found.getAmount()).isEqualByComparingTo("10.00");
+                    assertThat(found.getEnrichmentStatus()).isEqualTo(EnrichmentStatus.COMPLETED);
+                });
+        assertThat(repository.findById("txn-missing").join()).isEmpty();
+    }
+
+    @Test
+    void findByMerchantId_ShouldPageNewestFirst() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            repository.save(transaction("txn-" + i, i)).join();
+        }
+
+        // When
+        TransactionPage first = repository.findByMerchantId("merch-1", BASE, BASE.plusSeconds(60), 3, null).join();
+        TransactionPage second = repository.findByMerchantId("merch-1", BASE, BASE.plusSeconds(60), 3,
+                first.getNextPageToken()).join();
+
+        // Then
+        assertThat(first.getTransactions()).extracting(Transaction::getTransactionId)
+                .containsExactly("txn-4", "txn-3", "txn-2");
+        assertThat(second.getTransactions()).extracting(Transaction::getTransactionId)
+                .containsExactly("txn-1", "txn-0");
+    }
+
+    private Transaction transaction(String transactionId, int secondsAfterBase) {
+        return Transaction.builder()
+                .transactionId(transactionId)
+                .merchantId("merch-1")
+                .merchantName("Test Merchant")
+                .amount(new BigDecimal("10.00"))
+                .currency("USD")
+                .timestamp(BASE.plusSeconds(secondsAfterBase))
+                .enrichmentStatus(EnrichmentStatus.COMPLETED)
+                .build();
+    }
+}
@@ -0,0 +1,116 @@
+package com.mastercard.enrichment.infrastructure.persistence;
+
+import com.mastercard.enrichment.core.domain.EnrichmentStatus;
+import com.mastercard.enrichment.core.domain.Transaction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbIndex;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.TableMetadata;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionEntitySchemaTest {
+
+    @Mock
+    private DynamoDbEnhancedClient enhancedClient;
+
+    @Mock
+    private DynamoDbTable<TransactionEntity> table;
+
+    @Mock
+    private DynamoDbIndex<TransactionEntity> merchantIndex;
+
+    @Test
+    void tableSchema_ShouldRoundTripEveryAttribute() {
+        // Given
+        TransactionEntity entity = TransactionEntityMapper.toEntity(transaction());
+
+        // When
+        Map<String, AttributeValue> item = TransactionEntity.TABLE_SCHEMA.itemToMap(entity, true);
+        TransactionEntity read = TransactionEntity.TABLE_SCHEMA.mapToItem(item);
+
+        // Then
+        assertThat(item).hasSize(12);
+        assertThat(item.get("amount").n()).isEqualTo("123.45");
+        assertThat(item.get("timestamp").n()).isEqualTo("1767225600");
+        assertThat(read).isEqualTo(entity);
+        assertThat(TransactionEntityMapper.toDomain(read)).isEqualTo(transaction());
+    }
+
+    @Test
+    void tableSchema_ShouldDeclareTableAndMerchantIndexKeys() {
+        // When
+        TableMetadata metadata = TransactionEntity.TABLE_SCHEMA.tableMetadata();
+
+        // Then
+        assertThat(metadata.primaryPartitionKey()).isEqualTo("transactionId");
+        assertThat(metadata.indexPartitionKey(TransactionEntity.MERCHANT_TIMESTAMP_INDEX)).isEqualTo("merchantId");
+        assertThat(metadata.indexSortKey(TransactionEntity.MERCHANT_TIMESTAMP_INDEX)).contains("timestamp");
+        assertThat(MerchantCategoryEntity.TABLE_SCHEMA.tableMetadata().primaryPartitionKey()).isEqualTo("merchantId");
+    }
+
+    @Test
+    void tableSchema_ShouldSkipNullAttributes() {
+        // When
+        Map<String, AttributeValue> item = TransactionEntity.TABLE_SCHEMA.itemToMap(
+                TransactionEntity.builder().transactionId("txn-1").build(), true);
+
+        // Then
+        assertThat(item).containsOnlyKeys("transactionId");
+    }
+
+    @Test
+    void repository_ShouldBuildTableOnceAndReuseIt() {
+        // Given
+        when(enhancedClient.table(DynamoDbTransactionRepository.TABLE_NAME, TransactionEntity.TABLE_SCHEMA))
+                .thenReturn(table);
+        when(table.index(TransactionEntity.MERCHANT_TIMESTAMP_INDEX)).thenReturn(merchantIndex);
+        when(table.getItem(any(Key.class))).thenReturn(TransactionEntityMapper.toEntity(transaction()));
+        DynamoDbTransactionRepository repository = new DynamoDbTransactionRepository(enhancedClient,
+                new StaticListableBeanFactory().getBeanProvider(WriteBehindTransactionWriter.class));
+
+        // When
+        repository.save(transaction());
+        repository.findById("txn-123");
+        repository.findById("txn-123");
+        repository.delete("txn-123");
+
+        // Then
+        verify(enhancedClient, times(1))
+                .table(DynamoDbTransactionRepository.TABLE_NAME, TransactionEntity.TABLE_SCHEMA);
+        verify(table).putItem(any(TransactionEntity.class));
+        verify(table, times(2)).getItem(any(Key.class));
+        verify(table).deleteItem(any(Key.class));
+    }
+
+    private static Transaction transaction() {
+        return Transaction.builder()
+                .transactionId("txn-123")
+                .merchantId("merch-456")
+                .merchantName("Test Restaurant")
+                .amount(new BigDecimal("123.45"))
+                .currency("USD")
+                .timestamp(Instant.parse("2026-01-01T00:00:00Z"))
+                .country("US")
+                .city("New York")
+                .latitude(40.7128)
+                .longitude(-74.0060)
+                .enrichmentStatus(EnrichmentStatus.COMPLETED)
+                .enrichedAt(Instant.parse("2026-01-01T00:00:01Z"))
+                .build();
+    }
+}
@@ -0,0 +1,117 @@
+package com.mastercard.enrichment.infrastructure.persistence;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.localstack.LocalStackContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the write-behind writer against DynamoDB in LocalStack: mvn verify -Plocalstack
+ */
+@Testcontainers
+class WriteBehindTransactionWriterIT {
+
+    @Container
+    private static final LocalStackContainer LOCALSTACK = new LocalStackContainer(
+            DockerImageName.parse("localstack/localstack:3.0"))
+            .withServices(LocalStackContainer.Service.DYNAMODB);
+
+    private DynamoDbEnhancedClient enhancedClient;
+    private DynamoDbTable<TransactionEntity> table;
+    private SimpleMeterRegistry meterRegistry;
+    private WriteBehindTransactionWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        DynamoDbClient dynamoDbClient = DynamoDbClient.builder()
+                .endpointOverride(LOCALSTACK.getEndpointOverride(LocalStackContainer.Service.DYNAMODB))
+                .region(Region.of(LOCALSTACK.getRegion()))
+                .credentialsProvider(StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create(LOCALSTACK.getAccessKey(), LOCALSTACK.getSecretKey())))
+                .build();
+        enhancedClient = DynamoDbEnhancedClient.builder().dynamoDbClient(dynamoDbClient).build();
+        table = enhancedClient.table(DynamoDbTransactionRepository.TABLE_NAME,
+                TransactionEntity.TABLE_SCHEMA);
+        table.createTable();
+
+        meterRegistry = new SimpleMeterRegistry();
+        writer = new WriteBehindTransactionWriter(enhancedClient, meterRegistry, 1000,
+                Duration.ofMillis(20), Duration.ofMillis(100), 5, Duration.ofSeconds(10));
+        writer.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        table.deleteTable();
+    }
+
+    @Test
+    void enqueuedTransactions_ShouldAllBeWrittenByShutdown() throws InterruptedException {
+        // Given
+        int count = 120;
+        for (int i = 0; i < count; i++) {
+            writer.enqueue(entity("txn-" + i, "PENDING"));
+        }
+
+        // When
+        writer.stop();
+
+        // Then
+        assertThat(table.scan().items().stream().count()).isEqualTo(count);
+        assertThat(writer.getQueueDepth()).isZero();
+        assertThat(meterRegistry.get("enrichment.writebehind.items").tag("result", "written")
+                .counter().count()).isEqualTo(count);
+        assertThat(meterRegistry.get("enrichment.writebehind.flush.latency").timer().count())
+                .isGreaterThanOrEqualTo(count / WriteBehindTransactionWriter.MAX_BATCH_SIZE);
+    }
+
+    @Test
+    void repeatedWritesOfSameTransaction_ShouldKeepLatestVersion() throws InterruptedException {
+        // Given
+        CompletableFuture<Void> firstFlushed = writer.nextWrite("txn-1");
+        writer.enqueue(entity("txn-1", "IN_PROGRESS"));
+        CompletableFuture<Void> secondFlushed = writer.nextWrite("txn-1");
+        writer.enqueue(entity("txn-1", "FAILED"));
+        assertThat(writer.findPending("txn-1").getEnrichmentStatus()).isEqualTo("FAILED");
+
+        // When
+        writer.stop();
+
+        // Then
+        assertThat(firstFlushed).isCompleted();
+        assertThat(secondFlushed).isCompleted();
+        TransactionEntity stored = table.getItem(Key.builder().partitionValue("txn-1").build());
+        assertThat(stored.getEnrichmentStatus()).isEqualTo("FAILED");
+        assertThat(writer.findPending("txn-1")).isNull();
+    }
+
+    private TransactionEntity entity(String transactionId, String status) {
+        return TransactionEntity.builder()
+                .transactionId(transactionId)
+                .merchantId("merch-1")
+                .merchantName("Test Merchant")
+                .amount(new BigDecimal("10.00"))
+                .currency("USD")
+                .timestamp(Instant.now().getEpochSecond())
+                .enrichmentStatus(status)
+                .build();
+    }
+}
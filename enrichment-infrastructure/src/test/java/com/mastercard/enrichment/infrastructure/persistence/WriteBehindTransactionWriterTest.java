@@ -0,0 +1,217 @@
+package com.mastercard.enrichment.infrastructure.persistence;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WriteBehindTransactionWriterTest {
+
+    @Mock
+    private DynamoDbClient dynamoDbClient;
+
+    private SimpleMeterRegistry meterRegistry;
+    private WriteBehindTransactionWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        writer = new WriteBehindTransactionWriter(
+                DynamoDbEnhancedClient.builder().dynamoDbClient(dynamoDbClient).build(), meterRegistry,
+                100, Duration.ofMillis(10), Duration.ofMillis(100), 3, Duration.ofSeconds(1));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writer.stop();
+    }
+
+    @Test
+    void nextWrite_WhenFirstBatchLeavesItemsUnprocessed_ShouldCompleteAfterRetry() throws Exception {
+        // Given
+        when(dynamoDbClient.batchWriteItem(any(BatchWriteItemRequest.class)))
+                .thenAnswer(invocation -> {
+                    BatchWriteItemRequest request = invocation.getArgument(0);
+                    // Throttled: everything comes back unprocessed, as DynamoDB returns it
+                    return BatchWriteItemResponse.builder()
+                            .unprocessedItems(request.requestItems())
+                            .build();
+                })
+                .thenReturn(BatchWriteItemResponse.builder().build());
+        writer.start();
+        CompletableFuture<Void> write = writer.nextWrite("txn-1");
+
+        // When
+        writer.enqueue(entity("txn-1"));
+        write.get(5, TimeUnit.SECONDS);
+
+        // Then
+        verify(dynamoDbClient, times(2)).batchWriteItem(any(BatchWriteItemRequest.class));
+        assertThat(writer.findPending("txn-1")).isNull();
+        assertThat(meterRegistry.counter("enrichment.writebehind.retries").count()).isEqualTo(1);
+        assertThat(meterRegistry.get("enrichment.writebehind.items").tag("result", "written")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void unwatch_ShouldTellWhetherAWriteWasBufferedSinceNextWrite() {
+        // Given
+        when(dynamoDbClient.batchWriteItem(any(BatchWriteItemRequest.class)))
+                .thenReturn(BatchWriteItemResponse.builder().build());
+        writer.start();
+        CompletableFuture<Void> before = writer.nextWrite("txn-1");
+        CompletableFuture<Void> untouched = writer.nextWrite("txn-2");
+
+        // When
+        writer.enqueue(entity("txn-1"));
+
+        // Then
+        assertThat(writer.unwatch("txn-1", before)).isFalse();
+        assertThat(writer.unwatch("txn-2", untouched)).isTrue();
+        assertThat(untouched).isNotDone();
+    }
+
+    @Test
+    void delete_AfterBufferedPut_ShouldHidePendingCopyAndBeWrittenLast() throws Exception {
+        // Given
+        when(dynamoDbClient.batchWriteItem(any(BatchWriteItemRequest.class)))
+                .thenReturn(BatchWriteItemResponse.builder().build());
+        writer.start();
+        writer.enqueue(entity("txn-1"));
+
+        // When
+        writer.delete("txn-1");
+
+        // Then
+        assertThat(writer.findPending("txn-1")).isNull();
+        assertThat(writer.isDeletePending("txn-1")).isTrue();
+        writer.stop();
+        ArgumentCaptor<BatchWriteItemRequest> captor = ArgumentCaptor.forClass(BatchWriteItemRequest.class);
+        verify(dynamoDbClient, atLeastOnce()).batchWriteItem(captor.capture());
+        List<WriteRequest> last = captor.getValue().requestItems().get(DynamoDbTransactionRepository.TABLE_NAME);
+        assertThat(last).hasSize(1);
+        assertThat(last.get(0).deleteRequest().key().get("transactionId").s()).isEqualTo("txn-1");
+        assertThat(writer.isDeletePending("txn-1")).isFalse();
+    }
+
+    @Test
+    void enqueueAsync_WhenBufferFull_ShouldFailWithoutWaiting() throws Exception {
+        // Given
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(dynamoDbClient.batchWriteItem(any(BatchWriteItemRequest.class))).thenAnswer(invocation -> {
+            flushing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return BatchWriteItemResponse.builder().build();
+        });
+        writer = new WriteBehindTransactionWriter(
+                DynamoDbEnhancedClient.builder().dynamoDbClient(dynamoDbClient).build(), meterRegistry,
+                1, Duration.ofMillis(10), Duration.ofSeconds(5), 3, Duration.ofSeconds(1));
+        writer.start();
+        writer.enqueue(entity("txn-1"));
+        assertThat(flushing.await(5, TimeUnit.SECONDS)).isTrue();
+        writer.enqueue(entity("txn-2"));
+
+        // When
+        long started = System.nanoTime();
+        CompletableFuture<Void> result = writer.enqueueAsync(entity("txn-3"),
+                entity -> CompletableFuture.failedFuture(new AssertionError("writer is running")));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        release.countDown();
+
+        // Then
+        assertThat(result).isCompletedExceptionally();
+        assertThat(elapsedMillis).isLessThan(1000);
+        assertThat(writer.findPending("txn-3")).isNull();
+    }
+
+    @Test
+    void enqueueAsync_WhenBufferFullWithOlderVersionQueued_ShouldKeepOlderVersionPendingAndWritten()
+            throws Exception {
+        // Given
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(dynamoDbClient.batchWriteItem(any(BatchWriteItemRequest.class))).thenAnswer(invocation -> {
+            flushing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return BatchWriteItemResponse.builder().build();
+        });
+        writer = new WriteBehindTransactionWriter(
+                DynamoDbEnhancedClient.builder().dynamoDbClient(dynamoDbClient).build(), meterRegistry,
+                1, Duration.ofMillis(10), Duration.ofSeconds(5), 3, Duration.ofSeconds(1));
+        writer.start();
+        writer.enqueue(entity("txn-0"));
+        assertThat(flushing.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Void> olderWrite = writer.nextWrite("txn-1");
+        TransactionEntity older = entity("txn-1");
+        writer.enqueue(older);
+        TransactionEntity newer = entity("txn-1");
+        newer.setMerchantName("Renamed Cafe");
+
+        // When
+        CompletableFuture<Void> rejected = writer.enqueueAsync(newer,
+                entity -> CompletableFuture.failedFuture(new AssertionError("writer is running")));
+
+        // Then
+        assertThat(rejected).isCompletedExceptionally();
+        assertThat(writer.findPending("txn-1")).isSameAs(older);
+        assertThat(olderWrite).isNotDone();
+        release.countDown();
+        olderWrite.get(5, TimeUnit.SECONDS);
+        assertThat(writer.findPending("txn-1")).isNull();
+    }
+
+    @Test
+    void enqueueAsync_WhenStopped_ShouldWriteThroughDirectWriteAndNotifyWatchers() throws Exception {
+        // Given
+        writer.start();
+        writer.stop();
+        CompletableFuture<Void> watcher = writer.nextWrite("txn-1");
+        CompletableFuture<Void> direct = new CompletableFuture<>();
+
+        // When
+        CompletableFuture<Void> result = writer.enqueueAsync(entity("txn-1"), entity -> direct);
+
+        // Then
+        assertThat(result).isNotDone();
+        assertThat(watcher).isNotDone();
+        direct.complete(null);
+        assertThat(result).isCompleted();
+        assertThat(watcher).isCompleted();
+        verifyNoInteractions(dynamoDbClient);
+    }
+
+    private static TransactionEntity entity(String transactionId) {
+        return TransactionEntity.builder()
+                .transactionId(transactionId)
+                .merchantId("merch-1")
+                .merchantName("Cafe")
+                .amount(new BigDecimal("10.00"))
+                .currency("USD")
+                .timestamp(Instant.parse("2026-01-01T00:00:00Z").getEpochSecond())
+                .enrichmentStatus("COMPLETED")
+                .build();
+    }
+}
@@ -0,0 +1,181 @@
+package com.mastercard.enrichment.infrastructure.s3;
+
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.core.sync.ResponseTransformer;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Just enough of S3 in memory for the file enrichment pipeline: objects with ETags, ranged reads
+ * and multipart uploads, plus hooks to fail one part upload or one delete
+ */
+class InMemoryS3 implements InvocationHandler {
+
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    private final Map<String, String> eTags = new ConcurrentHashMap<>();
+    private final Map<String, TreeMap<Integer, byte[]>> uploads = new ConcurrentHashMap<>();
+    private final Set<String> abortedUploads = new HashSet<>();
+    private final Set<Integer> failingParts = new HashSet<>();
+    private final Set<String> failingDeletes = new HashSet<>();
+
+    final S3Client client = (S3Client) Proxy.newProxyInstance(S3Client.class.getClassLoader(),
+            new Class<?>[] { S3Client.class }, this);
+
+    void put(String bucket, String key, byte[] bytes) {
+        objects.put(bucket + "/" + key, bytes);
+        eTags.put(bucket + "/" + key, "\"" + UUID.randomUUID() + "\"");
+    }
+
+    byte[] get(String bucket, String key) {
+        return objects.get(bucket + "/" + key);
+    }
+
+    boolean exists(String bucket, String key) {
+        return objects.containsKey(bucket + "/" + key);
+    }
+
+    Set<String> abortedUploads() {
+        return abortedUploads;
+    }
+
+    /** The next upload of this part number fails once */
+    void failUploadOf(int partNumber) {
+        failingParts.add(partNumber);
+    }
+
+    /** The next delete of this key fails once */
+    void failDeleteOf(String bucket, String key) {
+        failingDeletes.add(bucket + "/" + key);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (args != null && args.length > 0 && args[0] instanceof Consumer) {
+            // Consumer-builder overloads build the request and call the overload handled below
+            return InvocationHandler.invokeDefault(proxy, method, args);
+        }
+        return switch (method.getName()) {
+            case "headObject" -> headObject((HeadObjectRequest) args[0]);
+            case "getObject" -> getObject((GetObjectRequest) args[0], args.length > 1
+                    ? (ResponseTransformer<GetObjectResponse, ?>) args[1]
+                    : ResponseTransformer.toInputStream());
+            case "getObjectAsBytes" -> getObject((GetObjectRequest) args[0], ResponseTransformer.toBytes());
+            case "putObject" -> putObject((PutObjectRequest) args[0], (RequestBody) args[1]);
+            case "deleteObject" -> deleteObject((DeleteObjectRequest) args[0]);
+            case "createMultipartUpload" -> createMultipartUpload();
+            case "uploadPart" -> uploadPart((UploadPartRequest) args[0], (RequestBody) args[1]);
+            case "completeMultipartUpload" -> completeMultipartUpload((CompleteMultipartUploadRequest) args[0]);
+            case "listParts" -> listParts((ListPartsRequest) args[0]);
+            case "abortMultipartUpload" -> abortMultipartUpload((AbortMultipartUploadRequest) args[0]);
+            case "serviceName" -> "s3";
+            case "close" -> null;
+            default -> throw new UnsupportedOperationException(method.getName());
+        };
+    }
+
+    private HeadObjectResponse headObject(HeadObjectRequest request) {
+        byte[] bytes = require(request.bucket(), request.key());
+        return HeadObjectResponse.builder()
+                .eTag(eTags.get(request.bucket() + "/" + request.key()))
+                .contentLength((long) bytes.length)
+                .build();
+    }
+
+    private Object getObject(GetObjectRequest request, ResponseTransformer<GetObjectResponse, ?> transformer)
+            throws Exception {
+        byte[] bytes = require(request.bucket(), request.key());
+        if (request.range() != null) {
+            int from = Integer.parseInt(request.range().substring("bytes=".length(), request.range().length() - 1));
+            bytes = Arrays.copyOfRange(bytes, from, bytes.length);
+        }
+        GetObjectResponse response = GetObjectResponse.builder().contentLength((long) bytes.length).build();
+        return transformer.transform(response, AbortableInputStream.create(new ByteArrayInputStream(bytes)));
+    }
+
+    private PutObjectResponse putObject(PutObjectRequest request, RequestBody body) throws IOException {
+        put(request.bucket(), request.key(), read(body));
+        return PutObjectResponse.builder().build();
+    }
+
+    private DeleteObjectResponse deleteObject(DeleteObjectRequest request) {
+        if (failingDeletes.remove(request.bucket() + "/" + request.key())) {
+            throw S3Exception.builder().message("Injected failure deleting " + request.key()).statusCode(500).build();
+        }
+        objects.remove(request.bucket() + "/" + request.key());
+        return DeleteObjectResponse.builder().build();
+    }
+
+    private CreateMultipartUploadResponse createMultipartUpload() {
+        String uploadId = UUID.randomUUID().toString();
+        uploads.put(uploadId, new TreeMap<>());
+        return CreateMultipartUploadResponse.builder().uploadId(uploadId).build();
+    }
+
+    private synchronized UploadPartResponse uploadPart(UploadPartRequest request, RequestBody body) throws IOException {
+        if (failingParts.remove(request.partNumber())) {
+            throw S3Exception.builder().message("Injected failure uploading part " + request.partNumber())
+                    .statusCode(500).build();
+        }
+        uploads.get(request.uploadId()).put(request.partNumber(), read(body));
+        return UploadPartResponse.builder().eTag("\"part-" + request.partNumber() + "\"").build();
+    }
+
+    private CompleteMultipartUploadResponse completeMultipartUpload(CompleteMultipartUploadRequest request)
+            throws IOException {
+        TreeMap<Integer, byte[]> parts = uploads.remove(request.uploadId());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        for (CompletedPart part : request.multipartUpload().parts()) {
+            output.write(parts.get(part.partNumber()));
+        }
+        put(request.bucket(), request.key(), output.toByteArray());
+        return CompleteMultipartUploadResponse.builder().build();
+    }
+
+    private synchronized ListPartsResponse listParts(ListPartsRequest request) {
+        TreeMap<Integer, byte[]> parts = uploads.get(request.uploadId());
+        if (parts == null) {
+            throw NoSuchUploadException.builder().message("No such upload: " + request.uploadId())
+                    .statusCode(404).build();
+        }
+        return ListPartsResponse.builder()
+                .parts(parts.keySet().stream().map(number -> Part.builder().partNumber(number).build()).toList())
+                .build();
+    }
+
+    private synchronized AbortMultipartUploadResponse abortMultipartUpload(AbortMultipartUploadRequest request) {
+        uploads.remove(request.uploadId());
+        abortedUploads.add(request.uploadId());
+        return AbortMultipartUploadResponse.builder().build();
+    }
+
+    private byte[] require(String bucket, String key) {
+        byte[] bytes = objects.get(bucket + "/" + key);
+        if (bytes == null) {
+            throw NoSuchKeyException.builder().message("No such key: " + key).statusCode(404).build();
+        }
+        return bytes;
+    }
+
+    private static byte[] read(RequestBody body) throws IOException {
+        try (InputStream stream = body.contentStreamProvider().newStream()) {
+            return stream.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.mastercard.enrichment.infrastructure.s3;
+
+import com.mastercard.enrichment.core.domain.EnrichedTransaction;
+import com.mastercard.enrichment.core.domain.FileEnrichmentRun;
+import com.mastercard.enrichment.core.service.EnrichmentService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import org.testcontainers.containers.localstack.LocalStackContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the file enrichment pipeline against S3 in LocalStack, with enough records for several
+ * real (5 MiB minimum) multipart parts: mvn verify -Plocalstack
+ */
+@Testcontainers
+class S3FileEnrichmentPipelineIT {
+
+    private static final String BUCKET = "settlements";
+    private static final int RECORDS = 60_000;
+
+    @Container
+    private static final LocalStackContainer LOCALSTACK = new LocalStackContainer(
+            DockerImageName.parse("localstack/localstack:3.0"))
+            .withServices(LocalStackContainer.Service.S3);
+
+    private S3Client s3Client;
+    private ExecutorService executor;
+    private S3FileEnrichmentPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        s3Client = S3Client.builder()
+                .endpointOverride(LOCALSTACK.getEndpointOverride(LocalStackContainer.Service.S3))
+                .region(Region.of(LOCALSTACK.getRegion()))
+                .credentialsProvider(StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create(LOCALSTACK.getAccessKey(), LOCALSTACK.getSecretKey())))
+                .forcePathStyle(true)
+                .build();
+        s3Client.createBucket(b -> b.bucket(BUCKET));
+
+        executor = Executors.newFixedThreadPool(8);
+        EnrichmentService enrichmentService = mock(EnrichmentService.class);
+        when(enrichmentService.enrichTransaction(any())).thenAnswer(invocation ->
+                EnrichedTransaction.builder().transaction(invocation.getArgument(0)).build());
+        pipeline = new S3FileEnrichmentPipeline(s3Client, enrichmentService, executor, new SimpleMeterRegistry(),
+                500, DataSize.ofMegabytes(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        s3Client.close();
+    }
+
+    @Test
+    void run_ShouldEnrichCsvIntoMultipartJsonLinesObject() throws Exception {
+        // Given
+        StringBuilder csv = new StringBuilder("transaction_id,merchant_id,merchant_name,amount,currency\n");
+        for (int i = 1; i <= RECORDS; i++) {
+            csv.append("txn-").append(i).append(",merch-").append(i % 100).append(",Merchant ").append(i % 100)
+                    .append(",").append(i % 500).append(".99,USD\n");
+        }
+        s3Client.putObject(b -> b.bucket(BUCKET).key("in/batch.csv"), RequestBody.fromString(csv.toString()));
+        FileEnrichmentRun run = FileEnrichmentRun.builder()
+                .runId("run-1")
+                .bucket(BUCKET)
+                .inputKey("in/batch.csv")
+                .outputBucket(BUCKET)
+                .outputKey("out/batch.enriched.jsonl")
+                .build();
+
+        // When
+        FileEnrichmentRun result = pipeline.run(run, progress -> { });
+
+        // Then
+        assertThat(result.getRecordsEnriched()).isEqualTo(RECORDS);
+        assertThat(result.getPartsUploaded()).isGreaterThan(1);
+        long lines;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                s3Client.getObject(b -> b.bucket(BUCKET).key("out/batch.enriched.jsonl")),
+                StandardCharsets.UTF_8))) {
+            lines = reader.lines().count();
+        }
+        assertThat(lines).isEqualTo(RECORDS);
+        assertThat(s3Client.listObjectsV2(b -> b.bucket(BUCKET).prefix("out/")).contents())
+                .extracting(S3Object::key)
+                .containsExactly("out/batch.enriched.jsonl");
+    }
+}
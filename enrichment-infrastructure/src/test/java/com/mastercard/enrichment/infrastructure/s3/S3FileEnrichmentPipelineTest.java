@@ -0,0 +1,209 @@
+package com.mastercard.enrichment.infrastructure.s3;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mastercard.enrichment.core.domain.EnrichedTransaction;
+import com.mastercard.enrichment.core.domain.FileEnrichmentRun;
+import com.mastercard.enrichment.core.domain.Transaction;
+import com.mastercard.enrichment.core.exception.EnrichmentException;
+import com.mastercard.enrichment.core.service.EnrichmentService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class S3FileEnrichmentPipelineTest {
+
+    private static final String BUCKET = "settlements";
+    private static final String OUTPUT_KEY = "out/batch.enriched.jsonl";
+
+    @Mock
+    private EnrichmentService enrichmentService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger enrichmentCalls = new AtomicInteger();
+    private InMemoryS3 s3;
+    private ExecutorService executor;
+    private S3FileEnrichmentPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        s3 = new InMemoryS3();
+        executor = Executors.newFixedThreadPool(4);
+        // Parts far below the S3 minimum, which the in-memory store does not enforce
+        pipeline = new S3FileEnrichmentPipeline(s3.client, enrichmentService, executor, new SimpleMeterRegistry(),
+                10, 2048);
+        lenient().when(enrichmentService.enrichTransaction(any())).thenAnswer(invocation -> {
+            enrichmentCalls.incrementAndGet();
+            Transaction transaction = invocation.getArgument(0);
+            if ("merch-broken".equals(transaction.getMerchantId())) {
+                throw new EnrichmentException("Merchant lookup failed");
+            }
+            return EnrichedTransaction.builder().transaction(transaction).build();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void run_Csv_ShouldWriteOneJsonLinePerRecordInInputOrder() throws IOException {
+        // Given
+        s3.put(BUCKET, "in/batch.csv", String.join("\n",
+                "transaction_id,merchant_id,merchant_name,amount,currency",
+                "txn-1,merch-1,\"Joe's Cafe, Downtown\",12.50,USD",
+                "txn-2,merch-broken,Broken,3.00,USD",
+                "txn-3,merch-3,No Amount,,USD",
+                "",
+                "txn-4,merch-4,\"The \"\"Best\"\" Diner\",7.25,EUR\r").getBytes(StandardCharsets.UTF_8));
+
+        // When
+        FileEnrichmentRun result = pipeline.run(run("in/batch.csv"), progress -> { });
+
+        // Then
+        List<JsonNode> output = output();
+        assertThat(output).extracting(line -> line.get("line").asLong()).containsExactly(2L, 3L, 4L, 6L);
+        assertThat(output).extracting(line -> line.get("status").asText())
+                .containsExactly("ENRICHED", "FAILED", "FAILED", "ENRICHED");
+        assertThat(output.get(0).at("/result/transaction/merchantName").asText()).isEqualTo("Joe's Cafe, Downtown");
+        assertThat(output.get(1).get("error").asText()).isEqualTo("Merchant lookup failed");
+        assertThat(output.get(2).get("error").asText()).isEqualTo("Missing amount");
+        assertThat(output.get(3).at("/result/transaction/merchantName").asText()).isEqualTo("The \"Best\" Diner");
+        assertThat(result.getLinesRead()).isEqualTo(6);
+        assertThat(result.getRecordsEnriched()).isEqualTo(2);
+        assertThat(result.getRecordsFailed()).isEqualTo(2);
+        assertThat(s3.exists(BUCKET, OUTPUT_KEY + S3FileEnrichmentPipeline.CHECKPOINT_SUFFIX)).isFalse();
+    }
+
+    @Test
+    void run_AfterFailedPartUpload_ShouldResumeFromCheckpointWritingEachLineOnce() throws IOException {
+        // Given
+        int records = 300;
+        s3.put(BUCKET, "in/batch.jsonl", jsonLines(records));
+        s3.failUploadOf(3);
+        assertThatThrownBy(() -> pipeline.run(run("in/batch.jsonl"), progress -> { }))
+                .isInstanceOf(S3Exception.class);
+        assertThat(s3.exists(BUCKET, OUTPUT_KEY + S3FileEnrichmentPipeline.CHECKPOINT_SUFFIX)).isTrue();
+        enrichmentCalls.set(0);
+
+        // When
+        FileEnrichmentRun result = pipeline.run(run("in/batch.jsonl"), progress -> { });
+
+        // Then
+        assertThat(result.getResumedFromLine()).isPositive();
+        assertThat(enrichmentCalls.get()).isEqualTo(records - result.getResumedFromLine());
+        assertThat(result.getRecordsEnriched()).isEqualTo(records);
+        assertThat(output()).extracting(line -> line.get("transactionId").asText())
+                .containsExactlyElementsOf(transactionIds(records));
+        assertThat(s3.exists(BUCKET, OUTPUT_KEY + S3FileEnrichmentPipeline.CHECKPOINT_SUFFIX)).isFalse();
+    }
+
+    @Test
+    void run_WhenInputChangedSinceCheckpoint_ShouldStartOver() throws IOException {
+        // Given
+        s3.put(BUCKET, "in/batch.jsonl", jsonLines(300));
+        s3.failUploadOf(3);
+        assertThatThrownBy(() -> pipeline.run(run("in/batch.jsonl"), progress -> { }))
+                .isInstanceOf(S3Exception.class);
+        s3.put(BUCKET, "in/batch.jsonl", jsonLines(50));
+
+        // When
+        FileEnrichmentRun result = pipeline.run(run("in/batch.jsonl"), progress -> { });
+
+        // Then
+        assertThat(result.getResumedFromLine()).isZero();
+        assertThat(s3.abortedUploads()).hasSize(1);
+        assertThat(output()).extracting(line -> line.get("transactionId").asText())
+                .containsExactlyElementsOf(transactionIds(50));
+    }
+
+    @Test
+    void run_AfterCompletedUploadWithLeftoverCheckpoint_ShouldFinishWithoutEnrichingAgain() throws IOException {
+        // Given
+        int records = 300;
+        s3.put(BUCKET, "in/batch.jsonl", jsonLines(records));
+        s3.failDeleteOf(BUCKET, OUTPUT_KEY + S3FileEnrichmentPipeline.CHECKPOINT_SUFFIX);
+        assertThatThrownBy(() -> pipeline.run(run("in/batch.jsonl"), progress -> { }))
+                .isInstanceOf(S3Exception.class);
+        byte[] completed = s3.get(BUCKET, OUTPUT_KEY);
+        enrichmentCalls.set(0);
+
+        // When
+        FileEnrichmentRun result = pipeline.run(run("in/batch.jsonl"), progress -> { });
+
+        // Then
+        assertThat(enrichmentCalls.get()).isZero();
+        assertThat(result.getRecordsEnriched()).isEqualTo(records);
+        assertThat(s3.get(BUCKET, OUTPUT_KEY)).isEqualTo(completed);
+        assertThat(output()).extracting(line -> line.get("transactionId").asText())
+                .containsExactlyElementsOf(transactionIds(records));
+        assertThat(s3.exists(BUCKET, OUTPUT_KEY + S3FileEnrichmentPipeline.CHECKPOINT_SUFFIX)).isFalse();
+    }
+
+    @Test
+    void constructor_WithPartSizeBelowS3Minimum_ShouldReject() {
+        // When / Then
+        assertThatThrownBy(() -> new S3FileEnrichmentPipeline(s3.client, enrichmentService, executor,
+                new SimpleMeterRegistry(), 10, DataSize.ofMegabytes(4)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("part-size");
+    }
+
+    private FileEnrichmentRun run(String inputKey) {
+        return FileEnrichmentRun.builder()
+                .runId("run-1")
+                .bucket(BUCKET)
+                .inputKey(inputKey)
+                .outputBucket(BUCKET)
+                .outputKey(OUTPUT_KEY)
+                .status(FileEnrichmentRun.Status.RUNNING)
+                .build();
+    }
+
+    private List<JsonNode> output() throws IOException {
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : new String(s3.get(BUCKET, OUTPUT_KEY), StandardCharsets.UTF_8).split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+
+    private static byte[] jsonLines(int count) {
+        StringBuilder lines = new StringBuilder();
+        for (String transactionId : transactionIds(count)) {
+            lines.append("{\"transactionId\":\"").append(transactionId)
+                    .append("\",\"merchantId\":\"merch-1\",\"merchantName\":\"Starbucks\",")
+                    .append("\"amount\":4.50,\"currency\":\"USD\",\"timestamp\":\"2026-01-01T00:00:00Z\"}\n");
+        }
+        return lines.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> transactionIds(int count) {
+        List<String> ids = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            ids.add("txn-" + i);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,59 @@
+package com.mastercard.enrichment.infrastructure.s3;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mastercard.enrichment.core.domain.Transaction;
+import com.mastercard.enrichment.core.exception.UnsupportedFileFormatException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransactionRecordParserTest {
+
+    @Test
+    void parse_Csv_ShouldMapColumnsByHeaderNameIgnoringCaseAndSeparators() {
+        // Given
+        List<String> header = TransactionRecordParser.splitCsv("Currency,AMOUNT,unused,transaction-id,merchantId,TIMESTAMP,latitude");
+        TransactionRecordParser parser = new TransactionRecordParser(RecordFormat.CSV, header, new ObjectMapper());
+
+        // When
+        Transaction transaction = parser.parse("GBP,9.99,x,txn-1,merch-1,2026-01-01T10:00:00Z,51.5");
+
+        // Then
+        assertThat(transaction.getTransactionId()).isEqualTo("txn-1");
+        assertThat(transaction.getMerchantId()).isEqualTo("merch-1");
+        assertThat(transaction.getAmount()).isEqualByComparingTo(new BigDecimal("9.99"));
+        assertThat(transaction.getCurrency()).isEqualTo("GBP");
+        assertThat(transaction.getTimestamp()).isEqualTo(Instant.parse("2026-01-01T10:00:00Z"));
+        assertThat(transaction.getLatitude()).isEqualTo(51.5);
+    }
+
+    @Test
+    void parse_Csv_WithBadValue_ShouldNameTheColumn() {
+        // Given
+        TransactionRecordParser parser = new TransactionRecordParser(RecordFormat.CSV,
+                List.of("transactionId", "merchantId", "amount", "currency"), new ObjectMapper());
+
+        // When / Then
+        assertThatThrownBy(() -> parser.parse("txn-1,merch-1,ten,USD"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid value for column 3: ten");
+    }
+
+    @Test
+    void splitCsv_ShouldHandleQuotedCommasAndDoubledQuotes() {
+        assertThat(TransactionRecordParser.splitCsv("a,\"b, c\",\"say \"\"hi\"\"\",,e"))
+                .containsExactly("a", "b, c", "say \"hi\"", "", "e");
+    }
+
+    @Test
+    void fromKey_ShouldRejectUnknownExtensions() {
+        assertThat(RecordFormat.fromKey("in/Batch.NDJSON")).isEqualTo(RecordFormat.JSON_LINES);
+        assertThatThrownBy(() -> RecordFormat.fromKey("in/batch.xlsx"))
+                .isInstanceOf(UnsupportedFileFormatException.class);
+    }
+}
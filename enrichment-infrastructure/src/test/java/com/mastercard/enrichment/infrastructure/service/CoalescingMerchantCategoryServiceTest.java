@@ -0,0 +1,76 @@
+package com.mastercard.enrichment.infrastructure.service;
+
+import com.mastercard.enrichment.core.domain.MerchantCategory;
+import com.mastercard.enrichment.core.service.MerchantCategoryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CoalescingMerchantCategoryServiceTest {
+
+    private static final int CALLERS = 16;
+
+    @Mock
+    private MerchantCategoryService delegate;
+
+    @Test
+    void getCategoryByMerchantId_WithSimultaneousMisses_ShouldLoadOnce() throws Exception {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CoalescingMerchantCategoryService service =
+                new CoalescingMerchantCategoryService(delegate, meterRegistry, Duration.ofSeconds(5));
+        MerchantCategory category = MerchantCategory.builder()
+                .merchantId("merch-1")
+                .categoryName("Restaurant")
+                .build();
+        when(delegate.getCategoryByMerchantId("merch-1")).thenAnswer(invocation -> {
+            // Hold the load open until every other caller is waiting on it
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (coalesced(meterRegistry) < CALLERS - 1 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            return Optional.of(category);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+        // When
+        List<Future<Optional<MerchantCategory>>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> service.getCategoryByMerchantId("merch-1")));
+            }
+
+            // Then
+            for (Future<Optional<MerchantCategory>> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).contains(category);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(delegate, times(1)).getCategoryByMerchantId("merch-1");
+        assertThat(coalesced(meterRegistry)).isEqualTo(CALLERS - 1);
+    }
+
+    private static double coalesced(SimpleMeterRegistry meterRegistry) {
+        return meterRegistry.get("enrichment.coalescing.calls")
+                .tag("operation", "merchantCategory")
+                .tag("result", "coalesced")
+                .counter()
+                .count();
+    }
+}
@@ -1,21 +1,33 @@
 package com.mastercard.enrichment.infrastructure.service;
 
 import com.mastercard.enrichment.core.domain.*;
+import com.mastercard.enrichment.core.exception.EnrichmentException;
+import com.mastercard.enrichment.core.repository.AsyncTransactionRepository;
 import com.mastercard.enrichment.core.repository.TransactionRepository;
 import com.mastercard.enrichment.core.service.GeolocationService;
 import com.mastercard.enrichment.core.service.MerchantCategoryService;
+import com.mastercard.enrichment.infrastructure.concurrent.DependencyGuard;
+import com.mastercard.enrichment.infrastructure.metrics.EnrichmentMetrics;
+import com.mastercard.enrichment.infrastructure.normalization.TransactionNormalizer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -32,7 +44,13 @@ class EnrichmentServiceImplTest {
     @Mock
     private TransactionRepository transactionRepository;
     
-    @InjectMocks
+    @Mock
+    private AsyncTransactionRepository asyncTransactionRepository;
+    
+    @Mock
+    private PartialEnrichmentBackfill backfill;
+    
+    private SimpleMeterRegistry meterRegistry;
     private EnrichmentServiceImpl enrichmentService;
     
     private Transaction transaction;
@@ -41,6 +59,9 @@ class EnrichmentServiceImplTest {
     
     @BeforeEach
     void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        enrichmentService = newService(Runnable::run, guard("categorization", Duration.ofSeconds(1)));
+        
         transaction = Transaction.builder()
                 .transactionId("txn-123")
                 .merchantId("merch-456")
@@ -124,6 +145,210 @@ class EnrichmentServiceImplTest {
         verify(geolocationService, never()).getGeolocationByCoordinates(any(), any());
     }
     
+    @Test
+    void enrichTransaction_WhenStageTimesOut_ShouldSkipItAndMarkPartiallyEnriched() {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        enrichmentService = newService(executor, guard("categorization", Duration.ofMillis(50)));
+        
+        when(merchantCategoryService.categorizeMerchant(anyString(), anyString()))
+                .thenAnswer(invocation -> {
+                    Thread.sleep(500);
+                    return merchantCategory;
+                });
+        when(geolocationService.getGeolocationByCoordinates(any(), any()))
+                .thenReturn(Optional.of(geolocationData));
+        
+        // When
+        try {
+            long start = System.nanoTime();
+            EnrichedTransaction result = enrichmentService.enrichTransaction(transaction);
+            
+            // Then
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(400));
+            assertThat(result.getMerchantCategory()).isNull();
+            assertThat(result.getGeolocation().getCity()).isEqualTo("New York");
+            assertThat(transaction.getEnrichmentStatus()).isEqualTo(EnrichmentStatus.PARTIALLY_ENRICHED);
+            verify(transactionRepository, times(1)).save(transaction);
+            verify(backfill).submit(transaction);
+            assertThat(meterRegistry.get("enrichment.transactions").tag("status", "PARTIALLY_ENRICHED")
+                    .counter().count()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    @Test
+    void enrichTransaction_WhenCircuitIsOpen_ShouldSkipStageWithoutCallingIt() {
+        // Given
+        enrichmentService = newService(Runnable::run, new DependencyGuard("categorization", Duration.ofSeconds(1),
+                8, 0.5, 4, Duration.ofMinutes(1), meterRegistry));
+        when(merchantCategoryService.categorizeMerchant(anyString(), anyString()))
+                .thenThrow(new EnrichmentException("Rules unavailable"));
+        when(geolocationService.getGeolocationByCoordinates(any(), any()))
+                .thenReturn(Optional.of(geolocationData));
+        
+        // When
+        for (int i = 0; i < 5; i++) {
+            enrichmentService.enrichTransaction(transaction);
+        }
+        
+        // Then
+        verify(merchantCategoryService, times(2)).categorizeMerchant(anyString(), anyString());
+        verify(geolocationService, times(5)).getGeolocationByCoordinates(any(), any());
+        assertThat(transaction.getEnrichmentStatus()).isEqualTo(EnrichmentStatus.PARTIALLY_ENRICHED);
+        assertThat(meterRegistry.get("enrichment.dependency.calls").tag("dependency", "categorization")
+                .tag("result", "open").counter().count()).isEqualTo(3);
+    }
+    
+    @Test
+    void enrichTransaction_WhenRepositoryFails_ShouldMarkFailed() {
+        // Given
+        when(merchantCategoryService.categorizeMerchant(anyString(), anyString()))
+                .thenReturn(merchantCategory);
+        when(geolocationService.getGeolocationByCoordinates(any(), any()))
+                .thenReturn(Optional.of(geolocationData));
+        when(transactionRepository.save(any(Transaction.class)))
+                .thenThrow(new EnrichmentException("Table unavailable"))
+                .thenReturn(transaction);
+        
+        // When / Then
+        assertThatThrownBy(() -> enrichmentService.enrichTransaction(transaction))
+                .isInstanceOf(EnrichmentException.class)
+                .hasMessage("Table unavailable");
+        assertThat(transaction.getEnrichmentStatus()).isEqualTo(EnrichmentStatus.FAILED);
+        verifyNoInteractions(backfill);
+    }
+    
+    @Test
+    void enrichTransaction_WhenFailedStatusSaveAlsoFails_ShouldThrowOriginalWithSaveErrorSuppressed() {
+        // Given
+        when(merchantCategoryService.categorizeMerchant(anyString(), anyString()))
+                .thenReturn(merchantCategory);
+        when(geolocationService.getGeolocationByCoordinates(any(), any()))
+                .thenReturn(Optional.of(geolocationData));
+        EnrichmentException saveFailure = new EnrichmentException("Still unavailable");
+        when(transactionRepository.save(any(Transaction.class)))
+                .thenThrow(new EnrichmentException("Table unavailable"))
+                .thenThrow(saveFailure);
+        
+        // When / Then
+        assertThatThrownBy(() -> enrichmentService.enrichTransaction(transaction))
+                .hasMessage("Table unavailable")
+                .satisfies(thrown -> assertThat(thrown.getSuppressed()).containsExactly(saveFailure));
+        assertThat(transaction.getEnrichmentStatus()).isEqualTo(EnrichmentStatus.FAILED);
+    }
+    
+    @Test
+    void enrichTransaction_ShouldTimeEachStageAndCountOutcome() {
+        // Given
+        when(merchantCategoryService.categorizeMerchant(anyString(), anyString()))
+                .thenReturn(merchantCategory);
+        when(geolocationService.getGeolocationByCoordinates(any(), any()))
+                .thenReturn(Optional.of(geolocationData));
+        
+        // When
+        enrichmentService.enrichTransactions(List.of(transaction));
+        
+        // Then
+        for (String stage : List.of("categorization", "geolocation", "normalization", "persistence")) {
+            assertThat(meterRegistry.get("enrichment.stage").tag("stage", stage).timer().count())
+                    .as(stage)
+                    .isEqualTo(1);
+        }
+        assertThat(meterRegistry.get("enrichment.transactions").tag("status", "COMPLETED").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("enrichment.batch.size").summary().totalAmount()).isEqualTo(1);
+    }
+    
+    @Test
+    void enrichTransactionAsync_ShouldSaveThroughAsyncRepository() {
+        // Given
+        when(merchantCategoryService.categorizeMerchant(anyString(), anyString()))
+                .thenReturn(merchantCategory);
+        when(geolocationService.getGeolocationByCoordinates(any(), any()))
+                .thenReturn(Optional.of(geolocationData));
+        CompletableFuture<Transaction> save = new CompletableFuture<>();
+        when(asyncTransactionRepository.save(any(Transaction.class))).thenReturn(save);
+        
+        // When
+        CompletableFuture<EnrichedTransaction> result = enrichmentService.enrichTransactionAsync(transaction);
+        
+        // Then
+        assertThat(result).isNotDone();
+        save.complete(transaction);
+        assertThat(result.join().getMerchantCategory().getCategoryName()).isEqualTo("Restaurant");
+        assertThat(result.join().getTransaction().getEnrichmentStatus()).isEqualTo(EnrichmentStatus.COMPLETED);
+        verifyNoInteractions(transactionRepository);
+        verify(backfill).resolved("txn-123");
+    }
+    
+    @Test
+    void enrichTransactionAsync_WhenStageFails_ShouldSavePartiallyEnriched() {
+        // Given
+        when(merchantCategoryService.categorizeMerchant(anyString(), anyString()))
+                .thenThrow(new EnrichmentException("Rules unavailable"));
+        when(geolocationService.getGeolocationByCoordinates(any(), any()))
+                .thenReturn(Optional.of(geolocationData));
+        when(asyncTransactionRepository.save(any(Transaction.class)))
+                .thenReturn(CompletableFuture.completedFuture(transaction));
+        
+        // When
+        CompletableFuture<EnrichedTransaction> result = enrichmentService.enrichTransactionAsync(transaction);
+        
+        // Then
+        assertThat(result.join().getMerchantCategory()).isNull();
+        assertThat(result.join().getNormalizedData().getIsoCountryCode()).isEqualTo("US");
+        assertThat(transaction.getEnrichmentStatus()).isEqualTo(EnrichmentStatus.PARTIALLY_ENRICHED);
+        verify(asyncTransactionRepository, times(1)).save(transaction);
+        verify(backfill).submit(transaction);
+    }
+    
+    @Test
+    void enrichTransactionAsync_WhenFailedStatusSaveAlsoFails_ShouldFailWithOriginalCause() {
+        // Given
+        when(merchantCategoryService.categorizeMerchant(anyString(), anyString()))
+                .thenReturn(merchantCategory);
+        when(geolocationService.getGeolocationByCoordinates(any(), any()))
+                .thenReturn(Optional.of(geolocationData));
+        EnrichmentException saveFailure = new EnrichmentException("Still unavailable");
+        when(asyncTransactionRepository.save(any(Transaction.class)))
+                .thenReturn(CompletableFuture.failedFuture(new EnrichmentException("Table unavailable")))
+                .thenReturn(CompletableFuture.failedFuture(saveFailure));
+        
+        // When
+        CompletableFuture<EnrichedTransaction> result = enrichmentService.enrichTransactionAsync(transaction);
+        
+        // Then
+        assertThatThrownBy(result::join)
+                .hasRootCauseMessage("Table unavailable")
+                .satisfies(thrown -> assertThat(thrown.getCause().getSuppressed()).containsExactly(saveFailure));
+    }
+    
+    @Test
+    void enrichTransactionAsync_WhenSaveFails_ShouldMarkFailedAndCompleteExceptionally() {
+        // Given
+        when(merchantCategoryService.categorizeMerchant(anyString(), anyString()))
+                .thenReturn(merchantCategory);
+        when(geolocationService.getGeolocationByCoordinates(any(), any()))
+                .thenReturn(Optional.of(geolocationData));
+        when(asyncTransactionRepository.save(any(Transaction.class)))
+                .thenReturn(CompletableFuture.failedFuture(new EnrichmentException("Table unavailable")))
+                .thenReturn(CompletableFuture.completedFuture(transaction));
+        
+        // When
+        CompletableFuture<EnrichedTransaction> result = enrichmentService.enrichTransactionAsync(transaction);
+        
+        // Then
+        assertThatThrownBy(result::join)
+                .hasCauseInstanceOf(EnrichmentException.class)
+                .hasRootCauseMessage("Table unavailable");
+        assertThat(transaction.getEnrichmentStatus()).isEqualTo(EnrichmentStatus.FAILED);
+        verify(asyncTransactionRepository, times(2)).save(transaction);
+        assertThat(meterRegistry.get("enrichment.transactions").tag("status", "FAILED").counter().count())
+                .isEqualTo(1);
+    }
+    
     @Test
     void getEnrichmentStatus_ShouldReturnStatus() {
         // Given
@@ -152,4 +377,15 @@ class EnrichmentServiceImplTest {
         // Then
         assertThat(status).isEqualTo("NOT_FOUND");
     }
+    
+    private EnrichmentServiceImpl newService(Executor executor, DependencyGuard categorizationGuard) {
+        return new EnrichmentServiceImpl(merchantCategoryService, geolocationService,
+                transactionRepository, asyncTransactionRepository, executor, categorizationGuard,
+                guard("geolocation", Duration.ofSeconds(1)), guard("repository", Duration.ofSeconds(1)),
+                new EnrichmentMetrics(meterRegistry), new TransactionNormalizer(10_000), backfill);
+    }
+    
+    private DependencyGuard guard(String name, Duration timeout) {
+        return new DependencyGuard(name, timeout, 8, 0.5, 50, Duration.ofSeconds(10), meterRegistry);
+    }
 }
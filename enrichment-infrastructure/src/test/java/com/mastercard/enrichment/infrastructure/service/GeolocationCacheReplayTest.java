@@ -0,0 +1,108 @@
+package com.mastercard.enrichment.infrastructure.service;
+
+import com.mastercard.enrichment.core.domain.GeolocationData;
+import com.mastercard.enrichment.infrastructure.cache.InstrumentedCache;
+import com.mastercard.enrichment.infrastructure.geo.CoordinateCellKeyGenerator;
+import com.mastercard.enrichment.infrastructure.geo.GazetteerLoader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Replays a terminal-like coordinate stream (fixed terminals reporting with GPS jitter) through the
+ * geolocationByCoords cache with exact and geohash cell keys, and compares the recorded hit rates
+ */
+class GeolocationCacheReplayTest {
+
+    private static final int TERMINALS = 500;
+    private static final int LOOKUPS = 50_000;
+    // About 10 m of jitter per reading
+    private static final double JITTER_DEGREES = 0.0001;
+
+    private List<GazetteerLoader.City> cities;
+    private double[][] readings;
+
+    @BeforeEach
+    void setUp() {
+        DefaultResourceLoader resourceLoader = new DefaultResourceLoader();
+        cities = GazetteerLoader.load(resourceLoader.getResource("classpath:gazetteer/cities.tsv"),
+                resourceLoader.getResource("classpath:gazetteer/admin1CodesASCII.txt"));
+
+        Random random = new Random(42);
+        double[][] terminals = new double[TERMINALS][];
+        for (int i = 0; i < TERMINALS; i++) {
+            GeolocationData city = cities.get(random.nextInt(cities.size())).data();
+            terminals[i] = new double[] {
+                    city.getLatitude() + random.nextGaussian() * 0.1,
+                    city.getLongitude() + random.nextGaussian() * 0.1 };
+        }
+        readings = new double[LOOKUPS][];
+        for (int i = 0; i < LOOKUPS; i++) {
+            // Skewed towards busy terminals
+            double[] terminal = terminals[(int) (TERMINALS * Math.pow(random.nextDouble(), 2))];
+            readings[i] = new double[] {
+                    terminal[0] + random.nextGaussian() * JITTER_DEGREES,
+                    terminal[1] + random.nextGaussian() * JITTER_DEGREES };
+        }
+    }
+
+    @Test
+    void replay_WithCellKeys_ShouldRaiseHitRateWithoutChangingResults() {
+        // When
+        double exactHitRate = replay(0);
+        double cellHitRate = replay(6);
+
+        // Then
+        assertThat(exactHitRate).isLessThan(0.01);
+        assertThat(cellHitRate).isGreaterThan(0.95);
+        assertThat(agreement(6)).isGreaterThan(0.99);
+    }
+
+    /**
+     * Hit rate of the instrumented cache, driven the way @Cacheable drives it
+     */
+    private double replay(int precision) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Cache cache = new InstrumentedCache(new ConcurrentMapCache("geolocationByCoords"), meterRegistry);
+        CoordinateCellKeyGenerator keys = new CoordinateCellKeyGenerator(precision);
+        GeolocationServiceImpl service = new GeolocationServiceImpl(cities, 50, precision);
+
+        for (double[] reading : readings) {
+            String key = keys.key(reading[0], reading[1]);
+            if (cache.get(key) == null) {
+                cache.put(key, service.getGeolocationByCoordinates(reading[0], reading[1]));
+            }
+        }
+
+        double hits = meterRegistry.get("cache.gets").tag("result", "hit").counter().count();
+        double misses = meterRegistry.get("cache.gets").tag("result", "miss").counter().count();
+        return hits / (hits + misses);
+    }
+
+    /**
+     * Share of readings where the cell-centre answer is the same city as the exact answer
+     */
+    private double agreement(int precision) {
+        GeolocationServiceImpl exact = new GeolocationServiceImpl(cities, 50, 0);
+        GeolocationServiceImpl quantized = new GeolocationServiceImpl(cities, 50, precision);
+        int same = 0;
+        for (double[] reading : readings) {
+            Optional<GeolocationData> expected = exact.getGeolocationByCoordinates(reading[0], reading[1]);
+            Optional<GeolocationData> actual = quantized.getGeolocationByCoordinates(reading[0], reading[1]);
+            if (Objects.equals(expected.map(GeolocationData::getCity), actual.map(GeolocationData::getCity))) {
+                same++;
+            }
+        }
+        return (double) same / readings.length;
+    }
+}
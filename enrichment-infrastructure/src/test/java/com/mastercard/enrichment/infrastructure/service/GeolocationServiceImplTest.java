@@ -0,0 +1,67 @@
+package com.mastercard.enrichment.infrastructure.service;
+
+import com.mastercard.enrichment.core.domain.GeolocationData;
+import com.mastercard.enrichment.infrastructure.geo.GazetteerLoader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeolocationServiceImplTest {
+
+    private GeolocationServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new GeolocationServiceImpl(List.of(
+                city("London", "United Kingdom", "GB", 51.50853, -0.12574, 8_961_989),
+                city("London", "Canada", "CA", 42.98339, -81.23304, 346_765),
+                city("Vancouver", "Canada", "CA", 49.24966, -123.11934, 600_000)), 50, 6);
+    }
+
+    @Test
+    void getGeolocationByAddress_WithNameSharedAcrossCountries_ShouldResolveWithinGivenCountry() {
+        // When
+        Optional<GeolocationData> canada = service.getGeolocationByAddress("London", "CA");
+        Optional<GeolocationData> unitedKingdom = service.getGeolocationByAddress("London", "United Kingdom");
+        Optional<GeolocationData> alpha3 = service.getGeolocationByAddress("London", "GBR");
+
+        // Then
+        assertThat(canada).map(GeolocationData::getCountryCode).contains("CA");
+        assertThat(unitedKingdom).map(GeolocationData::getCountryCode).contains("GB");
+        assertThat(alpha3).map(GeolocationData::getCountryCode).contains("GB");
+    }
+
+    @Test
+    void getGeolocationByAddress_WithoutCountry_ShouldPreferMostPopulousCity() {
+        // When
+        Optional<GeolocationData> result = service.getGeolocationByAddress("london", null);
+
+        // Then
+        assertThat(result).map(GeolocationData::getCountryCode).contains("GB");
+    }
+
+    @Test
+    void getGeolocationByAddress_WhenNoCandidateInCountry_ShouldReturnEmpty() {
+        // When
+        Optional<GeolocationData> result = service.getGeolocationByAddress("Vancouver, London", "US");
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
+    private static GazetteerLoader.City city(String name, String country, String countryCode,
+                                             double latitude, double longitude, long population) {
+        GeolocationData data = GeolocationData.builder()
+                .city(name)
+                .country(country)
+                .countryCode(countryCode)
+                .latitude(latitude)
+                .longitude(longitude)
+                .build();
+        return new GazetteerLoader.City(data, List.of(name), population);
+    }
+}
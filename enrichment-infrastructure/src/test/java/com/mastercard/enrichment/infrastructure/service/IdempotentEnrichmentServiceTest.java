@@ -0,0 +1,180 @@
+package com.mastercard.enrichment.infrastructure.service;
+
+import com.mastercard.enrichment.core.domain.EnrichedTransaction;
+import com.mastercard.enrichment.core.domain.EnrichmentStatus;
+import com.mastercard.enrichment.core.domain.Transaction;
+import com.mastercard.enrichment.core.exception.EnrichmentException;
+import com.mastercard.enrichment.core.exception.IdempotencyConflictException;
+import com.mastercard.enrichment.core.service.EnrichmentService;
+import com.mastercard.enrichment.infrastructure.metrics.EnrichmentMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotentEnrichmentServiceTest {
+
+    private static final int CALLERS = 8;
+
+    @Mock
+    private EnrichmentService delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private IdempotentEnrichmentService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new IdempotentEnrichmentService(delegate, new EnrichmentMetrics(meterRegistry), meterRegistry,
+                1000, Duration.ofMinutes(10), Duration.ofSeconds(5));
+    }
+
+    @Test
+    void enrichTransaction_WithExactRetry_ShouldReplayWithoutEnriching() {
+        // Given
+        Transaction transaction = transaction("4.50");
+        EnrichedTransaction enriched = EnrichedTransaction.builder().transaction(transaction).build();
+        when(delegate.enrichTransaction(any())).thenReturn(enriched);
+        service.enrichTransaction(transaction);
+
+        // When
+        Transaction retry = transaction("4.5");
+        retry.setEnrichmentStatus(EnrichmentStatus.PENDING);
+        EnrichedTransaction result = service.enrichTransaction(retry);
+
+        // Then
+        assertThat(result).isSameAs(enriched);
+        verify(delegate, times(1)).enrichTransaction(any());
+        assertThat(count("replayed")).isEqualTo(1);
+    }
+
+    @Test
+    void enrichTransaction_WithReusedIdAndDifferentPayload_ShouldThrowConflict() {
+        // Given
+        when(delegate.enrichTransaction(any()))
+                .thenReturn(EnrichedTransaction.builder().transaction(transaction("4.50")).build());
+        service.enrichTransaction(transaction("4.50"));
+
+        // When / Then
+        assertThatThrownBy(() -> service.enrichTransaction(transaction("45.00")))
+                .isInstanceOf(IdempotencyConflictException.class)
+                .hasMessageContaining("txn-1");
+        verify(delegate, times(1)).enrichTransaction(any());
+        assertThat(count("conflict")).isEqualTo(1);
+    }
+
+    @Test
+    void enrichTransaction_WithConcurrentDuplicates_ShouldEnrichOnce() throws Exception {
+        // Given
+        EnrichedTransaction enriched = EnrichedTransaction.builder().transaction(transaction("4.50")).build();
+        when(delegate.enrichTransaction(any())).thenAnswer(invocation -> {
+            // Hold the enrichment open until every other caller is waiting on it
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (count("joined") < CALLERS - 1 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            return enriched;
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+        // When
+        List<Future<EnrichedTransaction>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> service.enrichTransaction(transaction("4.50"))));
+            }
+
+            // Then
+            for (Future<EnrichedTransaction> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(enriched);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(delegate, times(1)).enrichTransaction(any());
+        assertThat(count("joined")).isEqualTo(CALLERS - 1);
+    }
+
+    @Test
+    void enrichTransactionAsync_WithDuplicateInFlight_ShouldShareOneEnrichment() {
+        // Given
+        EnrichedTransaction enriched = EnrichedTransaction.builder().transaction(transaction("4.50")).build();
+        CompletableFuture<EnrichedTransaction> enrichment = new CompletableFuture<>();
+        when(delegate.enrichTransactionAsync(any())).thenReturn(enrichment);
+
+        // When
+        CompletableFuture<EnrichedTransaction> first = service.enrichTransactionAsync(transaction("4.50"));
+        CompletableFuture<EnrichedTransaction> duplicate = service.enrichTransactionAsync(transaction("4.50"));
+        CompletableFuture<EnrichedTransaction> conflicting = service.enrichTransactionAsync(transaction("9.99"));
+
+        // Then
+        assertThat(first).isNotDone();
+        assertThat(duplicate).isNotDone();
+        assertThat(conflicting).isCompletedExceptionally();
+        enrichment.complete(enriched);
+        assertThat(first.join()).isSameAs(enriched);
+        assertThat(duplicate.join()).isSameAs(enriched);
+        assertThat(service.enrichTransactionAsync(transaction("4.50")).join()).isSameAs(enriched);
+        verify(delegate, times(1)).enrichTransactionAsync(any());
+        verify(delegate, never()).enrichTransaction(any());
+    }
+
+    @Test
+    void enrichTransaction_WhenEnrichmentFails_ShouldNotRememberFailure() {
+        // Given
+        EnrichedTransaction enriched = EnrichedTransaction.builder().transaction(transaction("4.50")).build();
+        when(delegate.enrichTransaction(any()))
+                .thenThrow(new EnrichmentException("DynamoDB unavailable"))
+                .thenReturn(enriched);
+        assertThatThrownBy(() -> service.enrichTransaction(transaction("4.50")))
+                .isInstanceOf(EnrichmentException.class);
+
+        // When
+        EnrichedTransaction result = service.enrichTransaction(transaction("4.50"));
+
+        // Then
+        assertThat(result).isSameAs(enriched);
+        verify(delegate, times(2)).enrichTransaction(any());
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("enrichment.idempotency")
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+
+    private static Transaction transaction(String amount) {
+        return Transaction.builder()
+                .transactionId("txn-1")
+                .merchantId("merch-1")
+                .merchantName("Joe's Coffee Shop")
+                .amount(new BigDecimal(amount))
+                .currency("USD")
+                .timestamp(Instant.now())
+                .country("USA")
+                .city("New York")
+                .latitude(40.7128)
+                .longitude(-74.0060)
+                .build();
+    }
+}
@@ -0,0 +1,260 @@
+package com.mastercard.enrichment.infrastructure.service;
+
+import com.mastercard.enrichment.core.domain.MerchantCategory;
+import com.mastercard.enrichment.core.repository.MerchantCategoryRepository;
+import com.mastercard.enrichment.infrastructure.categorization.CategoryRuleLoader;
+import com.mastercard.enrichment.infrastructure.categorization.CategoryRuleRegistry;
+import com.mastercard.enrichment.infrastructure.categorization.KeywordMatcher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MerchantCategoryServiceImplTest {
+
+    private static final int THREADS = 16;
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    private RecordingRepository repository;
+    private CategoryRuleRegistry categoryRules;
+
+    @BeforeEach
+    void setUp() {
+        repository = new RecordingRepository();
+        categoryRules = new CategoryRuleRegistry(KeywordMatcher.compile(
+                CategoryRuleLoader.load(new ClassPathResource("categorization/category-rules.csv"))));
+    }
+
+    @Test
+    void categorizeMerchant_Concurrently_ShouldCategorizeAndPersistOnce() throws Exception {
+        // Given
+        MerchantCategoryServiceImpl service = new MerchantCategoryServiceImpl(categoryRules, repository, 1000, TTL);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<MerchantCategory>> results = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < THREADS * 10; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return service.categorizeMerchant("merch-1", "Grand Hotel");
+            }));
+        }
+        start.countDown();
+
+        // Then
+        MerchantCategory first = results.get(0).get(10, TimeUnit.SECONDS);
+        for (Future<MerchantCategory> result : results) {
+            assertThat(result.get(10, TimeUnit.SECONDS)).isSameAs(first);
+        }
+        assertThat(first.getCategoryName()).isEqualTo("Hotel");
+        assertThat(repository.history("merch-1")).hasSize(1);
+        shutdown(executor);
+    }
+
+    @Test
+    void concurrentUpdatesAndCategorizations_ShouldNotLoseUpdates() throws Exception {
+        // Given
+        MerchantCategoryServiceImpl service = new MerchantCategoryServiceImpl(categoryRules, repository, 1000, TTL);
+        int merchants = 20;
+        int operationsPerThread = 2000;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> workers = new ArrayList<>();
+
+        // When
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            workers.add(executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < operationsPerThread; i++) {
+                    String merchantId = "merch-" + random.nextInt(merchants);
+                    if (random.nextBoolean()) {
+                        service.updateCategory(category(merchantId, "update-" + thread + "-" + i));
+                    } else {
+                        service.categorizeMerchant(merchantId, "Corner Cafe");
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(60, TimeUnit.SECONDS);
+        }
+
+        // Then
+        for (int m = 0; m < merchants; m++) {
+            String merchantId = "merch-" + m;
+            List<MerchantCategory> history = repository.history(merchantId);
+            // The store holds exactly the last write that reached the table
+            assertThat(service.getCategoryByMerchantId(merchantId)).contains(history.get(history.size() - 1));
+            // A categorization only ever fills a gap: at most once, and before any update
+            List<Integer> categorizations = new ArrayList<>();
+            for (int i = 0; i < history.size(); i++) {
+                if (!history.get(i).getCategoryName().startsWith("update-")) {
+                    categorizations.add(i);
+                }
+            }
+            assertThat(categorizations).isSubsetOf(0);
+        }
+        shutdown(executor);
+    }
+
+    @Test
+    void store_ShouldStayBoundedAndReadThroughAfterEviction() {
+        // Given
+        MerchantCategoryServiceImpl service = new MerchantCategoryServiceImpl(categoryRules, repository, 10, TTL);
+
+        // When
+        for (int i = 0; i < 500; i++) {
+            service.categorizeMerchant("merch-" + i, "Shell Gas " + i);
+        }
+
+        // Then
+        assertThat(service.getStoreSize()).isLessThanOrEqualTo(10);
+        assertThat(service.getCategoryByMerchantId("merch-0"))
+                .map(MerchantCategory::getCategoryName)
+                .contains("Gas Station");
+        assertThat(repository.history("merch-0")).hasSize(1);
+    }
+
+    @Test
+    void preload_ShouldServeCategoriesWithoutTableAndKeepNewerEntries() {
+        // Given
+        MerchantCategoryServiceImpl service = new MerchantCategoryServiceImpl(categoryRules, repository, 1000, TTL);
+        service.updateCategory(category("merch-1", "Updated"));
+
+        // When
+        service.preload(List.of(category("merch-1", "From Snapshot"), category("merch-2", "From Snapshot")));
+
+        // Then
+        assertThat(service.getCategoryByMerchantId("merch-1")).map(MerchantCategory::getCategoryName).contains("Updated");
+        assertThat(service.getCategoryByMerchantId("merch-2")).map(MerchantCategory::getCategoryName)
+                .contains("From Snapshot");
+        assertThat(repository.history("merch-2")).isEmpty();
+        assertThat(service.hottestCategories(10)).extracting(MerchantCategory::getMerchantId)
+                .containsExactlyInAnyOrder("merch-1", "merch-2");
+    }
+
+    @Test
+    void getCategoryByMerchantId_AfterTtl_ShouldReadUpdateMadeElsewhere() throws InterruptedException {
+        // Given
+        MerchantCategoryServiceImpl service = new MerchantCategoryServiceImpl(categoryRules, repository, 1000,
+                Duration.ofMillis(50));
+        service.updateCategory(category("merch-1", "Before"));
+        // Another node updates the table directly
+        repository.save(category("merch-1", "After"));
+        assertThat(service.getCategoryByMerchantId("merch-1")).map(MerchantCategory::getCategoryName).contains("Before");
+
+        // When
+        Thread.sleep(200);
+
+        // Then
+        assertThat(service.getCategoryByMerchantId("merch-1")).map(MerchantCategory::getCategoryName).contains("After");
+    }
+
+    @Test
+    void categorizeMerchant_WhileTableReadIsSlow_ShouldNotBlockStoreWrites() throws Exception {
+        // Given
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingRepository slowRepository = new RecordingRepository() {
+            @Override
+            public Optional<MerchantCategory> findByMerchantId(String merchantId) {
+                reading.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.findByMerchantId(merchantId);
+            }
+        };
+        MerchantCategoryServiceImpl service = new MerchantCategoryServiceImpl(categoryRules, slowRepository, 1000, TTL);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<MerchantCategory> categorized = executor.submit(() -> service.categorizeMerchant("merch-1", "Grand Hotel"));
+        assertThat(reading.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        Future<?> preloaded = executor.submit(() -> service.preload(List.of(category("merch-1", "From Snapshot"))));
+
+        // Then
+        preloaded.get(2, TimeUnit.SECONDS);
+        release.countDown();
+        assertThat(categorized.get(10, TimeUnit.SECONDS).getCategoryName()).isEqualTo("Hotel");
+        assertThat(service.getCategoryByMerchantId("merch-1")).map(MerchantCategory::getCategoryName).contains("Hotel");
+        shutdown(executor);
+    }
+
+    private static MerchantCategory category(String merchantId, String name) {
+        return MerchantCategory.builder()
+                .merchantId(merchantId)
+                .categoryCode("5999")
+                .categoryName(name)
+                .industry("Retail")
+                .riskLevel(MerchantCategory.RiskLevel.LOW)
+                .build();
+    }
+
+    private static void shutdown(ExecutorService executor) throws InterruptedException {
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    /**
+     * In-memory table that records every save per merchant, in the order they were applied
+     */
+    private static class RecordingRepository implements MerchantCategoryRepository {
+
+        private final Map<String, List<MerchantCategory>> saves = new ConcurrentHashMap<>();
+
+        @Override
+        public Optional<MerchantCategory> findByMerchantId(String merchantId) {
+            List<MerchantCategory> history = saves.get(merchantId);
+            synchronized (this) {
+                return history == null || history.isEmpty()
+                        ? Optional.empty()
+                        : Optional.of(history.get(history.size() - 1));
+            }
+        }
+
+        @Override
+        public MerchantCategory save(MerchantCategory category) {
+            List<MerchantCategory> history = saves.computeIfAbsent(category.getMerchantId(), id -> new ArrayList<>());
+            synchronized (this) {
+                history.add(category);
+            }
+            return category;
+        }
+
+        @Override
+        public synchronized List<MerchantCategory> findAll(int segment, int totalSegments, int limit) {
+            return saves.values().stream()
+                    .filter(history -> !history.isEmpty())
+                    .map(history -> history.get(history.size() - 1))
+                    .filter(category -> Math.floorMod(category.getMerchantId().hashCode(), totalSegments) == segment)
+                    .limit(limit)
+                    .toList();
+        }
+
+        synchronized List<MerchantCategory> history(String merchantId) {
+            return new ArrayList<>(saves.getOrDefault(merchantId, List.of()));
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.mastercard.enrichment.infrastructure.service;
+
+import com.mastercard.enrichment.core.domain.EnrichedTransaction;
+import com.mastercard.enrichment.core.domain.EnrichmentStatus;
+import com.mastercard.enrichment.core.domain.Transaction;
+import com.mastercard.enrichment.core.service.EnrichmentService;
+import com.mastercard.enrichment.infrastructure.concurrent.DependencyGuard;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PartialEnrichmentBackfillTest {
+
+    @Mock
+    private ObjectProvider<EnrichmentService> enrichmentServiceProvider;
+
+    @Mock
+    private EnrichmentService enrichmentService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private DependencyGuard guard;
+    private PartialEnrichmentBackfill backfill;
+    private Transaction transaction;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        guard = new DependencyGuard("categorization", Duration.ofSeconds(1), 8, 0.5, 2, Duration.ofMinutes(1),
+                meterRegistry);
+        backfill = new PartialEnrichmentBackfill(enrichmentServiceProvider, List.of(guard), meterRegistry,
+                100, 10, 2);
+        transaction = Transaction.builder()
+                .transactionId("txn-123")
+                .merchantId("merch-456")
+                .merchantName("Test Restaurant")
+                .amount(new BigDecimal("50.00"))
+                .currency("USD")
+                .enrichmentStatus(EnrichmentStatus.PARTIALLY_ENRICHED)
+                .build();
+    }
+
+    @Test
+    void backfill_ShouldReEnrichPendingTransactions() {
+        // Given
+        backfill.submit(transaction);
+        when(enrichmentServiceProvider.getObject()).thenReturn(enrichmentService);
+        when(enrichmentService.enrichTransactionAsync(any(Transaction.class))).thenAnswer(invocation -> {
+            // The service resolves the entry itself once the transaction is complete
+            backfill.resolved("txn-123");
+            return CompletableFuture.completedFuture(enriched(invocation.getArgument(0), EnrichmentStatus.COMPLETED));
+        });
+
+        // When
+        backfill.backfill();
+
+        // Then
+        verify(enrichmentService).enrichTransactionAsync(argThat(copy ->
+                copy != transaction && copy.getTransactionId().equals("txn-123")));
+        assertThat(backfill.getPending()).isZero();
+        assertThat(count("completed")).isEqualTo(1);
+    }
+
+    @Test
+    void backfill_WhenStillPartial_ShouldGiveUpAfterMaxAttempts() {
+        // Given
+        backfill.submit(transaction);
+        when(enrichmentServiceProvider.getObject()).thenReturn(enrichmentService);
+        when(enrichmentService.enrichTransactionAsync(any(Transaction.class))).thenAnswer(invocation -> {
+            backfill.submit(invocation.getArgument(0));
+            return CompletableFuture.completedFuture(
+                    enriched(invocation.getArgument(0), EnrichmentStatus.PARTIALLY_ENRICHED));
+        });
+
+        // When
+        backfill.backfill();
+        int pendingAfterFirstPass = backfill.getPending();
+        backfill.backfill();
+
+        // Then
+        assertThat(pendingAfterFirstPass).isEqualTo(1);
+        assertThat(backfill.getPending()).isZero();
+        assertThat(count("abandoned")).isEqualTo(1);
+        verify(enrichmentService, times(2)).enrichTransactionAsync(any(Transaction.class));
+    }
+
+    @Test
+    void backfill_WhileCircuitIsOpen_ShouldSkipPass() {
+        // Given
+        backfill.submit(transaction);
+        assertThatThrownBy(() -> guard.call(() -> {
+            throw new IllegalStateException("down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // When
+        backfill.backfill();
+
+        // Then
+        assertThat(guard.isOpen()).isTrue();
+        assertThat(backfill.getPending()).isEqualTo(1);
+        verifyNoInteractions(enrichmentServiceProvider);
+    }
+
+    @Test
+    void submit_WhenFull_ShouldDropTransaction() {
+        // Given
+        backfill = new PartialEnrichmentBackfill(enrichmentServiceProvider, List.of(guard), meterRegistry, 1, 10, 2);
+        backfill.submit(transaction);
+
+        // When
+        backfill.submit(Transaction.builder().transactionId("txn-456").build());
+
+        // Then
+        assertThat(backfill.getPending()).isEqualTo(1);
+        assertThat(count("dropped")).isEqualTo(1);
+    }
+
+    private static EnrichedTransaction enriched(Transaction transaction, EnrichmentStatus status) {
+        transaction.setEnrichmentStatus(status);
+        return EnrichedTransaction.builder().transaction(transaction).build();
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("enrichment.backfill.transactions").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,69 @@
+package com.mastercard.enrichment.infrastructure.warmup;
+
+import com.mastercard.enrichment.core.domain.MerchantCategory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheSnapshotStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private CacheSnapshotStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new CacheSnapshotStore(directory.resolve("snapshots/cache.json"));
+    }
+
+    @Test
+    void write_ShouldRoundTripSnapshot() throws Exception {
+        // Given
+        MerchantCategory category = MerchantCategory.builder()
+                .merchantId("merch-1")
+                .categoryCode("5812")
+                .categoryName("Restaurant")
+                .industry("Food & Beverage")
+                .riskLevel(MerchantCategory.RiskLevel.LOW)
+                .build();
+
+        // When
+        store.write(new CacheSnapshot(Instant.now(), List.of(category), List.of("dr5ru7", "dr5ru8")));
+
+        // Then
+        assertThat(store.read(Duration.ofHours(1))).hasValueSatisfying(snapshot -> {
+            assertThat(snapshot.merchantCategories()).containsExactly(category);
+            assertThat(snapshot.geolocationCells()).containsExactly("dr5ru7", "dr5ru8");
+        });
+        try (var files = Files.list(store.getPath().getParent())) {
+            assertThat(files).containsExactly(store.getPath());
+        }
+    }
+
+    @Test
+    void read_WhenSnapshotIsTooOld_ShouldReturnEmpty() throws Exception {
+        // Given
+        store.write(new CacheSnapshot(Instant.now().minus(Duration.ofHours(2)), List.of(), List.of("dr5ru7")));
+
+        // When / Then
+        assertThat(store.read(Duration.ofHours(1))).isEmpty();
+    }
+
+    @Test
+    void read_WhenFileIsMissingOrCorrupt_ShouldReturnEmpty() throws Exception {
+        // When / Then
+        assertThat(store.read(Duration.ofHours(1))).isEmpty();
+        Files.createDirectories(store.getPath().getParent());
+        Files.writeString(store.getPath(), "{\"writtenAt\":");
+        assertThat(store.read(Duration.ofHours(1))).isEmpty();
+    }
+}
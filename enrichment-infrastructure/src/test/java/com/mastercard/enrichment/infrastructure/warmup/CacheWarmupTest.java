@@ -0,0 +1,144 @@
+package com.mastercard.enrichment.infrastructure.warmup;
+
+import com.mastercard.enrichment.core.domain.MerchantCategory;
+import com.mastercard.enrichment.core.repository.MerchantCategoryRepository;
+import com.mastercard.enrichment.core.service.GeolocationService;
+import com.mastercard.enrichment.infrastructure.geo.CoordinateCellKeyGenerator;
+import com.mastercard.enrichment.infrastructure.geo.GeoHash;
+import com.mastercard.enrichment.infrastructure.service.MerchantCategoryServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheWarmupTest {
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private MerchantCategoryServiceImpl merchantCategoryService;
+
+    @Mock
+    private MerchantCategoryRepository categoryRepository;
+
+    @Mock
+    private GeolocationService geolocationService;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    private final CoordinateCellKeyGenerator cellKeys = new CoordinateCellKeyGenerator(6);
+
+    @Test
+    void run_WithFreshSnapshot_ShouldPreloadMerchantsAndResolveCells() throws Exception {
+        // Given
+        String cell = GeoHash.encode(40.7128, -74.0060, 6);
+        new CacheSnapshotStore(snapshotPath()).write(new CacheSnapshot(Instant.now(),
+                List.of(category("merch-1"), category("merch-2")), List.of(cell)));
+        when(geolocationService.getGeolocationByCoordinates(anyDouble(), anyDouble())).thenReturn(Optional.empty());
+        CacheWarmup warmup = warmup(Duration.ofSeconds(5));
+
+        // When
+        warmup.run();
+
+        // Then
+        CacheWarmup.Progress progress = warmup.getProgress();
+        assertThat(progress.phase()).isEqualTo(CacheWarmup.Phase.COMPLETED);
+        assertThat(progress.source()).isEqualTo("snapshot");
+        assertThat(progress.merchantsLoaded()).isEqualTo(2);
+        assertThat(progress.cellsLoaded()).isEqualTo(1);
+        assertThat(warmup.isDone()).isTrue();
+        verify(merchantCategoryService).preload(List.of(category("merch-1"), category("merch-2")));
+        double[] center = GeoHash.decodeCenter(cell);
+        verify(geolocationService).getGeolocationByCoordinates(center[0], center[1]);
+        verifyNoInteractions(categoryRepository);
+    }
+
+    @Test
+    void run_WithoutSnapshot_ShouldScanTableInParallelSegments() {
+        // Given
+        when(categoryRepository.findAll(anyInt(), eq(2), eq(5))).thenReturn(List.of(category("merch-1")));
+        CacheWarmup warmup = warmup(Duration.ofSeconds(5));
+
+        // When
+        warmup.run();
+
+        // Then
+        CacheWarmup.Progress progress = warmup.getProgress();
+        assertThat(progress.phase()).isEqualTo(CacheWarmup.Phase.COMPLETED);
+        assertThat(progress.source()).isEqualTo("dynamodb");
+        assertThat(progress.merchantsLoaded()).isEqualTo(2);
+        verify(categoryRepository).findAll(0, 2, 5);
+        verify(categoryRepository).findAll(1, 2, 5);
+        verifyNoInteractions(geolocationService);
+    }
+
+    @Test
+    void run_WhenBudgetRunsOut_ShouldFinishAsTimedOut() {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        when(categoryRepository.findAll(anyInt(), anyInt(), anyInt())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+        CacheWarmup warmup = warmup(Duration.ofMillis(50));
+
+        // When
+        warmup.run();
+        release.countDown();
+
+        // Then
+        assertThat(warmup.getProgress().phase()).isEqualTo(CacheWarmup.Phase.TIMED_OUT);
+        assertThat(warmup.isDone()).isTrue();
+    }
+
+    @Test
+    void writeSnapshot_BeforeWarmupIsDone_ShouldNotWrite() {
+        // Given
+        CacheWarmup warmup = warmup(Duration.ofSeconds(5));
+
+        // When
+        warmup.writeSnapshot();
+
+        // Then
+        verifyNoInteractions(merchantCategoryService);
+        assertThat(snapshotPath()).doesNotExist();
+    }
+
+    private CacheWarmup warmup(Duration budget) {
+        return new CacheWarmup(merchantCategoryService, categoryRepository, geolocationService, cellKeys,
+                cacheManager, true, 10, 10, 2, budget, snapshotPath().toString(), Duration.ofHours(1));
+    }
+
+    private Path snapshotPath() {
+        return directory.resolve("cache.json");
+    }
+
+    private static MerchantCategory category(String merchantId) {
+        return MerchantCategory.builder()
+                .merchantId(merchantId)
+                .categoryCode("5812")
+                .categoryName("Restaurant")
+                .industry("Food & Beverage")
+                .riskLevel(MerchantCategory.RiskLevel.LOW)
+                .build();
+    }
+}
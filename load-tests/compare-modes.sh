@@ -0,0 +1,44 @@
+#!/bin/bash
+# Runs the k6 load test against the service in platform and then virtual execution mode
+# and writes one summary per mode to load-tests/results/.
+#
+# Needs Java 21+ (virtual mode falls back to platform threads on older JVMs), k6, and the
+# backing services from docker-compose (Redis, LocalStack).
+#
+#   ./load-tests/compare-modes.sh [rate] [duration]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RATE=${1:-200}
+DURATION=${2:-2m}
+PORT=${PORT:-8080}
+JAR=$(ls enrichment-api/target/enrichment-api-*-exec.jar)
+mkdir -p load-tests/results
+
+for mode in platform virtual; do
+  echo "=== ${mode} threads: ${RATE} req/s for ${DURATION} ==="
+  EXECUTOR_MODE=${mode} java -jar "${JAR}" --server.port="${PORT}" > "load-tests/results/${mode}.log" 2>&1 &
+  APP_PID=$!
+  trap 'kill ${APP_PID} 2>/dev/null || true' EXIT
+
+  until curl -sf "http://localhost:${PORT}/actuator/health" > /dev/null; do
+    kill -0 ${APP_PID} 2>/dev/null || { echo "Service failed to start, see load-tests/results/${mode}.log"; exit 1; }
+    sleep 1
+  done
+
+  # Short warm-up so JIT compilation and connection pools do not skew the measured run
+  k6 run --quiet -e BASE_URL="http://localhost:${PORT}" -e RATE="${RATE}" -e DURATION=30s -e MODE="${mode}" \
+    load-tests/enrichment.js > /dev/null || true
+  k6 run -e BASE_URL="http://localhost:${PORT}" -e RATE="${RATE}" -e DURATION="${DURATION}" -e MODE="${mode}" \
+    --summary-export "load-tests/results/${mode}.json" load-tests/enrichment.js || true
+
+  curl -s "http://localhost:${PORT}/actuator/prometheus" \
+    | grep -E '^(jvm_threads_live|enrichment_virtual_pinned|tomcat_threads_busy)' \
+    > "load-tests/results/${mode}-metrics.txt" || true
+
+  kill ${APP_PID}
+  wait ${APP_PID} 2>/dev/null || true
+  trap - EXIT
+done
+
+echo "Summaries: load-tests/results/{platform,virtual}.json"
@@ -0,0 +1,51 @@
+#!/bin/bash
+# Runs the k6 load test against the servlet (Tomcat) API and then the reactive (WebFlux/Netty) API
+# with the same heap, and writes one summary per stack to load-tests/results/.
+#
+# Needs k6 and the backing services from docker-compose (Redis, LocalStack).
+#
+#   HEAP=512m ./load-tests/compare-stacks.sh [rate] [duration] [batch-rate]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RATE=${1:-200}
+DURATION=${2:-2m}
+BATCH_RATE=${3:-2}
+HEAP=${HEAP:-512m}
+PORT=${PORT:-8080}
+mkdir -p load-tests/results
+
+for stack in servlet reactive; do
+  if [ "${stack}" = servlet ]; then
+    JAR=$(ls enrichment-api/target/enrichment-api-*-exec.jar)
+  else
+    JAR=$(ls enrichment-api-reactive/target/enrichment-api-reactive-*-exec.jar)
+  fi
+
+  echo "=== ${stack}: ${RATE} req/s (+${BATCH_RATE} NDJSON batches/s) for ${DURATION}, heap ${HEAP} ==="
+  java -Xms"${HEAP}" -Xmx"${HEAP}" -jar "${JAR}" --server.port="${PORT}" \
+    > "load-tests/results/${stack}.log" 2>&1 &
+  APP_PID=$!
+  trap 'kill ${APP_PID} 2>/dev/null || true' EXIT
+
+  until curl -sf "http://localhost:${PORT}/actuator/health" > /dev/null; do
+    kill -0 ${APP_PID} 2>/dev/null || { echo "Service failed to start, see load-tests/results/${stack}.log"; exit 1; }
+    sleep 1
+  done
+
+  # Short warm-up so JIT compilation and connection pools do not skew the measured run
+  k6 run --quiet -e BASE_URL="http://localhost:${PORT}" -e RATE="${RATE}" -e DURATION=30s -e MODE="${stack}" \
+    -e BATCH_RATE="${BATCH_RATE}" load-tests/enrichment.js > /dev/null || true
+  k6 run -e BASE_URL="http://localhost:${PORT}" -e RATE="${RATE}" -e DURATION="${DURATION}" -e MODE="${stack}" \
+    -e BATCH_RATE="${BATCH_RATE}" --summary-export "load-tests/results/${stack}.json" load-tests/enrichment.js || true
+
+  curl -s "http://localhost:${PORT}/actuator/prometheus" \
+    | grep -E '^(jvm_threads_live|jvm_memory_used_bytes\{area="heap"|jvm_gc_pause_seconds_(count|sum))' \
+    > "load-tests/results/${stack}-metrics.txt" || true
+
+  kill ${APP_PID}
+  wait ${APP_PID} 2>/dev/null || true
+  trap - EXIT
+done
+
+echo "Summaries: load-tests/results/{servlet,reactive}.json"
@@ -0,0 +1,102 @@
+// k6 load test for the synchronous and async enrichment endpoints.
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e RATE=500 -e DURATION=2m load-tests/enrichment.js
+//
+// BATCH_RATE > 0 adds a scenario streaming NDJSON batches of BATCH_SIZE lines per request.
+//
+// Runs at a constant arrival rate, so a mode that cannot keep up shows it as
+// latency and dropped iterations rather than as a lower request rate.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const RATE = parseInt(__ENV.RATE || '200', 10);
+const DURATION = __ENV.DURATION || '1m';
+const MODE = __ENV.MODE || 'unknown';
+const BATCH_RATE = parseInt(__ENV.BATCH_RATE || '0', 10);
+const BATCH_SIZE = parseInt(__ENV.BATCH_SIZE || '100', 10);
+
+const MERCHANTS = [
+  'STARBUCKS #1234', 'Amazon.com', 'Shell Gas Station', 'Hilton Hotel',
+  "Joe's Coffee Shop", 'WALMART SUPERCENTER', 'Uber Trip', 'Netflix.com',
+];
+
+export const options = {
+  tags: { mode: MODE },
+  scenarios: {
+    sync: {
+      executor: 'constant-arrival-rate',
+      exec: 'enrichSync',
+      rate: RATE,
+      timeUnit: '1s',
+      duration: DURATION,
+      preAllocatedVUs: Math.max(50, RATE),
+      maxVUs: RATE * 4,
+    },
+    async: {
+      executor: 'constant-arrival-rate',
+      exec: 'enrichAsync',
+      rate: Math.max(1, Math.floor(RATE / 10)),
+      timeUnit: '1s',
+      duration: DURATION,
+      preAllocatedVUs: 20,
+      maxVUs: 200,
+    },
+    ...(BATCH_RATE > 0 ? {
+      batch: {
+        executor: 'constant-arrival-rate',
+        exec: 'enrichBatch',
+        rate: BATCH_RATE,
+        timeUnit: '1s',
+        duration: DURATION,
+        preAllocatedVUs: 10,
+        maxVUs: 100,
+      },
+    } : {}),
+  },
+  thresholds: {
+    'http_req_duration{scenario:sync}': ['p(95)<500', 'p(99)<1000'],
+    'http_req_failed{scenario:sync}': ['rate<0.01'],
+    dropped_iterations: ['count<1'],
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+function transaction() {
+  const n = Math.floor(Math.random() * 100000);
+  return JSON.stringify({
+    transactionId: `load-${MODE}-${__VU}-${__ITER}-${n}`,
+    merchantId: `merch-${n % 5000}`,
+    merchantName: MERCHANTS[n % MERCHANTS.length],
+    amount: (n % 50000) / 100 + 1,
+    currency: 'USD',
+    latitude: 40.7128 + (n % 100) / 1000,
+    longitude: -74.006 - (n % 100) / 1000,
+  });
+}
+
+const params = { headers: { 'Content-Type': 'application/json' } };
+
+export function enrichSync() {
+  const res = http.post(`${BASE_URL}/api/v1/enrichment/transactions`, transaction(), params);
+  check(res, { 'sync 200': (r) => r.status === 200 });
+}
+
+export function enrichAsync() {
+  const res = http.post(`${BASE_URL}/api/v1/enrichment/transactions/async`, transaction(), params);
+  check(res, { 'async 202': (r) => r.status === 202 });
+}
+
+const ndjsonParams = { headers: { 'Content-Type': 'application/x-ndjson', Accept: 'application/x-ndjson' } };
+
+export function enrichBatch() {
+  const lines = [];
+  for (let i = 0; i < BATCH_SIZE; i++) {
+    lines.push(transaction());
+  }
+  const res = http.post(`${BASE_URL}/api/v1/enrichment/transactions/batch`, lines.join('\n'), ndjsonParams);
+  check(res, {
+    'batch 200': (r) => r.status === 200,
+    'batch complete': (r) => r.body && r.body.trim().split('\n').length === BATCH_SIZE,
+  });
+}